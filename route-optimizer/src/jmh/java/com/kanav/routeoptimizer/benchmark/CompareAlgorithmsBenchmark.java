@@ -0,0 +1,65 @@
+package com.kanav.routeoptimizer.benchmark;
+
+import com.kanav.routeoptimizer.dto.ComparisonResponse;
+import com.kanav.routeoptimizer.model.SearchEngine;
+import com.kanav.routeoptimizer.service.ComponentIndex;
+import com.kanav.routeoptimizer.service.LandmarkIndex;
+import com.kanav.routeoptimizer.service.PathFindingService;
+import com.kanav.routeoptimizer.service.PathResultCache;
+import com.kanav.routeoptimizer.service.SearchLimits;
+import com.kanav.routeoptimizer.service.SearchMetrics;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The /api/path/compare work: the default algorithms fanned out over a search pool.
+ * The result cache is disabled so every operation searches.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class CompareAlgorithmsBenchmark {
+    @Param({"STANDARD", "INDEXED"})
+    public SearchEngine engine;
+
+    private ExecutorService executor;
+    private PathFindingService service;
+
+    @Setup(Level.Trial)
+    public void start() {
+        executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        PathResultCache cache = new PathResultCache(false, 0, 0, Duration.ZERO, false);
+        service = new PathFindingService(cache, executor, SearchMetrics.disabled(), SearchLimits.none(),
+                ComponentIndex.disabled(), LandmarkIndex.disabled());
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    public ComparisonResponse compareAlgorithms(GridState state) {
+        return service.compareAlgorithms(state.grid,
+                state.start.getRow(), state.start.getCol(), state.end.getRow(), state.end.getCol(), engine);
+    }
+}
@@ -0,0 +1,65 @@
+package com.kanav.routeoptimizer.benchmark;
+
+import com.kanav.routeoptimizer.algorithm.BucketDijkstraPathFinder;
+import com.kanav.routeoptimizer.algorithm.DijkstraPathFinder;
+import com.kanav.routeoptimizer.algorithm.IndexedDijkstraPathFinder;
+import com.kanav.routeoptimizer.model.Node;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The three Dijkstra engines (standard, indexed with a binary heap, and Dial's bucket queue) on
+ * the same large weighted grids, corner to corner.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class DijkstraBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class WeightedGrid {
+        @Param({"500", "1000", "2000"})
+        public int size;
+
+        public int[][] grid;
+        public Node start;
+        public Node end;
+
+        @Setup(Level.Trial)
+        public void generate() {
+            grid = GridShape.RANDOM_WEIGHTED.generate(size, 42L + size);
+            start = new Node(0, 0);
+            int last = GridShape.lastEven(size);
+            end = new Node(last, last);
+        }
+    }
+
+    @Benchmark
+    public Object standard(WeightedGrid state) {
+        return DijkstraPathFinder.findPathWithStats(state.grid, state.start, state.end);
+    }
+
+    @Benchmark
+    public Object indexed(WeightedGrid state) {
+        return IndexedDijkstraPathFinder.findPathWithStats(state.grid, state.start, state.end);
+    }
+
+    @Benchmark
+    public Object bucket(WeightedGrid state) {
+        return BucketDijkstraPathFinder.findPathWithStats(state.grid, state.start, state.end);
+    }
+}
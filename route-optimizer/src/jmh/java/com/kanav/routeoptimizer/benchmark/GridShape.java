@@ -0,0 +1,115 @@
+package com.kanav.routeoptimizer.benchmark;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Deterministic grid generators for the benchmarks. Every shape keeps the cells at even
+ * coordinates reachable from (0, 0), so {@link #lastEven(int)} gives a far corner to route to.
+ */
+public enum GridShape {
+    OPEN {
+        @Override
+        int[][] generate(int size, Random random) {
+            int[][] grid = new int[size][size];
+            for (int[] row : grid) {
+                Arrays.fill(row, 1);
+            }
+            return grid;
+        }
+    },
+    MAZE {
+        // Iterative recursive backtracker over the even cells, carving the odd cell between neighbours.
+        @Override
+        int[][] generate(int size, Random random) {
+            int[][] grid = new int[size][size];
+            int last = lastEven(size);
+            ArrayDeque<int[]> stack = new ArrayDeque<>();
+            grid[0][0] = 1;
+            stack.push(new int[] {0, 0});
+            int[][] steps = {{-2, 0}, {2, 0}, {0, -2}, {0, 2}};
+            int[] order = {0, 1, 2, 3};
+            while (!stack.isEmpty()) {
+                int[] cell = stack.peek();
+                shuffle(order, random);
+                boolean carved = false;
+                for (int direction : order) {
+                    int r = cell[0] + steps[direction][0];
+                    int c = cell[1] + steps[direction][1];
+                    if (r < 0 || r > last || c < 0 || c > last || grid[r][c] != 0) {
+                        continue;
+                    }
+                    grid[(r + cell[0]) / 2][(c + cell[1]) / 2] = 1;
+                    grid[r][c] = 1;
+                    stack.push(new int[] {r, c});
+                    carved = true;
+                    break;
+                }
+                if (!carved) {
+                    stack.pop();
+                }
+            }
+            return grid;
+        }
+    },
+    RANDOM_WEIGHTED {
+        // 20% walls, the rest split between open, traffic and heavy traffic.
+        @Override
+        int[][] generate(int size, Random random) {
+            int[][] grid = new int[size][size];
+            for (int r = 0; r < size; r++) {
+                for (int c = 0; c < size; c++) {
+                    int roll = random.nextInt(100);
+                    grid[r][c] = roll < 20 ? 0 : roll < 70 ? 1 : roll < 90 ? 2 : 3;
+                }
+            }
+            // Even rows and columns stay passable so both corners are connected.
+            for (int i = 0; i < size; i += 2) {
+                for (int j = 0; j < size; j++) {
+                    if (grid[i][j] == 0) {
+                        grid[i][j] = 2;
+                    }
+                    if (grid[j][i] == 0) {
+                        grid[j][i] = 2;
+                    }
+                }
+            }
+            return grid;
+        }
+    },
+    CORRIDOR {
+        // A single serpentine corridor: every odd row is a wall with one gap, at alternating ends.
+        @Override
+        int[][] generate(int size, Random random) {
+            int[][] grid = new int[size][size];
+            for (int r = 0; r < size; r++) {
+                if (r % 2 == 0) {
+                    Arrays.fill(grid[r], 1);
+                } else {
+                    grid[r][(r / 2) % 2 == 0 ? size - 1 : 0] = 1;
+                }
+            }
+            return grid;
+        }
+    };
+
+    abstract int[][] generate(int size, Random random);
+
+    public int[][] generate(int size, long seed) {
+        return generate(size, new Random(seed));
+    }
+
+    public static int lastEven(int size) {
+        return (size - 1) & ~1;
+    }
+
+    private static void shuffle(int[] values, Random random) {
+        for (int i = values.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = values[i];
+            values[i] = values[j];
+            values[j] = swap;
+        }
+    }
+}
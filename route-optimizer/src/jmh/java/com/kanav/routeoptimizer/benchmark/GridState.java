@@ -0,0 +1,30 @@
+package com.kanav.routeoptimizer.benchmark;
+
+import com.kanav.routeoptimizer.model.Node;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+@State(Scope.Benchmark)
+public class GridState {
+    @Param({"OPEN", "MAZE", "RANDOM_WEIGHTED", "CORRIDOR"})
+    public GridShape shape;
+
+    // The HashMap-based engines take minutes per search at 4000, so that size only runs when asked for with -p size=4000.
+    @Param({"50", "250", "1000"})
+    public int size;
+
+    public int[][] grid;
+    public Node start;
+    public Node end;
+
+    @Setup(Level.Trial)
+    public void generate() {
+        grid = shape.generate(size, 42L + size);
+        start = new Node(0, 0);
+        int last = GridShape.lastEven(size);
+        end = new Node(last, last);
+    }
+}
@@ -0,0 +1,97 @@
+package com.kanav.routeoptimizer.benchmark;
+
+import com.kanav.routeoptimizer.algorithm.AStarPathFinder;
+import com.kanav.routeoptimizer.algorithm.IndexedDijkstraPathFinder;
+import com.kanav.routeoptimizer.algorithm.Landmarks;
+import com.kanav.routeoptimizer.model.AStarHeuristic;
+import com.kanav.routeoptimizer.model.FlatGrid;
+import com.kanav.routeoptimizer.model.Node;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Repeated queries between random cells of one grid, the workload landmarks pay off for. Each
+ * invocation routes the next pair in a fixed list, so all three engines answer the same queries.
+ * The setup prints the table size and preprocessing time next to the results.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class LandmarkBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Queries {
+        private static final int PAIRS = 256;
+
+        @Param({"OPEN", "MAZE", "RANDOM_WEIGHTED"})
+        public GridShape shape;
+
+        @Param({"250", "1000"})
+        public int size;
+
+        @Param({"4", "8", "16"})
+        public int landmarks;
+
+        FlatGrid grid;
+        Landmarks tables;
+        Node[] starts = new Node[PAIRS];
+        Node[] ends = new Node[PAIRS];
+        int next;
+
+        @Setup(Level.Trial)
+        public void generate() {
+            grid = FlatGrid.of(shape.generate(size, 42L + size));
+            tables = Landmarks.build(grid, landmarks, ForkJoinPool.commonPool()).join();
+            // Even cells are reachable in every shape.
+            Random random = new Random(size);
+            int evens = GridShape.lastEven(size) / 2 + 1;
+            for (int i = 0; i < PAIRS; i++) {
+                starts[i] = new Node(random.nextInt(evens) * 2, random.nextInt(evens) * 2);
+                ends[i] = new Node(random.nextInt(evens) * 2, random.nextInt(evens) * 2);
+            }
+            System.out.printf("%n%d landmarks: %d bytes (%d per cell), built in %d ms%n", tables.count(),
+                    tables.sizeBytes(), tables.sizeBytes() / grid.size(), tables.getPreprocessingMs());
+        }
+
+        int nextPair() {
+            next = (next + 1) % PAIRS;
+            return next;
+        }
+    }
+
+    @Benchmark
+    public Object indexedDijkstra(Queries queries) {
+        int pair = queries.nextPair();
+        return IndexedDijkstraPathFinder.findPathWithStats(queries.grid, queries.starts[pair], queries.ends[pair], null);
+    }
+
+    @Benchmark
+    public Object astarManhattan(Queries queries) {
+        int pair = queries.nextPair();
+        return AStarPathFinder.findPathWithStats(queries.grid, queries.starts[pair], queries.ends[pair],
+                AStarHeuristic.MANHATTAN, null, null);
+    }
+
+    @Benchmark
+    public Object astarLandmarks(Queries queries) {
+        int pair = queries.nextPair();
+        return AStarPathFinder.findPathWithStats(queries.grid, queries.starts[pair], queries.ends[pair],
+                AStarHeuristic.LANDMARKS, null, queries.tables, null);
+    }
+}
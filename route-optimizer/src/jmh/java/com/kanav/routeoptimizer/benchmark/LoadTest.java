@@ -0,0 +1,427 @@
+package com.kanav.routeoptimizer.benchmark;
+
+import com.kanav.routeoptimizer.RouteOptimizerApplication;
+import com.kanav.routeoptimizer.dto.PathRequest;
+import com.kanav.routeoptimizer.model.Algorithm;
+import org.HdrHistogram.Histogram;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.databind.node.ObjectNode;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * End-to-end load test: starts the application in its own JVM, replays a corpus of path requests
+ * against it from a pool of workers and reports throughput, latency percentiles and the server's
+ * GC activity over the measured window. Unlike the JMH benchmarks this covers the whole request
+ * path: JSON parsing, the search, serialising the result and the servlet stack around them.
+ *
+ * <p>The corpus is either generated ({@code --requests}, {@code --sizes}, {@code --seed}) or read
+ * from an NDJSON file ({@code --corpus}), one {@code {"path": ..., "body": {...}}} per line;
+ * {@code --record} writes the generated corpus so later runs can replay exactly the same requests.
+ * Without {@code --rate} each worker sends its next request as soon as the previous one returns.
+ * With it, requests go out on a fixed schedule and latency is measured from when each was due, so
+ * a stalled server shows up in the percentiles instead of just slowing the senders down.
+ */
+public class LoadTest {
+    private static final JsonMapper JSON = JsonMapper.builder().build();
+    private static final Map<String, String> ENDPOINTS = Map.of(
+            "bfs", "/api/path/bfs",
+            "dijkstra", "/api/path/dijkstra",
+            "compare", "/api/path/compare");
+    private static final long MAX_LATENCY_NANOS = TimeUnit.MINUTES.toNanos(10);
+
+    private final Map<String, String> options;
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+    private volatile boolean measuring;
+    private volatile boolean stopped;
+
+    private LoadTest(Map<String, String> options) {
+        this.options = options;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 0; i < args.length; i++) {
+            if (!args[i].startsWith("--")) {
+                throw new IllegalArgumentException("Unexpected argument " + args[i]);
+            }
+            String name = args[i].substring(2);
+            options.put(name, i + 1 < args.length && !args[i + 1].startsWith("--") ? args[++i] : "true");
+        }
+        new LoadTest(options).run();
+    }
+
+    private void run() throws Exception {
+        List<Call> corpus = options.containsKey("corpus")
+                ? readCorpus(Path.of(options.get("corpus")))
+                : generateCorpus();
+        if (options.containsKey("record")) {
+            writeCorpus(corpus, Path.of(options.get("record")));
+        }
+        Process server = null;
+        String url = options.get("url");
+        try {
+            if (url == null) {
+                int port = freePort();
+                server = startServer(port);
+                // Ctrl-C skips the finally block below, so the server must not outlive the harness either way.
+                Runtime.getRuntime().addShutdownHook(new Thread(server::destroy));
+                url = "http://localhost:" + port;
+            }
+            awaitHealthy(url, server);
+            System.out.printf("Corpus of %d requests against %s%n", corpus.size(), url);
+            report(measure(url, corpus));
+        } finally {
+            if (server != null) {
+                server.destroy();
+                server.waitFor(30, TimeUnit.SECONDS);
+            }
+        }
+    }
+
+    private Result measure(String url, List<Call> corpus) throws Exception {
+        int concurrency = intOption("concurrency", 16);
+        long warmupNanos = TimeUnit.SECONDS.toNanos(intOption("warmup", 10));
+        long durationNanos = TimeUnit.SECONDS.toNanos(intOption("duration", 30));
+        double rate = Double.parseDouble(options.getOrDefault("rate", "0"));
+        // With a target rate each worker owns an equal share of it, spaced evenly.
+        long intervalNanos = rate > 0 ? (long) (1e9 * concurrency / rate) : 0;
+
+        List<Worker> workers = new ArrayList<>(concurrency);
+        List<Thread> threads = new ArrayList<>(concurrency);
+        for (int w = 0; w < concurrency; w++) {
+            Worker worker = new Worker(url, corpus, w * corpus.size() / concurrency, intervalNanos);
+            workers.add(worker);
+            Thread thread = new Thread(worker, "load-" + w);
+            threads.add(thread);
+            thread.start();
+        }
+        Thread.sleep(TimeUnit.NANOSECONDS.toMillis(warmupNanos));
+        Map<String, Double> gcBefore = gcMetrics(url);
+        measuring = true;
+        long start = System.nanoTime();
+        Thread.sleep(TimeUnit.NANOSECONDS.toMillis(durationNanos));
+        measuring = false;
+        long elapsed = System.nanoTime() - start;
+        Map<String, Double> gcAfter = gcMetrics(url);
+        stopped = true;
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        Map<String, Histogram> latencies = new LinkedHashMap<>();
+        Map<String, Long> errors = new HashMap<>();
+        for (Worker worker : workers) {
+            worker.latencies.forEach((path, histogram) -> latencies
+                    .computeIfAbsent(path, key -> new Histogram(MAX_LATENCY_NANOS, 3)).add(histogram));
+            worker.errors.forEach((path, count) -> errors.merge(path, count, Long::sum));
+        }
+        Map<String, Double> gc = new HashMap<>();
+        gcAfter.forEach((name, value) -> gc.put(name, value - gcBefore.getOrDefault(name, 0.0)));
+        return new Result(latencies, errors, elapsed, gc, concurrency, rate);
+    }
+
+    private final class Worker implements Runnable {
+        private final String url;
+        private final List<Call> corpus;
+        private final long intervalNanos;
+        private final Map<String, Histogram> latencies = new HashMap<>();
+        private final Map<String, Long> errors = new HashMap<>();
+        private int next;
+
+        private Worker(String url, List<Call> corpus, int first, long intervalNanos) {
+            this.url = url;
+            this.corpus = corpus;
+            this.next = first;
+            this.intervalNanos = intervalNanos;
+        }
+
+        @Override
+        public void run() {
+            long due = System.nanoTime();
+            while (!stopped) {
+                Call call = corpus.get(next);
+                next = (next + 1) % corpus.size();
+                if (intervalNanos > 0) {
+                    due += intervalNanos;
+                    long wait = due - System.nanoTime();
+                    if (wait > 0) {
+                        LockSupport.parkNanos(wait);
+                    }
+                }
+                long sent = intervalNanos > 0 ? due : System.nanoTime();
+                boolean ok = send(call);
+                long latency = System.nanoTime() - sent;
+                if (measuring) {
+                    latencies.computeIfAbsent(call.path, key -> new Histogram(MAX_LATENCY_NANOS, 3))
+                            .recordValue(Math.min(latency, MAX_LATENCY_NANOS));
+                    if (!ok) {
+                        errors.merge(call.path, 1L, Long::sum);
+                    }
+                }
+            }
+        }
+
+        private boolean send(Call call) {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(url + call.path))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(call.body))
+                    .build();
+            try {
+                // The body is read in full so response serialisation and transfer count towards latency.
+                HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+                return response.statusCode() / 100 == 2;
+            } catch (IOException e) {
+                return false;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+    }
+
+    private void report(Result result) throws IOException {
+        double seconds = result.elapsedNanos / 1e9;
+        System.out.printf("%n%d workers, %s, %.1f s measured%n", result.concurrency,
+                result.rate > 0 ? String.format("target %.0f req/s", result.rate) : "closed loop", seconds);
+        System.out.printf("%-22s %9s %7s %9s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "errors", "req/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms");
+        Histogram all = new Histogram(MAX_LATENCY_NANOS, 3);
+        ObjectNode json = JSON.createObjectNode();
+        ObjectNode endpoints = json.putObject("endpoints");
+        long totalErrors = 0;
+        for (Map.Entry<String, Histogram> entry : result.latencies.entrySet()) {
+            long errors = result.errors.getOrDefault(entry.getKey(), 0L);
+            totalErrors += errors;
+            all.add(entry.getValue());
+            printRow(entry.getKey(), entry.getValue(), errors, seconds, endpoints.putObject(entry.getKey()));
+        }
+        printRow("all", all, totalErrors, seconds, json.putObject("all"));
+
+        double collections = result.gc.getOrDefault("jvm.gc.pause:COUNT", 0.0);
+        double pausedMs = result.gc.getOrDefault("jvm.gc.pause:TOTAL_TIME", 0.0) * 1000;
+        double allocated = result.gc.getOrDefault("jvm.gc.memory.allocated:COUNT", 0.0);
+        System.out.printf("%nServer GC: %.0f collections, %.0f ms paused (%.2f%% of wall time), %.1f MB allocated"
+                        + " (%.1f KB per request)%n",
+                collections, pausedMs, 100 * pausedMs / (seconds * 1000), allocated / (1 << 20),
+                all.getTotalCount() == 0 ? 0 : allocated / 1024 / all.getTotalCount());
+        json.putObject("gc")
+                .put("collections", collections)
+                .put("pausedMs", pausedMs)
+                .put("allocatedBytes", allocated);
+        json.put("concurrency", result.concurrency).put("rate", result.rate).put("seconds", seconds);
+
+        Path out = Path.of(options.getOrDefault("out", "target/load-result.json"));
+        if (out.getParent() != null) {
+            Files.createDirectories(out.getParent());
+        }
+        JSON.writerWithDefaultPrettyPrinter().writeValue(out.toFile(), json);
+        System.out.println("Results written to " + out);
+    }
+
+    private static void printRow(String name, Histogram histogram, long errors, double seconds, ObjectNode json) {
+        double p50 = histogram.getValueAtPercentile(50) / 1e6;
+        double p99 = histogram.getValueAtPercentile(99) / 1e6;
+        double p999 = histogram.getValueAtPercentile(99.9) / 1e6;
+        double max = histogram.getMaxValue() / 1e6;
+        double throughput = histogram.getTotalCount() / seconds;
+        System.out.printf("%-22s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f%n",
+                name, histogram.getTotalCount(), errors, throughput, p50, p99, p999, max);
+        json.put("requests", histogram.getTotalCount())
+                .put("errors", errors)
+                .put("throughput", throughput)
+                .put("p50Ms", p50)
+                .put("p99Ms", p99)
+                .put("p999Ms", p999)
+                .put("maxMs", max);
+    }
+
+    // Totals from the server's own Micrometer meters, so client-side allocation never muddies them.
+    private Map<String, Double> gcMetrics(String url) throws IOException, InterruptedException {
+        Map<String, Double> values = new HashMap<>();
+        for (String metric : List.of("jvm.gc.pause", "jvm.gc.memory.allocated")) {
+            HttpResponse<String> response = client.send(
+                    HttpRequest.newBuilder(URI.create(url + "/actuator/metrics/" + metric)).build(),
+                    HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                continue;
+            }
+            for (JsonNode measurement : JSON.readTree(response.body()).path("measurements")) {
+                values.put(metric + ":" + measurement.path("statistic").asString(), measurement.path("value").asDouble());
+            }
+        }
+        return values;
+    }
+
+    private Process startServer(int port) throws IOException {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(split(options.getOrDefault("jvm-args", "-Xmx1g")));
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add(RouteOptimizerApplication.class.getName());
+        command.add("--server.port=" + port);
+        // Repeated corpus entries would otherwise be answered from the result cache after the first lap.
+        if (!options.containsKey("cache")) {
+            command.add("--routr.cache.enabled=false");
+        }
+        command.addAll(split(options.getOrDefault("app-args", "")));
+        Path log = Path.of("target", "load-server.log");
+        Files.createDirectories(log.getParent());
+        System.out.println("Starting server on port " + port + ", log in " + log);
+        return new ProcessBuilder(command).redirectErrorStream(true).redirectOutput(log.toFile()).start();
+    }
+
+    private void awaitHealthy(String url, Process server) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(120);
+        while (System.nanoTime() < deadline) {
+            if (server != null && !server.isAlive()) {
+                throw new IllegalStateException("Server exited with status " + server.exitValue());
+            }
+            try {
+                HttpResponse<String> response = client.send(
+                        HttpRequest.newBuilder(URI.create(url + "/actuator/health")).build(),
+                        HttpResponse.BodyHandlers.ofString());
+                if (response.statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException e) {
+                // Not listening yet.
+            }
+            Thread.sleep(250);
+        }
+        throw new IllegalStateException("Server at " + url + " did not become healthy");
+    }
+
+    // Grids of every shape and size, each with several random routes between even cells, spread over the endpoints.
+    private List<Call> generateCorpus() {
+        int requests = intOption("requests", 600);
+        Random random = new Random(Long.parseLong(options.getOrDefault("seed", "42")));
+        List<String> endpoints = split(options.getOrDefault("endpoints", "bfs,dijkstra,compare").replace(',', ' '));
+        List<int[][]> grids = new ArrayList<>();
+        for (String size : split(options.getOrDefault("sizes", "50,200").replace(',', ' '))) {
+            for (GridShape shape : GridShape.values()) {
+                grids.add(shape.generate(Integer.parseInt(size), random.nextLong()));
+            }
+        }
+        List<Call> corpus = new ArrayList<>(requests);
+        for (int i = 0; i < requests; i++) {
+            int[][] grid = grids.get(random.nextInt(grids.size()));
+            int last = GridShape.lastEven(grid.length);
+            PathRequest request = new PathRequest();
+            request.setGrid(grid);
+            request.setStartRow(random.nextInt(last / 2 + 1) * 2);
+            request.setStartCol(random.nextInt(last / 2 + 1) * 2);
+            request.setEndRow(random.nextInt(last / 2 + 1) * 2);
+            request.setEndCol(random.nextInt(last / 2 + 1) * 2);
+            String endpoint = endpoints.get(i % endpoints.size());
+            if (endpoint.equals("compare")) {
+                request.setAlgorithms(List.of(Algorithm.BFS, Algorithm.DIJKSTRA, Algorithm.ASTAR));
+            }
+            String path = ENDPOINTS.get(endpoint);
+            if (path == null) {
+                throw new IllegalArgumentException("Unknown endpoint " + endpoint + "; expected one of " + ENDPOINTS.keySet());
+            }
+            corpus.add(new Call(path, JSON.writeValueAsBytes(request)));
+        }
+        return corpus;
+    }
+
+    private static List<Call> readCorpus(Path file) throws IOException {
+        List<Call> corpus = new ArrayList<>();
+        for (String line : Files.readAllLines(file)) {
+            if (line.isBlank()) {
+                continue;
+            }
+            JsonNode entry = JSON.readTree(line);
+            corpus.add(new Call(entry.path("path").asString(), JSON.writeValueAsBytes(entry.path("body"))));
+        }
+        if (corpus.isEmpty()) {
+            throw new IllegalArgumentException(file + " holds no requests");
+        }
+        return corpus;
+    }
+
+    private static void writeCorpus(List<Call> corpus, Path file) throws IOException {
+        try (BufferedWriter out = Files.newBufferedWriter(file)) {
+            for (Call call : corpus) {
+                ObjectNode entry = JSON.createObjectNode().put("path", call.path);
+                entry.set("body", JSON.readTree(call.body));
+                out.write(JSON.writeValueAsString(entry));
+                out.newLine();
+            }
+        }
+        System.out.println("Corpus written to " + file);
+    }
+
+    private int intOption(String name, int defaultValue) {
+        return Integer.parseInt(options.getOrDefault(name, String.valueOf(defaultValue)));
+    }
+
+    private static List<String> split(String value) {
+        return value.isBlank() ? List.of() : Arrays.asList(value.trim().split("\\s+"));
+    }
+
+    private static int freePort() {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static final class Call {
+        private final String path;
+        private final byte[] body;
+
+        private Call(String path, byte[] body) {
+            this.path = path;
+            this.body = body;
+        }
+
+        @Override
+        public String toString() {
+            return path + " " + new String(body, StandardCharsets.UTF_8);
+        }
+    }
+
+    private static final class Result {
+        private final Map<String, Histogram> latencies;
+        private final Map<String, Long> errors;
+        private final long elapsedNanos;
+        private final Map<String, Double> gc;
+        private final int concurrency;
+        private final double rate;
+
+        private Result(Map<String, Histogram> latencies, Map<String, Long> errors, long elapsedNanos,
+                       Map<String, Double> gc, int concurrency, double rate) {
+            this.latencies = latencies;
+            this.errors = errors;
+            this.elapsedNanos = elapsedNanos;
+            this.gc = gc;
+            this.concurrency = concurrency;
+            this.rate = rate;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.kanav.routeoptimizer.benchmark;
+
+import com.kanav.routeoptimizer.algorithm.BFSPathFinder;
+import com.kanav.routeoptimizer.algorithm.DijkstraPathFinder;
+import com.kanav.routeoptimizer.algorithm.IndexedBFSPathFinder;
+import com.kanav.routeoptimizer.algorithm.IndexedDijkstraPathFinder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single searches corner to corner. The indexed engines run alongside the original finders so
+ * a change to either shows up against the other on the same grids.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class PathFinderBenchmark {
+
+    @Benchmark
+    public Object bfs(GridState state) {
+        return BFSPathFinder.findPathWithStats(state.grid, state.start, state.end);
+    }
+
+    @Benchmark
+    public Object dijkstra(GridState state) {
+        return DijkstraPathFinder.findPathWithStats(state.grid, state.start, state.end);
+    }
+
+    @Benchmark
+    public Object indexedBfs(GridState state) {
+        return IndexedBFSPathFinder.findPathWithStats(state.grid, state.start, state.end);
+    }
+
+    @Benchmark
+    public Object indexedDijkstra(GridState state) {
+        return IndexedDijkstraPathFinder.findPathWithStats(state.grid, state.start, state.end);
+    }
+}
@@ -0,0 +1,141 @@
+package com.kanav.routeoptimizer.algorithm;
+
+import com.kanav.routeoptimizer.model.AStarHeuristic;
+import com.kanav.routeoptimizer.model.FlatGrid;
+import com.kanav.routeoptimizer.model.Node;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+
+public class AStarPathFinder {
+    public static final double DEFAULT_WEIGHT = 1.5;
+
+    private static final int[] DR = {-1, 1, 0, 0};
+    private static final int[] DC = {0, 0, -1, 1};
+
+    public static SearchResult findPathWithStats(int[][] grid, Node start, Node end,
+                                                 AStarHeuristic heuristic, Double weight) {
+        long startTime = System.nanoTime();
+        if (!GridPaths.isValidGrid(grid) || start == null || end == null) {
+            return SearchResult.empty(0, startTime);
+        }
+        return search(FlatGrid.of(grid), start, end, heuristic, weight, null, new VisitOrder(), startTime);
+    }
+
+    public static SearchResult findPathWithStats(FlatGrid grid, Node start, Node end,
+                                                 AStarHeuristic heuristic, Double weight) {
+        return findPathWithStats(grid, start, end, heuristic, weight, new VisitOrder());
+    }
+
+    public static SearchResult findPathWithStats(FlatGrid grid, Node start, Node end,
+                                                 AStarHeuristic heuristic, Double weight, ExpansionSink sink) {
+        return findPathWithStats(grid, start, end, heuristic, weight, null, sink);
+    }
+
+    // Landmarks, when given, tighten the LANDMARKS heuristic; they must have been built for this grid.
+    public static SearchResult findPathWithStats(FlatGrid grid, Node start, Node end, AStarHeuristic heuristic,
+                                                 Double weight, Landmarks landmarks, ExpansionSink sink) {
+        long startTime = System.nanoTime();
+        if (start == null || end == null) {
+            return SearchResult.empty(0, startTime);
+        }
+        return search(grid, start, end, heuristic, weight, landmarks, sink, startTime);
+    }
+
+    private static SearchResult search(FlatGrid grid, Node start, Node end, AStarHeuristic heuristic, Double weight,
+                                       Landmarks landmarks, ExpansionSink sink, long startTime) {
+        if (!isWalkable(grid, start.getRow(), start.getCol())
+                || !isWalkable(grid, end.getRow(), end.getCol())) {
+            return SearchResult.empty(0, startTime);
+        }
+        if (start.equals(end)) {
+            return SearchResult.trivial(grid, start, 0, sink, startTime);
+        }
+
+        AStarHeuristic mode = heuristic == null ? AStarHeuristic.MANHATTAN : heuristic;
+        // Scaling Manhattan distance by the cheapest step keeps the heuristic admissible and consistent;
+        // only the WEIGHTED variant inflates it, trading optimality for fewer expansions.
+        double scale = grid.minStepCost();
+        if (mode == AStarHeuristic.WEIGHTED) {
+            scale *= Math.max(1.0, weight == null ? DEFAULT_WEIGHT : weight);
+        }
+        boolean tieBreak = mode == AStarHeuristic.TIE_BREAKING;
+        Landmarks alt = mode == AStarHeuristic.LANDMARKS ? landmarks : null;
+
+        int rows = grid.getRows();
+        int cols = grid.getCols();
+        int source = grid.index(start.getRow(), start.getCol());
+        int target = grid.index(end.getRow(), end.getCol());
+        int targetRow = end.getRow();
+        int targetCol = end.getCol();
+
+        try (SearchScratch scratch = SearchScratch.forGrid(grid)) {
+            BitSet closed = new BitSet(grid.size());
+            int expanded = 0;
+            KeyedIntHeap open = new KeyedIntHeap(64);
+            scratch.fillDistance(Integer.MAX_VALUE);
+
+            scratch.setDistance(source, 0);
+            scratch.setParent(source, GridPaths.NO_PARENT);
+            open.push(key(0, heuristic(source, start.getRow(), start.getCol(), target, targetRow, targetCol, scale, alt),
+                    tieBreak), source);
+
+            while (!open.isEmpty()) {
+                int node = open.pop();
+                if (closed.get(node)) {
+                    continue;
+                }
+                closed.set(node);
+                expanded++;
+                if (sink != null) {
+                    sink.expanded(node);
+                }
+                if (node == target) {
+                    return new SearchResult(GridPaths.buildPath(grid, scratch, target), GridPaths.visited(grid, sink),
+                            expanded, scratch.distance(target), GridPaths.elapsedMs(startTime), open.peakSize());
+                }
+
+                int row = node / cols;
+                int col = node - row * cols;
+                int cost = scratch.distance(node);
+                for (int i = 0; i < 4; i++) {
+                    int nr = row + DR[i];
+                    int nc = col + DC[i];
+                    if (nr < 0 || nr >= rows || nc < 0 || nc >= cols) {
+                        continue;
+                    }
+                    int neighbor = nr * cols + nc;
+                    if (!grid.isPassable(neighbor) || closed.get(neighbor)) {
+                        continue;
+                    }
+                    int newCost = cost + FlatGrid.stepCost(grid.cell(neighbor));
+                    if (newCost < scratch.distance(neighbor)) {
+                        scratch.setDistance(neighbor, newCost);
+                        scratch.setParent(neighbor, node);
+                        open.push(key(newCost, heuristic(neighbor, nr, nc, target, targetRow, targetCol, scale, alt),
+                                tieBreak), neighbor);
+                    }
+                }
+            }
+
+            return new SearchResult(new ArrayList<>(), GridPaths.visited(grid, sink),
+                    expanded, 0, GridPaths.elapsedMs(startTime), open.peakSize());
+        }
+    }
+
+    private static int heuristic(int index, int row, int col, int target, int targetRow, int targetCol, double scale,
+                                 Landmarks landmarks) {
+        int manhattan = (int) ((Math.abs(row - targetRow) + Math.abs(col - targetCol)) * scale);
+        return landmarks == null ? manhattan : Math.max(manhattan, landmarks.lowerBound(index, target));
+    }
+
+    private static long key(int g, int h, boolean tieBreak) {
+        long f = (long) g + h;
+        // Among equal f, prefer the node closest to the target (largest g) so plateaus are not flooded.
+        return tieBreak ? (f << 32) | h : f << 32;
+    }
+
+    private static boolean isWalkable(FlatGrid grid, int row, int col) {
+        return grid.contains(row, col) && grid.isPassable(grid.index(row, col));
+    }
+}
@@ -176,12 +176,18 @@ public class BFSPathFinder {
         private final List<Node> visited;
         private final int nodesVisited;
         private final long executionTimeMs;
+        private final int queuePeak;
 
         public BFSResult(List<Node> path, List<Node> visited, int nodesVisited, long executionTimeMs) {
+            this(path, visited, nodesVisited, executionTimeMs, 0);
+        }
+
+        public BFSResult(List<Node> path, List<Node> visited, int nodesVisited, long executionTimeMs, int queuePeak) {
             this.path = path;
             this.visited = visited;
             this.nodesVisited = nodesVisited;
             this.executionTimeMs = executionTimeMs;
+            this.queuePeak = queuePeak;
         }
 
         public List<Node> getPath() {
@@ -199,5 +205,10 @@ public class BFSPathFinder {
         public long getExecutionTimeMs() {
             return executionTimeMs;
         }
+
+        // The most entries the queue held at once; 0 for engines that do not track it.
+        public int getQueuePeak() {
+            return queuePeak;
+        }
     }
 }
@@ -0,0 +1,153 @@
+package com.kanav.routeoptimizer.algorithm;
+
+import com.kanav.routeoptimizer.model.FlatGrid;
+import com.kanav.routeoptimizer.model.Node;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class BidirectionalBFSPathFinder {
+    private static final int UNSEEN = -1;
+    private static final int[] DR = {-1, 1, 0, 0};
+    private static final int[] DC = {0, 0, -1, 1};
+
+    public static SearchResult findPathWithStats(int[][] grid, Node start, Node end) {
+        long startTime = System.nanoTime();
+        if (!GridPaths.isValidGrid(grid) || start == null || end == null) {
+            return SearchResult.empty(null, startTime);
+        }
+        return search(FlatGrid.of(grid), start, end, new VisitOrder(), startTime);
+    }
+
+    public static SearchResult findPathWithStats(FlatGrid grid, Node start, Node end) {
+        return findPathWithStats(grid, start, end, new VisitOrder());
+    }
+
+    public static SearchResult findPathWithStats(FlatGrid grid, Node start, Node end, ExpansionSink sink) {
+        long startTime = System.nanoTime();
+        if (start == null || end == null) {
+            return SearchResult.empty(null, startTime);
+        }
+        return search(grid, start, end, sink, startTime);
+    }
+
+    private static SearchResult search(FlatGrid grid, Node start, Node end, ExpansionSink sink, long startTime) {
+        if (!isWalkable(grid, start.getRow(), start.getCol())
+                || !isWalkable(grid, end.getRow(), end.getCol())) {
+            return SearchResult.empty(null, startTime);
+        }
+        if (start.equals(end)) {
+            return SearchResult.trivial(grid, start, null, sink, startTime);
+        }
+
+        int size = grid.size();
+        int source = grid.index(start.getRow(), start.getCol());
+        int target = grid.index(end.getRow(), end.getCol());
+
+        // Depths double as the visited sets; parents point towards the root of each side.
+        Side forward = new Side(size, source);
+        Side backward = new Side(size, target);
+        int expanded = 2;
+        if (sink != null) {
+            sink.expanded(source);
+            sink.expanded(target);
+        }
+
+        int bestLength = Integer.MAX_VALUE;
+        int queuePeak = 2;
+        int meetFrom = UNSEEN;
+        int meetTo = UNSEEN;
+
+        while (forward.hasFrontier() && backward.hasFrontier()) {
+            // Expand one whole level of the smaller frontier, then check for a meeting.
+            boolean expandForward = forward.frontierSize() <= backward.frontierSize();
+            Side side = expandForward ? forward : backward;
+            Side other = expandForward ? backward : forward;
+            int levelEnd = side.tail;
+            while (side.head < levelEnd) {
+                int current = side.queue[side.head++];
+                int row = grid.rowOf(current);
+                int col = current - row * grid.getCols();
+                for (int i = 0; i < 4; i++) {
+                    int nr = row + DR[i];
+                    int nc = col + DC[i];
+                    if (!grid.contains(nr, nc)) {
+                        continue;
+                    }
+                    int neighbor = grid.index(nr, nc);
+                    if (!grid.isOpen(neighbor)) {
+                        continue;
+                    }
+                    if (other.depth[neighbor] != UNSEEN) {
+                        int length = side.depth[current] + 1 + other.depth[neighbor];
+                        if (length < bestLength) {
+                            bestLength = length;
+                            meetFrom = expandForward ? current : neighbor;
+                            meetTo = expandForward ? neighbor : current;
+                        }
+                    }
+                    if (side.depth[neighbor] != UNSEEN) {
+                        continue;
+                    }
+                    side.depth[neighbor] = side.depth[current] + 1;
+                    side.parent[neighbor] = current;
+                    side.queue[side.tail++] = neighbor;
+                    expanded++;
+                    if (sink != null) {
+                        sink.expanded(neighbor);
+                    }
+                }
+            }
+            queuePeak = Math.max(queuePeak, forward.frontierSize() + backward.frontierSize());
+            if (bestLength != Integer.MAX_VALUE) {
+                List<Node> path = joinPaths(grid, forward.parent, backward.parent, meetFrom, meetTo);
+                return new SearchResult(path, GridPaths.visited(grid, sink), expanded,
+                        null, GridPaths.elapsedMs(startTime), queuePeak);
+            }
+        }
+
+        return new SearchResult(new ArrayList<>(), GridPaths.visited(grid, sink), expanded,
+                null, GridPaths.elapsedMs(startTime), queuePeak);
+    }
+
+    static List<Node> joinPaths(FlatGrid grid, int[] forwardParent, int[] backwardParent, int meetFrom, int meetTo) {
+        List<Node> path = GridPaths.buildPath(grid, forwardParent, meetFrom);
+        int current = meetTo;
+        while (current != GridPaths.NO_PARENT) {
+            path.add(grid.toNode(current));
+            current = backwardParent[current];
+        }
+        return path;
+    }
+
+    private static boolean isWalkable(FlatGrid grid, int row, int col) {
+        return grid.contains(row, col) && grid.isOpen(grid.index(row, col));
+    }
+
+    private static final class Side {
+        private final int[] queue;
+        private final int[] depth;
+        private final int[] parent;
+        private int head;
+        private int tail;
+
+        private Side(int size, int root) {
+            queue = new int[size];
+            depth = new int[size];
+            parent = new int[size];
+            Arrays.fill(depth, UNSEEN);
+            queue[tail++] = root;
+            depth[root] = 0;
+            parent[root] = GridPaths.NO_PARENT;
+        }
+
+        private boolean hasFrontier() {
+            return head < tail;
+        }
+
+        private int frontierSize() {
+            return tail - head;
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.kanav.routeoptimizer.algorithm;
+
+import com.kanav.routeoptimizer.model.FlatGrid;
+import com.kanav.routeoptimizer.model.Node;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Dijkstra run from both endpoints at once. The backward search walks reversed edges, so leaving a
+ * cell costs that cell's own cost. The search stops once the two queue minima together reach the
+ * best meeting cost seen so far; no unexplored path can be cheaper than that.
+ */
+public class BidirectionalDijkstraPathFinder {
+    private static final int[] DR = {-1, 1, 0, 0};
+    private static final int[] DC = {0, 0, -1, 1};
+
+    public static SearchResult findPathWithStats(int[][] grid, Node start, Node end) {
+        long startTime = System.nanoTime();
+        if (!GridPaths.isValidGrid(grid) || start == null || end == null) {
+            return SearchResult.empty(0, startTime);
+        }
+        return search(FlatGrid.of(grid), start, end, new VisitOrder(), startTime);
+    }
+
+    public static SearchResult findPathWithStats(FlatGrid grid, Node start, Node end) {
+        return findPathWithStats(grid, start, end, new VisitOrder());
+    }
+
+    public static SearchResult findPathWithStats(FlatGrid grid, Node start, Node end, ExpansionSink sink) {
+        long startTime = System.nanoTime();
+        if (start == null || end == null) {
+            return SearchResult.empty(0, startTime);
+        }
+        return search(grid, start, end, sink, startTime);
+    }
+
+    private static SearchResult search(FlatGrid grid, Node start, Node end, ExpansionSink sink, long startTime) {
+        if (!isWalkable(grid, start.getRow(), start.getCol())
+                || !isWalkable(grid, end.getRow(), end.getCol())) {
+            return SearchResult.empty(0, startTime);
+        }
+        if (start.equals(end)) {
+            return SearchResult.trivial(grid, start, 0, sink, startTime);
+        }
+
+        int size = grid.size();
+        int source = grid.index(start.getRow(), start.getCol());
+        int target = grid.index(end.getRow(), end.getCol());
+        Side forward = new Side(size, source);
+        Side backward = new Side(size, target);
+        int expanded = 0;
+
+        long best = Long.MAX_VALUE;
+        int meetFrom = GridPaths.NO_PARENT;
+        int meetTo = GridPaths.NO_PARENT;
+
+        while (!forward.queue.isEmpty() && !backward.queue.isEmpty()) {
+            long topForward = LongMinHeap.priorityOf(forward.queue.peek());
+            long topBackward = LongMinHeap.priorityOf(backward.queue.peek());
+            if (topForward + topBackward >= best) {
+                break;
+            }
+            boolean expandForward = topForward <= topBackward;
+            Side side = expandForward ? forward : backward;
+            Side other = expandForward ? backward : forward;
+
+            long entry = side.queue.pop();
+            int node = LongMinHeap.indexOf(entry);
+            int cost = LongMinHeap.priorityOf(entry);
+            if (cost != side.distance[node] || side.settled.get(node)) {
+                continue;
+            }
+            side.settled.set(node);
+            expanded++;
+            if (sink != null) {
+                sink.expanded(node);
+            }
+
+            int row = grid.rowOf(node);
+            int col = node - row * grid.getCols();
+            // Forward edges cost the cell entered; backward edges cost the cell being left.
+            int leaveCost = FlatGrid.stepCost(grid.cell(node));
+            for (int i = 0; i < 4; i++) {
+                int nr = row + DR[i];
+                int nc = col + DC[i];
+                if (!grid.contains(nr, nc)) {
+                    continue;
+                }
+                int neighbor = grid.index(nr, nc);
+                if (!grid.isPassable(neighbor)) {
+                    continue;
+                }
+                int stepCost = expandForward ? FlatGrid.stepCost(grid.cell(neighbor)) : leaveCost;
+                int newCost = cost + stepCost;
+                if (newCost < side.distance[neighbor]) {
+                    side.distance[neighbor] = newCost;
+                    side.parent[neighbor] = node;
+                    side.queue.push(LongMinHeap.pack(newCost, neighbor));
+                }
+                if (other.distance[neighbor] != Integer.MAX_VALUE) {
+                    long candidate = (long) newCost + other.distance[neighbor];
+                    if (candidate < best) {
+                        best = candidate;
+                        meetFrom = expandForward ? node : neighbor;
+                        meetTo = expandForward ? neighbor : node;
+                    }
+                }
+            }
+        }
+
+        // Each side's own high-water mark; their sum bounds the combined peak from above.
+        int queuePeak = forward.queue.peakSize() + backward.queue.peakSize();
+        if (best == Long.MAX_VALUE) {
+            return new SearchResult(new ArrayList<>(), GridPaths.visited(grid, sink), expanded,
+                    0, GridPaths.elapsedMs(startTime), queuePeak);
+        }
+        return new SearchResult(
+                BidirectionalBFSPathFinder.joinPaths(grid, forward.parent, backward.parent, meetFrom, meetTo),
+                GridPaths.visited(grid, sink),
+                expanded,
+                (int) best,
+                GridPaths.elapsedMs(startTime),
+                queuePeak
+        );
+    }
+
+    private static boolean isWalkable(FlatGrid grid, int row, int col) {
+        return grid.contains(row, col) && grid.isPassable(grid.index(row, col));
+    }
+
+    private static final class Side {
+        private final int[] distance;
+        private final int[] parent;
+        private final BitSet settled;
+        private final LongMinHeap queue = new LongMinHeap(64);
+
+        private Side(int size, int root) {
+            distance = new int[size];
+            parent = new int[size];
+            settled = new BitSet(size);
+            Arrays.fill(distance, Integer.MAX_VALUE);
+            distance[root] = 0;
+            parent[root] = GridPaths.NO_PARENT;
+            queue.push(LongMinHeap.pack(0, root));
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.kanav.routeoptimizer.algorithm;
+
+import com.kanav.routeoptimizer.model.FlatGrid;
+import com.kanav.routeoptimizer.model.Node;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Dial's algorithm: Dijkstra with a circular array of buckets indexed by distance. Every open
+ * distance lies within maxStepCost of the current one, so maxStepCost + 1 buckets are enough and
+ * both push and pop are O(1) without allocating per entry.
+ */
+public class BucketDijkstraPathFinder {
+    public static DijkstraPathFinder.DijkstraResult findPathWithStats(int[][] grid, Node start, Node end) {
+        long startTime = System.nanoTime();
+        if (!GridPaths.isValidGrid(grid) || start == null || end == null) {
+            return new DijkstraPathFinder.DijkstraResult(new ArrayList<>(), new ArrayList<>(), 0, 0, GridPaths.elapsedMs(startTime));
+        }
+        return search(FlatGrid.of(grid), start, end, new VisitOrder(), startTime);
+    }
+
+    public static DijkstraPathFinder.DijkstraResult findPathWithStats(FlatGrid grid, Node start, Node end) {
+        return findPathWithStats(grid, start, end, new VisitOrder());
+    }
+
+    // A null sink skips visited tracking entirely; nodesVisited is still counted.
+    public static DijkstraPathFinder.DijkstraResult findPathWithStats(FlatGrid grid, Node start, Node end, ExpansionSink sink) {
+        long startTime = System.nanoTime();
+        if (start == null || end == null) {
+            return new DijkstraPathFinder.DijkstraResult(new ArrayList<>(), new ArrayList<>(), 0, 0, GridPaths.elapsedMs(startTime));
+        }
+        return search(grid, start, end, sink, startTime);
+    }
+
+    private static DijkstraPathFinder.DijkstraResult search(FlatGrid grid, Node start, Node end, ExpansionSink sink, long startTime) {
+        if (!isWalkable(grid, start.getRow(), start.getCol())
+                || !isWalkable(grid, end.getRow(), end.getCol())) {
+            return new DijkstraPathFinder.DijkstraResult(new ArrayList<>(), new ArrayList<>(), 0, 0, GridPaths.elapsedMs(startTime));
+        }
+        if (start.equals(end)) {
+            List<Node> path = new ArrayList<>();
+            path.add(start);
+            if (sink != null) {
+                sink.expanded(grid.index(start.getRow(), start.getCol()));
+            }
+            return new DijkstraPathFinder.DijkstraResult(path, GridPaths.visited(grid, sink), 1, 0, GridPaths.elapsedMs(startTime));
+        }
+
+        int rows = grid.getRows();
+        int cols = grid.getCols();
+        int source = grid.index(start.getRow(), start.getCol());
+        int target = grid.index(end.getRow(), end.getCol());
+
+        int bucketCount = FlatGrid.maxStepCost() + 1;
+        IntList[] buckets = new IntList[bucketCount];
+        for (int i = 0; i < bucketCount; i++) {
+            buckets[i] = new IntList(64);
+        }
+        int[] distance = new int[grid.size()];
+        int[] parent = new int[grid.size()];
+        int expanded = 0;
+        Arrays.fill(distance, Integer.MAX_VALUE);
+
+        distance[source] = 0;
+        parent[source] = GridPaths.NO_PARENT;
+        buckets[0].add(source);
+        int pending = 1;
+        int peakPending = 1;
+        int cursor = 0;
+
+        while (pending > 0) {
+            IntList bucket = buckets[cursor % bucketCount];
+            // Entries appended while draining the bucket have a higher distance and land elsewhere,
+            // except zero-cost steps, which the cost table does not have.
+            for (int i = 0; i < bucket.size(); i++) {
+                int node = bucket.get(i);
+                pending--;
+                if (distance[node] != cursor) {
+                    continue;
+                }
+                expanded++;
+                if (sink != null) {
+                    sink.expanded(node);
+                }
+                if (node == target) {
+                    List<Node> path = GridPaths.buildPath(grid, parent, target);
+                    return new DijkstraPathFinder.DijkstraResult(path, GridPaths.visited(grid, sink),
+                            expanded, cursor, GridPaths.elapsedMs(startTime), peakPending);
+                }
+
+                int row = node / cols;
+                int col = node - row * cols;
+                if (row > 0) {
+                    pending += relax(grid, distance, parent, buckets, node, cursor, node - cols);
+                }
+                if (row < rows - 1) {
+                    pending += relax(grid, distance, parent, buckets, node, cursor, node + cols);
+                }
+                if (col > 0) {
+                    pending += relax(grid, distance, parent, buckets, node, cursor, node - 1);
+                }
+                if (col < cols - 1) {
+                    pending += relax(grid, distance, parent, buckets, node, cursor, node + 1);
+                }
+                peakPending = Math.max(peakPending, pending);
+            }
+            bucket.clear();
+            cursor++;
+        }
+
+        return new DijkstraPathFinder.DijkstraResult(new ArrayList<>(), GridPaths.visited(grid, sink),
+                expanded, 0, GridPaths.elapsedMs(startTime), peakPending);
+    }
+
+    private static int relax(FlatGrid grid, int[] distance, int[] parent, IntList[] buckets,
+                             int node, int cost, int neighbor) {
+        if (!grid.isPassable(neighbor)) {
+            return 0;
+        }
+        int newCost = cost + FlatGrid.stepCost(grid.cell(neighbor));
+        if (newCost >= distance[neighbor]) {
+            return 0;
+        }
+        distance[neighbor] = newCost;
+        parent[neighbor] = node;
+        buckets[newCost % buckets.length].add(neighbor);
+        return 1;
+    }
+
+    private static boolean isWalkable(FlatGrid grid, int row, int col) {
+        return grid.contains(row, col) && grid.isPassable(grid.index(row, col));
+    }
+}
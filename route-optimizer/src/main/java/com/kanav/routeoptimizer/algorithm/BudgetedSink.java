@@ -0,0 +1,80 @@
+package com.kanav.routeoptimizer.algorithm;
+
+import com.kanav.routeoptimizer.model.FlatGrid;
+import com.kanav.routeoptimizer.model.Node;
+import com.kanav.routeoptimizer.model.SearchStatus;
+
+import java.util.List;
+
+/**
+ * Enforces a search budget from inside the engines' loops, which already report every expansion to
+ * their sink. Past the node limit, the deadline or a thread interrupt it throws
+ * {@link SearchAbortedException}. The clock and the interrupt flag are read only every
+ * {@value #CHECK_INTERVAL} expansions, so the per-node cost is a counter and a distance comparison.
+ */
+public class BudgetedSink implements ExpansionSink {
+    public static final int NO_TARGET = -1;
+    public static final long NO_DEADLINE = Long.MAX_VALUE;
+    private static final int CHECK_INTERVAL = 1024;
+
+    private final ExpansionSink delegate;
+    private final int maxNodes;
+    private final long deadlineNanos;
+    private final int cols;
+    private final int targetRow;
+    private final int targetCol;
+    private int expanded;
+    private int closest = NO_TARGET;
+    private int closestDistance = Integer.MAX_VALUE;
+
+    // deadlineNanos is a System.nanoTime() instant; maxNodes <= 0 and NO_DEADLINE disable the respective limit.
+    public BudgetedSink(ExpansionSink delegate, int maxNodes, long deadlineNanos, FlatGrid grid, int target) {
+        this.delegate = delegate;
+        this.maxNodes = maxNodes > 0 ? maxNodes : Integer.MAX_VALUE;
+        this.deadlineNanos = deadlineNanos;
+        this.cols = grid.getCols();
+        this.targetRow = target == NO_TARGET ? NO_TARGET : grid.rowOf(target);
+        this.targetCol = target == NO_TARGET ? NO_TARGET : grid.colOf(target);
+    }
+
+    @Override
+    public void expanded(int index) {
+        if (expanded >= maxNodes) {
+            throw new SearchAbortedException(SearchStatus.BUDGET_EXCEEDED);
+        }
+        expanded++;
+        if (delegate != null) {
+            delegate.expanded(index);
+        }
+        if (targetRow != NO_TARGET) {
+            int row = index / cols;
+            int distance = Math.abs(row - targetRow) + Math.abs(index - row * cols - targetCol);
+            if (distance < closestDistance) {
+                closestDistance = distance;
+                closest = index;
+            }
+        }
+        if ((expanded & (CHECK_INTERVAL - 1)) == 0) {
+            if (deadlineNanos != NO_DEADLINE && System.nanoTime() - deadlineNanos > 0) {
+                throw new SearchAbortedException(SearchStatus.DEADLINE_EXCEEDED);
+            }
+            if (Thread.currentThread().isInterrupted()) {
+                throw new SearchAbortedException(SearchStatus.CANCELLED);
+            }
+        }
+    }
+
+    @Override
+    public List<Node> visited(FlatGrid grid) {
+        return GridPaths.visited(grid, delegate);
+    }
+
+    public int getExpanded() {
+        return expanded;
+    }
+
+    // Null when nothing was expanded or the search has no single target to measure against.
+    public Node closest(FlatGrid grid) {
+        return closest == NO_TARGET ? null : grid.toNode(closest);
+    }
+}
@@ -0,0 +1,317 @@
+package com.kanav.routeoptimizer.algorithm;
+
+import com.kanav.routeoptimizer.model.FlatGrid;
+
+import java.util.Arrays;
+
+/**
+ * 4-connected component labels of a grid's walkable cells, so "is there any path" is one array
+ * comparison. Labels are kept up to date cell by cell: opening a cell merges the components around
+ * it by relabelling the smaller ones, and blocking a cell runs interleaved searches from its
+ * neighbours, relabelling only the pieces that turn out to be cut off. Either way the work is
+ * bounded by the smaller side rather than the grid.
+ */
+public class ConnectedComponents {
+    public static final int NO_COMPONENT = -1;
+
+    public enum Walkability {
+        // BFS, JPS and bidirectional BFS only step onto open cells.
+        OPEN,
+        // The cost-aware searches also cross traffic.
+        PASSABLE;
+
+        public boolean walkable(byte cell) {
+            return this == OPEN ? cell == FlatGrid.OPEN : cell != FlatGrid.WALL && cell != FlatGrid.UNKNOWN;
+        }
+    }
+
+    private final int rows;
+    private final int cols;
+    private final Walkability walkability;
+    private final int[] labels;
+    // Neighbour buffer for the inner loops, so relabelling a large component does not allocate per cell.
+    private final int[] adjacent = new int[4];
+    private int[] sizes = new int[16];
+    private final IntList freeLabels = new IntList();
+    private int nextLabel;
+    private int components;
+
+    private ConnectedComponents(int rows, int cols, Walkability walkability) {
+        this.rows = rows;
+        this.cols = cols;
+        this.walkability = walkability;
+        this.labels = new int[rows * cols];
+    }
+
+    public static ConnectedComponents build(FlatGrid grid, Walkability walkability) {
+        ConnectedComponents components = new ConnectedComponents(grid.getRows(), grid.getCols(), walkability);
+        int[] labels = components.labels;
+        Arrays.fill(labels, NO_COMPONENT);
+        int[] queue = new int[labels.length];
+        for (int cell = 0; cell < labels.length; cell++) {
+            if (labels[cell] != NO_COMPONENT || !walkability.walkable(grid.cell(cell))) {
+                continue;
+            }
+            int label = components.newLabel();
+            int head = 0;
+            int tail = 0;
+            labels[cell] = label;
+            queue[tail++] = cell;
+            while (head < tail) {
+                int current = queue[head++];
+                int row = current / components.cols;
+                int col = current - row * components.cols;
+                if (row > 0) {
+                    tail = components.claim(grid, queue, tail, current - components.cols, label);
+                }
+                if (row < components.rows - 1) {
+                    tail = components.claim(grid, queue, tail, current + components.cols, label);
+                }
+                if (col > 0) {
+                    tail = components.claim(grid, queue, tail, current - 1, label);
+                }
+                if (col < components.cols - 1) {
+                    tail = components.claim(grid, queue, tail, current + 1, label);
+                }
+            }
+            components.sizes[label] = tail;
+        }
+        return components;
+    }
+
+    public boolean connected(int from, int to) {
+        int label = labels[from];
+        return label != NO_COMPONENT && label == labels[to];
+    }
+
+    public int label(int index) {
+        return labels[index];
+    }
+
+    public int componentCount() {
+        return components;
+    }
+
+    public Walkability getWalkability() {
+        return walkability;
+    }
+
+    public long sizeBytes() {
+        return (long) labels.length * Integer.BYTES;
+    }
+
+    /**
+     * Applies a new value for one cell. Returns false when the cell's walkability did not change,
+     * for example a traffic cell becoming heavy traffic.
+     */
+    public boolean update(int index, byte value) {
+        boolean walkable = walkability.walkable(value);
+        if (walkable == (labels[index] != NO_COMPONENT)) {
+            return false;
+        }
+        if (walkable) {
+            open(index);
+        } else {
+            block(index);
+        }
+        return true;
+    }
+
+    // Joins the cell to its largest neighbouring component and folds the other neighbours into it.
+    private void open(int index) {
+        int[] neighbours = neighbours(index);
+        int largest = NO_COMPONENT;
+        for (int neighbour : neighbours) {
+            int label = neighbour < 0 ? NO_COMPONENT : labels[neighbour];
+            if (label != NO_COMPONENT && (largest == NO_COMPONENT || sizes[label] > sizes[largest])) {
+                largest = label;
+            }
+        }
+        if (largest == NO_COMPONENT) {
+            int label = newLabel();
+            labels[index] = label;
+            sizes[label] = 1;
+            return;
+        }
+        labels[index] = largest;
+        sizes[largest]++;
+        IntList queue = new IntList();
+        for (int neighbour : neighbours) {
+            int label = neighbour < 0 ? NO_COMPONENT : labels[neighbour];
+            if (label != NO_COMPONENT && label != largest) {
+                sizes[largest] += relabel(neighbour, label, largest, queue);
+                releaseLabel(label);
+            }
+        }
+    }
+
+    /*
+     * Every cell of the old component still reaches at least one neighbour of the blocked cell, so
+     * each piece it may fall into contains one of those neighbours. A search runs from each, one
+     * step at a time in turn; searches that meet join a group. A group whose searches all run out
+     * is a complete piece and gets a new label. Once a single group is left, it keeps the old label
+     * together with every cell nobody reached.
+     */
+    private void block(int index) {
+        int label = labels[index];
+        labels[index] = NO_COMPONENT;
+        if (--sizes[label] == 0) {
+            releaseLabel(label);
+            return;
+        }
+        int[] neighbours = neighbours(index);
+        int fronts = 0;
+        int[] starts = new int[4];
+        for (int neighbour : neighbours) {
+            if (neighbour >= 0 && labels[neighbour] == label) {
+                starts[fronts++] = neighbour;
+            }
+        }
+        if (fronts <= 1) {
+            return;
+        }
+
+        IntList[] visited = new IntList[fronts];
+        int[] heads = new int[fronts];
+        int[] group = new int[fronts];
+        for (int front = 0; front < fronts; front++) {
+            visited[front] = new IntList();
+            visited[front].add(starts[front]);
+            labels[starts[front]] = mark(front);
+            group[front] = front;
+        }
+        int liveGroups = fronts;
+        boolean[] finished = new boolean[fronts];
+        while (liveGroups > 1) {
+            for (int front = 0; front < fronts && liveGroups > 1; front++) {
+                if (finished[front] || heads[front] == visited[front].size()) {
+                    continue;
+                }
+                int current = visited[front].get(heads[front]++);
+                for (int neighbour : neighbours(current, adjacent)) {
+                    if (neighbour < 0) {
+                        continue;
+                    }
+                    int value = labels[neighbour];
+                    if (value == label) {
+                        labels[neighbour] = mark(front);
+                        visited[front].add(neighbour);
+                    } else if (value < NO_COMPONENT) {
+                        int mine = find(group, front);
+                        int theirs = find(group, unmark(value));
+                        if (mine != theirs) {
+                            group[theirs] = mine;
+                            liveGroups--;
+                        }
+                    }
+                }
+                if (heads[front] == visited[front].size() && groupExhausted(group, heads, visited, front)) {
+                    int separated = newLabel();
+                    int root = find(group, front);
+                    for (int member = 0; member < fronts; member++) {
+                        if (find(group, member) == root) {
+                            finished[member] = true;
+                            for (int i = 0; i < visited[member].size(); i++) {
+                                labels[visited[member].get(i)] = separated;
+                            }
+                            sizes[separated] += visited[member].size();
+                            sizes[label] -= visited[member].size();
+                        }
+                    }
+                    liveGroups--;
+                }
+            }
+        }
+        for (int front = 0; front < fronts; front++) {
+            if (!finished[front]) {
+                for (int i = 0; i < visited[front].size(); i++) {
+                    labels[visited[front].get(i)] = label;
+                }
+            }
+        }
+    }
+
+    private static boolean groupExhausted(int[] group, int[] heads, IntList[] visited, int front) {
+        int root = find(group, front);
+        for (int member = 0; member < group.length; member++) {
+            if (find(group, member) == root && heads[member] < visited[member].size()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int find(int[] group, int front) {
+        while (group[front] != front) {
+            front = group[front];
+        }
+        return front;
+    }
+
+    // Cells claimed by a blocking search hold a negative mark below NO_COMPONENT until they are relabelled.
+    private static int mark(int front) {
+        return NO_COMPONENT - 1 - front;
+    }
+
+    private static int unmark(int value) {
+        return NO_COMPONENT - 1 - value;
+    }
+
+    private int relabel(int from, int oldLabel, int newLabel, IntList queue) {
+        queue.clear();
+        labels[from] = newLabel;
+        queue.add(from);
+        for (int head = 0; head < queue.size(); head++) {
+            for (int neighbour : neighbours(queue.get(head), adjacent)) {
+                if (neighbour >= 0 && labels[neighbour] == oldLabel) {
+                    labels[neighbour] = newLabel;
+                    queue.add(neighbour);
+                }
+            }
+        }
+        return queue.size();
+    }
+
+    private int claim(FlatGrid grid, int[] queue, int tail, int neighbour, int label) {
+        if (labels[neighbour] != NO_COMPONENT || !walkability.walkable(grid.cell(neighbour))) {
+            return tail;
+        }
+        labels[neighbour] = label;
+        queue[tail] = neighbour;
+        return tail + 1;
+    }
+
+    private int[] neighbours(int index) {
+        return neighbours(index, new int[4]);
+    }
+
+    // Up, down, left, right; -1 past the grid edge.
+    private int[] neighbours(int index, int[] out) {
+        int row = index / cols;
+        int col = index - row * cols;
+        out[0] = row > 0 ? index - cols : -1;
+        out[1] = row < rows - 1 ? index + cols : -1;
+        out[2] = col > 0 ? index - 1 : -1;
+        out[3] = col < cols - 1 ? index + 1 : -1;
+        return out;
+    }
+
+    private int newLabel() {
+        components++;
+        if (!freeLabels.isEmpty()) {
+            int label = freeLabels.removeLast();
+            sizes[label] = 0;
+            return label;
+        }
+        if (nextLabel == sizes.length) {
+            sizes = Arrays.copyOf(sizes, sizes.length << 1);
+        }
+        return nextLabel++;
+    }
+
+    private void releaseLabel(int label) {
+        components--;
+        sizes[label] = 0;
+        freeLabels.add(label);
+    }
+}
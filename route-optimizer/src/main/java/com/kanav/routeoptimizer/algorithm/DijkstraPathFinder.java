@@ -232,13 +232,20 @@ public class DijkstraPathFinder {
         private final int nodesVisited;
         private final int totalCost;
         private final long executionTimeMs;
+        private final int queuePeak;
 
         public DijkstraResult(List<Node> path, List<Node> visited, int nodesVisited, int totalCost, long executionTimeMs) {
+            this(path, visited, nodesVisited, totalCost, executionTimeMs, 0);
+        }
+
+        public DijkstraResult(List<Node> path, List<Node> visited, int nodesVisited, int totalCost, long executionTimeMs,
+                              int queuePeak) {
             this.path = path;
             this.visited = visited;
             this.nodesVisited = nodesVisited;
             this.totalCost = totalCost;
             this.executionTimeMs = executionTimeMs;
+            this.queuePeak = queuePeak;
         }
 
         public List<Node> getPath() {
@@ -260,5 +267,10 @@ public class DijkstraPathFinder {
         public long getExecutionTimeMs() {
             return executionTimeMs;
         }
+
+        // The most entries the queue held at once; 0 for engines that do not track it.
+        public int getQueuePeak() {
+            return queuePeak;
+        }
     }
 }
@@ -0,0 +1,176 @@
+package com.kanav.routeoptimizer.algorithm;
+
+import com.kanav.routeoptimizer.model.FlatGrid;
+import com.kanav.routeoptimizer.model.Node;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Cost from every cell to the nearest of a set of sources, together with the shortest-path tree
+ * that realises it. Edges are walked in reverse from the sources, so distance[i] is the cost a
+ * robot standing on cell i pays to reach a source and next[i] is its first step towards it.
+ */
+public class DistanceField {
+    public static final int UNREACHABLE = -1;
+    private static final int[] DR = {-1, 1, 0, 0};
+    private static final int[] DC = {0, 0, -1, 1};
+
+    private final FlatGrid grid;
+    private final int[] distance;
+    private final int[] next;
+    private final int reachable;
+    private final long executionTimeMs;
+
+    private DistanceField(FlatGrid grid, int[] distance, int[] next, int reachable, long executionTimeMs) {
+        this.grid = grid;
+        this.distance = distance;
+        this.next = next;
+        this.reachable = reachable;
+        this.executionTimeMs = executionTimeMs;
+    }
+
+    public static DistanceField build(FlatGrid grid, int[] sources, boolean weighted) {
+        long startTime = System.nanoTime();
+        int size = grid.size();
+        int[] distance = new int[size];
+        int[] next = new int[size];
+        Arrays.fill(distance, UNREACHABLE);
+        int reachable = weighted
+                ? buildWeighted(grid, sources, distance, next)
+                : buildUniform(grid, sources, distance, next);
+        return new DistanceField(grid, distance, next, reachable, GridPaths.elapsedMs(startTime));
+    }
+
+    private static int buildUniform(FlatGrid grid, int[] sources, int[] distance, int[] next) {
+        int[] queue = new int[grid.size()];
+        int head = 0;
+        int tail = 0;
+        for (int source : sources) {
+            if (grid.isOpen(source) && distance[source] == UNREACHABLE) {
+                distance[source] = 0;
+                next[source] = GridPaths.NO_PARENT;
+                queue[tail++] = source;
+            }
+        }
+        int cols = grid.getCols();
+        while (head < tail) {
+            int current = queue[head++];
+            int row = current / cols;
+            int col = current - row * cols;
+            for (int i = 0; i < 4; i++) {
+                int nr = row + DR[i];
+                int nc = col + DC[i];
+                if (!grid.contains(nr, nc)) {
+                    continue;
+                }
+                int neighbor = nr * cols + nc;
+                if (!grid.isOpen(neighbor) || distance[neighbor] != UNREACHABLE) {
+                    continue;
+                }
+                distance[neighbor] = distance[current] + 1;
+                next[neighbor] = current;
+                queue[tail++] = neighbor;
+            }
+        }
+        return tail;
+    }
+
+    // Dial's algorithm on reversed edges: stepping from a neighbour onto the current cell costs the current cell.
+    private static int buildWeighted(FlatGrid grid, int[] sources, int[] distance, int[] next) {
+        int bucketCount = FlatGrid.maxStepCost() + 1;
+        IntList[] buckets = new IntList[bucketCount];
+        for (int i = 0; i < bucketCount; i++) {
+            buckets[i] = new IntList(64);
+        }
+        int pending = 0;
+        for (int source : sources) {
+            if (grid.isPassable(source) && distance[source] != 0) {
+                distance[source] = 0;
+                next[source] = GridPaths.NO_PARENT;
+                buckets[0].add(source);
+                pending++;
+            }
+        }
+        int cols = grid.getCols();
+        int settled = 0;
+        for (int cursor = 0; pending > 0; cursor++) {
+            IntList bucket = buckets[cursor % bucketCount];
+            for (int b = 0; b < bucket.size(); b++) {
+                int current = bucket.get(b);
+                pending--;
+                if (distance[current] != cursor) {
+                    continue;
+                }
+                settled++;
+                int enterCost = FlatGrid.stepCost(grid.cell(current));
+                int row = current / cols;
+                int col = current - row * cols;
+                for (int i = 0; i < 4; i++) {
+                    int nr = row + DR[i];
+                    int nc = col + DC[i];
+                    if (!grid.contains(nr, nc)) {
+                        continue;
+                    }
+                    int neighbor = nr * cols + nc;
+                    if (!grid.isPassable(neighbor)) {
+                        continue;
+                    }
+                    int newCost = cursor + enterCost;
+                    if (distance[neighbor] == UNREACHABLE || newCost < distance[neighbor]) {
+                        distance[neighbor] = newCost;
+                        next[neighbor] = current;
+                        buckets[newCost % bucketCount].add(neighbor);
+                        pending++;
+                    }
+                }
+            }
+            bucket.clear();
+        }
+        return settled;
+    }
+
+    public FlatGrid getGrid() {
+        return grid;
+    }
+
+    public int distanceAt(int index) {
+        return distance[index];
+    }
+
+    public int[] getDistances() {
+        return distance;
+    }
+
+    public int getReachable() {
+        return reachable;
+    }
+
+    public long getExecutionTimeMs() {
+        return executionTimeMs;
+    }
+
+    public long sizeBytes() {
+        return sizeBytes(distance.length);
+    }
+
+    // The heap a field over this many cells holds: a distance and a parent per cell.
+    public static long sizeBytes(int cells) {
+        return (long) cells * Integer.BYTES * 2;
+    }
+
+    // Walks the tree from the given cell to its source; O(path length).
+    public List<Node> pathFrom(int index) {
+        List<Node> path = new ArrayList<>();
+        if (index < 0 || index >= distance.length || distance[index] == UNREACHABLE) {
+            return path;
+        }
+        int current = index;
+        while (current != GridPaths.NO_PARENT) {
+            path.add(grid.toNode(current));
+            current = next[current];
+        }
+        return path;
+    }
+}
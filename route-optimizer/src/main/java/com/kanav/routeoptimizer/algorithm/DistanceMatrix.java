@@ -0,0 +1,184 @@
+package com.kanav.routeoptimizer.algorithm;
+
+import com.kanav.routeoptimizer.model.FlatGrid;
+import com.kanav.routeoptimizer.model.Node;
+import com.kanav.routeoptimizer.model.SearchStatus;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * One row of a many-to-many cost matrix: a single Dijkstra from one source that stops as soon as
+ * every target has been settled, instead of one search per source and target pair. Costs follow
+ * the Dijkstra rules (entering a cell costs that cell), so each entry equals the totalCost a
+ * single {@code /api/path/dijkstra} call would return.
+ */
+public class DistanceMatrix {
+    public static final int UNREACHABLE = -1;
+
+    private DistanceMatrix() {
+    }
+
+    /**
+     * Targets marked in {@code skip} are already known to be unreachable (for instance from
+     * component labels) and are not waited for. A budget or deadline enforced by the sink stops the
+     * row early: targets settled by then keep their exact cost, the rest stay unreachable and the
+     * row reports the stop as its status.
+     */
+    public static Row fromSource(FlatGrid grid, int source, int[] targets, boolean[] skip, boolean withPaths,
+                                 ExpansionSink sink) {
+        long startTime = System.nanoTime();
+        int[] costs = new int[targets.length];
+        Arrays.fill(costs, UNREACHABLE);
+        List<List<Node>> paths = withPaths ? new ArrayList<>(targets.length) : null;
+        if (!grid.isPassable(source)) {
+            return new Row(costs, emptyPaths(paths, targets.length), 0, SearchStatus.UNREACHABLE,
+                    GridPaths.elapsedMs(startTime));
+        }
+
+        // Distinct live targets, sorted so each settled cell is checked with a binary search.
+        int[] pending = pendingTargets(grid, targets, skip);
+        int remaining = pending.length;
+        int rows = grid.getRows();
+        int cols = grid.getCols();
+        try (SearchScratch scratch = SearchScratch.forGrid(grid)) {
+            LongMinHeap queue = new LongMinHeap(64);
+            scratch.fillDistance(Integer.MAX_VALUE);
+            scratch.setDistance(source, 0);
+            scratch.setParent(source, GridPaths.NO_PARENT);
+            queue.push(LongMinHeap.pack(0, source));
+
+            int expanded = 0;
+            SearchStatus status = SearchStatus.FOUND;
+            try {
+                while (remaining > 0 && !queue.isEmpty()) {
+                    long entry = queue.pop();
+                    int node = LongMinHeap.indexOf(entry);
+                    int cost = LongMinHeap.priorityOf(entry);
+                    if (cost != scratch.distance(node)) {
+                        continue;
+                    }
+                    if (sink != null) {
+                        sink.expanded(node);
+                    }
+                    expanded++;
+                    if (Arrays.binarySearch(pending, node) >= 0) {
+                        remaining--;
+                    }
+
+                    int row = node / cols;
+                    int col = node - row * cols;
+                    if (row > 0) {
+                        relax(grid, scratch, queue, node, cost, node - cols);
+                    }
+                    if (row < rows - 1) {
+                        relax(grid, scratch, queue, node, cost, node + cols);
+                    }
+                    if (col > 0) {
+                        relax(grid, scratch, queue, node, cost, node - 1);
+                    }
+                    if (col < cols - 1) {
+                        relax(grid, scratch, queue, node, cost, node + 1);
+                    }
+                }
+            } catch (SearchAbortedException e) {
+                status = e.getStatus();
+            }
+
+            boolean complete = status == SearchStatus.FOUND;
+            boolean anyFound = false;
+            for (int t = 0; t < targets.length; t++) {
+                int target = targets[t];
+                int cost = target < 0 || (skip != null && skip[t]) ? Integer.MAX_VALUE : scratch.distance(target);
+                // After an early stop only settled cells have final costs, and those are the ones no larger than the last popped.
+                boolean settled = cost != Integer.MAX_VALUE && (complete || isSettled(queue, cost));
+                if (settled) {
+                    costs[t] = cost;
+                    anyFound = true;
+                }
+                if (paths != null) {
+                    paths.add(settled ? GridPaths.buildPath(grid, scratch, target) : new ArrayList<>());
+                }
+            }
+            if (complete && !anyFound) {
+                status = SearchStatus.UNREACHABLE;
+            }
+            return new Row(costs, paths, expanded, status, GridPaths.elapsedMs(startTime));
+        }
+    }
+
+    private static void relax(FlatGrid grid, SearchScratch scratch, LongMinHeap queue,
+                              int node, int cost, int neighbor) {
+        if (!grid.isPassable(neighbor)) {
+            return;
+        }
+        int newCost = cost + FlatGrid.stepCost(grid.cell(neighbor));
+        if (newCost < scratch.distance(neighbor)) {
+            scratch.setDistance(neighbor, newCost);
+            scratch.setParent(neighbor, node);
+            queue.push(LongMinHeap.pack(newCost, neighbor));
+        }
+    }
+
+    private static boolean isSettled(LongMinHeap queue, int cost) {
+        return queue.isEmpty() || cost < LongMinHeap.priorityOf(queue.peek());
+    }
+
+    private static int[] pendingTargets(FlatGrid grid, int[] targets, boolean[] skip) {
+        int[] pending = new int[targets.length];
+        int count = 0;
+        for (int t = 0; t < targets.length; t++) {
+            if (targets[t] >= 0 && (skip == null || !skip[t]) && grid.isPassable(targets[t])) {
+                pending[count++] = targets[t];
+            }
+        }
+        return Arrays.stream(pending, 0, count).sorted().distinct().toArray();
+    }
+
+    private static List<List<Node>> emptyPaths(List<List<Node>> paths, int count) {
+        if (paths != null) {
+            for (int t = 0; t < count; t++) {
+                paths.add(new ArrayList<>());
+            }
+        }
+        return paths;
+    }
+
+    public static class Row {
+        private final int[] costs;
+        private final List<List<Node>> paths;
+        private final int nodesVisited;
+        private final SearchStatus status;
+        private final long executionTimeMs;
+
+        public Row(int[] costs, List<List<Node>> paths, int nodesVisited, SearchStatus status, long executionTimeMs) {
+            this.costs = costs;
+            this.paths = paths;
+            this.nodesVisited = nodesVisited;
+            this.status = status;
+            this.executionTimeMs = executionTimeMs;
+        }
+
+        public int[] getCosts() {
+            return costs;
+        }
+
+        // Null unless paths were requested; an empty path where the cost is UNREACHABLE.
+        public List<List<Node>> getPaths() {
+            return paths;
+        }
+
+        public int getNodesVisited() {
+            return nodesVisited;
+        }
+
+        public SearchStatus getStatus() {
+            return status;
+        }
+
+        public long getExecutionTimeMs() {
+            return executionTimeMs;
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.kanav.routeoptimizer.algorithm;
+
+import com.kanav.routeoptimizer.model.FlatGrid;
+import com.kanav.routeoptimizer.model.Node;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Receives the cells a search expands, in expansion order, as flat grid indices. Engines that are
+ * given no sink skip visited bookkeeping altogether; {@link #visited(FlatGrid)} decides what the
+ * result reports as its visited list.
+ */
+public interface ExpansionSink {
+    void expanded(int index);
+
+    default List<Node> visited(FlatGrid grid) {
+        return new ArrayList<>();
+    }
+}
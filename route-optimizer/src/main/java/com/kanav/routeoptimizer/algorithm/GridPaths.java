@@ -0,0 +1,85 @@
+package com.kanav.routeoptimizer.algorithm;
+
+import com.kanav.routeoptimizer.model.FlatGrid;
+import com.kanav.routeoptimizer.model.Node;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+public final class GridPaths {
+    public static final int NO_PARENT = -1;
+
+    private GridPaths() {
+    }
+
+    public static List<Node> buildPath(FlatGrid grid, int[] parent, int end) {
+        List<Node> path = new ArrayList<>();
+        int current = end;
+        while (current != NO_PARENT) {
+            path.add(grid.toNode(current));
+            current = parent[current];
+        }
+        Collections.reverse(path);
+        return path;
+    }
+
+    static List<Node> buildPath(FlatGrid grid, SearchScratch scratch, int end) {
+        List<Node> path = new ArrayList<>();
+        int current = end;
+        while (current != NO_PARENT) {
+            path.add(grid.toNode(current));
+            current = scratch.parent(current);
+        }
+        Collections.reverse(path);
+        return path;
+    }
+
+    public static List<Node> toNodes(FlatGrid grid, int[] indices, int count) {
+        List<Node> nodes = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            nodes.add(grid.toNode(indices[i]));
+        }
+        return nodes;
+    }
+
+    public static List<Node> toNodes(FlatGrid grid, IntList indices) {
+        List<Node> nodes = new ArrayList<>(indices.size());
+        for (int i = 0; i < indices.size(); i++) {
+            nodes.add(grid.toNode(indices.get(i)));
+        }
+        return nodes;
+    }
+
+    public static List<Node> visited(FlatGrid grid, ExpansionSink sink) {
+        return sink == null ? new ArrayList<>() : sink.visited(grid);
+    }
+
+    // Keeps the endpoints and every cell where the direction of travel changes.
+    public static List<Node> turnPoints(List<Node> path) {
+        if (path.size() <= 2) {
+            return path;
+        }
+        List<Node> turns = new ArrayList<>();
+        turns.add(path.get(0));
+        for (int i = 1; i < path.size() - 1; i++) {
+            Node previous = path.get(i - 1);
+            Node current = path.get(i);
+            Node next = path.get(i + 1);
+            if (current.getRow() - previous.getRow() != next.getRow() - current.getRow()
+                    || current.getCol() - previous.getCol() != next.getCol() - current.getCol()) {
+                turns.add(current);
+            }
+        }
+        turns.add(path.get(path.size() - 1));
+        return turns;
+    }
+
+    public static boolean isValidGrid(int[][] grid) {
+        return grid != null && grid.length > 0 && grid[0] != null && grid[0].length > 0;
+    }
+
+    public static long elapsedMs(long startTimeNs) {
+        return (System.nanoTime() - startTimeNs) / 1_000_000L;
+    }
+}
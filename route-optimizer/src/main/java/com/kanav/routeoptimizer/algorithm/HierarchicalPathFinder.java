@@ -0,0 +1,514 @@
+package com.kanav.routeoptimizer.algorithm;
+
+import com.kanav.routeoptimizer.model.FlatGrid;
+import com.kanav.routeoptimizer.model.Node;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * HPA*-style search over square clusters. Building the finder places transition cells on every
+ * open stretch of cluster border and precomputes the cost between each pair of transitions that
+ * share a cluster, one cluster per task. Queries splice the start and goal into that small graph,
+ * search it with A*, then refine each abstract hop with a Dijkstra confined to a single cluster.
+ * Costs follow the Dijkstra rules; paths are close to, but not guaranteed to be, optimal.
+ */
+public class HierarchicalPathFinder {
+    // Border openings at least this wide get a transition at each end instead of one in the middle.
+    private static final int WIDE_ENTRANCE = 6;
+    private static final int UNREACHABLE = Integer.MAX_VALUE;
+
+    private final FlatGrid grid;
+    private final int clusterSize;
+    private final int clusterCols;
+    private final int[] nodeCell;
+    private final int[][] clusterNodes;
+    private final int[] edgeStart;
+    private final int[] edgeTarget;
+    private final int[] edgeCost;
+    private final long preprocessingMs;
+
+    private HierarchicalPathFinder(FlatGrid grid, int clusterSize, int clusterCols, int[] nodeCell,
+                                   int[][] clusterNodes, int[] edgeStart, int[] edgeTarget, int[] edgeCost,
+                                   long preprocessingMs) {
+        this.grid = grid;
+        this.clusterSize = clusterSize;
+        this.clusterCols = clusterCols;
+        this.nodeCell = nodeCell;
+        this.clusterNodes = clusterNodes;
+        this.edgeStart = edgeStart;
+        this.edgeTarget = edgeTarget;
+        this.edgeCost = edgeCost;
+        this.preprocessingMs = preprocessingMs;
+    }
+
+    public static HierarchicalPathFinder build(FlatGrid grid, int clusterSize, Executor executor) {
+        long startTime = System.nanoTime();
+        int size = Math.max(clusterSize, 2);
+        int clusterRows = (grid.getRows() + size - 1) / size;
+        int clusterCols = (grid.getCols() + size - 1) / size;
+
+        Map<Integer, Integer> nodeOfCell = new HashMap<>();
+        IntList cells = new IntList();
+        List<IntList> interEdges = new ArrayList<>();
+        findEntrances(grid, size, nodeOfCell, cells, interEdges);
+
+        int nodeCount = cells.size();
+        int[] nodeCell = cells.toArray();
+        IntList[] members = new IntList[clusterRows * clusterCols];
+        for (int i = 0; i < members.length; i++) {
+            members[i] = new IntList(8);
+        }
+        for (int node = 0; node < nodeCount; node++) {
+            members[clusterOf(grid, size, clusterCols, nodeCell[node])].add(node);
+        }
+        int[][] clusterNodes = new int[members.length][];
+        for (int i = 0; i < members.length; i++) {
+            clusterNodes[i] = members[i].toArray();
+        }
+
+        // intra[cluster][i * k + j] is the cost from the i-th to the j-th transition of that cluster.
+        int[][] intra = new int[clusterNodes.length][];
+        CompletableFuture<?>[] tasks = new CompletableFuture<?>[clusterNodes.length];
+        for (int cluster = 0; cluster < clusterNodes.length; cluster++) {
+            int id = cluster;
+            tasks[cluster] = CompletableFuture.runAsync(
+                    () -> intra[id] = intraClusterCosts(grid, size, clusterCols, id, clusterNodes[id], nodeCell),
+                    executor);
+        }
+        CompletableFuture.allOf(tasks).join();
+
+        IntList[] outgoing = new IntList[nodeCount];
+        for (int node = 0; node < nodeCount; node++) {
+            outgoing[node] = interEdges.get(node);
+        }
+        for (int cluster = 0; cluster < clusterNodes.length; cluster++) {
+            int[] nodes = clusterNodes[cluster];
+            for (int i = 0; i < nodes.length; i++) {
+                for (int j = 0; j < nodes.length; j++) {
+                    int cost = intra[cluster][i * nodes.length + j];
+                    if (i != j && cost != UNREACHABLE) {
+                        outgoing[nodes[i]].add(nodes[j]);
+                        outgoing[nodes[i]].add(cost);
+                    }
+                }
+            }
+        }
+
+        // Flatten the adjacency lists into CSR arrays so queries walk plain int arrays.
+        int[] edgeStart = new int[nodeCount + 1];
+        for (int node = 0; node < nodeCount; node++) {
+            edgeStart[node + 1] = edgeStart[node] + outgoing[node].size() / 2;
+        }
+        int[] edgeTarget = new int[edgeStart[nodeCount]];
+        int[] edgeCost = new int[edgeStart[nodeCount]];
+        for (int node = 0; node < nodeCount; node++) {
+            IntList edges = outgoing[node];
+            for (int i = 0, e = edgeStart[node]; i < edges.size(); i += 2, e++) {
+                edgeTarget[e] = edges.get(i);
+                edgeCost[e] = edges.get(i + 1);
+            }
+        }
+        return new HierarchicalPathFinder(grid, size, clusterCols, nodeCell, clusterNodes,
+                edgeStart, edgeTarget, edgeCost, GridPaths.elapsedMs(startTime));
+    }
+
+    public HierarchicalResult findPath(Node start, Node end) {
+        long startTime = System.nanoTime();
+        if (start == null || end == null
+                || !isWalkable(start.getRow(), start.getCol()) || !isWalkable(end.getRow(), end.getCol())) {
+            return new HierarchicalResult(new ArrayList<>(), 0, 0, 0, GridPaths.elapsedMs(startTime));
+        }
+        int source = grid.index(start.getRow(), start.getCol());
+        int target = grid.index(end.getRow(), end.getCol());
+        if (source == target) {
+            List<Node> path = new ArrayList<>();
+            path.add(start);
+            return new HierarchicalResult(path, 0, 0, 0, GridPaths.elapsedMs(startTime));
+        }
+
+        int sourceCluster = clusterOf(grid, clusterSize, clusterCols, source);
+        int targetCluster = clusterOf(grid, clusterSize, clusterCols, target);
+        LocalSearch fromSource = LocalSearch.run(grid, bounds(sourceCluster), source, -1, false);
+        LocalSearch toTarget = LocalSearch.run(grid, bounds(targetCluster), target, -1, true);
+        int refined = fromSource.expanded + toTarget.expanded;
+
+        // Abstract A*: transitions are 0..n-1, the start is n and the goal is n + 1.
+        int n = nodeCell.length;
+        int startNode = n;
+        int goalNode = n + 1;
+        int[] goalCost = new int[n];
+        Arrays.fill(goalCost, UNREACHABLE);
+        for (int node : clusterNodes[targetCluster]) {
+            goalCost[node] = toTarget.distanceTo(nodeCell[node]);
+        }
+        int[] distance = new int[n + 2];
+        int[] parent = new int[n + 2];
+        Arrays.fill(distance, UNREACHABLE);
+        distance[startNode] = 0;
+        parent[startNode] = GridPaths.NO_PARENT;
+        BitSet closed = new BitSet(n + 2);
+        LongMinHeap open = new LongMinHeap(64);
+        open.push(LongMinHeap.pack(estimate(source, target), startNode));
+        int abstractExpanded = 0;
+
+        while (!open.isEmpty()) {
+            long entry = open.pop();
+            int node = LongMinHeap.indexOf(entry);
+            if (closed.get(node)) {
+                continue;
+            }
+            closed.set(node);
+            abstractExpanded++;
+            if (node == goalNode) {
+                break;
+            }
+            if (node == startNode) {
+                for (int next : clusterNodes[sourceCluster]) {
+                    relax(open, distance, parent, node, next, fromSource.distanceTo(nodeCell[next]), nodeCell[next], target);
+                }
+                if (sourceCluster == targetCluster) {
+                    relax(open, distance, parent, node, goalNode, fromSource.distanceTo(target), target, target);
+                }
+                continue;
+            }
+            for (int e = edgeStart[node]; e < edgeStart[node + 1]; e++) {
+                relax(open, distance, parent, node, edgeTarget[e], edgeCost[e], nodeCell[edgeTarget[e]], target);
+            }
+            relax(open, distance, parent, node, goalNode, goalCost[node], target, target);
+        }
+
+        if (distance[goalNode] == UNREACHABLE) {
+            return new HierarchicalResult(new ArrayList<>(), abstractExpanded, refined, 0, GridPaths.elapsedMs(startTime));
+        }
+
+        IntList hops = new IntList();
+        for (int node = goalNode; node != GridPaths.NO_PARENT; node = parent[node]) {
+            hops.add(node);
+        }
+        IntList cells = new IntList();
+        cells.add(source);
+        for (int i = hops.size() - 2; i >= 0; i--) {
+            int from = hops.get(i + 1);
+            int to = hops.get(i);
+            if (from == startNode) {
+                fromSource.appendPath(to == goalNode ? target : nodeCell[to], cells);
+            } else if (to == goalNode) {
+                toTarget.appendReversePath(nodeCell[from], cells);
+            } else if (clusterOf(grid, clusterSize, clusterCols, nodeCell[from])
+                    != clusterOf(grid, clusterSize, clusterCols, nodeCell[to])) {
+                cells.add(nodeCell[to]);
+            } else {
+                int cluster = clusterOf(grid, clusterSize, clusterCols, nodeCell[from]);
+                LocalSearch hop = LocalSearch.run(grid, bounds(cluster), nodeCell[from], nodeCell[to], false);
+                refined += hop.expanded;
+                hop.appendPath(nodeCell[to], cells);
+            }
+        }
+
+        int totalCost = 0;
+        for (int i = 1; i < cells.size(); i++) {
+            totalCost += FlatGrid.stepCost(grid.cell(cells.get(i)));
+        }
+        return new HierarchicalResult(GridPaths.toNodes(grid, cells), abstractExpanded, refined, totalCost,
+                GridPaths.elapsedMs(startTime));
+    }
+
+    public int getClusterSize() {
+        return clusterSize;
+    }
+
+    public int getAbstractNodes() {
+        return nodeCell.length;
+    }
+
+    public int getAbstractEdges() {
+        return edgeTarget.length;
+    }
+
+    public long getPreprocessingMs() {
+        return preprocessingMs;
+    }
+
+    // Transition cells, edges and their costs are all int arrays.
+    public long sizeBytes() {
+        return (long) Integer.BYTES * (nodeCell.length * 2L + edgeStart.length + edgeTarget.length * 2L);
+    }
+
+    private void relax(LongMinHeap open, int[] distance, int[] parent, int node, int next, int cost,
+                       int nextCell, int target) {
+        if (cost == UNREACHABLE) {
+            return;
+        }
+        int newCost = distance[node] + cost;
+        if (newCost < distance[next]) {
+            distance[next] = newCost;
+            parent[next] = node;
+            open.push(LongMinHeap.pack(newCost + estimate(nextCell, target), next));
+        }
+    }
+
+    private int estimate(int cell, int target) {
+        int cols = grid.getCols();
+        return (Math.abs(cell / cols - target / cols) + Math.abs(cell % cols - target % cols)) * grid.minStepCost();
+    }
+
+    private int[] bounds(int cluster) {
+        return clusterBounds(grid, clusterSize, clusterCols, cluster);
+    }
+
+    private boolean isWalkable(int row, int col) {
+        return grid.contains(row, col) && grid.isPassable(grid.index(row, col));
+    }
+
+    private static void findEntrances(FlatGrid grid, int size, Map<Integer, Integer> nodeOfCell,
+                                      IntList cells, List<IntList> interEdges) {
+        int rows = grid.getRows();
+        int cols = grid.getCols();
+        // Horizontal borders: (row - 1, col) above and (row, col) below.
+        for (int row = size; row < rows; row += size) {
+            for (int segment = 0; segment < cols; segment += size) {
+                int segmentEnd = Math.min(segment + size, cols);
+                int runStart = -1;
+                for (int col = segment; col <= segmentEnd; col++) {
+                    boolean open = col < segmentEnd
+                            && grid.isPassable(grid.index(row - 1, col)) && grid.isPassable(grid.index(row, col));
+                    if (open && runStart < 0) {
+                        runStart = col;
+                    } else if (!open && runStart >= 0) {
+                        for (int transition : transitions(runStart, col - 1)) {
+                            connect(grid, grid.index(row - 1, transition), grid.index(row, transition),
+                                    nodeOfCell, cells, interEdges);
+                        }
+                        runStart = -1;
+                    }
+                }
+            }
+        }
+        // Vertical borders: (row, col - 1) on the left and (row, col) on the right.
+        for (int col = size; col < cols; col += size) {
+            for (int segment = 0; segment < rows; segment += size) {
+                int segmentEnd = Math.min(segment + size, rows);
+                int runStart = -1;
+                for (int row = segment; row <= segmentEnd; row++) {
+                    boolean open = row < segmentEnd
+                            && grid.isPassable(grid.index(row, col - 1)) && grid.isPassable(grid.index(row, col));
+                    if (open && runStart < 0) {
+                        runStart = row;
+                    } else if (!open && runStart >= 0) {
+                        for (int transition : transitions(runStart, row - 1)) {
+                            connect(grid, grid.index(transition, col - 1), grid.index(transition, col),
+                                    nodeOfCell, cells, interEdges);
+                        }
+                        runStart = -1;
+                    }
+                }
+            }
+        }
+    }
+
+    private static int[] transitions(int from, int to) {
+        if (to - from + 1 >= WIDE_ENTRANCE) {
+            return new int[] {from, to};
+        }
+        return new int[] {(from + to) / 2};
+    }
+
+    private static void connect(FlatGrid grid, int a, int b, Map<Integer, Integer> nodeOfCell,
+                                IntList cells, List<IntList> interEdges) {
+        int nodeA = nodeFor(a, nodeOfCell, cells, interEdges);
+        int nodeB = nodeFor(b, nodeOfCell, cells, interEdges);
+        interEdges.get(nodeA).add(nodeB);
+        interEdges.get(nodeA).add(FlatGrid.stepCost(grid.cell(b)));
+        interEdges.get(nodeB).add(nodeA);
+        interEdges.get(nodeB).add(FlatGrid.stepCost(grid.cell(a)));
+    }
+
+    private static int nodeFor(int cell, Map<Integer, Integer> nodeOfCell, IntList cells, List<IntList> interEdges) {
+        Integer node = nodeOfCell.get(cell);
+        if (node != null) {
+            return node;
+        }
+        int created = cells.size();
+        nodeOfCell.put(cell, created);
+        cells.add(cell);
+        interEdges.add(new IntList(8));
+        return created;
+    }
+
+    private static int[] intraClusterCosts(FlatGrid grid, int size, int clusterCols, int cluster,
+                                           int[] nodes, int[] nodeCell) {
+        int k = nodes.length;
+        int[] costs = new int[k * k];
+        int[] bounds = clusterBounds(grid, size, clusterCols, cluster);
+        for (int i = 0; i < k; i++) {
+            LocalSearch search = LocalSearch.run(grid, bounds, nodeCell[nodes[i]], -1, false);
+            for (int j = 0; j < k; j++) {
+                costs[i * k + j] = search.distanceTo(nodeCell[nodes[j]]);
+            }
+        }
+        return costs;
+    }
+
+    private static int clusterOf(FlatGrid grid, int size, int clusterCols, int cell) {
+        int cols = grid.getCols();
+        return (cell / cols / size) * clusterCols + (cell % cols) / size;
+    }
+
+    // {firstRow, firstCol, height, width}
+    private static int[] clusterBounds(FlatGrid grid, int size, int clusterCols, int cluster) {
+        int firstRow = (cluster / clusterCols) * size;
+        int firstCol = (cluster % clusterCols) * size;
+        return new int[] {
+                firstRow,
+                firstCol,
+                Math.min(size, grid.getRows() - firstRow),
+                Math.min(size, grid.getCols() - firstCol)
+        };
+    }
+
+    // Dijkstra confined to one cluster, on cluster-local indices. Reverse searches measure the cost to reach the origin.
+    private static final class LocalSearch {
+        private final FlatGrid grid;
+        private final int[] bounds;
+        private final int[] distance;
+        private final int[] parent;
+        private int expanded;
+
+        private LocalSearch(FlatGrid grid, int[] bounds) {
+            this.grid = grid;
+            this.bounds = bounds;
+            this.distance = new int[bounds[2] * bounds[3]];
+            this.parent = new int[distance.length];
+            Arrays.fill(distance, UNREACHABLE);
+        }
+
+        static LocalSearch run(FlatGrid grid, int[] bounds, int originCell, int targetCell, boolean reverse) {
+            LocalSearch search = new LocalSearch(grid, bounds);
+            int height = bounds[2];
+            int width = bounds[3];
+            int origin = search.local(originCell);
+            int target = targetCell < 0 ? -1 : search.local(targetCell);
+            search.distance[origin] = 0;
+            search.parent[origin] = GridPaths.NO_PARENT;
+            LongMinHeap queue = new LongMinHeap(32);
+            queue.push(LongMinHeap.pack(0, origin));
+            while (!queue.isEmpty()) {
+                long entry = queue.pop();
+                int node = LongMinHeap.indexOf(entry);
+                int cost = LongMinHeap.priorityOf(entry);
+                if (cost != search.distance[node]) {
+                    continue;
+                }
+                search.expanded++;
+                if (node == target) {
+                    break;
+                }
+                int row = node / width;
+                int col = node - row * width;
+                // Forward steps pay for the cell entered; reverse steps pay for the cell being left.
+                int leaveCost = reverse ? FlatGrid.stepCost(grid.cell(search.global(node))) : 0;
+                if (row > 0) {
+                    search.relax(node, node - width, cost, leaveCost, reverse, queue);
+                }
+                if (row < height - 1) {
+                    search.relax(node, node + width, cost, leaveCost, reverse, queue);
+                }
+                if (col > 0) {
+                    search.relax(node, node - 1, cost, leaveCost, reverse, queue);
+                }
+                if (col < width - 1) {
+                    search.relax(node, node + 1, cost, leaveCost, reverse, queue);
+                }
+            }
+            return search;
+        }
+
+        private void relax(int node, int neighbor, int cost, int leaveCost, boolean reverse, LongMinHeap queue) {
+            byte cell = grid.cell(global(neighbor));
+            if (cell == FlatGrid.WALL || cell == FlatGrid.UNKNOWN) {
+                return;
+            }
+            int newCost = cost + (reverse ? leaveCost : FlatGrid.stepCost(cell));
+            if (newCost < distance[neighbor]) {
+                distance[neighbor] = newCost;
+                parent[neighbor] = node;
+                queue.push(LongMinHeap.pack(newCost, neighbor));
+            }
+        }
+
+        int distanceTo(int cell) {
+            return distance[local(cell)];
+        }
+
+        // Appends the cells after the origin up to and including the given cell.
+        void appendPath(int cell, IntList out) {
+            IntList reversed = new IntList();
+            for (int node = local(cell); parent[node] != GridPaths.NO_PARENT; node = parent[node]) {
+                reversed.add(global(node));
+            }
+            for (int i = reversed.size() - 1; i >= 0; i--) {
+                out.add(reversed.get(i));
+            }
+        }
+
+        // For reverse searches: appends the cells after the given one up to and including the origin.
+        void appendReversePath(int cell, IntList out) {
+            for (int node = parent[local(cell)]; node != GridPaths.NO_PARENT; node = parent[node]) {
+                out.add(global(node));
+            }
+        }
+
+        private int local(int cell) {
+            int cols = grid.getCols();
+            return (cell / cols - bounds[0]) * bounds[3] + (cell % cols - bounds[1]);
+        }
+
+        private int global(int node) {
+            return (bounds[0] + node / bounds[3]) * grid.getCols() + bounds[1] + node % bounds[3];
+        }
+    }
+
+    public static class HierarchicalResult {
+        private final List<Node> path;
+        private final int abstractNodesVisited;
+        private final int refinedNodesVisited;
+        private final int totalCost;
+        private final long executionTimeMs;
+
+        public HierarchicalResult(List<Node> path, int abstractNodesVisited, int refinedNodesVisited,
+                                  int totalCost, long executionTimeMs) {
+            this.path = path;
+            this.abstractNodesVisited = abstractNodesVisited;
+            this.refinedNodesVisited = refinedNodesVisited;
+            this.totalCost = totalCost;
+            this.executionTimeMs = executionTimeMs;
+        }
+
+        public List<Node> getPath() {
+            return path;
+        }
+
+        public int getAbstractNodesVisited() {
+            return abstractNodesVisited;
+        }
+
+        public int getRefinedNodesVisited() {
+            return refinedNodesVisited;
+        }
+
+        public int getTotalCost() {
+            return totalCost;
+        }
+
+        public long getExecutionTimeMs() {
+            return executionTimeMs;
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.kanav.routeoptimizer.algorithm;
+
+import com.kanav.routeoptimizer.model.FlatGrid;
+import com.kanav.routeoptimizer.model.Node;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+public class IndexedBFSPathFinder {
+    public static BFSPathFinder.BFSResult findPathWithStats(int[][] grid, Node start, Node end) {
+        long startTime = System.nanoTime();
+        if (!GridPaths.isValidGrid(grid) || start == null || end == null) {
+            return new BFSPathFinder.BFSResult(new ArrayList<>(), new ArrayList<>(), 0, GridPaths.elapsedMs(startTime));
+        }
+        return search(FlatGrid.of(grid), start, end, null, true, startTime);
+    }
+
+    public static BFSPathFinder.BFSResult findPathWithStats(FlatGrid grid, Node start, Node end) {
+        long startTime = System.nanoTime();
+        if (start == null || end == null) {
+            return new BFSPathFinder.BFSResult(new ArrayList<>(), new ArrayList<>(), 0, GridPaths.elapsedMs(startTime));
+        }
+        return search(grid, start, end, null, true, startTime);
+    }
+
+    // Cells are reported to the sink as they are enqueued; a null sink skips visited tracking entirely.
+    public static BFSPathFinder.BFSResult findPathWithStats(FlatGrid grid, Node start, Node end, ExpansionSink sink) {
+        long startTime = System.nanoTime();
+        if (start == null || end == null) {
+            return new BFSPathFinder.BFSResult(new ArrayList<>(), new ArrayList<>(), 0, GridPaths.elapsedMs(startTime));
+        }
+        return search(grid, start, end, sink, false, startTime);
+    }
+
+    private static BFSPathFinder.BFSResult search(FlatGrid grid, Node start, Node end, ExpansionSink sink,
+                                                  boolean queueOrder, long startTime) {
+        if (!isWalkable(grid, start.getRow(), start.getCol())
+                || !isWalkable(grid, end.getRow(), end.getCol())) {
+            return new BFSPathFinder.BFSResult(new ArrayList<>(), new ArrayList<>(), 0, GridPaths.elapsedMs(startTime));
+        }
+        if (start.equals(end)) {
+            List<Node> path = new ArrayList<>();
+            path.add(start);
+            List<Node> visitedOrder = new ArrayList<>();
+            if (sink != null) {
+                sink.expanded(grid.index(start.getRow(), start.getCol()));
+                visitedOrder = sink.visited(grid);
+            } else if (queueOrder) {
+                visitedOrder.add(start);
+            }
+            return new BFSPathFinder.BFSResult(path, visitedOrder, 1, GridPaths.elapsedMs(startTime));
+        }
+
+        int rows = grid.getRows();
+        int cols = grid.getCols();
+        int source = grid.index(start.getRow(), start.getCol());
+        int target = grid.index(end.getRow(), end.getCol());
+
+        // Every cell is enqueued exactly once, so the queue doubles as the visited order.
+        int[] queue = new int[grid.size()];
+        int[] parent = new int[grid.size()];
+        BitSet visited = new BitSet(grid.size());
+        int head = 0;
+        int tail = 0;
+        int peak = 1;
+
+        queue[tail++] = source;
+        visited.set(source);
+        parent[source] = GridPaths.NO_PARENT;
+        if (sink != null) {
+            sink.expanded(source);
+        }
+
+        while (head < tail) {
+            int current = queue[head++];
+            if (current == target) {
+                List<Node> path = GridPaths.buildPath(grid, parent, target);
+                return new BFSPathFinder.BFSResult(path, visitedNodes(grid, queue, tail, sink, queueOrder), tail, GridPaths.elapsedMs(startTime), peak);
+            }
+
+            int row = current / cols;
+            int col = current - row * cols;
+            // Same neighbour order as BFSPathFinder: up, down, left, right.
+            if (row > 0) {
+                tail = visit(grid, visited, parent, queue, tail, sink, current, current - cols);
+            }
+            if (row < rows - 1) {
+                tail = visit(grid, visited, parent, queue, tail, sink, current, current + cols);
+            }
+            if (col > 0) {
+                tail = visit(grid, visited, parent, queue, tail, sink, current, current - 1);
+            }
+            if (col < cols - 1) {
+                tail = visit(grid, visited, parent, queue, tail, sink, current, current + 1);
+            }
+            peak = Math.max(peak, tail - head);
+        }
+
+        return new BFSPathFinder.BFSResult(new ArrayList<>(), visitedNodes(grid, queue, tail, sink, queueOrder), tail, GridPaths.elapsedMs(startTime), peak);
+    }
+
+    // The queue already holds the full visited order, so the sink-less overloads report it for free.
+    private static List<Node> visitedNodes(FlatGrid grid, int[] queue, int tail, ExpansionSink sink,
+                                           boolean queueOrder) {
+        if (sink != null) {
+            return GridPaths.visited(grid, sink);
+        }
+        return queueOrder ? GridPaths.toNodes(grid, queue, tail) : new ArrayList<>();
+    }
+
+    private static int visit(FlatGrid grid, BitSet visited, int[] parent, int[] queue, int tail, ExpansionSink sink,
+                             int current, int neighbor) {
+        if (!grid.isOpen(neighbor) || visited.get(neighbor)) {
+            return tail;
+        }
+        visited.set(neighbor);
+        if (sink != null) {
+            sink.expanded(neighbor);
+        }
+        parent[neighbor] = current;
+        queue[tail] = neighbor;
+        return tail + 1;
+    }
+
+    private static boolean isWalkable(FlatGrid grid, int row, int col) {
+        return grid.contains(row, col) && grid.isOpen(grid.index(row, col));
+    }
+}
@@ -0,0 +1,113 @@
+package com.kanav.routeoptimizer.algorithm;
+
+import com.kanav.routeoptimizer.model.FlatGrid;
+import com.kanav.routeoptimizer.model.Node;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class IndexedDijkstraPathFinder {
+    public static DijkstraPathFinder.DijkstraResult findPathWithStats(int[][] grid, Node start, Node end) {
+        long startTime = System.nanoTime();
+        if (!GridPaths.isValidGrid(grid) || start == null || end == null) {
+            return new DijkstraPathFinder.DijkstraResult(new ArrayList<>(), new ArrayList<>(), 0, 0, GridPaths.elapsedMs(startTime));
+        }
+        return search(FlatGrid.of(grid), start, end, new VisitOrder(), startTime);
+    }
+
+    public static DijkstraPathFinder.DijkstraResult findPathWithStats(FlatGrid grid, Node start, Node end) {
+        return findPathWithStats(grid, start, end, new VisitOrder());
+    }
+
+    // A null sink skips visited tracking entirely; nodesVisited is still counted.
+    public static DijkstraPathFinder.DijkstraResult findPathWithStats(FlatGrid grid, Node start, Node end, ExpansionSink sink) {
+        long startTime = System.nanoTime();
+        if (start == null || end == null) {
+            return new DijkstraPathFinder.DijkstraResult(new ArrayList<>(), new ArrayList<>(), 0, 0, GridPaths.elapsedMs(startTime));
+        }
+        return search(grid, start, end, sink, startTime);
+    }
+
+    private static DijkstraPathFinder.DijkstraResult search(FlatGrid grid, Node start, Node end, ExpansionSink sink, long startTime) {
+        if (!isWalkable(grid, start.getRow(), start.getCol())
+                || !isWalkable(grid, end.getRow(), end.getCol())) {
+            return new DijkstraPathFinder.DijkstraResult(new ArrayList<>(), new ArrayList<>(), 0, 0, GridPaths.elapsedMs(startTime));
+        }
+        if (start.equals(end)) {
+            List<Node> path = new ArrayList<>();
+            path.add(start);
+            if (sink != null) {
+                sink.expanded(grid.index(start.getRow(), start.getCol()));
+            }
+            return new DijkstraPathFinder.DijkstraResult(path, GridPaths.visited(grid, sink), 1, 0, GridPaths.elapsedMs(startTime));
+        }
+
+        int rows = grid.getRows();
+        int cols = grid.getCols();
+        int source = grid.index(start.getRow(), start.getCol());
+        int target = grid.index(end.getRow(), end.getCol());
+
+        try (SearchScratch scratch = SearchScratch.forGrid(grid)) {
+            int expanded = 0;
+            LongMinHeap queue = new LongMinHeap(64);
+            scratch.fillDistance(Integer.MAX_VALUE);
+
+            scratch.setDistance(source, 0);
+            scratch.setParent(source, GridPaths.NO_PARENT);
+            queue.push(LongMinHeap.pack(0, source));
+
+            while (!queue.isEmpty()) {
+                long entry = queue.pop();
+                int node = LongMinHeap.indexOf(entry);
+                int cost = LongMinHeap.priorityOf(entry);
+                if (cost != scratch.distance(node)) {
+                    continue;
+                }
+                expanded++;
+                if (sink != null) {
+                    sink.expanded(node);
+                }
+                if (node == target) {
+                    List<Node> path = GridPaths.buildPath(grid, scratch, target);
+                    return new DijkstraPathFinder.DijkstraResult(path, GridPaths.visited(grid, sink),
+                            expanded, cost, GridPaths.elapsedMs(startTime), queue.peakSize());
+                }
+
+                int row = node / cols;
+                int col = node - row * cols;
+                if (row > 0) {
+                    relax(grid, scratch, queue, node, cost, node - cols);
+                }
+                if (row < rows - 1) {
+                    relax(grid, scratch, queue, node, cost, node + cols);
+                }
+                if (col > 0) {
+                    relax(grid, scratch, queue, node, cost, node - 1);
+                }
+                if (col < cols - 1) {
+                    relax(grid, scratch, queue, node, cost, node + 1);
+                }
+            }
+
+            return new DijkstraPathFinder.DijkstraResult(new ArrayList<>(), GridPaths.visited(grid, sink),
+                    expanded, 0, GridPaths.elapsedMs(startTime), queue.peakSize());
+        }
+    }
+
+    private static void relax(FlatGrid grid, SearchScratch scratch, LongMinHeap queue,
+                              int node, int cost, int neighbor) {
+        if (!grid.isPassable(neighbor)) {
+            return;
+        }
+        int newCost = cost + FlatGrid.stepCost(grid.cell(neighbor));
+        if (newCost < scratch.distance(neighbor)) {
+            scratch.setDistance(neighbor, newCost);
+            scratch.setParent(neighbor, node);
+            queue.push(LongMinHeap.pack(newCost, neighbor));
+        }
+    }
+
+    private static boolean isWalkable(FlatGrid grid, int row, int col) {
+        return grid.contains(row, col) && grid.isPassable(grid.index(row, col));
+    }
+}
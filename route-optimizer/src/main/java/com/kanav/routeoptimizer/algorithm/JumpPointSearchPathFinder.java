@@ -0,0 +1,226 @@
+package com.kanav.routeoptimizer.algorithm;
+
+import com.kanav.routeoptimizer.model.FlatGrid;
+import com.kanav.routeoptimizer.model.Node;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Jump Point Search for 4-connected grids where every open cell costs 1.
+ * Canonical paths turn from vertical to horizontal freely and from horizontal to vertical only
+ * at forced neighbours, so vertical jumps stop wherever a horizontal scan finds something.
+ * Grids with traffic cells fall back to the indexed Dijkstra search.
+ */
+public class JumpPointSearchPathFinder {
+    private static final int NONE = -1;
+
+    public static SearchResult findPathWithStats(int[][] grid, Node start, Node end) {
+        long startTime = System.nanoTime();
+        if (!GridPaths.isValidGrid(grid) || start == null || end == null) {
+            return SearchResult.empty(0, startTime);
+        }
+        return findPathWithStats(FlatGrid.of(grid), start, end);
+    }
+
+    public static SearchResult findPathWithStats(FlatGrid grid, Node start, Node end) {
+        return findPathWithStats(grid, start, end, new VisitOrder());
+    }
+
+    // The sink receives expanded jump points, or Dijkstra's expansions when the search falls back.
+    public static SearchResult findPathWithStats(FlatGrid grid, Node start, Node end, ExpansionSink sink) {
+        long startTime = System.nanoTime();
+        if (start == null || end == null) {
+            return SearchResult.empty(0, startTime);
+        }
+        if (!grid.isUniformCost()) {
+            return SearchResult.from(IndexedDijkstraPathFinder.findPathWithStats(grid, start, end, sink));
+        }
+        if (!isWalkable(grid, start.getRow(), start.getCol())
+                || !isWalkable(grid, end.getRow(), end.getCol())) {
+            return SearchResult.empty(0, startTime);
+        }
+        if (start.equals(end)) {
+            return SearchResult.trivial(grid, start, 0, sink, startTime);
+        }
+        return new JumpPointSearchPathFinder(grid, end).search(start, sink, startTime);
+    }
+
+    private final FlatGrid grid;
+    private final int rows;
+    private final int cols;
+    private final int target;
+    private final int targetRow;
+    private final int targetCol;
+
+    private JumpPointSearchPathFinder(FlatGrid grid, Node end) {
+        this.grid = grid;
+        this.rows = grid.getRows();
+        this.cols = grid.getCols();
+        this.targetRow = end.getRow();
+        this.targetCol = end.getCol();
+        this.target = grid.index(targetRow, targetCol);
+    }
+
+    private SearchResult search(Node start, ExpansionSink sink, long startTime) {
+        int source = grid.index(start.getRow(), start.getCol());
+        int[] distance = new int[grid.size()];
+        int[] parent = new int[grid.size()];
+        BitSet closed = new BitSet(grid.size());
+        int expanded = 0;
+        KeyedIntHeap open = new KeyedIntHeap(64);
+        Arrays.fill(distance, Integer.MAX_VALUE);
+
+        distance[source] = 0;
+        parent[source] = GridPaths.NO_PARENT;
+        open.push(key(0, source), source);
+
+        IntList successors = new IntList(4);
+        while (!open.isEmpty()) {
+            int node = open.pop();
+            if (closed.get(node)) {
+                continue;
+            }
+            closed.set(node);
+            expanded++;
+            if (sink != null) {
+                sink.expanded(node);
+            }
+            if (node == target) {
+                List<Node> path = expandPath(parent, target);
+                return new SearchResult(path, GridPaths.visited(grid, sink), expanded,
+                        distance[target], GridPaths.elapsedMs(startTime), open.peakSize());
+            }
+
+            successors.clear();
+            findSuccessors(node, parent[node], successors);
+            for (int i = 0; i < successors.size(); i++) {
+                int jumpPoint = successors.get(i);
+                if (closed.get(jumpPoint)) {
+                    continue;
+                }
+                int newCost = distance[node] + manhattan(node, jumpPoint);
+                if (newCost < distance[jumpPoint]) {
+                    distance[jumpPoint] = newCost;
+                    parent[jumpPoint] = node;
+                    open.push(key(newCost, jumpPoint), jumpPoint);
+                }
+            }
+        }
+
+        return new SearchResult(new ArrayList<>(), GridPaths.visited(grid, sink), expanded,
+                0, GridPaths.elapsedMs(startTime), open.peakSize());
+    }
+
+    private void findSuccessors(int node, int from, IntList successors) {
+        int row = node / cols;
+        int col = node - row * cols;
+        if (from == GridPaths.NO_PARENT) {
+            addJump(successors, jumpVertical(row, col, -1));
+            addJump(successors, jumpVertical(row, col, 1));
+            addJump(successors, jumpHorizontal(row, col, -1));
+            addJump(successors, jumpHorizontal(row, col, 1));
+            return;
+        }
+        int fromRow = from / cols;
+        int dr = Integer.signum(row - fromRow);
+        int dc = Integer.signum(col - (from - fromRow * cols));
+        if (dr != 0) {
+            addJump(successors, jumpVertical(row, col, dr));
+            addJump(successors, jumpHorizontal(row, col, -1));
+            addJump(successors, jumpHorizontal(row, col, 1));
+            return;
+        }
+        addJump(successors, jumpHorizontal(row, col, dc));
+        if (isForced(row - 1, col, dc)) {
+            addJump(successors, jumpVertical(row, col, -1));
+        }
+        if (isForced(row + 1, col, dc)) {
+            addJump(successors, jumpVertical(row, col, 1));
+        }
+    }
+
+    private int jumpHorizontal(int row, int col, int dc) {
+        int c = col + dc;
+        while (open(row, c)) {
+            if (row == targetRow && c == targetCol) {
+                return row * cols + c;
+            }
+            if (isForced(row - 1, c, dc) || isForced(row + 1, c, dc)) {
+                return row * cols + c;
+            }
+            c += dc;
+        }
+        return NONE;
+    }
+
+    private int jumpVertical(int row, int col, int dr) {
+        int r = row + dr;
+        while (open(r, col)) {
+            if (r == targetRow && col == targetCol) {
+                return r * cols + col;
+            }
+            if (jumpHorizontal(r, col, -1) != NONE || jumpHorizontal(r, col, 1) != NONE) {
+                return r * cols + col;
+            }
+            r += dr;
+        }
+        return NONE;
+    }
+
+    private boolean isForced(int sideRow, int col, int dc) {
+        // The side cell is open but the side cell one step back is not, so no shorter canonical path reaches it.
+        return open(sideRow, col) && !open(sideRow, col - dc);
+    }
+
+    private boolean open(int row, int col) {
+        return row >= 0 && row < rows && col >= 0 && col < cols && grid.isOpen(row * cols + col);
+    }
+
+    private List<Node> expandPath(int[] parent, int end) {
+        List<Node> path = new ArrayList<>();
+        int current = end;
+        while (parent[current] != GridPaths.NO_PARENT) {
+            int previous = parent[current];
+            int row = current / cols;
+            int col = current - row * cols;
+            int prevRow = previous / cols;
+            int prevCol = previous - prevRow * cols;
+            int dr = Integer.signum(prevRow - row);
+            int dc = Integer.signum(prevCol - col);
+            while (row != prevRow || col != prevCol) {
+                path.add(new Node(row, col));
+                row += dr;
+                col += dc;
+            }
+            current = previous;
+        }
+        path.add(grid.toNode(current));
+        Collections.reverse(path);
+        return path;
+    }
+
+    private long key(int g, int node) {
+        int h = manhattan(node, target);
+        return (((long) g + h) << 32) | h;
+    }
+
+    private int manhattan(int a, int b) {
+        int aRow = a / cols;
+        int bRow = b / cols;
+        return Math.abs(aRow - bRow) + Math.abs((a - aRow * cols) - (b - bRow * cols));
+    }
+
+    private static void addJump(IntList successors, int jumpPoint) {
+        if (jumpPoint != NONE) {
+            successors.add(jumpPoint);
+        }
+    }
+
+    private static boolean isWalkable(FlatGrid grid, int row, int col) {
+        return grid.contains(row, col) && grid.isOpen(grid.index(row, col));
+    }
+}
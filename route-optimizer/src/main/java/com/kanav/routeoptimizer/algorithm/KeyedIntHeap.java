@@ -0,0 +1,87 @@
+package com.kanav.routeoptimizer.algorithm;
+
+import java.util.Arrays;
+
+public class KeyedIntHeap {
+    private long[] keys;
+    private int[] values;
+    private int size;
+    private int peakSize;
+
+    public KeyedIntHeap(int initialCapacity) {
+        int capacity = Math.max(initialCapacity, 16);
+        keys = new long[capacity];
+        values = new int[capacity];
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // Largest size reached since construction; clear() does not reset it.
+    public int peakSize() {
+        return peakSize;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    public long peekKey() {
+        return keys[0];
+    }
+
+    public int peekValue() {
+        return values[0];
+    }
+
+    public void push(long key, int value) {
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, size << 1);
+            values = Arrays.copyOf(values, size << 1);
+        }
+        int i = size++;
+        if (size > peakSize) {
+            peakSize = size;
+        }
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (keys[parent] <= key) {
+                break;
+            }
+            keys[i] = keys[parent];
+            values[i] = values[parent];
+            i = parent;
+        }
+        keys[i] = key;
+        values[i] = value;
+    }
+
+    public int pop() {
+        int top = values[0];
+        long lastKey = keys[--size];
+        int lastValue = values[size];
+        int i = 0;
+        int half = size >>> 1;
+        while (i < half) {
+            int child = (i << 1) + 1;
+            int right = child + 1;
+            if (right < size && keys[right] < keys[child]) {
+                child = right;
+            }
+            if (lastKey <= keys[child]) {
+                break;
+            }
+            keys[i] = keys[child];
+            values[i] = values[child];
+            i = child;
+        }
+        keys[i] = lastKey;
+        values[i] = lastValue;
+        return top;
+    }
+}
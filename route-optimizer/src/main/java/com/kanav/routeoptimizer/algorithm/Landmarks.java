@@ -0,0 +1,214 @@
+package com.kanav.routeoptimizer.algorithm;
+
+import com.kanav.routeoptimizer.model.FlatGrid;
+import com.kanav.routeoptimizer.model.Node;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Precomputed costs to and from a few landmark cells under Dijkstra costs, for the ALT lower
+ * bound. Step costs depend on the cell entered, so costs are not symmetric and both directions
+ * are kept. By the triangle inequality, for any landmark L:
+ * d(v, t) >= d(L, t) - d(L, v) and d(v, t) >= d(v, L) - d(t, L).
+ * The tables are interleaved by cell (cell * count + landmark), so one lookup reads all of a
+ * cell's landmark costs from the same cache line.
+ */
+public class Landmarks {
+    // Large enough to dominate any real cost, small enough that differences never overflow.
+    static final int UNREACHABLE = Integer.MAX_VALUE / 4;
+
+    private final int[] cells;
+    private final int[] from;
+    private final int[] to;
+    private final long preprocessingMs;
+
+    private Landmarks(int[] cells, int[] from, int[] to, long preprocessingMs) {
+        this.cells = cells;
+        this.from = from;
+        this.to = to;
+        this.preprocessingMs = preprocessingMs;
+    }
+
+    /**
+     * Places up to count landmarks around the border of the grid, where they give the tightest
+     * bounds for routes crossing it, and computes the 2 * count cost tables as separate tasks.
+     */
+    public static CompletableFuture<Landmarks> build(FlatGrid grid, int count, Executor executor) {
+        long startTime = System.nanoTime();
+        int[] landmarks = place(grid, count);
+        int k = landmarks.length;
+        int[] from = new int[grid.size() * k];
+        int[] to = new int[grid.size() * k];
+        CompletableFuture<?>[] tasks = new CompletableFuture<?>[k * 2];
+        for (int i = 0; i < k; i++) {
+            int landmark = i;
+            tasks[i * 2] = CompletableFuture.runAsync(
+                    () -> interleave(costs(grid, landmarks[landmark], false), from, landmark, k), executor);
+            tasks[i * 2 + 1] = CompletableFuture.runAsync(
+                    () -> interleave(costs(grid, landmarks[landmark], true), to, landmark, k), executor);
+        }
+        return CompletableFuture.allOf(tasks)
+                .thenApply(done -> new Landmarks(landmarks, from, to, GridPaths.elapsedMs(startTime)));
+    }
+
+    /**
+     * The best lower bound on the cost from a cell to the target that the landmarks give. Callers
+     * take the maximum of this and their own bound, so landmarks that see neither cell contribute nothing.
+     */
+    public int lowerBound(int index, int target) {
+        int k = cells.length;
+        int base = index * k;
+        int targetBase = target * k;
+        int best = 0;
+        for (int i = 0; i < k; i++) {
+            int forward = from[targetBase + i] - from[base + i];
+            int backward = to[base + i] - to[targetBase + i];
+            best = Math.max(best, Math.max(forward, backward));
+        }
+        return best;
+    }
+
+    public List<Node> landmarks(FlatGrid grid) {
+        List<Node> nodes = new ArrayList<>(cells.length);
+        for (int cell : cells) {
+            nodes.add(grid.toNode(cell));
+        }
+        return nodes;
+    }
+
+    public int count() {
+        return cells.length;
+    }
+
+    public long sizeBytes() {
+        return (long) (from.length + to.length) * Integer.BYTES;
+    }
+
+    public long getPreprocessingMs() {
+        return preprocessingMs;
+    }
+
+    public static long sizeBytes(FlatGrid grid, int count) {
+        return (long) grid.size() * count * 2 * Integer.BYTES;
+    }
+
+    private static void interleave(int[] costs, int[] table, int landmark, int count) {
+        for (int cell = 0; cell < costs.length; cell++) {
+            table[cell * count + landmark] = costs[cell];
+        }
+    }
+
+    // One-to-all Dijkstra from the landmark, or towards it when reverse is set.
+    static int[] costs(FlatGrid grid, int landmark, boolean reverse) {
+        int size = grid.size();
+        int rows = grid.getRows();
+        int cols = grid.getCols();
+        int[] distance = new int[size];
+        Arrays.fill(distance, UNREACHABLE);
+        BitSet settled = new BitSet(size);
+        KeyedIntHeap open = new KeyedIntHeap(64);
+        distance[landmark] = 0;
+        open.push(0, landmark);
+        while (!open.isEmpty()) {
+            int node = open.pop();
+            if (settled.get(node)) {
+                continue;
+            }
+            settled.set(node);
+            int row = node / cols;
+            int col = node - row * cols;
+            int leave = FlatGrid.stepCost(grid.cell(node));
+            for (int i = 0; i < 4; i++) {
+                int neighbor;
+                if (i == 0 && row > 0) {
+                    neighbor = node - cols;
+                } else if (i == 1 && row < rows - 1) {
+                    neighbor = node + cols;
+                } else if (i == 2 && col > 0) {
+                    neighbor = node - 1;
+                } else if (i == 3 && col < cols - 1) {
+                    neighbor = node + 1;
+                } else {
+                    continue;
+                }
+                if (!grid.isPassable(neighbor) || settled.get(neighbor)) {
+                    continue;
+                }
+                // Walking backwards, the step from neighbour onto node is paid at node.
+                int cost = distance[node] + (reverse ? leave : FlatGrid.stepCost(grid.cell(neighbor)));
+                if (cost < distance[neighbor]) {
+                    distance[neighbor] = cost;
+                    open.push(cost, neighbor);
+                }
+            }
+        }
+        return distance;
+    }
+
+    // Evenly spaced points around the border, each moved to the nearest passable cell.
+    static int[] place(FlatGrid grid, int count) {
+        int rows = grid.getRows();
+        int cols = grid.getCols();
+        List<Integer> border = new ArrayList<>();
+        for (int c = 0; c < cols; c++) {
+            border.add(c);
+        }
+        for (int r = 1; r < rows; r++) {
+            border.add(r * cols + cols - 1);
+        }
+        for (int c = cols - 2; c >= 0 && rows > 1; c--) {
+            border.add((rows - 1) * cols + c);
+        }
+        for (int r = rows - 2; r > 0 && cols > 1; r--) {
+            border.add(r * cols);
+        }
+        int[] chosen = new int[Math.max(count, 0)];
+        int found = 0;
+        for (int i = 0; i < count; i++) {
+            int cell = nearestPassable(grid, border.get((int) ((long) i * border.size() / count)));
+            boolean duplicate = cell < 0;
+            for (int j = 0; j < found && !duplicate; j++) {
+                duplicate = chosen[j] == cell;
+            }
+            if (!duplicate) {
+                chosen[found++] = cell;
+            }
+        }
+        return Arrays.copyOf(chosen, found);
+    }
+
+    private static int nearestPassable(FlatGrid grid, int origin) {
+        int cols = grid.getCols();
+        int rows = grid.getRows();
+        IntList queue = new IntList();
+        BitSet seen = new BitSet(grid.size());
+        queue.add(origin);
+        seen.set(origin);
+        for (int head = 0; head < queue.size(); head++) {
+            int cell = queue.get(head);
+            if (grid.isPassable(cell)) {
+                return cell;
+            }
+            int row = cell / cols;
+            int col = cell - row * cols;
+            int[] neighbours = {
+                    row > 0 ? cell - cols : -1,
+                    row < rows - 1 ? cell + cols : -1,
+                    col > 0 ? cell - 1 : -1,
+                    col < cols - 1 ? cell + 1 : -1
+            };
+            for (int neighbour : neighbours) {
+                if (neighbour >= 0 && !seen.get(neighbour)) {
+                    seen.set(neighbour);
+                    queue.add(neighbour);
+                }
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,89 @@
+package com.kanav.routeoptimizer.algorithm;
+
+import java.util.Arrays;
+
+public class LongMinHeap {
+    private long[] heap;
+    private int size;
+    private int peakSize;
+
+    public LongMinHeap(int initialCapacity) {
+        heap = new long[Math.max(initialCapacity, 16)];
+    }
+
+    public static long pack(int priority, int index) {
+        return ((long) priority << 32) | (index & 0xFFFFFFFFL);
+    }
+
+    public static int priorityOf(long entry) {
+        return (int) (entry >>> 32);
+    }
+
+    public static int indexOf(long entry) {
+        return (int) entry;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // Largest size reached since construction; clear() does not reset it.
+    public int peakSize() {
+        return peakSize;
+    }
+
+    public long peek() {
+        return heap[0];
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    public void push(long entry) {
+        if (size == heap.length) {
+            heap = Arrays.copyOf(heap, size << 1);
+        }
+        int i = size++;
+        if (size > peakSize) {
+            peakSize = size;
+        }
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            long parentEntry = heap[parent];
+            if (parentEntry <= entry) {
+                break;
+            }
+            heap[i] = parentEntry;
+            i = parent;
+        }
+        heap[i] = entry;
+    }
+
+    public long pop() {
+        long top = heap[0];
+        long last = heap[--size];
+        int i = 0;
+        int half = size >>> 1;
+        while (i < half) {
+            int child = (i << 1) + 1;
+            long childEntry = heap[child];
+            int right = child + 1;
+            if (right < size && heap[right] < childEntry) {
+                child = right;
+                childEntry = heap[right];
+            }
+            if (last <= childEntry) {
+                break;
+            }
+            heap[i] = childEntry;
+            i = child;
+        }
+        heap[i] = last;
+        return top;
+    }
+}
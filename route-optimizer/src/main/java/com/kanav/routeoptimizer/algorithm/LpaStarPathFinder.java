@@ -0,0 +1,251 @@
+package com.kanav.routeoptimizer.algorithm;
+
+import com.kanav.routeoptimizer.model.FlatGrid;
+import com.kanav.routeoptimizer.model.Node;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Lifelong Planning A* between two fixed cells under Dijkstra costs.
+ * The planner owns a private copy of the grid; after cells change, only the vertices whose
+ * distance estimates became inconsistent are expanded again instead of searching from scratch.
+ * The heuristic is the Manhattan distance, which stays admissible whatever the cells are patched to.
+ */
+public class LpaStarPathFinder {
+    private static final int INFINITY = Integer.MAX_VALUE / 2;
+    private static final long NOT_QUEUED = -1L;
+
+    private final int rows;
+    private final int cols;
+    private final byte[] cells;
+    private final int start;
+    private final int goal;
+    private final int goalRow;
+    private final int goalCol;
+    private final int[] g;
+    private final int[] rhs;
+    // Key each vertex was last queued with; heap entries carrying any other key are stale.
+    private final long[] queuedKey;
+    private final KeyedIntHeap open = new KeyedIntHeap(64);
+    private long totalExpanded;
+
+    public LpaStarPathFinder(FlatGrid grid, Node start, Node end) {
+        this.rows = grid.getRows();
+        this.cols = grid.getCols();
+        this.cells = new byte[grid.size()];
+        for (int i = 0; i < cells.length; i++) {
+            cells[i] = grid.cell(i);
+        }
+        this.start = grid.index(start.getRow(), start.getCol());
+        this.goal = grid.index(end.getRow(), end.getCol());
+        this.goalRow = end.getRow();
+        this.goalCol = end.getCol();
+        this.g = new int[cells.length];
+        this.rhs = new int[cells.length];
+        this.queuedKey = new long[cells.length];
+        Arrays.fill(g, INFINITY);
+        Arrays.fill(rhs, INFINITY);
+        Arrays.fill(queuedKey, NOT_QUEUED);
+        updateVertex(this.start);
+    }
+
+    /**
+     * Brings the search up to date with the current cells and returns how many vertices were
+     * expanded to do so. The first call is an ordinary A* search.
+     */
+    public int computeShortestPath() {
+        int expanded = 0;
+        while (true) {
+            long top = topKey();
+            if (top == Long.MAX_VALUE || (top >= key(goal) && g[goal] == rhs[goal])) {
+                break;
+            }
+            int node = open.pop();
+            queuedKey[node] = NOT_QUEUED;
+            expanded++;
+            if (g[node] > rhs[node]) {
+                g[node] = rhs[node];
+                updateNeighbours(node);
+            } else {
+                g[node] = INFINITY;
+                updateVertex(node);
+                updateNeighbours(node);
+            }
+        }
+        totalExpanded += expanded;
+        if (open.size() > cells.length * 2) {
+            compactQueue();
+        }
+        return expanded;
+    }
+
+    /**
+     * Changes one cell and marks the vertices whose incoming edges it affects. Returns false when
+     * the cell already held that value. Call {@link #computeShortestPath()} after a batch of changes.
+     */
+    public boolean setCell(int row, int col, byte value) {
+        int index = row * cols + col;
+        if (cells[index] == value) {
+            return false;
+        }
+        cells[index] = value;
+        // Entering the cell costs its own step cost, and leaving it requires it to be passable.
+        updateVertex(index);
+        updateNeighbours(index);
+        return true;
+    }
+
+    public List<Node> path() {
+        if (g[goal] >= INFINITY) {
+            return new ArrayList<>();
+        }
+        List<Node> path = new ArrayList<>();
+        int current = goal;
+        path.add(toNode(current));
+        while (current != start) {
+            int cost = FlatGrid.stepCost(cells[current]);
+            int previous = -1;
+            int row = current / cols;
+            int col = current - row * cols;
+            if (row > 0 && g[current - cols] + cost == g[current] && passable(current - cols)) {
+                previous = current - cols;
+            } else if (row < rows - 1 && g[current + cols] + cost == g[current] && passable(current + cols)) {
+                previous = current + cols;
+            } else if (col > 0 && g[current - 1] + cost == g[current] && passable(current - 1)) {
+                previous = current - 1;
+            } else if (col < cols - 1 && g[current + 1] + cost == g[current] && passable(current + 1)) {
+                previous = current + 1;
+            }
+            if (previous < 0) {
+                return new ArrayList<>();
+            }
+            current = previous;
+            path.add(toNode(current));
+        }
+        Collections.reverse(path);
+        return path;
+    }
+
+    public Integer totalCost() {
+        return g[goal] >= INFINITY ? null : g[goal];
+    }
+
+    public long getTotalExpanded() {
+        return totalExpanded;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getCols() {
+        return cols;
+    }
+
+    public byte cell(int row, int col) {
+        return cells[row * cols + col];
+    }
+
+    public FlatGrid snapshot() {
+        return new FlatGrid(rows, cols, cells.clone());
+    }
+
+    public long sizeBytes() {
+        return (long) cells.length * (1 + Integer.BYTES * 2 + Long.BYTES) + (long) cells.length * 2 * 12;
+    }
+
+    private void updateVertex(int node) {
+        rhs[node] = node == start ? (passable(start) ? 0 : INFINITY) : bestPredecessor(node);
+        queuedKey[node] = NOT_QUEUED;
+        if (g[node] != rhs[node]) {
+            long key = key(node);
+            queuedKey[node] = key;
+            open.push(key, node);
+        }
+    }
+
+    private void updateNeighbours(int node) {
+        int row = node / cols;
+        int col = node - row * cols;
+        if (row > 0) {
+            updateVertex(node - cols);
+        }
+        if (row < rows - 1) {
+            updateVertex(node + cols);
+        }
+        if (col > 0) {
+            updateVertex(node - 1);
+        }
+        if (col < cols - 1) {
+            updateVertex(node + 1);
+        }
+    }
+
+    private int bestPredecessor(int node) {
+        if (!passable(node)) {
+            return INFINITY;
+        }
+        int row = node / cols;
+        int col = node - row * cols;
+        int best = INFINITY;
+        if (row > 0) {
+            best = Math.min(best, arrival(node - cols));
+        }
+        if (row < rows - 1) {
+            best = Math.min(best, arrival(node + cols));
+        }
+        if (col > 0) {
+            best = Math.min(best, arrival(node - 1));
+        }
+        if (col < cols - 1) {
+            best = Math.min(best, arrival(node + 1));
+        }
+        return best >= INFINITY ? INFINITY : best + FlatGrid.stepCost(cells[node]);
+    }
+
+    private int arrival(int predecessor) {
+        return passable(predecessor) ? g[predecessor] : INFINITY;
+    }
+
+    // Long patch sequences leave stale entries below the top; rebuild from the live keys to bound the heap.
+    private void compactQueue() {
+        open.clear();
+        for (int node = 0; node < queuedKey.length; node++) {
+            if (queuedKey[node] != NOT_QUEUED) {
+                open.push(queuedKey[node], node);
+            }
+        }
+    }
+
+    // Drops stale heap entries so the top reflects a vertex that is still queued with that key.
+    private long topKey() {
+        while (!open.isEmpty()) {
+            long key = open.peekKey();
+            if (queuedKey[open.peekValue()] == key) {
+                return key;
+            }
+            open.pop();
+        }
+        return Long.MAX_VALUE;
+    }
+
+    // Lexicographic [min(g, rhs) + h, min(g, rhs)] packed into one long.
+    private long key(int node) {
+        int best = Math.min(g[node], rhs[node]);
+        int row = node / cols;
+        int h = Math.abs(row - goalRow) + Math.abs(node - row * cols - goalCol);
+        return ((long) (best + h) << 32) | best;
+    }
+
+    private boolean passable(int index) {
+        byte cell = cells[index];
+        return cell != FlatGrid.WALL && cell != FlatGrid.UNKNOWN;
+    }
+
+    private Node toNode(int index) {
+        return new Node(index / cols, index % cols);
+    }
+}
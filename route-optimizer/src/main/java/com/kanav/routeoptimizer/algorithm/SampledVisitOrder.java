@@ -0,0 +1,31 @@
+package com.kanav.routeoptimizer.algorithm;
+
+import com.kanav.routeoptimizer.model.FlatGrid;
+import com.kanav.routeoptimizer.model.Node;
+
+import java.util.List;
+
+// Keeps every rate-th expansion, up to limit of them; rate 1 gives the first N expansions.
+public class SampledVisitOrder implements ExpansionSink {
+    private final IntList order = new IntList();
+    private final int rate;
+    private final int limit;
+    private int seen;
+
+    public SampledVisitOrder(int rate, int limit) {
+        this.rate = Math.max(rate, 1);
+        this.limit = Math.max(limit, 0);
+    }
+
+    @Override
+    public void expanded(int index) {
+        if (seen++ % rate == 0 && order.size() < limit) {
+            order.add(index);
+        }
+    }
+
+    @Override
+    public List<Node> visited(FlatGrid grid) {
+        return GridPaths.toNodes(grid, order);
+    }
+}
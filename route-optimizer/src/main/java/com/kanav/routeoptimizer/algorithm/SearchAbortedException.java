@@ -0,0 +1,17 @@
+package com.kanav.routeoptimizer.algorithm;
+
+import com.kanav.routeoptimizer.model.SearchStatus;
+
+// Thrown out of a search loop by BudgetedSink; the sink still holds what was expanded before the stop.
+public class SearchAbortedException extends RuntimeException {
+    private final SearchStatus status;
+
+    public SearchAbortedException(SearchStatus status) {
+        super(status.name(), null, false, false);
+        this.status = status;
+    }
+
+    public SearchStatus getStatus() {
+        return status;
+    }
+}
@@ -0,0 +1,78 @@
+package com.kanav.routeoptimizer.algorithm;
+
+import com.kanav.routeoptimizer.model.FlatGrid;
+import com.kanav.routeoptimizer.model.Node;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class SearchResult {
+    private final List<Node> path;
+    private final List<Node> visited;
+    private final int nodesVisited;
+    private final Integer totalCost;
+    private final long executionTimeMs;
+    private final int queuePeak;
+
+    public SearchResult(List<Node> path, List<Node> visited, int nodesVisited, Integer totalCost, long executionTimeMs) {
+        this(path, visited, nodesVisited, totalCost, executionTimeMs, 0);
+    }
+
+    public SearchResult(List<Node> path, List<Node> visited, int nodesVisited, Integer totalCost, long executionTimeMs,
+                        int queuePeak) {
+        this.path = path;
+        this.visited = visited;
+        this.nodesVisited = nodesVisited;
+        this.totalCost = totalCost;
+        this.executionTimeMs = executionTimeMs;
+        this.queuePeak = queuePeak;
+    }
+
+    public static SearchResult empty(Integer totalCost, long startTimeNs) {
+        return new SearchResult(new ArrayList<>(), new ArrayList<>(), 0, totalCost, GridPaths.elapsedMs(startTimeNs));
+    }
+
+    public static SearchResult trivial(FlatGrid grid, Node node, Integer totalCost, ExpansionSink sink, long startTimeNs) {
+        List<Node> path = new ArrayList<>();
+        path.add(node);
+        if (sink != null) {
+            sink.expanded(grid.index(node.getRow(), node.getCol()));
+        }
+        return new SearchResult(path, GridPaths.visited(grid, sink), 1, totalCost, GridPaths.elapsedMs(startTimeNs));
+    }
+
+    public static SearchResult from(BFSPathFinder.BFSResult result) {
+        return new SearchResult(result.getPath(), result.getVisited(), result.getNodesVisited(),
+                null, result.getExecutionTimeMs(), result.getQueuePeak());
+    }
+
+    public static SearchResult from(DijkstraPathFinder.DijkstraResult result) {
+        return new SearchResult(result.getPath(), result.getVisited(), result.getNodesVisited(),
+                result.getTotalCost(), result.getExecutionTimeMs(), result.getQueuePeak());
+    }
+
+    public List<Node> getPath() {
+        return path;
+    }
+
+    public List<Node> getVisited() {
+        return visited;
+    }
+
+    public int getNodesVisited() {
+        return nodesVisited;
+    }
+
+    public Integer getTotalCost() {
+        return totalCost;
+    }
+
+    public long getExecutionTimeMs() {
+        return executionTimeMs;
+    }
+
+    // The most entries the open queue held at once; 0 when the search stopped before its main loop.
+    public int getQueuePeak() {
+        return queuePeak;
+    }
+}
@@ -0,0 +1,161 @@
+package com.kanav.routeoptimizer.algorithm;
+
+import com.kanav.routeoptimizer.model.FlatGrid;
+import com.kanav.routeoptimizer.model.TileSet;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Iterator;
+
+/**
+ * The per-cell distance and parent slots of one search. Searches over off-heap grids keep them in
+ * direct memory as well, 8 bytes per cell, taken from a small pool that finished searches hand
+ * their buffers back to; direct memory is only freed when the collector gets round to it, so
+ * allocating afresh per search would run into {@code -XX:MaxDirectMemorySize} (which defaults to
+ * the maximum heap size). That limit has to cover 8 bytes per cell for every search that may run
+ * at once. Searches over tiled grids keep their slots in pages shaped like the grid's tiles,
+ * allocated only when the search first writes to one, so a local query on a huge map pays for the
+ * area it explores. Everything else gets plain heap arrays behind the same accessors.
+ */
+final class SearchScratch implements AutoCloseable {
+    // One direct buffer holds at most Integer.MAX_VALUE bytes.
+    private static final int MAX_OFF_HEAP_CELLS = Integer.MAX_VALUE / Integer.BYTES;
+    // Two buffers per search, for as many searches as there are cores; older buffers are dropped first.
+    private static final int MAX_POOLED = 4 * Runtime.getRuntime().availableProcessors();
+    private static final ArrayDeque<IntBuffer> POOL = new ArrayDeque<>();
+
+    private final boolean pooled;
+    private final IntBuffer distance;
+    private final IntBuffer parent;
+    private final TileSet pageLayout;
+    private final int[][] distancePages;
+    private final int[][] parentPages;
+    private int unsetDistance;
+
+    private SearchScratch(IntBuffer distance, IntBuffer parent, boolean pooled) {
+        this.pooled = pooled;
+        this.distance = distance;
+        this.parent = parent;
+        this.pageLayout = null;
+        this.distancePages = null;
+        this.parentPages = null;
+    }
+
+    private SearchScratch(TileSet pageLayout) {
+        this.pooled = false;
+        this.distance = null;
+        this.parent = null;
+        this.pageLayout = pageLayout;
+        this.distancePages = new int[pageLayout.tileCount()][];
+        this.parentPages = new int[pageLayout.tileCount()][];
+    }
+
+    static SearchScratch forGrid(FlatGrid grid) {
+        int size = grid.size();
+        if (grid.isTiled()) {
+            return new SearchScratch(grid.getTileSet());
+        }
+        if (grid.isOffHeap() && size <= MAX_OFF_HEAP_CELLS) {
+            return new SearchScratch(direct(size), direct(size), true);
+        }
+        return new SearchScratch(IntBuffer.wrap(new int[size]), IntBuffer.wrap(new int[size]), false);
+    }
+
+    // Hands pooled buffers back; the search must not touch this scratch afterwards.
+    @Override
+    public void close() {
+        if (pooled) {
+            recycle(distance);
+            recycle(parent);
+        }
+    }
+
+    int distance(int index) {
+        if (pageLayout == null) {
+            return distance.get(index);
+        }
+        int[] page = distancePages[page(index)];
+        return page == null ? unsetDistance : page[offset(index)];
+    }
+
+    void setDistance(int index, int value) {
+        if (pageLayout == null) {
+            distance.put(index, value);
+            return;
+        }
+        int page = page(index);
+        if (distancePages[page] == null) {
+            distancePages[page] = new int[pageLayout.tileCells()];
+            if (unsetDistance != 0) {
+                Arrays.fill(distancePages[page], unsetDistance);
+            }
+        }
+        distancePages[page][offset(index)] = value;
+    }
+
+    int parent(int index) {
+        if (pageLayout == null) {
+            return parent.get(index);
+        }
+        return parentPages[page(index)][offset(index)];
+    }
+
+    void setParent(int index, int value) {
+        if (pageLayout == null) {
+            parent.put(index, value);
+            return;
+        }
+        int page = page(index);
+        if (parentPages[page] == null) {
+            parentPages[page] = new int[pageLayout.tileCells()];
+        }
+        parentPages[page][offset(index)] = value;
+    }
+
+    // Called before any distance is set; pages allocated afterwards start out filled with the value.
+    void fillDistance(int value) {
+        if (pageLayout != null) {
+            unsetDistance = value;
+            return;
+        }
+        for (int i = 0; i < distance.limit(); i++) {
+            distance.put(i, value);
+        }
+    }
+
+    private int page(int index) {
+        int row = index / pageLayout.getCols();
+        return pageLayout.tileOf(row, index - row * pageLayout.getCols());
+    }
+
+    private int offset(int index) {
+        int row = index / pageLayout.getCols();
+        return pageLayout.offsetOf(row, index - row * pageLayout.getCols());
+    }
+
+    // Taken once per search, so a plain lock costs nothing next to the search itself.
+    private static IntBuffer direct(int size) {
+        synchronized (POOL) {
+            for (Iterator<IntBuffer> iterator = POOL.iterator(); iterator.hasNext(); ) {
+                IntBuffer buffer = iterator.next();
+                if (buffer.capacity() == size) {
+                    iterator.remove();
+                    return buffer;
+                }
+            }
+        }
+        return ByteBuffer.allocateDirect(size * Integer.BYTES).order(ByteOrder.nativeOrder()).asIntBuffer();
+    }
+
+    private static void recycle(IntBuffer buffer) {
+        synchronized (POOL) {
+            POOL.addFirst(buffer);
+            if (POOL.size() > MAX_POOLED) {
+                POOL.removeLast();
+            }
+        }
+    }
+}
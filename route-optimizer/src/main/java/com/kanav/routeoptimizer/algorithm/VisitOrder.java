@@ -0,0 +1,21 @@
+package com.kanav.routeoptimizer.algorithm;
+
+import com.kanav.routeoptimizer.model.FlatGrid;
+import com.kanav.routeoptimizer.model.Node;
+
+import java.util.List;
+
+// Keeps every expansion; the default for callers that want the full visited list.
+public class VisitOrder implements ExpansionSink {
+    private final IntList order = new IntList();
+
+    @Override
+    public void expanded(int index) {
+        order.add(index);
+    }
+
+    @Override
+    public List<Node> visited(FlatGrid grid) {
+        return GridPaths.toNodes(grid, order);
+    }
+}
@@ -0,0 +1,191 @@
+package com.kanav.routeoptimizer.algorithm;
+
+/**
+ * Orders the stops of a route: a nearest-neighbour tour improved by 2-opt and Or-opt moves until
+ * neither finds anything or the deadline passes. Node 0 is the fixed start and the last node the
+ * fixed end; an open route passes a dummy end that every stop reaches for free. Costs may be
+ * asymmetric (entering a cell costs that cell), so 2-opt prices a reversed segment from prefix
+ * sums of the backward costs rather than assuming it costs the same both ways.
+ */
+public class WaypointOrdering {
+    public static final long NO_DEADLINE = Long.MAX_VALUE;
+    private static final int MAX_SEGMENT = 3;
+
+    private WaypointOrdering() {
+    }
+
+    // deadlineNanos is a System.nanoTime() instant or NO_DEADLINE; the nearest-neighbour tour is always built.
+    public static Result solve(long[][] cost, long deadlineNanos) {
+        int n = cost.length;
+        int[] tour = nearestNeighbour(cost);
+        long initialCost = length(cost, tour);
+        int improvements = 0;
+        boolean timedOut = false;
+        if (n > 3) {
+            long[] forward = new long[n];
+            long[] backward = new long[n];
+            while (true) {
+                if (expired(deadlineNanos)) {
+                    timedOut = true;
+                    break;
+                }
+                int made = twoOpt(cost, tour, forward, backward, deadlineNanos) + orOpt(cost, tour, deadlineNanos);
+                if (made == 0) {
+                    break;
+                }
+                improvements += made;
+            }
+        }
+        return new Result(tour, initialCost, length(cost, tour), improvements, timedOut);
+    }
+
+    private static int[] nearestNeighbour(long[][] cost) {
+        int n = cost.length;
+        int[] tour = new int[n];
+        boolean[] placed = new boolean[n];
+        placed[0] = true;
+        tour[n - 1] = n - 1;
+        for (int position = 1; position < n - 1; position++) {
+            int from = tour[position - 1];
+            int best = -1;
+            for (int candidate = 1; candidate < n - 1; candidate++) {
+                if (!placed[candidate] && (best < 0 || cost[from][candidate] < cost[from][best])) {
+                    best = candidate;
+                }
+            }
+            tour[position] = best;
+            placed[best] = true;
+        }
+        return tour;
+    }
+
+    // Reverses tour[i..j] whenever that shortens the route; the first and last positions never move.
+    private static int twoOpt(long[][] cost, int[] tour, long[] forward, long[] backward, long deadlineNanos) {
+        int n = tour.length;
+        int made = 0;
+        prefixSums(cost, tour, forward, backward);
+        for (int i = 1; i < n - 2; i++) {
+            if (expired(deadlineNanos)) {
+                return made;
+            }
+            for (int j = i + 1; j < n - 1; j++) {
+                long delta = cost[tour[i - 1]][tour[j]] + cost[tour[i]][tour[j + 1]]
+                        - cost[tour[i - 1]][tour[i]] - cost[tour[j]][tour[j + 1]]
+                        + (backward[j] - backward[i]) - (forward[j] - forward[i]);
+                if (delta < 0) {
+                    reverse(tour, i, j);
+                    prefixSums(cost, tour, forward, backward);
+                    made++;
+                }
+            }
+        }
+        return made;
+    }
+
+    // Moves runs of up to MAX_SEGMENT consecutive stops to a cheaper place in the route, keeping their order.
+    private static int orOpt(long[][] cost, int[] tour, long deadlineNanos) {
+        int n = tour.length;
+        int made = 0;
+        for (int length = 1; length <= MAX_SEGMENT; length++) {
+            for (int i = 1; i + length < n; i++) {
+                if (expired(deadlineNanos)) {
+                    return made;
+                }
+                int before = tour[i - 1];
+                int first = tour[i];
+                int last = tour[i + length - 1];
+                int after = tour[i + length];
+                long removed = cost[before][first] + cost[last][after] - cost[before][after];
+                for (int k = 0; k < n - 1; k++) {
+                    if (k >= i - 1 && k < i + length) {
+                        continue;
+                    }
+                    long inserted = cost[tour[k]][first] + cost[last][tour[k + 1]] - cost[tour[k]][tour[k + 1]];
+                    if (inserted < removed) {
+                        moveSegment(tour, i, length, k);
+                        made++;
+                        break;
+                    }
+                }
+            }
+        }
+        return made;
+    }
+
+    private static boolean expired(long deadlineNanos) {
+        return deadlineNanos != NO_DEADLINE && System.nanoTime() - deadlineNanos > 0;
+    }
+
+    private static void prefixSums(long[][] cost, int[] tour, long[] forward, long[] backward) {
+        for (int k = 1; k < tour.length; k++) {
+            forward[k] = forward[k - 1] + cost[tour[k - 1]][tour[k]];
+            backward[k] = backward[k - 1] + cost[tour[k]][tour[k - 1]];
+        }
+    }
+
+    private static void reverse(int[] tour, int i, int j) {
+        while (i < j) {
+            int swap = tour[i];
+            tour[i++] = tour[j];
+            tour[j--] = swap;
+        }
+    }
+
+    // Moves tour[i..i+length-1] to sit between tour[k] and tour[k+1].
+    private static void moveSegment(int[] tour, int i, int length, int k) {
+        int[] segment = new int[length];
+        System.arraycopy(tour, i, segment, 0, length);
+        if (k < i) {
+            System.arraycopy(tour, k + 1, tour, k + 1 + length, i - k - 1);
+            System.arraycopy(segment, 0, tour, k + 1, length);
+        } else {
+            System.arraycopy(tour, i + length, tour, i, k + 1 - i - length);
+            System.arraycopy(segment, 0, tour, k + 1 - length, length);
+        }
+    }
+
+    public static long length(long[][] cost, int[] tour) {
+        long total = 0;
+        for (int k = 1; k < tour.length; k++) {
+            total += cost[tour[k - 1]][tour[k]];
+        }
+        return total;
+    }
+
+    public static class Result {
+        private final int[] order;
+        private final long initialCost;
+        private final long cost;
+        private final int improvements;
+        private final boolean timedOut;
+
+        public Result(int[] order, long initialCost, long cost, int improvements, boolean timedOut) {
+            this.order = order;
+            this.initialCost = initialCost;
+            this.cost = cost;
+            this.improvements = improvements;
+            this.timedOut = timedOut;
+        }
+
+        // Node indexes in visiting order, starting with 0 and ending with the last node.
+        public int[] getOrder() {
+            return order;
+        }
+
+        public long getInitialCost() {
+            return initialCost;
+        }
+
+        public long getCost() {
+            return cost;
+        }
+
+        public int getImprovements() {
+            return improvements;
+        }
+
+        public boolean isTimedOut() {
+            return timedOut;
+        }
+    }
+}
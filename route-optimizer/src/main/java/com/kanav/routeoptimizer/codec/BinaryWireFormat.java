@@ -0,0 +1,477 @@
+package com.kanav.routeoptimizer.codec;
+
+import com.kanav.routeoptimizer.dto.AlgorithmResult;
+import com.kanav.routeoptimizer.dto.GridRegistrationRequest;
+import com.kanav.routeoptimizer.dto.PathRequest;
+import com.kanav.routeoptimizer.dto.PathResponse;
+import com.kanav.routeoptimizer.model.AStarHeuristic;
+import com.kanav.routeoptimizer.model.Algorithm;
+import com.kanav.routeoptimizer.model.FlatGrid;
+import com.kanav.routeoptimizer.model.Node;
+import com.kanav.routeoptimizer.model.PathFormat;
+import com.kanav.routeoptimizer.model.SearchEngine;
+import com.kanav.routeoptimizer.model.SearchStatus;
+import com.kanav.routeoptimizer.model.VisitedMode;
+import org.springframework.http.MediaType;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compact binary encoding of requests and results, served as {@code application/x-routr}.
+ * Integers are big-endian; counts and coordinates use unsigned LEB128 varints. Grids are either
+ * run-length encoded or packed four cells to a byte, and paths are a start cell followed by
+ * 2-bit moves (up, down, left, right). Version 2 added search budgets to requests and the search
+ * status to results; version 1 payloads are still read. Decoded grids are capped at a cell count
+ * (by default {@link #DEFAULT_MAX_CELLS}) that is checked against the header before anything is
+ * allocated.
+ */
+public final class BinaryWireFormat {
+    public static final String MEDIA_TYPE_VALUE = "application/x-routr";
+    public static final MediaType MEDIA_TYPE = MediaType.parseMediaType(MEDIA_TYPE_VALUE);
+    public static final int VERSION = 2;
+    // One byte per cell once registered, so this matches the default registry budget of routr.grids.max-bytes.
+    public static final long DEFAULT_MAX_CELLS = 256L << 20;
+
+    public static final int GRID_RLE = 1;
+    public static final int GRID_PACKED = 2;
+
+    private static final int PATH_MOVES = 0;
+    private static final int PATH_DELTAS = 1;
+
+    private static final int HAS_GRID = 1;
+    private static final int HAS_GRID_ID = 1 << 1;
+    private static final int HAS_GRID_VERSION = 1 << 2;
+    private static final int HAS_WEIGHT = 1 << 3;
+    private static final int HAS_VISITED_LIMIT = 1 << 4;
+    private static final int HAS_SAMPLE_RATE = 1 << 5;
+    private static final int HAS_MAX_NODES = 1 << 6;
+    private static final int HAS_DEADLINE = 1 << 7;
+
+    private static final int NO_COST = -1;
+    private static final int[] MOVE_DR = {-1, 1, 0, 0};
+    private static final int[] MOVE_DC = {0, 0, -1, 1};
+
+    private BinaryWireFormat() {
+    }
+
+    public static PathRequest readPathRequest(DataInput in) throws IOException {
+        return readPathRequest(in, DEFAULT_MAX_CELLS);
+    }
+
+    public static PathRequest readPathRequest(DataInput in, long maxCells) throws IOException {
+        readVersion(in);
+        int flags = in.readUnsignedByte();
+        PathRequest request = new PathRequest();
+        request.setStartRow(in.readInt());
+        request.setStartCol(in.readInt());
+        request.setEndRow(in.readInt());
+        request.setEndCol(in.readInt());
+        request.setEngine(readEnum(in, SearchEngine.values()));
+        request.setHeuristic(readEnum(in, AStarHeuristic.values()));
+        request.setVisited(readEnum(in, VisitedMode.values()));
+        request.setPathFormat(readEnum(in, PathFormat.values()));
+        int algorithmCount = in.readUnsignedByte();
+        if (algorithmCount > 0) {
+            List<Algorithm> algorithms = new ArrayList<>(algorithmCount);
+            for (int i = 0; i < algorithmCount; i++) {
+                algorithms.add(readEnum(in, Algorithm.values()));
+            }
+            request.setAlgorithms(algorithms);
+        }
+        if ((flags & HAS_WEIGHT) != 0) {
+            request.setHeuristicWeight(in.readDouble());
+        }
+        if ((flags & HAS_VISITED_LIMIT) != 0) {
+            request.setVisitedLimit(readVarint(in));
+        }
+        if ((flags & HAS_SAMPLE_RATE) != 0) {
+            request.setVisitedSampleRate(readVarint(in));
+        }
+        if ((flags & HAS_MAX_NODES) != 0) {
+            request.setMaxExpandedNodes(readVarint(in));
+        }
+        if ((flags & HAS_DEADLINE) != 0) {
+            request.setDeadlineMs(in.readLong());
+        }
+        if ((flags & HAS_GRID_ID) != 0) {
+            request.setGridId(in.readUTF());
+        }
+        if ((flags & HAS_GRID_VERSION) != 0) {
+            request.setGridVersion(in.readUTF());
+        }
+        if ((flags & HAS_GRID) != 0) {
+            request.setGrid(readGrid(in, maxCells));
+        }
+        return request;
+    }
+
+    public static void writePathRequest(PathRequest request, DataOutput out) throws IOException {
+        int flags = 0;
+        if (request.getGrid() != null) {
+            flags |= HAS_GRID;
+        }
+        if (request.getGridId() != null) {
+            flags |= HAS_GRID_ID;
+        }
+        if (request.getGridVersion() != null) {
+            flags |= HAS_GRID_VERSION;
+        }
+        if (request.getHeuristicWeight() != null) {
+            flags |= HAS_WEIGHT;
+        }
+        if (request.getVisitedLimit() != null) {
+            flags |= HAS_VISITED_LIMIT;
+        }
+        if (request.getVisitedSampleRate() != null) {
+            flags |= HAS_SAMPLE_RATE;
+        }
+        if (request.getMaxExpandedNodes() != null) {
+            flags |= HAS_MAX_NODES;
+        }
+        if (request.getDeadlineMs() != null) {
+            flags |= HAS_DEADLINE;
+        }
+        out.writeByte(VERSION);
+        out.writeByte(flags);
+        out.writeInt(request.getStartRow());
+        out.writeInt(request.getStartCol());
+        out.writeInt(request.getEndRow());
+        out.writeInt(request.getEndCol());
+        writeEnum(out, request.getEngine());
+        writeEnum(out, request.getHeuristic());
+        writeEnum(out, request.getVisited());
+        writeEnum(out, request.getPathFormat());
+        List<Algorithm> algorithms = request.getAlgorithms();
+        int algorithmCount = algorithms == null ? 0 : algorithms.size();
+        if (algorithmCount > 255) {
+            throw new IOException("At most 255 algorithms can be encoded");
+        }
+        out.writeByte(algorithmCount);
+        for (int i = 0; i < algorithmCount; i++) {
+            writeEnum(out, algorithms.get(i));
+        }
+        if (request.getHeuristicWeight() != null) {
+            out.writeDouble(request.getHeuristicWeight());
+        }
+        if (request.getVisitedLimit() != null) {
+            writeVarint(out, request.getVisitedLimit());
+        }
+        if (request.getVisitedSampleRate() != null) {
+            writeVarint(out, request.getVisitedSampleRate());
+        }
+        if (request.getMaxExpandedNodes() != null) {
+            writeVarint(out, request.getMaxExpandedNodes());
+        }
+        if (request.getDeadlineMs() != null) {
+            out.writeLong(request.getDeadlineMs());
+        }
+        if (request.getGridId() != null) {
+            out.writeUTF(request.getGridId());
+        }
+        if (request.getGridVersion() != null) {
+            out.writeUTF(request.getGridVersion());
+        }
+        if (request.getGrid() != null) {
+            writeGrid(request.getGrid(), out);
+        }
+    }
+
+    public static GridRegistrationRequest readGridRegistration(DataInput in) throws IOException {
+        return readGridRegistration(in, DEFAULT_MAX_CELLS);
+    }
+
+    public static GridRegistrationRequest readGridRegistration(DataInput in, long maxCells) throws IOException {
+        readVersion(in);
+        return new GridRegistrationRequest(readGrid(in, maxCells));
+    }
+
+    public static void writeGridRegistration(GridRegistrationRequest request, DataOutput out) throws IOException {
+        out.writeByte(VERSION);
+        writeGrid(request.getGrid(), out);
+    }
+
+    public static int[][] readGrid(DataInput in) throws IOException {
+        return readGrid(in, DEFAULT_MAX_CELLS);
+    }
+
+    // The header is untrusted: its dimensions are checked against maxCells before the grid is allocated.
+    public static int[][] readGrid(DataInput in, long maxCells) throws IOException {
+        int rows = in.readInt();
+        int cols = in.readInt();
+        long total = (long) rows * cols;
+        if (rows <= 0 || cols <= 0 || total > Integer.MAX_VALUE) {
+            throw new IOException("Invalid grid dimensions " + rows + "x" + cols);
+        }
+        if (total > maxCells) {
+            throw new IOException("Grid of " + rows + "x" + cols + " cells exceeds the limit of " + maxCells + " cells");
+        }
+        int encoding = in.readUnsignedByte();
+        if (encoding != GRID_PACKED && encoding != GRID_RLE) {
+            throw new IOException("Unknown grid encoding " + encoding);
+        }
+        int[][] grid = new int[rows][cols];
+        if (encoding == GRID_PACKED) {
+            int packed = 0;
+            for (int i = 0; i < total; i++) {
+                if ((i & 3) == 0) {
+                    packed = in.readUnsignedByte();
+                }
+                grid[i / cols][i % cols] = (packed >>> ((i & 3) << 1)) & 3;
+            }
+        } else if (encoding == GRID_RLE) {
+            int runs = readVarint(in);
+            long filled = 0;
+            for (int run = 0; run < runs; run++) {
+                int value = in.readUnsignedByte();
+                int length = readVarint(in);
+                if (length < 0 || filled + length > total) {
+                    throw new IOException("Run-length data overflows the grid");
+                }
+                for (int i = 0; i < length; i++, filled++) {
+                    grid[(int) (filled / cols)][(int) (filled % cols)] = value;
+                }
+            }
+            if (filled != total) {
+                throw new IOException("Run-length data covers " + filled + " of " + total + " cells");
+            }
+        }
+        return grid;
+    }
+
+    // Packs at two bits per cell unless run-length encoding is smaller or a cell does not fit in two bits.
+    public static void writeGrid(int[][] grid, DataOutput out) throws IOException {
+        int rows = grid.length;
+        int cols = grid[0].length;
+        long cellCount = (long) rows * cols;
+        if (cellCount > Integer.MAX_VALUE) {
+            throw new IOException("Grid of " + rows + "x" + cols + " cells is too large to encode");
+        }
+        out.writeInt(rows);
+        out.writeInt(cols);
+        int total = (int) cellCount;
+        byte[] cells = new byte[total];
+        boolean fitsTwoBits = true;
+        int runs = 0;
+        for (int i = 0; i < total; i++) {
+            int[] row = grid[i / cols];
+            int c = i % cols;
+            cells[i] = row == null || c >= row.length ? FlatGrid.WALL : FlatGrid.encode(row[c]);
+            fitsTwoBits &= cells[i] <= FlatGrid.HEAVY_TRAFFIC;
+            if (i == 0 || cells[i] != cells[i - 1]) {
+                runs++;
+            }
+        }
+        long packedBytes = (total + 3L) / 4;
+        // Each run costs a value byte and a varint length; two bytes is a fair estimate.
+        if (fitsTwoBits && packedBytes <= runs * 2L) {
+            out.writeByte(GRID_PACKED);
+            int packed = 0;
+            for (int i = 0; i < total; i++) {
+                packed |= cells[i] << ((i & 3) << 1);
+                if ((i & 3) == 3 || i == total - 1) {
+                    out.writeByte(packed);
+                    packed = 0;
+                }
+            }
+            return;
+        }
+        out.writeByte(GRID_RLE);
+        writeVarint(out, runs);
+        int start = 0;
+        for (int i = 1; i <= total; i++) {
+            if (i == total || cells[i] != cells[start]) {
+                out.writeByte(cells[start]);
+                writeVarint(out, i - start);
+                start = i;
+            }
+        }
+    }
+
+    public static AlgorithmResult readAlgorithmResult(DataInput in) throws IOException {
+        int version = readVersion(in);
+        int pathLength = in.readInt();
+        int nodesVisited = in.readInt();
+        long executionTimeMs = in.readLong();
+        int totalCost = in.readInt();
+        List<Node> path = readNodes(in);
+        List<Node> visited = readNodes(in);
+        AlgorithmResult result = new AlgorithmResult(path, visited, pathLength, nodesVisited, executionTimeMs,
+                totalCost == NO_COST ? null : totalCost);
+        if (version >= 2) {
+            SearchStatus status = readEnum(in, SearchStatus.values());
+            if (status != null) {
+                result.setStatus(status);
+            }
+            if (in.readBoolean()) {
+                result.setClosest(new Node(readVarint(in), readVarint(in)));
+            }
+        }
+        return result;
+    }
+
+    public static void writeAlgorithmResult(AlgorithmResult result, DataOutput out) throws IOException {
+        out.writeByte(VERSION);
+        out.writeInt(result.getPathLength());
+        out.writeInt(result.getNodesVisited());
+        out.writeLong(result.getExecutionTimeMs());
+        out.writeInt(result.getTotalCost() == null ? NO_COST : result.getTotalCost());
+        writeNodes(result.getPath(), out);
+        writeNodes(result.getVisited(), out);
+        writeEnum(out, result.getStatus());
+        Node closest = result.getClosest();
+        out.writeBoolean(closest != null);
+        if (closest != null) {
+            writeVarint(out, closest.getRow());
+            writeVarint(out, closest.getCol());
+        }
+    }
+
+    public static PathResponse readPathResponse(DataInput in) throws IOException {
+        readVersion(in);
+        int pathLength = in.readInt();
+        int totalCost = in.readInt();
+        return new PathResponse(readNodes(in), pathLength, totalCost == NO_COST ? null : totalCost);
+    }
+
+    public static void writePathResponse(PathResponse response, DataOutput out) throws IOException {
+        out.writeByte(VERSION);
+        out.writeInt(response.getPathLength());
+        out.writeInt(response.getTotalCost() == null ? NO_COST : response.getTotalCost());
+        writeNodes(response.getPath(), out);
+    }
+
+    // Contiguous sequences (every path) become 2-bit moves; anything else, such as visited order, becomes zigzag deltas.
+    static List<Node> readNodes(DataInput in) throws IOException {
+        int count = readVarint(in);
+        if (count < 0) {
+            throw new IOException("Invalid node count " + count);
+        }
+        List<Node> nodes = new ArrayList<>(Math.min(count, 1 << 16));
+        if (count == 0) {
+            return nodes;
+        }
+        int encoding = in.readUnsignedByte();
+        int row = readVarint(in);
+        int col = readVarint(in);
+        nodes.add(new Node(row, col));
+        if (encoding == PATH_MOVES) {
+            int packed = 0;
+            for (int i = 0; i < count - 1; i++) {
+                if ((i & 3) == 0) {
+                    packed = in.readUnsignedByte();
+                }
+                int move = (packed >>> ((i & 3) << 1)) & 3;
+                row += MOVE_DR[move];
+                col += MOVE_DC[move];
+                nodes.add(new Node(row, col));
+            }
+        } else if (encoding == PATH_DELTAS) {
+            for (int i = 1; i < count; i++) {
+                row += unzigzag(readVarint(in));
+                col += unzigzag(readVarint(in));
+                nodes.add(new Node(row, col));
+            }
+        } else {
+            throw new IOException("Unknown node encoding " + encoding);
+        }
+        return nodes;
+    }
+
+    static void writeNodes(List<Node> nodes, DataOutput out) throws IOException {
+        int count = nodes == null ? 0 : nodes.size();
+        writeVarint(out, count);
+        if (count == 0) {
+            return;
+        }
+        boolean contiguous = true;
+        for (int i = 1; i < count && contiguous; i++) {
+            contiguous = moveBetween(nodes.get(i - 1), nodes.get(i)) >= 0;
+        }
+        Node first = nodes.get(0);
+        out.writeByte(contiguous ? PATH_MOVES : PATH_DELTAS);
+        writeVarint(out, first.getRow());
+        writeVarint(out, first.getCol());
+        if (contiguous) {
+            int packed = 0;
+            for (int i = 0; i < count - 1; i++) {
+                packed |= moveBetween(nodes.get(i), nodes.get(i + 1)) << ((i & 3) << 1);
+                if ((i & 3) == 3 || i == count - 2) {
+                    out.writeByte(packed);
+                    packed = 0;
+                }
+            }
+            return;
+        }
+        for (int i = 1; i < count; i++) {
+            writeVarint(out, zigzag(nodes.get(i).getRow() - nodes.get(i - 1).getRow()));
+            writeVarint(out, zigzag(nodes.get(i).getCol() - nodes.get(i - 1).getCol()));
+        }
+    }
+
+    private static int moveBetween(Node from, Node to) {
+        int dr = to.getRow() - from.getRow();
+        int dc = to.getCol() - from.getCol();
+        for (int move = 0; move < 4; move++) {
+            if (MOVE_DR[move] == dr && MOVE_DC[move] == dc) {
+                return move;
+            }
+        }
+        return -1;
+    }
+
+    private static int readVersion(DataInput in) throws IOException {
+        int version = in.readUnsignedByte();
+        if (version < 1 || version > VERSION) {
+            throw new IOException("Unsupported wire format version " + version);
+        }
+        return version;
+    }
+
+    // Zero means "not set"; enum constants are stored as ordinal + 1.
+    private static <E extends Enum<E>> E readEnum(DataInput in, E[] values) throws IOException {
+        int code = in.readUnsignedByte();
+        if (code == 0) {
+            return null;
+        }
+        if (code > values.length) {
+            throw new IOException("Unknown enum code " + code);
+        }
+        return values[code - 1];
+    }
+
+    private static void writeEnum(DataOutput out, Enum<?> value) throws IOException {
+        out.writeByte(value == null ? 0 : value.ordinal() + 1);
+    }
+
+    static int readVarint(DataInput in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (b & 0x7f) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint");
+    }
+
+    static void writeVarint(DataOutput out, int value) throws IOException {
+        while ((value & ~0x7f) != 0) {
+            out.writeByte((value & 0x7f) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    private static int zigzag(int value) {
+        return (value << 1) ^ (value >> 31);
+    }
+
+    private static int unzigzag(int value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
@@ -0,0 +1,70 @@
+package com.kanav.routeoptimizer.codec;
+
+import com.kanav.routeoptimizer.dto.AlgorithmResult;
+import com.kanav.routeoptimizer.dto.GridRegistrationRequest;
+import com.kanav.routeoptimizer.dto.PathRequest;
+import com.kanav.routeoptimizer.dto.PathResponse;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+public class BinaryWireMessageConverter extends AbstractHttpMessageConverter<Object> {
+    private final long maxGridCells;
+
+    public BinaryWireMessageConverter() {
+        this(BinaryWireFormat.DEFAULT_MAX_CELLS);
+    }
+
+    public BinaryWireMessageConverter(long maxGridCells) {
+        super(BinaryWireFormat.MEDIA_TYPE);
+        this.maxGridCells = maxGridCells;
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return clazz == PathRequest.class
+                || clazz == GridRegistrationRequest.class
+                || clazz == AlgorithmResult.class
+                || clazz == PathResponse.class;
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(inputMessage.getBody()));
+        try {
+            if (clazz == PathRequest.class) {
+                return BinaryWireFormat.readPathRequest(in, maxGridCells);
+            }
+            if (clazz == GridRegistrationRequest.class) {
+                return BinaryWireFormat.readGridRegistration(in, maxGridCells);
+            }
+        } catch (IOException | RuntimeException e) {
+            throw new HttpMessageNotReadableException("Malformed " + BinaryWireFormat.MEDIA_TYPE_VALUE + " body: "
+                    + e.getMessage(), e, inputMessage);
+        }
+        throw new HttpMessageNotReadableException("Cannot read " + clazz.getSimpleName() + " as "
+                + BinaryWireFormat.MEDIA_TYPE_VALUE, inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(Object value, HttpOutputMessage outputMessage) throws IOException {
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(outputMessage.getBody()));
+        if (value instanceof AlgorithmResult) {
+            BinaryWireFormat.writeAlgorithmResult((AlgorithmResult) value, out);
+        } else if (value instanceof PathResponse) {
+            BinaryWireFormat.writePathResponse((PathResponse) value, out);
+        } else if (value instanceof PathRequest) {
+            BinaryWireFormat.writePathRequest((PathRequest) value, out);
+        } else {
+            BinaryWireFormat.writeGridRegistration((GridRegistrationRequest) value, out);
+        }
+        out.flush();
+    }
+}
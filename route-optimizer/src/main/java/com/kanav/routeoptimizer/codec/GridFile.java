@@ -0,0 +1,90 @@
+package com.kanav.routeoptimizer.codec;
+
+import com.kanav.routeoptimizer.model.FlatGrid;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * The on-disk grid format: a 16-byte header (the magic {@code RGRD}, a format version, then rows
+ * and cols, all big-endian ints) followed by one byte per cell in row-major order. Loading maps
+ * the cells straight from the file, so even a 20000x20000 map never occupies the heap. Mapping
+ * does make one sequential pass over the cells to reject values outside the cell range, which
+ * reads the whole file through the page cache once; the operating system may drop those pages
+ * again and page cells back in as searches touch them.
+ */
+public final class GridFile {
+    public static final String EXTENSION = ".grid";
+
+    private static final int MAGIC = 0x52475244;
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 16;
+
+    private GridFile() {
+    }
+
+    public static FlatGrid map(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            while (header.hasRemaining() && channel.read(header) >= 0) {
+                // Keep reading until the header is complete or the file ends.
+            }
+            header.flip();
+            if (header.remaining() < HEADER_BYTES || header.getInt() != MAGIC) {
+                throw new IOException(file + " is not a grid file");
+            }
+            int version = header.getInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported grid file version " + version + " in " + file);
+            }
+            int rows = header.getInt();
+            int cols = header.getInt();
+            long cells = (long) rows * cols;
+            if (rows <= 0 || cols <= 0 || cells > Integer.MAX_VALUE || channel.size() != HEADER_BYTES + cells) {
+                throw new IOException(file + " does not hold a " + rows + "x" + cols + " grid");
+            }
+            // The mapping outlives the channel. Searches trust cell values, so they are checked here once.
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, HEADER_BYTES, cells);
+            for (int i = 0; i < cells; i++) {
+                byte cell = mapped.get(i);
+                if (cell < FlatGrid.WALL || cell > FlatGrid.UNKNOWN) {
+                    throw new IOException("Invalid cell value " + cell + " at index " + i + " of " + file);
+                }
+            }
+            return new FlatGrid(rows, cols, mapped);
+        }
+    }
+
+    public static void write(FlatGrid grid, Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            write(grid, channel);
+        }
+    }
+
+    public static void write(FlatGrid grid, WritableByteChannel channel) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES)
+                .putInt(MAGIC)
+                .putInt(VERSION)
+                .putInt(grid.getRows())
+                .putInt(grid.getCols())
+                .flip();
+        writeFully(header, channel);
+        writeFully(grid.readOnlyCells(), channel);
+    }
+
+    public static long sizeBytes(FlatGrid grid) {
+        return HEADER_BYTES + (long) grid.size();
+    }
+
+    private static void writeFully(ByteBuffer buffer, WritableByteChannel channel) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+}
@@ -0,0 +1,251 @@
+package com.kanav.routeoptimizer.codec;
+
+import com.kanav.routeoptimizer.model.FlatGrid;
+import com.kanav.routeoptimizer.model.TileCache;
+import com.kanav.routeoptimizer.model.TileSet;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * The on-disk tile store: a grid cut into square tiles that are read one at a time. The file holds
+ * a 28-byte header (the magic {@code RTIL}, a format version, rows, cols, the tile shift, the
+ * cheapest step cost, a uniform-cost flag and the grid's content hash), then a directory of one
+ * 12-byte entry per tile, then the tiles. A directory entry is a file offset and a length; a
+ * length of zero marks a uniform tile whose value is kept in the offset, with nothing stored.
+ * Other tiles are run-length encoded as (value byte, LEB128 run) pairs over the tile's cells,
+ * row-major, with edge tiles padded by walls. {@link #convert} turns a {@link GridFile} into a
+ * tile file, and running the class directly does the same:
+ * {@code TileFile campus.grid campus.tiles [tileSize]}. Bad arguments fail with an exception.
+ */
+public final class TileFile {
+    public static final String EXTENSION = ".tiles";
+    public static final int DEFAULT_TILE_SHIFT = 8;
+    public static final int MAX_TILE_SHIFT = 12;
+
+    private static final int MAGIC = 0x5254494c;
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 28;
+    private static final int ENTRY_BYTES = 12;
+
+    private TileFile() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2 || args.length > 3) {
+            throw new IllegalArgumentException("usage: TileFile <input.grid> <output.tiles> [tileSize]");
+        }
+        int tileSize = args.length > 2 ? Integer.parseInt(args[2]) : 1 << DEFAULT_TILE_SHIFT;
+        convert(Path.of(args[0]), Path.of(args[1]), tileSize);
+    }
+
+    // Writes a tiled copy of a grid file; the tile size is a side length in cells.
+    public static void convert(Path gridFile, Path tileFile, int tileSize) throws IOException {
+        if (tileSize < 1 || Integer.bitCount(tileSize) != 1 || tileSize > 1 << MAX_TILE_SHIFT) {
+            throw new IllegalArgumentException("Tile size must be a power of two up to " + (1 << MAX_TILE_SHIFT));
+        }
+        write(GridFile.map(gridFile), Integer.numberOfTrailingZeros(tileSize), tileFile);
+    }
+
+    /**
+     * Reads the header and tile directory; tiles themselves are read when a search first touches
+     * them. The file stays open for as long as the grid is in use.
+     */
+    public static FlatGrid open(Path file, TileCache cache) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            ByteBuffer header = readFully(channel, 0, HEADER_BYTES);
+            if (header.getInt() != MAGIC) {
+                throw new IOException(file + " is not a tile file");
+            }
+            int version = header.getInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported tile file version " + version + " in " + file);
+            }
+            int rows = header.getInt();
+            int cols = header.getInt();
+            int shift = header.get();
+            int minStepCost = header.get();
+            boolean uniformCost = header.get() != 0;
+            header.get();
+            long contentHash = header.getLong();
+            if (rows <= 0 || cols <= 0 || (long) rows * cols > Integer.MAX_VALUE || shift < 0 || shift > MAX_TILE_SHIFT) {
+                throw new IOException(file + " has an invalid header");
+            }
+
+            int tileCount = (((rows - 1) >> shift) + 1) * (((cols - 1) >> shift) + 1);
+            ByteBuffer directory = readFully(channel, HEADER_BYTES, tileCount * ENTRY_BYTES);
+            long[] offsets = new long[tileCount];
+            int[] lengths = new int[tileCount];
+            byte[] uniform = new byte[tileCount];
+            for (int tile = 0; tile < tileCount; tile++) {
+                offsets[tile] = directory.getLong();
+                lengths[tile] = directory.getInt();
+                if (lengths[tile] == 0) {
+                    uniform[tile] = validCell(offsets[tile], file);
+                } else if (offsets[tile] < 0 || offsets[tile] + lengths[tile] > channel.size()) {
+                    throw new IOException("Tile " + tile + " lies outside " + file);
+                } else {
+                    uniform[tile] = TileSet.NOT_UNIFORM;
+                }
+            }
+            int tileCells = 1 << (shift << 1);
+            TileCache.Loader decoder = tile -> {
+                try {
+                    return decode(readFully(channel, offsets[tile], lengths[tile]), tileCells, file);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            };
+            return FlatGrid.tiled(new TileSet(rows, cols, shift, uniform, decoder, cache, contentHash,
+                    minStepCost, uniformCost));
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    public static void write(FlatGrid grid, int shift, Path file) throws IOException {
+        int rows = grid.getRows();
+        int cols = grid.getCols();
+        int size = 1 << shift;
+        int tileRows = ((rows - 1) >> shift) + 1;
+        int tileCols = ((cols - 1) >> shift) + 1;
+        int tileCount = tileRows * tileCols;
+        ByteBuffer directory = ByteBuffer.allocate(tileCount * ENTRY_BYTES);
+        byte[] cells = new byte[size * size];
+        ByteArrayOutputStream encoded = new ByteArrayOutputStream();
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            long position = HEADER_BYTES + (long) tileCount * ENTRY_BYTES;
+            for (int tileRow = 0; tileRow < tileRows; tileRow++) {
+                for (int tileCol = 0; tileCol < tileCols; tileCol++) {
+                    int uniform = copyTile(grid, tileRow << shift, tileCol << shift, size, cells);
+                    if (uniform != TileSet.NOT_UNIFORM) {
+                        directory.putLong(uniform).putInt(0);
+                        continue;
+                    }
+                    encoded.reset();
+                    encode(cells, encoded);
+                    ByteBuffer payload = ByteBuffer.wrap(encoded.toByteArray());
+                    directory.putLong(position).putInt(payload.remaining());
+                    while (payload.hasRemaining()) {
+                        position += channel.write(payload, position);
+                    }
+                }
+            }
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES)
+                    .putInt(MAGIC)
+                    .putInt(VERSION)
+                    .putInt(rows)
+                    .putInt(cols)
+                    .put((byte) shift)
+                    .put((byte) grid.minStepCost())
+                    .put((byte) (grid.isUniformCost() ? 1 : 0))
+                    .put((byte) 0)
+                    .putLong(grid.contentHash())
+                    .flip();
+            writeFully(channel, header, 0);
+            writeFully(channel, directory.flip(), HEADER_BYTES);
+        }
+    }
+
+    // Copies one tile, padding past the grid edge with walls; returns its value if every real cell shares one.
+    private static int copyTile(FlatGrid grid, int top, int left, int size, byte[] cells) {
+        int uniform = grid.cell(grid.index(top, left));
+        for (int r = 0; r < size; r++) {
+            for (int c = 0; c < size; c++) {
+                int row = top + r;
+                int col = left + c;
+                if (row < grid.getRows() && col < grid.getCols()) {
+                    byte cell = grid.cell(grid.index(row, col));
+                    cells[r * size + c] = cell;
+                    if (cell != uniform) {
+                        uniform = TileSet.NOT_UNIFORM;
+                    }
+                } else {
+                    cells[r * size + c] = FlatGrid.WALL;
+                }
+            }
+        }
+        return uniform;
+    }
+
+    private static void encode(byte[] cells, ByteArrayOutputStream out) {
+        int i = 0;
+        while (i < cells.length) {
+            byte value = cells[i];
+            int run = 1;
+            while (i + run < cells.length && cells[i + run] == value) {
+                run++;
+            }
+            out.write(value);
+            for (int remaining = run; ; remaining >>>= 7) {
+                if (remaining < 0x80) {
+                    out.write(remaining);
+                    break;
+                }
+                out.write((remaining & 0x7f) | 0x80);
+            }
+            i += run;
+        }
+    }
+
+    private static byte[] decode(ByteBuffer encoded, int tileCells, Path file) throws IOException {
+        byte[] cells = new byte[tileCells];
+        int filled = 0;
+        while (encoded.hasRemaining()) {
+            byte value = validCell(encoded.get(), file);
+            int run = 0;
+            for (int shift = 0; ; shift += 7) {
+                if (!encoded.hasRemaining() || shift > 28) {
+                    throw new IOException("Truncated tile in " + file);
+                }
+                int part = encoded.get();
+                run |= (part & 0x7f) << shift;
+                if ((part & 0x80) == 0) {
+                    break;
+                }
+            }
+            if (run <= 0 || filled + run > tileCells) {
+                throw new IOException("Tile runs overflow the tile in " + file);
+            }
+            for (int end = filled + run; filled < end; filled++) {
+                cells[filled] = value;
+            }
+        }
+        if (filled != tileCells) {
+            throw new IOException("Tile runs do not cover the tile in " + file);
+        }
+        return cells;
+    }
+
+    private static byte validCell(long value, Path file) throws IOException {
+        if (value < FlatGrid.WALL || value > FlatGrid.UNKNOWN) {
+            throw new IOException("Invalid cell value " + value + " in " + file);
+        }
+        return (byte) value;
+    }
+
+    private static ByteBuffer readFully(FileChannel channel, long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of tile file");
+            }
+        }
+        return buffer.flip();
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.kanav.routeoptimizer.config;
+
+import com.kanav.routeoptimizer.model.TileCache;
+import com.kanav.routeoptimizer.service.ComponentIndex;
+import com.kanav.routeoptimizer.service.GridRegistry;
+import com.kanav.routeoptimizer.service.LandmarkIndex;
+import com.kanav.routeoptimizer.service.PathResultCache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MetricsConfig {
+
+    // Follows Micrometer's cache meter names so existing cache dashboards pick the result cache up.
+    @Bean
+    public MeterBinder pathCacheMetrics(PathResultCache cache) {
+        return registry -> {
+            FunctionCounter.builder("cache.gets", cache, c -> c.stats().getHits())
+                    .tags("cache", "paths", "result", "hit")
+                    .register(registry);
+            FunctionCounter.builder("cache.gets", cache, c -> c.stats().getMisses())
+                    .tags("cache", "paths", "result", "miss")
+                    .register(registry);
+            FunctionCounter.builder("cache.evictions", cache, c -> c.stats().getEvictions())
+                    .tag("cache", "paths")
+                    .register(registry);
+            Gauge.builder("cache.size", cache, c -> c.stats().getSize())
+                    .tag("cache", "paths")
+                    .register(registry);
+            Gauge.builder("routr.cache.bytes", cache, c -> c.stats().getBytes())
+                    .description("Estimated heap held by cached results")
+                    .baseUnit("bytes")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder gridRegistryMetrics(GridRegistry gridRegistry) {
+        return registry -> {
+            Gauge.builder("routr.grids", gridRegistry, GridRegistry::size)
+                    .description("Registered grids")
+                    .register(registry);
+            Gauge.builder("routr.grids.bytes", gridRegistry, GridRegistry::usedBytes)
+                    .description("Bytes held by registered grids")
+                    .baseUnit("bytes")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder tileCacheMetrics(TileCache tileCache) {
+        return registry -> {
+            FunctionCounter.builder("cache.gets", tileCache, TileCache::hits)
+                    .tags("cache", "tiles", "result", "hit")
+                    .register(registry);
+            FunctionCounter.builder("cache.gets", tileCache, TileCache::misses)
+                    .tags("cache", "tiles", "result", "miss")
+                    .register(registry);
+            FunctionCounter.builder("cache.evictions", tileCache, TileCache::evictions)
+                    .tag("cache", "tiles")
+                    .register(registry);
+            Gauge.builder("cache.size", tileCache, TileCache::size)
+                    .tag("cache", "tiles")
+                    .register(registry);
+            Gauge.builder("routr.tiles.cache.bytes", tileCache, TileCache::usedBytes)
+                    .description("Bytes held by decoded tiles")
+                    .baseUnit("bytes")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder componentIndexMetrics(ComponentIndex componentIndex) {
+        return registry -> Gauge.builder("routr.components.bytes", componentIndex, ComponentIndex::usedBytes)
+                .description("Bytes held by connected-component labels")
+                .baseUnit("bytes")
+                .register(registry);
+    }
+
+    @Bean
+    public MeterBinder landmarkIndexMetrics(LandmarkIndex landmarkIndex) {
+        return registry -> Gauge.builder("routr.landmarks.bytes", landmarkIndex, LandmarkIndex::usedBytes)
+                .description("Bytes held by landmark distance tables")
+                .baseUnit("bytes")
+                .register(registry);
+    }
+
+    @Bean
+    public MeterBinder searchBulkheadMetrics(SearchBulkhead bulkhead) {
+        return registry -> {
+            Gauge.builder("routr.bulkhead.active", bulkhead, SearchBulkhead::active)
+                    .description("Search requests holding a bulkhead permit")
+                    .register(registry);
+            FunctionCounter.builder("routr.bulkhead.rejected", bulkhead, SearchBulkhead::rejected)
+                    .description("Search requests rejected with 429")
+                    .register(registry);
+        };
+    }
+}
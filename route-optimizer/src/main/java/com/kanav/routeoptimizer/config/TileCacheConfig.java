@@ -0,0 +1,16 @@
+package com.kanav.routeoptimizer.config;
+
+import com.kanav.routeoptimizer.model.TileCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class TileCacheConfig {
+
+    // One cache for every tiled grid, so the budget holds however many tile stores are loaded.
+    @Bean
+    public TileCache tileCache(@Value("${routr.tiles.cache-bytes:268435456}") long maxBytes) {
+        return new TileCache(maxBytes);
+    }
+}
@@ -0,0 +1,42 @@
+package com.kanav.routeoptimizer.config;
+
+import com.kanav.routeoptimizer.codec.BinaryWireMessageConverter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverters;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.time.Duration;
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+    private final long maxGridBytes;
+
+    public WebConfig(@Value("${routr.grids.max-bytes:268435456}") long maxGridBytes) {
+        this.maxGridBytes = maxGridBytes;
+    }
+
+    @Override
+    public void configureMessageConverters(HttpMessageConverters.ServerBuilder builder) {
+        // Appended after the defaults so that JSON stays the response type for clients that accept anything.
+        // A registered grid takes a byte per cell, so bodies claiming more cells than the registry holds are refused unread.
+        builder.configureMessageConvertersList(
+                converters -> converters.add(new BinaryWireMessageConverter(maxGridBytes)));
+    }
+
+    @Bean
+    public SearchBulkhead searchBulkhead(@Value("${routr.search.max-concurrent:64}") int maxConcurrent,
+                                         @Value("${routr.search.acquire-timeout:0ms}") Duration acquireTimeout) {
+        return new SearchBulkhead(maxConcurrent, acquireTimeout);
+    }
+
+    // Only the endpoints that run searches are limited; grid registration and stats stay available under load.
+    @Bean
+    public FilterRegistrationBean<SearchBulkhead> searchBulkheadRegistration(SearchBulkhead searchBulkhead) {
+        FilterRegistrationBean<SearchBulkhead> registration = new FilterRegistrationBean<>(searchBulkhead);
+        registration.addUrlPatterns("/api/path/*", "/api/sessions/*");
+        return registration;
+    }
+}
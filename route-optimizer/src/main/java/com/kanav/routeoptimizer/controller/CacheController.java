@@ -0,0 +1,30 @@
+package com.kanav.routeoptimizer.controller;
+
+import com.kanav.routeoptimizer.dto.CacheStats;
+import com.kanav.routeoptimizer.service.PathResultCache;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/cache")
+public class CacheController {
+    private final PathResultCache resultCache;
+
+    public CacheController(PathResultCache resultCache) {
+        this.resultCache = resultCache;
+    }
+
+    @GetMapping("/stats")
+    public CacheStats stats() {
+        return resultCache.stats();
+    }
+
+    @DeleteMapping
+    public ResponseEntity<Void> clear() {
+        resultCache.clear();
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,61 @@
+package com.kanav.routeoptimizer.controller;
+
+import com.kanav.routeoptimizer.dto.DistanceFieldRequest;
+import com.kanav.routeoptimizer.dto.DistanceFieldResponse;
+import com.kanav.routeoptimizer.dto.PathResponse;
+import com.kanav.routeoptimizer.model.RegisteredGrid;
+import com.kanav.routeoptimizer.service.DistanceFieldService;
+import com.kanav.routeoptimizer.service.GridRegistry;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/fields")
+public class DistanceFieldController {
+    private final DistanceFieldService distanceFieldService;
+    private final GridRegistry gridRegistry;
+
+    public DistanceFieldController(DistanceFieldService distanceFieldService, GridRegistry gridRegistry) {
+        this.distanceFieldService = distanceFieldService;
+        this.gridRegistry = gridRegistry;
+    }
+
+    @PostMapping
+    public DistanceFieldResponse build(@RequestBody DistanceFieldRequest request) {
+        if (request.getGridId() != null) {
+            RegisteredGrid registered = gridRegistry.get(request.getGridId(), request.getGridVersion());
+            return distanceFieldService.build(
+                    registered.getGrid(),
+                    request.getSources(),
+                    request.getAlgorithm(),
+                    request.isIncludeDistances()
+            );
+        }
+        return distanceFieldService.build(
+                request.getGrid(),
+                request.getSources(),
+                request.getAlgorithm(),
+                request.isIncludeDistances()
+        );
+    }
+
+    @GetMapping("/{id}/path")
+    public PathResponse path(@PathVariable String id, @RequestParam int row, @RequestParam int col) {
+        return distanceFieldService.pathFrom(id, row, col);
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> delete(@PathVariable String id) {
+        if (!distanceFieldService.remove(id)) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.noContent().build();
+    }
+}
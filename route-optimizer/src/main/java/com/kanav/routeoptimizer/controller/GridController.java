@@ -0,0 +1,105 @@
+package com.kanav.routeoptimizer.controller;
+
+import com.kanav.routeoptimizer.algorithm.Landmarks;
+import com.kanav.routeoptimizer.codec.GridFile;
+import com.kanav.routeoptimizer.dto.CellPatchRequest;
+import com.kanav.routeoptimizer.dto.GridInfo;
+import com.kanav.routeoptimizer.dto.GridRegistrationRequest;
+import com.kanav.routeoptimizer.dto.LandmarkInfo;
+import com.kanav.routeoptimizer.model.FlatGrid;
+import com.kanav.routeoptimizer.model.RegisteredGrid;
+import com.kanav.routeoptimizer.service.GridRegistry;
+import com.kanav.routeoptimizer.service.LandmarkIndex;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.nio.channels.Channels;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/grids")
+public class GridController {
+    private final GridRegistry gridRegistry;
+    private final LandmarkIndex landmarkIndex;
+
+    public GridController(GridRegistry gridRegistry, LandmarkIndex landmarkIndex) {
+        this.gridRegistry = gridRegistry;
+        this.landmarkIndex = landmarkIndex;
+    }
+
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    public GridInfo register(@RequestBody GridRegistrationRequest request) {
+        return GridInfo.from(gridRegistry.register(request.getGrid()));
+    }
+
+    @GetMapping("/{id}")
+    public GridInfo get(@PathVariable String id) {
+        return GridInfo.from(gridRegistry.get(id));
+    }
+
+    @PutMapping("/{id}")
+    public GridInfo replace(@PathVariable String id, @RequestBody GridRegistrationRequest request) {
+        return GridInfo.from(gridRegistry.replace(id, request.getGrid()));
+    }
+
+    @PatchMapping("/{id}/cells")
+    public GridInfo patch(@PathVariable String id, @RequestBody CellPatchRequest request) {
+        return GridInfo.from(gridRegistry.patch(id, request.getCells()));
+    }
+
+    // The grid in the on-disk format, ready to drop into routr.grids.preload-dir.
+    @GetMapping(value = "/{id}/file", produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<StreamingResponseBody> file(@PathVariable String id) {
+        FlatGrid grid = gridRegistry.get(id).getGrid();
+        if (grid.isTiled()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Tiled grid " + id + " has no single-file form");
+        }
+        StreamingResponseBody body = out -> GridFile.write(grid, Channels.newChannel(out));
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + id + GridFile.EXTENSION + "\"")
+                .contentLength(GridFile.sizeBytes(grid))
+                .body(body);
+    }
+
+    @GetMapping("/{id}/landmarks")
+    public LandmarkInfo landmarks(@PathVariable String id) {
+        RegisteredGrid registered = gridRegistry.get(id);
+        Landmarks landmarks = landmarkIndex.ready(registered.getGrid());
+        if (landmarks == null) {
+            String state = landmarkIndex.isBuilding(registered.getGrid()) ? "BUILDING" : "NONE";
+            return new LandmarkInfo(id, registered.getVersion(), state, List.of(), 0, 0, 0);
+        }
+        return new LandmarkInfo(
+                id,
+                registered.getVersion(),
+                "READY",
+                landmarks.landmarks(registered.getGrid()),
+                landmarks.sizeBytes(),
+                (double) landmarks.sizeBytes() / registered.getGrid().size(),
+                landmarks.getPreprocessingMs()
+        );
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> delete(@PathVariable String id) {
+        if (!gridRegistry.remove(id)) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.noContent().build();
+    }
+}
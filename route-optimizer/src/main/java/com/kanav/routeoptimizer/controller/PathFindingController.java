@@ -1,38 +1,104 @@
 package com.kanav.routeoptimizer.controller;
 
+import com.kanav.routeoptimizer.algorithm.GridPaths;
 import com.kanav.routeoptimizer.dto.AlgorithmResult;
+import com.kanav.routeoptimizer.dto.BatchRequest;
+import com.kanav.routeoptimizer.dto.BatchResponse;
 import com.kanav.routeoptimizer.dto.ComparisonResponse;
+import com.kanav.routeoptimizer.dto.DistanceMatrixRequest;
+import com.kanav.routeoptimizer.dto.DistanceMatrixResponse;
+import com.kanav.routeoptimizer.dto.HierarchicalPathResponse;
 import com.kanav.routeoptimizer.dto.PathRequest;
+import com.kanav.routeoptimizer.dto.SearchOptions;
+import com.kanav.routeoptimizer.dto.WaypointRouteRequest;
+import com.kanav.routeoptimizer.dto.WaypointRouteResponse;
+import com.kanav.routeoptimizer.model.Algorithm;
+import com.kanav.routeoptimizer.model.FlatGrid;
+import com.kanav.routeoptimizer.model.Node;
+import com.kanav.routeoptimizer.model.RegisteredGrid;
+import com.kanav.routeoptimizer.service.BatchPathService;
+import com.kanav.routeoptimizer.service.DistanceMatrixService;
+import com.kanav.routeoptimizer.service.GridRegistry;
+import com.kanav.routeoptimizer.service.HierarchicalPathService;
 import com.kanav.routeoptimizer.service.PathFindingService;
+import com.kanav.routeoptimizer.service.SearchStreamService;
+import com.kanav.routeoptimizer.service.WaypointRouteService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/api/path")
 public class PathFindingController {
     private final PathFindingService pathFindingService;
+    private final GridRegistry gridRegistry;
+    private final BatchPathService batchPathService;
+    private final SearchStreamService searchStreamService;
+    private final HierarchicalPathService hierarchicalPathService;
+    private final DistanceMatrixService distanceMatrixService;
+    private final WaypointRouteService waypointRouteService;
 
-    public PathFindingController(PathFindingService pathFindingService) {
+    public PathFindingController(PathFindingService pathFindingService,
+                                 GridRegistry gridRegistry,
+                                 BatchPathService batchPathService,
+                                 SearchStreamService searchStreamService,
+                                 HierarchicalPathService hierarchicalPathService,
+                                 DistanceMatrixService distanceMatrixService,
+                                 WaypointRouteService waypointRouteService) {
         this.pathFindingService = pathFindingService;
+        this.gridRegistry = gridRegistry;
+        this.batchPathService = batchPathService;
+        this.searchStreamService = searchStreamService;
+        this.hierarchicalPathService = hierarchicalPathService;
+        this.distanceMatrixService = distanceMatrixService;
+        this.waypointRouteService = waypointRouteService;
     }
 
     @PostMapping("/bfs")
     public AlgorithmResult findShortestPath(@RequestBody PathRequest request) {
-        return pathFindingService.findShortestPathWithStats(
-                request.getGrid(),
-                request.getStartRow(),
-                request.getStartCol(),
-                request.getEndRow(),
-                request.getEndCol()
-        );
+        return find(request, Algorithm.BFS);
     }
 
     @PostMapping("/dijkstra")
     public AlgorithmResult dijkstra(@RequestBody PathRequest request) {
-        return pathFindingService.findShortestPathDijkstraWithStats(
-                request.getGrid(),
+        return find(request, Algorithm.DIJKSTRA);
+    }
+
+    @PostMapping("/astar")
+    public AlgorithmResult astar(@RequestBody PathRequest request) {
+        return find(request, Algorithm.ASTAR);
+    }
+
+    @PostMapping("/jps")
+    public AlgorithmResult jumpPointSearch(@RequestBody PathRequest request) {
+        return find(request, Algorithm.JPS);
+    }
+
+    @PostMapping("/bidirectional-bfs")
+    public AlgorithmResult bidirectionalBfs(@RequestBody PathRequest request) {
+        return find(request, Algorithm.BIDIRECTIONAL_BFS);
+    }
+
+    @PostMapping("/bidirectional-dijkstra")
+    public AlgorithmResult bidirectionalDijkstra(@RequestBody PathRequest request) {
+        return find(request, Algorithm.BIDIRECTIONAL_DIJKSTRA);
+    }
+
+    @PostMapping("/hpa")
+    public HierarchicalPathResponse hierarchical(@RequestBody PathRequest request) {
+        if (request.getGridId() == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Hierarchical search needs a registered grid (gridId)");
+        }
+        RegisteredGrid registered = gridRegistry.get(request.getGridId(), request.getGridVersion());
+        return hierarchicalPathService.findPath(
+                registered.getGrid(),
                 request.getStartRow(),
                 request.getStartCol(),
                 request.getEndRow(),
@@ -42,12 +108,131 @@ public class PathFindingController {
 
     @PostMapping("/compare")
     public ComparisonResponse compare(@RequestBody PathRequest request) {
+        if (request.getGridId() != null) {
+            RegisteredGrid registered = gridRegistry.get(request.getGridId(), request.getGridVersion());
+            return pathFindingService.compareAlgorithms(
+                    registered.getGrid(),
+                    request.getStartRow(),
+                    request.getStartCol(),
+                    request.getEndRow(),
+                    request.getEndCol(),
+                    request.getAlgorithms(),
+                    SearchOptions.from(request)
+            );
+        }
         return pathFindingService.compareAlgorithms(
                 request.getGrid(),
                 request.getStartRow(),
                 request.getStartCol(),
                 request.getEndRow(),
-                request.getEndCol()
+                request.getEndCol(),
+                request.getAlgorithms(),
+                SearchOptions.from(request)
+        );
+    }
+
+    @PostMapping("/batch")
+    public BatchResponse batch(@RequestBody BatchRequest request) {
+        if (request.getGridId() != null) {
+            RegisteredGrid registered = gridRegistry.get(request.getGridId(), request.getGridVersion());
+            return batchPathService.findPaths(
+                    registered.getGrid(),
+                    request.getQueries(),
+                    request.isPathOnly(),
+                    SearchOptions.from(request)
+            );
+        }
+        return batchPathService.findPaths(
+                request.getGrid(),
+                request.getQueries(),
+                request.isPathOnly(),
+                SearchOptions.from(request)
+        );
+    }
+
+    @PostMapping("/matrix")
+    public DistanceMatrixResponse matrix(@RequestBody DistanceMatrixRequest request) {
+        if (request.getGridId() != null) {
+            RegisteredGrid registered = gridRegistry.get(request.getGridId(), request.getGridVersion());
+            return distanceMatrixService.build(
+                    registered.getGrid(),
+                    request.getSources(),
+                    request.getTargets(),
+                    request.isIncludePaths(),
+                    SearchOptions.from(request)
+            );
+        }
+        return distanceMatrixService.build(
+                request.getGrid(),
+                request.getSources(),
+                request.getTargets(),
+                request.isIncludePaths(),
+                SearchOptions.from(request)
+        );
+    }
+
+    @PostMapping("/waypoints")
+    public WaypointRouteResponse waypoints(@RequestBody WaypointRouteRequest request) {
+        if (request.getGridId() != null) {
+            RegisteredGrid registered = gridRegistry.get(request.getGridId(), request.getGridVersion());
+            return waypointRouteService.solve(
+                    registered.getGrid(),
+                    request.getStart(),
+                    request.getWaypoints(),
+                    request.getEnd(),
+                    request.getTimeLimitMs(),
+                    request.isIncludePath()
+            );
+        }
+        return waypointRouteService.solve(
+                request.getGrid(),
+                request.getStart(),
+                request.getWaypoints(),
+                request.getEnd(),
+                request.getTimeLimitMs(),
+                request.isIncludePath()
+        );
+    }
+
+    @PostMapping(value = "/stream", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> stream(@RequestBody PathRequest request,
+                                                        @RequestParam(defaultValue = "DIJKSTRA") Algorithm algorithm) {
+        FlatGrid grid;
+        if (request.getGridId() != null) {
+            grid = gridRegistry.get(request.getGridId(), request.getGridVersion()).getGrid();
+        } else if (GridPaths.isValidGrid(request.getGrid())) {
+            grid = FlatGrid.of(request.getGrid());
+        } else {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Grid must have at least one row and one column");
+        }
+        Node start = new Node(request.getStartRow(), request.getStartCol());
+        Node end = new Node(request.getEndRow(), request.getEndCol());
+        SearchOptions options = SearchOptions.from(request);
+        StreamingResponseBody body = out -> searchStreamService.stream(grid, start, end, algorithm, options, out);
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType("application/x-ndjson")).body(body);
+    }
+
+    private AlgorithmResult find(PathRequest request, Algorithm algorithm) {
+        if (request.getGridId() != null) {
+            RegisteredGrid registered = gridRegistry.get(request.getGridId(), request.getGridVersion());
+            return pathFindingService.findPath(
+                    registered.getGrid(),
+                    request.getStartRow(),
+                    request.getStartCol(),
+                    request.getEndRow(),
+                    request.getEndCol(),
+                    algorithm,
+                    SearchOptions.from(request)
+            );
+        }
+        return pathFindingService.findPath(
+                request.getGrid(),
+                request.getStartRow(),
+                request.getStartCol(),
+                request.getEndRow(),
+                request.getEndCol(),
+                algorithm,
+                SearchOptions.from(request)
         );
     }
 }
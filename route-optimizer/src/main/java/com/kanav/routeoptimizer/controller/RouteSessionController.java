@@ -0,0 +1,64 @@
+package com.kanav.routeoptimizer.controller;
+
+import com.kanav.routeoptimizer.dto.CellPatchRequest;
+import com.kanav.routeoptimizer.dto.RouteSessionRequest;
+import com.kanav.routeoptimizer.dto.RouteSessionResponse;
+import com.kanav.routeoptimizer.model.Node;
+import com.kanav.routeoptimizer.model.RegisteredGrid;
+import com.kanav.routeoptimizer.service.GridRegistry;
+import com.kanav.routeoptimizer.service.RouteSessionService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/sessions")
+public class RouteSessionController {
+    private final RouteSessionService routeSessionService;
+    private final GridRegistry gridRegistry;
+
+    public RouteSessionController(RouteSessionService routeSessionService, GridRegistry gridRegistry) {
+        this.routeSessionService = routeSessionService;
+        this.gridRegistry = gridRegistry;
+    }
+
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    public RouteSessionResponse open(@RequestBody RouteSessionRequest request) {
+        Node start = new Node(request.getStartRow(), request.getStartCol());
+        Node end = new Node(request.getEndRow(), request.getEndCol());
+        if (request.getGridId() != null) {
+            RegisteredGrid registered = gridRegistry.get(request.getGridId(), request.getGridVersion());
+            return routeSessionService.open(registered.getGrid(), start, end);
+        }
+        return routeSessionService.open(request.getGrid(), start, end);
+    }
+
+    @GetMapping("/{id}")
+    public RouteSessionResponse get(@PathVariable String id) {
+        return routeSessionService.get(id);
+    }
+
+    @PostMapping("/{id}/patches")
+    public RouteSessionResponse patch(@PathVariable String id,
+                                      @RequestBody CellPatchRequest request,
+                                      @RequestParam(defaultValue = "false") boolean compare) {
+        return routeSessionService.patch(id, request.getCells(), compare);
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> delete(@PathVariable String id) {
+        if (!routeSessionService.remove(id)) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.noContent().build();
+    }
+}
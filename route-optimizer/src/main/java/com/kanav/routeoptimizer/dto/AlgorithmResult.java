@@ -1,6 +1,7 @@
 package com.kanav.routeoptimizer.dto;
 
 import com.kanav.routeoptimizer.model.Node;
+import com.kanav.routeoptimizer.model.SearchStatus;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -17,4 +18,14 @@ public class AlgorithmResult {
     private int nodesVisited;
     private long executionTimeMs;
     private Integer totalCost;
+    private SearchStatus status;
+    // For searches stopped early: the expanded cell nearest the target, by Manhattan distance.
+    private Node closest;
+
+    // A search that ran to completion either found a path or proved there is none.
+    public AlgorithmResult(List<Node> path, List<Node> visited, int pathLength, int nodesVisited,
+                           long executionTimeMs, Integer totalCost) {
+        this(path, visited, pathLength, nodesVisited, executionTimeMs, totalCost,
+                path == null || path.isEmpty() ? SearchStatus.UNREACHABLE : SearchStatus.FOUND, null);
+    }
 }
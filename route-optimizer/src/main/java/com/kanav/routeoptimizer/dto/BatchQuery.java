@@ -0,0 +1,17 @@
+package com.kanav.routeoptimizer.dto;
+
+import com.kanav.routeoptimizer.model.Algorithm;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchQuery {
+    private int startRow;
+    private int startCol;
+    private int endRow;
+    private int endCol;
+    private Algorithm algorithm;
+}
@@ -0,0 +1,31 @@
+package com.kanav.routeoptimizer.dto;
+
+import com.kanav.routeoptimizer.model.AStarHeuristic;
+import com.kanav.routeoptimizer.model.PathFormat;
+import com.kanav.routeoptimizer.model.SearchEngine;
+import com.kanav.routeoptimizer.model.VisitedMode;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchRequest {
+    private int[][] grid;
+    private String gridId;
+    private String gridVersion;
+    private List<BatchQuery> queries;
+    private boolean pathOnly;
+    private SearchEngine engine;
+    private AStarHeuristic heuristic;
+    private Double heuristicWeight;
+    private VisitedMode visited;
+    private Integer visitedLimit;
+    private Integer visitedSampleRate;
+    private PathFormat pathFormat;
+    private Integer maxExpandedNodes;
+    private Long deadlineMs;
+}
@@ -0,0 +1,16 @@
+package com.kanav.routeoptimizer.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchResponse {
+    private List<AlgorithmResult> results;
+    private List<PathResponse> paths;
+    private long executionTimeMs;
+}
@@ -0,0 +1,14 @@
+package com.kanav.routeoptimizer.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CellPatch {
+    private int row;
+    private int col;
+    private int value;
+}
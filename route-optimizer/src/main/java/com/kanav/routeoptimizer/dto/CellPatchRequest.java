@@ -0,0 +1,14 @@
+package com.kanav.routeoptimizer.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CellPatchRequest {
+    private List<CellPatch> cells;
+}
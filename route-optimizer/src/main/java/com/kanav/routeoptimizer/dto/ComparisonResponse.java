@@ -4,10 +4,13 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.Map;
+
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class ComparisonResponse {
     private AlgorithmResult bfsResult;
     private AlgorithmResult dijkstraResult;
+    private Map<String, AlgorithmResult> results;
 }
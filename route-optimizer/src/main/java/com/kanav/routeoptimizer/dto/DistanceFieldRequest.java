@@ -0,0 +1,20 @@
+package com.kanav.routeoptimizer.dto;
+
+import com.kanav.routeoptimizer.model.Algorithm;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DistanceFieldRequest {
+    private int[][] grid;
+    private String gridId;
+    private String gridVersion;
+    private List<GridPoint> sources;
+    private Algorithm algorithm;
+    private boolean includeDistances = true;
+}
@@ -0,0 +1,20 @@
+package com.kanav.routeoptimizer.dto;
+
+import com.kanav.routeoptimizer.model.Algorithm;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DistanceFieldResponse {
+    private String fieldId;
+    private String gridVersion;
+    private Algorithm algorithm;
+    private int rows;
+    private int cols;
+    private int reachable;
+    private int[] distances;
+    private long executionTimeMs;
+}
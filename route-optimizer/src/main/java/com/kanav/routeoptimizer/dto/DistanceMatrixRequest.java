@@ -0,0 +1,21 @@
+package com.kanav.routeoptimizer.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DistanceMatrixRequest {
+    private int[][] grid;
+    private String gridId;
+    private String gridVersion;
+    private List<GridPoint> sources;
+    private List<GridPoint> targets;
+    private boolean includePaths;
+    private Integer maxExpandedNodes;
+    private Long deadlineMs;
+}
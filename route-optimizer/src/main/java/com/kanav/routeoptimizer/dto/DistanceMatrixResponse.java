@@ -0,0 +1,22 @@
+package com.kanav.routeoptimizer.dto;
+
+import com.kanav.routeoptimizer.model.Node;
+import com.kanav.routeoptimizer.model.SearchStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DistanceMatrixResponse {
+    private String gridVersion;
+    private int[][] costs;
+    private boolean[][] reachable;
+    private List<SearchStatus> statuses;
+    private List<List<List<Node>>> paths;
+    private long nodesVisited;
+    private long executionTimeMs;
+}
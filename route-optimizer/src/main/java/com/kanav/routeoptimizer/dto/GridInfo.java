@@ -0,0 +1,31 @@
+package com.kanav.routeoptimizer.dto;
+
+import com.kanav.routeoptimizer.model.RegisteredGrid;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class GridInfo {
+    private String id;
+    private String version;
+    private int rows;
+    private int cols;
+    private long sizeBytes;
+    private boolean offHeap;
+    private boolean tiled;
+
+    public static GridInfo from(RegisteredGrid registered) {
+        return new GridInfo(
+                registered.getId(),
+                registered.getVersion(),
+                registered.getGrid().getRows(),
+                registered.getGrid().getCols(),
+                registered.sizeBytes(),
+                registered.getGrid().isOffHeap(),
+                registered.getGrid().isTiled()
+        );
+    }
+}
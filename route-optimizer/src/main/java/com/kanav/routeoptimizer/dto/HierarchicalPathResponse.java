@@ -0,0 +1,24 @@
+package com.kanav.routeoptimizer.dto;
+
+import com.kanav.routeoptimizer.model.Node;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class HierarchicalPathResponse {
+    private List<Node> path;
+    private int pathLength;
+    private Integer totalCost;
+    private int abstractNodesVisited;
+    private int refinedNodesVisited;
+    private long executionTimeMs;
+    private int clusterSize;
+    private int abstractNodes;
+    private int abstractEdges;
+    private long preprocessingMs;
+}
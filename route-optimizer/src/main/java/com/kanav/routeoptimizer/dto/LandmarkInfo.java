@@ -0,0 +1,22 @@
+package com.kanav.routeoptimizer.dto;
+
+import com.kanav.routeoptimizer.model.Node;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LandmarkInfo {
+    private String gridId;
+    private String version;
+    // BUILDING, READY or NONE (disabled, over the memory budget, or evicted).
+    private String state;
+    private List<Node> landmarks;
+    private long sizeBytes;
+    private double bytesPerCell;
+    private long preprocessingMs;
+}
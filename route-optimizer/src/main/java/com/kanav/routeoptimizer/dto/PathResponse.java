@@ -13,4 +13,5 @@ import java.util.List;
 public class PathResponse {
     private List<Node> path;
     private int pathLength;
+    private Integer totalCost;
 }
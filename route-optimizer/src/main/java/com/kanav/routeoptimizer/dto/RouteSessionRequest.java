@@ -0,0 +1,18 @@
+package com.kanav.routeoptimizer.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RouteSessionRequest {
+    private int[][] grid;
+    private String gridId;
+    private String gridVersion;
+    private int startRow;
+    private int startCol;
+    private int endRow;
+    private int endCol;
+}
@@ -0,0 +1,23 @@
+package com.kanav.routeoptimizer.dto;
+
+import com.kanav.routeoptimizer.model.Node;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RouteSessionResponse {
+    private String sessionId;
+    private List<Node> path;
+    private int pathLength;
+    private Integer totalCost;
+    private int cellsChanged;
+    private int nodesExpanded;
+    private long totalNodesExpanded;
+    private Integer fullSearchNodesExpanded;
+    private long executionTimeMs;
+}
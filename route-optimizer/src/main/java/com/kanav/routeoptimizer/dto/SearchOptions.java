@@ -0,0 +1,60 @@
+package com.kanav.routeoptimizer.dto;
+
+import com.kanav.routeoptimizer.model.AStarHeuristic;
+import com.kanav.routeoptimizer.model.PathFormat;
+import com.kanav.routeoptimizer.model.SearchEngine;
+import com.kanav.routeoptimizer.model.VisitedMode;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchOptions {
+    private SearchEngine engine;
+    private AStarHeuristic heuristic;
+    private Double heuristicWeight;
+    private VisitedMode visited;
+    private Integer visitedLimit;
+    private Integer visitedSampleRate;
+    private PathFormat pathFormat;
+    private Integer maxExpandedNodes;
+    private Long deadlineMs;
+
+    public SearchOptions(SearchEngine engine, AStarHeuristic heuristic, Double heuristicWeight) {
+        this(engine, heuristic, heuristicWeight, null, null, null, null, null, null);
+    }
+
+    public static SearchOptions from(PathRequest request) {
+        return new SearchOptions(request.getEngine(), request.getHeuristic(), request.getHeuristicWeight(),
+                request.getVisited(), request.getVisitedLimit(), request.getVisitedSampleRate(),
+                request.getPathFormat(), request.getMaxExpandedNodes(), request.getDeadlineMs());
+    }
+
+    public static SearchOptions from(BatchRequest request) {
+        return new SearchOptions(request.getEngine(), request.getHeuristic(), request.getHeuristicWeight(),
+                request.getVisited(), request.getVisitedLimit(), request.getVisitedSampleRate(),
+                request.getPathFormat(), request.getMaxExpandedNodes(), request.getDeadlineMs());
+    }
+
+    // A matrix only honours the budget and deadline; every row is a plain Dijkstra without visited cells.
+    public static SearchOptions from(DistanceMatrixRequest request) {
+        return new SearchOptions(null, null, null, VisitedMode.NONE, null, null, null,
+                request.getMaxExpandedNodes(), request.getDeadlineMs());
+    }
+
+    public VisitedMode visitedMode() {
+        return visited == null ? VisitedMode.ALL : visited;
+    }
+
+    public SearchOptions withVisited(VisitedMode mode) {
+        return new SearchOptions(engine, heuristic, heuristicWeight, mode, visitedLimit, visitedSampleRate, pathFormat,
+                maxExpandedNodes, deadlineMs);
+    }
+
+    public SearchOptions withEngine(SearchEngine searchEngine) {
+        return new SearchOptions(searchEngine, heuristic, heuristicWeight, visited, visitedLimit, visitedSampleRate,
+                pathFormat, maxExpandedNodes, deadlineMs);
+    }
+}
@@ -0,0 +1,36 @@
+package com.kanav.routeoptimizer.dto;
+
+import com.kanav.routeoptimizer.model.Node;
+import com.kanav.routeoptimizer.model.SearchStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StreamSummary {
+    private String type;
+    private List<Node> path;
+    private int pathLength;
+    private int nodesVisited;
+    private long executionTimeMs;
+    private Integer totalCost;
+    private SearchStatus status;
+    private Node closest;
+
+    public static StreamSummary from(AlgorithmResult result) {
+        return new StreamSummary(
+                "summary",
+                result.getPath(),
+                result.getPathLength(),
+                result.getNodesVisited(),
+                result.getExecutionTimeMs(),
+                result.getTotalCost(),
+                result.getStatus(),
+                result.getClosest()
+        );
+    }
+}
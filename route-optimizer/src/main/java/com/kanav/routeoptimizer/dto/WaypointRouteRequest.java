@@ -0,0 +1,21 @@
+package com.kanav.routeoptimizer.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WaypointRouteRequest {
+    private int[][] grid;
+    private String gridId;
+    private String gridVersion;
+    private GridPoint start;
+    private List<GridPoint> waypoints;
+    private GridPoint end;
+    private Long timeLimitMs;
+    private boolean includePath = true;
+}
@@ -0,0 +1,28 @@
+package com.kanav.routeoptimizer.dto;
+
+import com.kanav.routeoptimizer.model.Node;
+import com.kanav.routeoptimizer.model.SearchStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WaypointRouteResponse {
+    private SearchStatus status;
+    private List<Integer> order;
+    private List<Integer> unreachable;
+    private Long totalCost;
+    private Long nearestNeighbourCost;
+    private int improvements;
+    private boolean timedOut;
+    private List<Node> path;
+    private int pathLength;
+    private long matrixMs;
+    private long optimizationMs;
+    private long pathMs;
+    private long executionTimeMs;
+}
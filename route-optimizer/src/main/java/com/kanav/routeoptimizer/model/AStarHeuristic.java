@@ -0,0 +1,9 @@
+package com.kanav.routeoptimizer.model;
+
+public enum AStarHeuristic {
+    MANHATTAN,
+    WEIGHTED,
+    TIE_BREAKING,
+    // ALT: landmark lower bounds on registered grids, Manhattan distance everywhere else.
+    LANDMARKS
+}
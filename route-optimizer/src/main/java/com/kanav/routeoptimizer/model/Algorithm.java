@@ -0,0 +1,10 @@
+package com.kanav.routeoptimizer.model;
+
+public enum Algorithm {
+    BFS,
+    DIJKSTRA,
+    ASTAR,
+    JPS,
+    BIDIRECTIONAL_BFS,
+    BIDIRECTIONAL_DIJKSTRA
+}
@@ -0,0 +1,276 @@
+package com.kanav.routeoptimizer.model;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A grid at one byte per cell, row-major. The cells live in a heap array for grids built from
+ * requests, in a direct or memory-mapped buffer for grids too large for the heap, or in tiles
+ * loaded on demand from a {@link TileSet}; the path finders read all of them the same way.
+ */
+public final class FlatGrid {
+    public static final byte WALL = 0;
+    public static final byte OPEN = 1;
+    public static final byte TRAFFIC = 2;
+    public static final byte HEAVY_TRAFFIC = 3;
+    public static final byte UNKNOWN = 4;
+
+    private static final int[] STEP_COSTS = {0, 1, 5, 10, Integer.MAX_VALUE};
+
+    private final int rows;
+    private final int cols;
+    private final int size;
+    // Exactly one of these is set.
+    private final ByteBuffer cells;
+    private final TiledCells tiles;
+    private int minStepCost = -1;
+    private int uniformCost = -1;
+    private long contentHash;
+    private volatile boolean contentHashed;
+
+    public FlatGrid(int rows, int cols, byte[] cells) {
+        this(rows, cols, ByteBuffer.wrap(cells));
+    }
+
+    // Reads cells from index 0 to the buffer's limit, without copying; the buffer must not change afterwards.
+    public FlatGrid(int rows, int cols, ByteBuffer cells) {
+        if (rows <= 0 || cols <= 0 || (long) rows * cols != cells.limit()) {
+            throw new IllegalArgumentException("Grid dimensions do not match cell count");
+        }
+        this.rows = rows;
+        this.cols = cols;
+        this.size = cells.limit();
+        this.cells = cells;
+        this.tiles = null;
+    }
+
+    private FlatGrid(TiledCells tiles) {
+        TileSet set = tiles.getSet();
+        if ((long) set.getRows() * set.getCols() > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Grid has more cells than an index can address");
+        }
+        this.rows = set.getRows();
+        this.cols = set.getCols();
+        this.size = rows * cols;
+        this.cells = null;
+        this.tiles = tiles;
+        this.minStepCost = set.getMinStepCost();
+        this.uniformCost = set.isUniformCost() ? 1 : 0;
+        this.contentHash = set.getContentHash();
+        this.contentHashed = true;
+    }
+
+    public static FlatGrid tiled(TileSet set) {
+        return new FlatGrid(new TiledCells(set, false));
+    }
+
+    public static FlatGrid of(int[][] grid) {
+        int rows = grid.length;
+        int cols = grid[0].length;
+        byte[] cells = new byte[rows * cols];
+        for (int r = 0; r < rows; r++) {
+            int[] row = grid[r];
+            int base = r * cols;
+            int width = row == null ? 0 : Math.min(row.length, cols);
+            for (int c = 0; c < width; c++) {
+                cells[base + c] = encode(row[c]);
+            }
+        }
+        return new FlatGrid(rows, cols, cells);
+    }
+
+    public static byte encode(int cell) {
+        if (cell >= WALL && cell <= HEAVY_TRAFFIC) {
+            return (byte) cell;
+        }
+        return UNKNOWN;
+    }
+
+    public static int stepCost(byte cell) {
+        return STEP_COSTS[cell];
+    }
+
+    public static int maxStepCost() {
+        return STEP_COSTS[HEAVY_TRAFFIC];
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getCols() {
+        return cols;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isOffHeap() {
+        return cells != null && cells.isDirect();
+    }
+
+    public boolean isTiled() {
+        return tiles != null;
+    }
+
+    public TileSet getTileSet() {
+        return tiles == null ? null : tiles.getSet();
+    }
+
+    /**
+     * The grid to hand to one search. For a tiled grid this is a fresh view that keeps the tiles it
+     * fetches for the rest of the query and counts them; any other grid is returned as it is.
+     */
+    public FlatGrid forQuery() {
+        return tiles == null ? this : new FlatGrid(new TiledCells(tiles.getSet(), true));
+    }
+
+    // Distinct tiles this view has read, and how many of those were not already decoded in the shared cache.
+    public int tilesTouched() {
+        return tiles == null ? 0 : tiles.getTouched();
+    }
+
+    public int tilesLoaded() {
+        return tiles == null ? 0 : tiles.getLoaded();
+    }
+
+    // A view of every cell, positioned at the first.
+    public ByteBuffer readOnlyCells() {
+        requireCells();
+        return cells.asReadOnlyBuffer().rewind();
+    }
+
+    // A writable copy of the cells on the heap, whether or not this grid is off-heap.
+    public ByteBuffer copyCells() {
+        requireCells();
+        ByteBuffer copy = ByteBuffer.allocate(size());
+        copy.put(readOnlyCells());
+        return copy.clear();
+    }
+
+    public int index(int row, int col) {
+        return row * cols + col;
+    }
+
+    public int rowOf(int index) {
+        return index / cols;
+    }
+
+    public int colOf(int index) {
+        return index % cols;
+    }
+
+    public boolean contains(int row, int col) {
+        return row >= 0 && row < rows && col >= 0 && col < cols;
+    }
+
+    public byte cell(int index) {
+        if (tiles == null) {
+            return cells.get(index);
+        }
+        int row = index / cols;
+        return tiles.cell(row, index - row * cols);
+    }
+
+    public boolean isOpen(int index) {
+        return cell(index) == OPEN;
+    }
+
+    public boolean isPassable(int index) {
+        byte cell = cell(index);
+        return cell != WALL && cell != UNKNOWN;
+    }
+
+    public int minStepCost() {
+        int cached = minStepCost;
+        if (cached < 0) {
+            cached = Integer.MAX_VALUE;
+            for (int i = 0; i < size(); i++) {
+                byte cell = cell(i);
+                if (cell != WALL && cell != UNKNOWN) {
+                    cached = Math.min(cached, stepCost(cell));
+                    if (cached == 1) {
+                        break;
+                    }
+                }
+            }
+            if (cached == Integer.MAX_VALUE) {
+                cached = 0;
+            }
+            minStepCost = cached;
+        }
+        return cached;
+    }
+
+    public boolean isUniformCost() {
+        int cached = uniformCost;
+        if (cached < 0) {
+            cached = 1;
+            for (int i = 0; i < size(); i++) {
+                byte cell = cell(i);
+                if (cell != WALL && cell != OPEN) {
+                    cached = 0;
+                    break;
+                }
+            }
+            uniformCost = cached;
+        }
+        return cached == 1;
+    }
+
+    public long contentHash() {
+        if (!contentHashed) {
+            long hash = hashStart(rows, cols);
+            for (int i = 0; i < size(); i++) {
+                hash = hashStep(hash, cell(i));
+            }
+            contentHash = hashFinish(hash);
+            contentHashed = true;
+        }
+        return contentHash;
+    }
+
+    // Same value as FlatGrid.of(grid).contentHash(), without allocating the flattened copy.
+    public static long contentHash(int[][] grid) {
+        int rows = grid.length;
+        int cols = grid[0].length;
+        long hash = hashStart(rows, cols);
+        for (int[] row : grid) {
+            int width = row == null ? 0 : Math.min(row.length, cols);
+            for (int c = 0; c < width; c++) {
+                hash = hashStep(hash, encode(row[c]));
+            }
+            for (int c = width; c < cols; c++) {
+                hash = hashStep(hash, WALL);
+            }
+        }
+        return hashFinish(hash);
+    }
+
+    // FNV-1a over the dimensions and cells, finished with a 64-bit avalanche mix.
+    private static long hashStart(int rows, int cols) {
+        long hash = 0xcbf29ce484222325L;
+        hash = (hash ^ rows) * 0x100000001b3L;
+        return (hash ^ cols) * 0x100000001b3L;
+    }
+
+    private static long hashStep(long hash, byte cell) {
+        return (hash ^ cell) * 0x100000001b3L;
+    }
+
+    private static long hashFinish(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        return hash ^ (hash >>> 33);
+    }
+
+    private void requireCells() {
+        if (cells == null) {
+            throw new UnsupportedOperationException("Tiled grids are read-only and have no contiguous cells");
+        }
+    }
+
+    public Node toNode(int index) {
+        return new Node(index / cols, index % cols);
+    }
+}
@@ -0,0 +1,6 @@
+package com.kanav.routeoptimizer.model;
+
+public enum PathFormat {
+    CELLS,
+    TURN_POINTS
+}
@@ -0,0 +1,39 @@
+package com.kanav.routeoptimizer.model;
+
+public class RegisteredGrid {
+    private final String id;
+    private final String version;
+    private final FlatGrid grid;
+    private final long registeredAt;
+
+    public RegisteredGrid(String id, FlatGrid grid, long registeredAt) {
+        this.id = id;
+        this.version = String.format("%016x", grid.contentHash());
+        this.grid = grid;
+        this.registeredAt = registeredAt;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getVersion() {
+        return version;
+    }
+
+    public FlatGrid getGrid() {
+        return grid;
+    }
+
+    public long getRegisteredAt() {
+        return registeredAt;
+    }
+
+    public long sizeBytes() {
+        return grid.size();
+    }
+
+    public long heapBytes() {
+        return grid.isOffHeap() || grid.isTiled() ? 0 : grid.size();
+    }
+}
@@ -0,0 +1,7 @@
+package com.kanav.routeoptimizer.model;
+
+public enum SearchEngine {
+    STANDARD,
+    INDEXED,
+    BUCKET
+}
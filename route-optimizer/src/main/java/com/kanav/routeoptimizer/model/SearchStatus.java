@@ -0,0 +1,14 @@
+package com.kanav.routeoptimizer.model;
+
+public enum SearchStatus {
+    FOUND,
+    UNREACHABLE,
+    BUDGET_EXCEEDED,
+    DEADLINE_EXCEEDED,
+    CANCELLED;
+
+    // Only finished searches are worth caching; the others stopped early and report partial work.
+    public boolean isComplete() {
+        return this == FOUND || this == UNREACHABLE;
+    }
+}
@@ -0,0 +1,82 @@
+package com.kanav.routeoptimizer.model;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Decoded tiles shared by every tiled grid and every query, evicted least recently used first once
+ * they exceed a byte budget. Tiles are decoded outside the lock, so a slow disk read never holds up
+ * queries working from tiles already in memory; two queries missing the same tile at once may both
+ * decode it, and the first to finish wins.
+ */
+public final class TileCache {
+    private final long maxBytes;
+    // Access-ordered, so iteration starts at the least recently used tile.
+    private final LinkedHashMap<Long, byte[]> tiles = new LinkedHashMap<>(256, 0.75f, true);
+    private long usedBytes;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    public TileCache(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    public interface Loader {
+        byte[] load(int tile);
+    }
+
+    // The cells of one tile of one tile set, decoded by the loader on a miss.
+    byte[] get(long set, int tile, Loader loader) {
+        long key = (set << 32) | (tile & 0xffffffffL);
+        synchronized (this) {
+            byte[] cached = tiles.get(key);
+            if (cached != null) {
+                hits++;
+                return cached;
+            }
+            misses++;
+        }
+        byte[] loaded = loader.load(tile);
+        synchronized (this) {
+            byte[] raced = tiles.get(key);
+            if (raced != null) {
+                return raced;
+            }
+            evict(loaded.length);
+            tiles.put(key, loaded);
+            usedBytes += loaded.length;
+            return loaded;
+        }
+    }
+
+    public synchronized int size() {
+        return tiles.size();
+    }
+
+    public synchronized long usedBytes() {
+        return usedBytes;
+    }
+
+    public synchronized long hits() {
+        return hits;
+    }
+
+    public synchronized long misses() {
+        return misses;
+    }
+
+    public synchronized long evictions() {
+        return evictions;
+    }
+
+    private void evict(long incomingBytes) {
+        Iterator<Map.Entry<Long, byte[]>> iterator = tiles.entrySet().iterator();
+        while (usedBytes + incomingBytes > maxBytes && iterator.hasNext()) {
+            usedBytes -= iterator.next().getValue().length;
+            iterator.remove();
+            evictions++;
+        }
+    }
+}
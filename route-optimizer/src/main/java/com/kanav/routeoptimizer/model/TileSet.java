@@ -0,0 +1,124 @@
+package com.kanav.routeoptimizer.model;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The shared half of a tiled grid: its geometry, which tiles hold a single value, and how to decode
+ * the others. Tiles are square, 2^shift cells a side, numbered row-major; edge tiles are padded.
+ * A tile whose cells all hold one value is answered from that value and never read or cached;
+ * every other tile is decoded on first use into the {@link TileCache} shared by all tile sets.
+ * The content hash and cost summary come from whoever wrote the tiles, so opening a tile set never
+ * has to read every tile.
+ */
+public final class TileSet {
+    public static final byte NOT_UNIFORM = -1;
+
+    private static final AtomicLong NEXT_ID = new AtomicLong();
+
+    private final long id = NEXT_ID.getAndIncrement();
+    private final int rows;
+    private final int cols;
+    private final int shift;
+    private final int tileCols;
+    private final byte[] uniform;
+    // One shared array per value, standing in for every uniform tile of that value.
+    private final byte[][] uniformCells = new byte[FlatGrid.UNKNOWN + 1][];
+    private final TileCache.Loader decoder;
+    private final TileCache cache;
+    private final long contentHash;
+    private final int minStepCost;
+    private final boolean uniformCost;
+
+    public TileSet(int rows, int cols, int shift, byte[] uniform, TileCache.Loader decoder, TileCache cache,
+                   long contentHash, int minStepCost, boolean uniformCost) {
+        int tileRows = ((rows - 1) >> shift) + 1;
+        this.tileCols = ((cols - 1) >> shift) + 1;
+        if (uniform.length != tileRows * tileCols) {
+            throw new IllegalArgumentException("Expected " + tileRows * tileCols + " tiles, got " + uniform.length);
+        }
+        this.rows = rows;
+        this.cols = cols;
+        this.shift = shift;
+        this.uniform = uniform;
+        this.decoder = decoder;
+        this.cache = cache;
+        this.contentHash = contentHash;
+        this.minStepCost = minStepCost;
+        this.uniformCost = uniformCost;
+        for (byte value : uniform) {
+            if (value != NOT_UNIFORM && uniformCells[value] == null) {
+                uniformCells[value] = new byte[tileCells()];
+                Arrays.fill(uniformCells[value], value);
+            }
+        }
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getCols() {
+        return cols;
+    }
+
+    public int getShift() {
+        return shift;
+    }
+
+    public int getTileCols() {
+        return tileCols;
+    }
+
+    public int tileCount() {
+        return uniform.length;
+    }
+
+    public int tileCells() {
+        return 1 << (shift << 1);
+    }
+
+    public int uniformTiles() {
+        int count = 0;
+        for (byte value : uniform) {
+            if (value != NOT_UNIFORM) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    public int tileOf(int row, int col) {
+        return (row >> shift) * tileCols + (col >> shift);
+    }
+
+    public int offsetOf(int row, int col) {
+        int mask = (1 << shift) - 1;
+        return ((row & mask) << shift) | (col & mask);
+    }
+
+    long getContentHash() {
+        return contentHash;
+    }
+
+    int getMinStepCost() {
+        return minStepCost;
+    }
+
+    boolean isUniformCost() {
+        return uniformCost;
+    }
+
+    // The decoded cells of a tile; loader is called on a cache miss and normally ends up in decode.
+    byte[] tile(int tile, TileCache.Loader loader) {
+        byte value = uniform[tile];
+        if (value != NOT_UNIFORM) {
+            return uniformCells[value];
+        }
+        return cache.get(id, tile, loader);
+    }
+
+    byte[] decode(int tile) {
+        return decoder.load(tile);
+    }
+}
@@ -0,0 +1,53 @@
+package com.kanav.routeoptimizer.model;
+
+/**
+ * Cell access for one {@link FlatGrid} over a {@link TileSet}. A per-query instance remembers each
+ * tile it has fetched, so after the first touch a tile costs an array lookup rather than a trip
+ * through the shared cache, and counts the tiles it touched and the ones it had to decode. The
+ * instance behind a registered grid keeps nothing and always asks the cache.
+ */
+final class TiledCells implements TileCache.Loader {
+    private final TileSet set;
+    private final byte[][] local;
+    private int touched;
+    private int loaded;
+
+    TiledCells(TileSet set, boolean perQuery) {
+        this.set = set;
+        this.local = perQuery ? new byte[set.tileCount()][] : null;
+    }
+
+    TileSet getSet() {
+        return set;
+    }
+
+    byte cell(int row, int col) {
+        int tile = set.tileOf(row, col);
+        byte[] cells;
+        if (local == null) {
+            cells = set.tile(tile, this);
+        } else {
+            cells = local[tile];
+            if (cells == null) {
+                cells = set.tile(tile, this);
+                local[tile] = cells;
+                touched++;
+            }
+        }
+        return cells[set.offsetOf(row, col)];
+    }
+
+    int getTouched() {
+        return touched;
+    }
+
+    int getLoaded() {
+        return loaded;
+    }
+
+    @Override
+    public byte[] load(int tile) {
+        loaded++;
+        return set.decode(tile);
+    }
+}
@@ -0,0 +1,8 @@
+package com.kanav.routeoptimizer.model;
+
+public enum VisitedMode {
+    ALL,
+    NONE,
+    FIRST,
+    SAMPLE
+}
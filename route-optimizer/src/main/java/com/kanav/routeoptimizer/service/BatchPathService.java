@@ -0,0 +1,91 @@
+package com.kanav.routeoptimizer.service;
+
+import com.kanav.routeoptimizer.algorithm.GridPaths;
+import com.kanav.routeoptimizer.dto.AlgorithmResult;
+import com.kanav.routeoptimizer.dto.BatchQuery;
+import com.kanav.routeoptimizer.dto.BatchResponse;
+import com.kanav.routeoptimizer.dto.PathResponse;
+import com.kanav.routeoptimizer.dto.SearchOptions;
+import com.kanav.routeoptimizer.model.Algorithm;
+import com.kanav.routeoptimizer.model.FlatGrid;
+import com.kanav.routeoptimizer.model.VisitedMode;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+@Service
+public class BatchPathService {
+    private final PathFindingService pathFindingService;
+    private final Executor searchExecutor;
+    private final int maxQueries;
+    private final SearchMetrics metrics;
+
+    public BatchPathService(PathFindingService pathFindingService,
+                            @Qualifier("searchExecutor") Executor searchExecutor,
+                            @Value("${routr.batch.max-queries:10000}") int maxQueries,
+                            SearchMetrics metrics) {
+        this.pathFindingService = pathFindingService;
+        this.searchExecutor = searchExecutor;
+        this.maxQueries = maxQueries;
+        this.metrics = metrics;
+    }
+
+    public BatchResponse findPaths(int[][] grid, List<BatchQuery> queries, boolean pathOnly, SearchOptions options) {
+        if (!GridPaths.isValidGrid(grid)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Grid must have at least one row and one column");
+        }
+        return findPaths(FlatGrid.of(grid), queries, pathOnly, options);
+    }
+
+    // The grid is flattened and hashed once up front; every query then shares the same read-only FlatGrid.
+    public BatchResponse findPaths(FlatGrid grid, List<BatchQuery> queries, boolean pathOnly, SearchOptions options) {
+        long startTime = System.nanoTime();
+        List<BatchQuery> batch = queries == null ? new ArrayList<>() : queries;
+        if (batch.size() > maxQueries) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Batch has " + batch.size() + " queries; the limit is " + maxQueries);
+        }
+        grid.contentHash();
+        // Path-only responses never show visited cells, so the engines need not record them.
+        SearchOptions searchOptions = pathOnly
+                ? (options == null ? new SearchOptions() : options).withVisited(VisitedMode.NONE)
+                : options;
+
+        List<CompletableFuture<AlgorithmResult>> futures = new ArrayList<>(batch.size());
+        for (BatchQuery query : batch) {
+            Algorithm algorithm = query.getAlgorithm() == null ? Algorithm.DIJKSTRA : query.getAlgorithm();
+            futures.add(CompletableFuture.supplyAsync(() -> pathFindingService.findPath(
+                    grid,
+                    query.getStartRow(),
+                    query.getStartCol(),
+                    query.getEndRow(),
+                    query.getEndCol(),
+                    algorithm,
+                    searchOptions
+            ), searchExecutor));
+        }
+
+        List<AlgorithmResult> results = new ArrayList<>(futures.size());
+        for (CompletableFuture<AlgorithmResult> future : futures) {
+            results.add(Futures.await(future));
+        }
+        long elapsed = System.nanoTime() - startTime;
+        metrics.recordBatch(batch.size(), elapsed);
+        long executionTimeMs = elapsed / 1_000_000L;
+        if (!pathOnly) {
+            return new BatchResponse(results, null, executionTimeMs);
+        }
+        List<PathResponse> paths = new ArrayList<>(results.size());
+        for (AlgorithmResult result : results) {
+            paths.add(new PathResponse(result.getPath(), result.getPathLength(), result.getTotalCost()));
+        }
+        return new BatchResponse(null, paths, executionTimeMs);
+    }
+}
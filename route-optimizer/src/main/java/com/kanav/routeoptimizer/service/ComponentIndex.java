@@ -0,0 +1,192 @@
+package com.kanav.routeoptimizer.service;
+
+import com.kanav.routeoptimizer.algorithm.ConnectedComponents;
+import com.kanav.routeoptimizer.algorithm.ConnectedComponents.Walkability;
+import com.kanav.routeoptimizer.model.Algorithm;
+import com.kanav.routeoptimizer.model.FlatGrid;
+import com.kanav.routeoptimizer.model.Node;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Connected-component labels for every registered grid, under both walkability rules, keyed by
+ * content hash like the other per-grid structures. Labels are built on the search pool when a grid
+ * is registered or replaced and carried over cell by cell when it is patched. Until they are ready
+ * searches simply run without them, so registration never waits on the build. Registered grids
+ * with the same contents share one set of labels, which is only dropped when the last of them goes.
+ */
+@Service
+public class ComponentIndex {
+    private final Executor searchExecutor;
+    private final boolean enabled;
+    private final long maxBytes;
+    // Access-ordered, so iteration starts at the least recently used grid.
+    private final LinkedHashMap<Long, Entry> indexes = new LinkedHashMap<>(16, 0.75f, true);
+    private long usedBytes;
+
+    public ComponentIndex(@Qualifier("searchExecutor") Executor searchExecutor,
+                          @Value("${routr.components.enabled:true}") boolean enabled,
+                          @Value("${routr.components.max-bytes:536870912}") long maxBytes) {
+        this.searchExecutor = searchExecutor;
+        this.enabled = enabled;
+        this.maxBytes = maxBytes;
+    }
+
+    // An index that never builds anything, for services built outside the application context.
+    public static ComponentIndex disabled() {
+        return new ComponentIndex(Runnable::run, false, 0);
+    }
+
+    /**
+     * True only when the labels for this exact grid are ready and put start and end in different
+     * components under the algorithm's walkability rule, in which case no search can find a path.
+     */
+    public boolean disconnected(FlatGrid grid, Node start, Node end, Algorithm algorithm) {
+        if (!enabled || !grid.contains(start.getRow(), start.getCol()) || !grid.contains(end.getRow(), end.getCol())) {
+            return false;
+        }
+        Entry entry;
+        synchronized (this) {
+            entry = indexes.get(grid.contentHash());
+        }
+        if (entry == null || !entry.components.isDone() || entry.components.isCompletedExceptionally()) {
+            return false;
+        }
+        Components components = entry.components.join();
+        ConnectedComponents labels = components.forAlgorithm(algorithm);
+        synchronized (components) {
+            // A patch may have moved these labels on to a newer version since the lookup.
+            return components.contentHash == grid.contentHash()
+                    && !labels.connected(grid.index(start.getRow(), start.getCol()), grid.index(end.getRow(), end.getCol()));
+        }
+    }
+
+    @EventListener
+    public void onGridChanged(GridChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        Long previousHash = event.getPrevious() == null ? null : event.getPrevious().getGrid().contentHash();
+        FlatGrid current = event.getCurrent() == null ? null : event.getCurrent().getGrid();
+        if (current != null && previousHash != null && current.contentHash() == previousHash) {
+            return;
+        }
+        CompletableFuture<Components> pending = new CompletableFuture<>();
+        Entry previous;
+        synchronized (this) {
+            // Only labels no other grid still uses may be patched in place.
+            previous = previousHash == null ? null : release(previousHash);
+            // Labelling a tiled grid would read every tile, which is what tiling exists to avoid.
+            if (current == null || current.isTiled()) {
+                return;
+            }
+            Entry existing = indexes.get(current.contentHash());
+            if (existing != null) {
+                existing.references++;
+                return;
+            }
+            long bytes = Components.sizeBytes(current);
+            if (bytes > maxBytes) {
+                return;
+            }
+            evict(bytes);
+            indexes.put(current.contentHash(), new Entry(pending, bytes));
+            usedBytes += bytes;
+        }
+        // Started outside the lock: a saturated pool runs the build on this thread, and lookups must not wait for it.
+        int[] changed = event.getChangedCells();
+        CompletableFuture<Components> next = previous != null && changed != null
+                ? previous.components.thenApplyAsync(components -> components.apply(current, changed), searchExecutor)
+                : CompletableFuture.supplyAsync(() -> new Components(current), searchExecutor);
+        next.whenComplete((components, error) -> {
+            if (error != null) {
+                pending.completeExceptionally(error);
+            } else {
+                pending.complete(components);
+            }
+        });
+    }
+
+    public synchronized int size() {
+        return indexes.size();
+    }
+
+    public synchronized long usedBytes() {
+        return usedBytes;
+    }
+
+    // Drops one grid's claim on a set of labels; returns the entry if that was the last claim and it is now removed.
+    private Entry release(long hash) {
+        Entry entry = indexes.get(hash);
+        if (entry == null || --entry.references > 0) {
+            return null;
+        }
+        indexes.remove(hash);
+        usedBytes -= entry.bytes;
+        return entry;
+    }
+
+    private void evict(long incomingBytes) {
+        Iterator<Map.Entry<Long, Entry>> iterator = indexes.entrySet().iterator();
+        while (usedBytes + incomingBytes > maxBytes && iterator.hasNext()) {
+            usedBytes -= iterator.next().getValue().bytes;
+            iterator.remove();
+        }
+    }
+
+    private static final class Entry {
+        private final CompletableFuture<Components> components;
+        private final long bytes;
+        private int references = 1;
+
+        private Entry(CompletableFuture<Components> components, long bytes) {
+            this.components = components;
+            this.bytes = bytes;
+        }
+    }
+
+    private static final class Components {
+        private final ConnectedComponents open;
+        private final ConnectedComponents passable;
+        private long contentHash;
+
+        private Components(FlatGrid grid) {
+            this.open = ConnectedComponents.build(grid, Walkability.OPEN);
+            this.passable = ConnectedComponents.build(grid, Walkability.PASSABLE);
+            this.contentHash = grid.contentHash();
+        }
+
+        private static long sizeBytes(FlatGrid grid) {
+            return (long) grid.size() * Integer.BYTES * 2;
+        }
+
+        private synchronized Components apply(FlatGrid grid, int[] changed) {
+            for (int index : changed) {
+                open.update(index, grid.cell(index));
+                passable.update(index, grid.cell(index));
+            }
+            contentHash = grid.contentHash();
+            return this;
+        }
+
+        // JPS falls back to Dijkstra over passable cells on weighted grids, and on uniform-cost grids
+        // the two labellings coincide, so it always goes by the passable labels.
+        private ConnectedComponents forAlgorithm(Algorithm algorithm) {
+            switch (algorithm) {
+                case BFS:
+                case BIDIRECTIONAL_BFS:
+                    return open;
+                default:
+                    return passable;
+            }
+        }
+    }
+}
@@ -0,0 +1,235 @@
+package com.kanav.routeoptimizer.service;
+
+import com.kanav.routeoptimizer.algorithm.DistanceField;
+import com.kanav.routeoptimizer.algorithm.GridPaths;
+import com.kanav.routeoptimizer.dto.DistanceFieldResponse;
+import com.kanav.routeoptimizer.dto.GridPoint;
+import com.kanav.routeoptimizer.dto.PathResponse;
+import com.kanav.routeoptimizer.model.Algorithm;
+import com.kanav.routeoptimizer.model.FlatGrid;
+import com.kanav.routeoptimizer.model.Node;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Builds one-to-all distance fields and keeps their shortest-path trees in a byte-bounded LRU,
+ * so repeated lookups towards the same sources cost only the length of the returned path. Every
+ * stored field gets a random id; building the same sources on the same grid again returns the
+ * stored field and its id.
+ */
+@Service
+public class DistanceFieldService {
+    private final long maxBytes;
+    private final LinkedHashMap<String, Entry> fields = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<FieldKey, String> ids = new HashMap<>();
+    private long usedBytes;
+
+    public DistanceFieldService(@Value("${routr.fields.max-bytes:268435456}") long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    public DistanceFieldResponse build(int[][] grid, List<GridPoint> sources, Algorithm algorithm, boolean includeDistances) {
+        if (!GridPaths.isValidGrid(grid)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Grid must have at least one row and one column");
+        }
+        return build(FlatGrid.of(grid), sources, algorithm, includeDistances);
+    }
+
+    public DistanceFieldResponse build(FlatGrid grid, List<GridPoint> sources, Algorithm algorithm, boolean includeDistances) {
+        // A field holds a distance for every cell, so it cannot be built without reading every tile.
+        if (grid.isTiled()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Distance fields are not available for tiled grids");
+        }
+        Algorithm mode = algorithm == null ? Algorithm.DIJKSTRA : algorithm;
+        if (mode != Algorithm.BFS && mode != Algorithm.DIJKSTRA) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Distance fields support BFS or DIJKSTRA only");
+        }
+        long bytes = DistanceField.sizeBytes(grid.size());
+        if (bytes > maxBytes) {
+            throw new ResponseStatusException(HttpStatus.CONTENT_TOO_LARGE,
+                    "Distance field needs " + bytes + " bytes but the field budget is " + maxBytes);
+        }
+        int[] sourceIndexes = toIndexes(grid, sources);
+        long gridHash = grid.contentHash();
+        FieldKey key = new FieldKey(gridHash, mode, sourceIndexes);
+
+        Entry entry = lookup(key);
+        if (entry == null) {
+            DistanceField field = DistanceField.build(grid, sourceIndexes, mode == Algorithm.DIJKSTRA);
+            entry = store(new Entry(UUID.randomUUID().toString(), key, field));
+        }
+        DistanceField field = entry.field;
+        return new DistanceFieldResponse(
+                entry.id,
+                String.format("%016x", gridHash),
+                mode,
+                grid.getRows(),
+                grid.getCols(),
+                field.getReachable(),
+                includeDistances ? field.getDistances() : null,
+                field.getExecutionTimeMs()
+        );
+    }
+
+    public PathResponse pathFrom(String fieldId, int row, int col) {
+        Entry entry = lookup(fieldId);
+        if (entry == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Distance field not found: " + fieldId);
+        }
+        FlatGrid grid = entry.field.getGrid();
+        if (!grid.contains(row, col)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Cell is outside the grid");
+        }
+        int index = grid.index(row, col);
+        List<Node> path = entry.field.pathFrom(index);
+        Integer totalCost = entry.key.algorithm == Algorithm.DIJKSTRA && !path.isEmpty()
+                ? entry.field.distanceAt(index)
+                : null;
+        return new PathResponse(path, Math.max(path.size() - 1, 0), totalCost);
+    }
+
+    public synchronized boolean remove(String fieldId) {
+        Entry removed = fields.remove(fieldId);
+        if (removed == null) {
+            return false;
+        }
+        forget(removed);
+        return true;
+    }
+
+    @EventListener
+    public void onGridChanged(GridChangedEvent event) {
+        if (event.getPrevious() == null) {
+            return;
+        }
+        long previousHash = event.getPrevious().getGrid().contentHash();
+        if (event.getCurrent() == null || event.getCurrent().getGrid().contentHash() != previousHash) {
+            invalidateGrid(previousHash);
+        }
+    }
+
+    public synchronized void invalidateGrid(long gridHash) {
+        Iterator<Entry> iterator = fields.values().iterator();
+        while (iterator.hasNext()) {
+            Entry entry = iterator.next();
+            if (entry.key.gridHash == gridHash) {
+                forget(entry);
+                iterator.remove();
+            }
+        }
+    }
+
+    public synchronized int size() {
+        return fields.size();
+    }
+
+    public synchronized long usedBytes() {
+        return usedBytes;
+    }
+
+    private synchronized Entry lookup(String fieldId) {
+        return fields.get(fieldId);
+    }
+
+    private synchronized Entry lookup(FieldKey key) {
+        String fieldId = ids.get(key);
+        return fieldId == null ? null : fields.get(fieldId);
+    }
+
+    // Returns the stored entry, which is an earlier one when a concurrent build of the same field got there first.
+    private synchronized Entry store(Entry entry) {
+        Entry existing = lookup(entry.key);
+        if (existing != null) {
+            return existing;
+        }
+        long bytes = entry.field.sizeBytes();
+        fields.put(entry.id, entry);
+        ids.put(entry.key, entry.id);
+        usedBytes += bytes;
+        Iterator<Entry> iterator = fields.values().iterator();
+        while (usedBytes > maxBytes && iterator.hasNext()) {
+            Entry eldest = iterator.next();
+            if (eldest == entry) {
+                continue;
+            }
+            forget(eldest);
+            iterator.remove();
+        }
+        return entry;
+    }
+
+    private void forget(Entry entry) {
+        usedBytes -= entry.field.sizeBytes();
+        ids.remove(entry.key, entry.id);
+    }
+
+    // Sorted and de-duplicated so the same source set always maps to the same stored field.
+    private static int[] toIndexes(FlatGrid grid, List<GridPoint> sources) {
+        if (sources == null || sources.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "At least one source is required");
+        }
+        int[] indexes = new int[sources.size()];
+        for (int i = 0; i < indexes.length; i++) {
+            GridPoint source = sources.get(i);
+            if (source == null || !grid.contains(source.getRow(), source.getCol())) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Source is outside the grid");
+            }
+            indexes[i] = grid.index(source.getRow(), source.getCol());
+        }
+        return Arrays.stream(indexes).sorted().distinct().toArray();
+    }
+
+    private static final class Entry {
+        private final String id;
+        private final FieldKey key;
+        private final DistanceField field;
+
+        private Entry(String id, FieldKey key, DistanceField field) {
+            this.id = id;
+            this.key = key;
+            this.field = field;
+        }
+    }
+
+    private static final class FieldKey {
+        private final long gridHash;
+        private final Algorithm algorithm;
+        private final int[] sources;
+
+        private FieldKey(long gridHash, Algorithm algorithm, int[] sources) {
+            this.gridHash = gridHash;
+            this.algorithm = algorithm;
+            this.sources = sources;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof FieldKey)) {
+                return false;
+            }
+            FieldKey key = (FieldKey) other;
+            return gridHash == key.gridHash && algorithm == key.algorithm && Arrays.equals(sources, key.sources);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = Long.hashCode(gridHash);
+            result = 31 * result + algorithm.hashCode();
+            return 31 * result + Arrays.hashCode(sources);
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.kanav.routeoptimizer.service;
+
+import com.kanav.routeoptimizer.algorithm.BudgetedSink;
+import com.kanav.routeoptimizer.algorithm.DistanceMatrix;
+import com.kanav.routeoptimizer.algorithm.GridPaths;
+import com.kanav.routeoptimizer.dto.DistanceMatrixResponse;
+import com.kanav.routeoptimizer.dto.GridPoint;
+import com.kanav.routeoptimizer.dto.SearchOptions;
+import com.kanav.routeoptimizer.model.Algorithm;
+import com.kanav.routeoptimizer.model.FlatGrid;
+import com.kanav.routeoptimizer.model.Node;
+import com.kanav.routeoptimizer.model.SearchStatus;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Cost matrices between a set of sources and a set of targets on one grid. Each source is one
+ * Dijkstra that stops once all of its targets are settled, and the sources run in parallel on the
+ * search pool. Targets that the grid's component labels put out of reach are not waited for, so a
+ * single walled-off target does not make every row flood its whole component.
+ */
+@Service
+public class DistanceMatrixService {
+    private final Executor searchExecutor;
+    private final ComponentIndex componentIndex;
+    private final SearchLimits limits;
+    private final SearchMetrics metrics;
+    private final long maxCells;
+
+    public DistanceMatrixService(@Qualifier("searchExecutor") Executor searchExecutor,
+                                 ComponentIndex componentIndex,
+                                 SearchLimits limits,
+                                 SearchMetrics metrics,
+                                 @Value("${routr.matrix.max-cells:1000000}") long maxCells) {
+        this.searchExecutor = searchExecutor;
+        this.componentIndex = componentIndex;
+        this.limits = limits;
+        this.metrics = metrics;
+        this.maxCells = maxCells;
+    }
+
+    public DistanceMatrixResponse build(int[][] grid, List<GridPoint> sources, List<GridPoint> targets,
+                                        boolean includePaths, SearchOptions options) {
+        if (!GridPaths.isValidGrid(grid)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Grid must have at least one row and one column");
+        }
+        return build(FlatGrid.of(grid), sources, targets, includePaths, options);
+    }
+
+    public DistanceMatrixResponse build(FlatGrid grid, List<GridPoint> sources, List<GridPoint> targets,
+                                        boolean includePaths, SearchOptions options) {
+        long startTime = System.nanoTime();
+        int[] sourceIndexes = toIndexes(grid, sources, "source");
+        int[] targetIndexes = toIndexes(grid, targets, "target");
+        long cells = (long) sourceIndexes.length * targetIndexes.length;
+        if (cells > maxCells) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Matrix has " + cells + " cells; the limit is " + maxCells);
+        }
+        grid.contentHash();
+        // One deadline for the whole matrix; the node budget applies to each row.
+        long deadlineNanos = limits.deadlineNanos(options, startTime);
+
+        List<CompletableFuture<DistanceMatrix.Row>> futures = new ArrayList<>(sourceIndexes.length);
+        for (int source : sourceIndexes) {
+            futures.add(CompletableFuture.supplyAsync(
+                    () -> row(grid, source, targetIndexes, includePaths, options, deadlineNanos), searchExecutor));
+        }
+
+        int[][] costs = new int[sourceIndexes.length][];
+        boolean[][] reachable = new boolean[sourceIndexes.length][targetIndexes.length];
+        List<SearchStatus> statuses = new ArrayList<>(sourceIndexes.length);
+        List<List<List<Node>>> paths = includePaths ? new ArrayList<>(sourceIndexes.length) : null;
+        long nodesVisited = 0;
+        for (int s = 0; s < futures.size(); s++) {
+            DistanceMatrix.Row row = Futures.await(futures.get(s));
+            costs[s] = row.getCosts();
+            for (int t = 0; t < targetIndexes.length; t++) {
+                reachable[s][t] = costs[s][t] != DistanceMatrix.UNREACHABLE;
+            }
+            statuses.add(row.getStatus());
+            if (paths != null) {
+                paths.add(row.getPaths());
+            }
+            nodesVisited += row.getNodesVisited();
+        }
+        long elapsed = System.nanoTime() - startTime;
+        metrics.recordMatrix(sourceIndexes.length, targetIndexes.length, elapsed);
+        return new DistanceMatrixResponse(
+                String.format("%016x", grid.contentHash()),
+                costs,
+                reachable,
+                statuses,
+                paths,
+                nodesVisited,
+                elapsed / 1_000_000L
+        );
+    }
+
+    private DistanceMatrix.Row row(FlatGrid grid, int source, int[] targets, boolean includePaths,
+                                   SearchOptions options, long deadlineNanos) {
+        Node start = grid.toNode(source);
+        boolean[] skip = new boolean[targets.length];
+        for (int t = 0; t < targets.length; t++) {
+            skip[t] = componentIndex.disconnected(grid, start, grid.toNode(targets[t]), Algorithm.DIJKSTRA);
+        }
+        FlatGrid view = grid.forQuery();
+        BudgetedSink budget = limits.limited(options)
+                ? new BudgetedSink(null, limits.maxExpandedNodes(options), deadlineNanos, view, BudgetedSink.NO_TARGET)
+                : null;
+        return DistanceMatrix.fromSource(view, source, targets, skip, includePaths, budget);
+    }
+
+    private static int[] toIndexes(FlatGrid grid, List<GridPoint> points, String kind) {
+        if (points == null || points.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "At least one " + kind + " is required");
+        }
+        int[] indexes = new int[points.size()];
+        for (int i = 0; i < indexes.length; i++) {
+            GridPoint point = points.get(i);
+            if (point == null || !grid.contains(point.getRow(), point.getCol())) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Matrix " + kind + " " + i + " is outside the grid");
+            }
+            indexes[i] = grid.index(point.getRow(), point.getCol());
+        }
+        return indexes;
+    }
+}
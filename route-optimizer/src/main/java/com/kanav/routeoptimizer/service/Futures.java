@@ -0,0 +1,21 @@
+package com.kanav.routeoptimizer.service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+final class Futures {
+    private Futures() {
+    }
+
+    // Waits for a search-pool task and rethrows its own exception, so a 400 from a worker stays a 400.
+    static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.kanav.routeoptimizer.service;
+
+import com.kanav.routeoptimizer.model.RegisteredGrid;
+
+public class GridChangedEvent {
+    private final String gridId;
+    private final RegisteredGrid previous;
+    private final RegisteredGrid current;
+    private final int[] changedCells;
+
+    public GridChangedEvent(String gridId, RegisteredGrid previous, RegisteredGrid current) {
+        this(gridId, previous, current, null);
+    }
+
+    public GridChangedEvent(String gridId, RegisteredGrid previous, RegisteredGrid current, int[] changedCells) {
+        this.gridId = gridId;
+        this.previous = previous;
+        this.current = current;
+        this.changedCells = changedCells;
+    }
+
+    public String getGridId() {
+        return gridId;
+    }
+
+    public RegisteredGrid getPrevious() {
+        return previous;
+    }
+
+    // Null when the grid was removed or evicted.
+    public RegisteredGrid getCurrent() {
+        return current;
+    }
+
+    // Indices of the cells a patch changed, so listeners can update derived state in place; null for any other change.
+    public int[] getChangedCells() {
+        return changedCells;
+    }
+}
@@ -0,0 +1,56 @@
+package com.kanav.routeoptimizer.service;
+
+import com.kanav.routeoptimizer.codec.GridFile;
+import com.kanav.routeoptimizer.codec.TileFile;
+import com.kanav.routeoptimizer.model.FlatGrid;
+import com.kanav.routeoptimizer.model.TileCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Registers every {@code *.grid} and {@code *.tiles} file in {@code routr.grids.preload-dir} at
+ * startup, under its file name without the extension, so large maps are queryable by id without
+ * ever being sent as JSON. Grid files are memory-mapped; tile files only have their directory read,
+ * with tiles loaded as searches reach them. A file that cannot be read stops the application rather
+ * than leaving a map silently missing.
+ */
+@Component
+public class GridPreloader {
+    private final GridRegistry gridRegistry;
+    private final TileCache tileCache;
+    private final String preloadDir;
+
+    public GridPreloader(GridRegistry gridRegistry, TileCache tileCache,
+                         @Value("${routr.grids.preload-dir:}") String preloadDir) {
+        this.gridRegistry = gridRegistry;
+        this.tileCache = tileCache;
+        this.preloadDir = preloadDir;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void preload() {
+        if (preloadDir.isBlank()) {
+            return;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(Path.of(preloadDir),
+                "*{" + GridFile.EXTENSION + "," + TileFile.EXTENSION + "}")) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                boolean tiled = name.endsWith(TileFile.EXTENSION);
+                String id = name.substring(0, name.lastIndexOf('.'));
+                FlatGrid grid = tiled ? TileFile.open(file, tileCache) : GridFile.map(file);
+                gridRegistry.load(id, grid);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not preload grids from " + preloadDir, e);
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package com.kanav.routeoptimizer.service;
+
+import com.kanav.routeoptimizer.algorithm.GridPaths;
+import com.kanav.routeoptimizer.algorithm.IntList;
+import com.kanav.routeoptimizer.dto.CellPatch;
+import com.kanav.routeoptimizer.model.FlatGrid;
+import com.kanav.routeoptimizer.model.RegisteredGrid;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+@Service
+public class GridRegistry {
+    private final ApplicationEventPublisher events;
+    private final long maxBytes;
+    private final long idleTimeoutNanos;
+    // Access-ordered, so iteration starts at the least recently used grid.
+    private final LinkedHashMap<String, Entry> grids = new LinkedHashMap<>(16, 0.75f, true);
+    private long usedBytes;
+
+    public GridRegistry(ApplicationEventPublisher events,
+                        @Value("${routr.grids.max-bytes:268435456}") long maxBytes,
+                        @Value("${routr.grids.idle-timeout:30m}") Duration idleTimeout) {
+        this.events = events;
+        this.maxBytes = maxBytes;
+        this.idleTimeoutNanos = idleTimeout.toNanos();
+    }
+
+    public RegisteredGrid register(int[][] grid) {
+        return store(UUID.randomUUID().toString(), toFlatGrid(grid), false, null, null);
+    }
+
+    /**
+     * Registers a grid under a chosen id, replacing any grid already there. Used for grids loaded
+     * from disk, which are memory-mapped or tiled; those hold no heap of their own, so they are left
+     * out of the heap budget and never evicted, only removed explicitly.
+     */
+    public RegisteredGrid load(String id, FlatGrid grid) {
+        return store(id, grid, false, null, null);
+    }
+
+    public RegisteredGrid replace(String id, int[][] grid) {
+        return update(id, toFlatGrid(grid));
+    }
+
+    public RegisteredGrid update(String id, FlatGrid grid) {
+        return store(id, grid, true, null, null);
+    }
+
+    /**
+     * Changes individual cells, producing a new version of the grid. Listeners are told which cells
+     * changed so they can update in place instead of rebuilding for the whole grid. The copy is made
+     * outside the registry lock; if another update lands first, the patch is applied again on top of it.
+     * The new version always lives on the heap, so patching a memory-mapped grid counts it against the
+     * heap budget from then on.
+     */
+    public RegisteredGrid patch(String id, List<CellPatch> cells) {
+        while (true) {
+            FlatGrid base = get(id).getGrid();
+            if (base.isTiled()) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Tiled grid " + id + " is read-only");
+            }
+            requireBudget(base.size());
+            ByteBuffer updated = base.copyCells();
+            IntList changed = new IntList();
+            if (cells != null) {
+                for (CellPatch cell : cells) {
+                    if (cell == null || !base.contains(cell.getRow(), cell.getCol())) {
+                        throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Patched cell is outside the grid");
+                    }
+                    int index = base.index(cell.getRow(), cell.getCol());
+                    byte value = FlatGrid.encode(cell.getValue());
+                    if (updated.get(index) != value) {
+                        updated.put(index, value);
+                        changed.add(index);
+                    }
+                }
+            }
+            RegisteredGrid stored = store(id, new FlatGrid(base.getRows(), base.getCols(), updated),
+                    true, base, changed.toArray());
+            if (stored != null) {
+                return stored;
+            }
+        }
+    }
+
+    public synchronized RegisteredGrid get(String id) {
+        Entry entry = grids.get(id);
+        if (entry == null) {
+            throw notFound(id);
+        }
+        entry.lastAccessNanos = System.nanoTime();
+        return entry.grid;
+    }
+
+    public RegisteredGrid get(String id, String expectedVersion) {
+        RegisteredGrid registered = get(id);
+        if (expectedVersion != null && !expectedVersion.equals(registered.getVersion())) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT,
+                    "Grid " + id + " is at version " + registered.getVersion() + ", not " + expectedVersion);
+        }
+        return registered;
+    }
+
+    public boolean remove(String id) {
+        Entry entry;
+        synchronized (this) {
+            entry = grids.remove(id);
+            if (entry == null) {
+                return false;
+            }
+            usedBytes -= entry.grid.heapBytes();
+        }
+        events.publishEvent(new GridChangedEvent(id, entry.grid, null));
+        return true;
+    }
+
+    public synchronized int size() {
+        return grids.size();
+    }
+
+    public synchronized long usedBytes() {
+        return usedBytes;
+    }
+
+    // With existing set, a missing id is a 404 rather than a new grid. With a base, the store only
+    // happens if base is still current, so changedCells stays accurate; otherwise null is returned.
+    private RegisteredGrid store(String id, FlatGrid grid, boolean existing, FlatGrid base, int[] changedCells) {
+        if (!grid.isOffHeap()) {
+            requireBudget(grid.size());
+        }
+        RegisteredGrid registered = new RegisteredGrid(id, grid, System.currentTimeMillis());
+        Entry previous;
+        List<RegisteredGrid> evicted;
+        synchronized (this) {
+            Entry current = grids.get(id);
+            if (current == null && existing) {
+                throw notFound(id);
+            }
+            if (base != null && current.grid.getGrid() != base) {
+                return null;
+            }
+            previous = grids.remove(id);
+            if (previous != null) {
+                usedBytes -= previous.grid.heapBytes();
+            }
+            evicted = evict(registered.heapBytes());
+            grids.put(id, new Entry(registered));
+            usedBytes += registered.heapBytes();
+        }
+        // Listeners run outside the lock so they may call back into the registry.
+        for (RegisteredGrid removed : evicted) {
+            events.publishEvent(new GridChangedEvent(removed.getId(), removed, null));
+        }
+        events.publishEvent(new GridChangedEvent(id, previous == null ? null : previous.grid, registered, changedCells));
+        return registered;
+    }
+
+    private List<RegisteredGrid> evict(long incomingBytes) {
+        List<RegisteredGrid> evicted = new ArrayList<>();
+        long now = System.nanoTime();
+        Iterator<Map.Entry<String, Entry>> iterator = grids.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Entry entry = iterator.next().getValue();
+            if (entry.grid.heapBytes() == 0) {
+                // Evicting a grid that holds no heap frees nothing.
+                continue;
+            }
+            boolean idle = now - entry.lastAccessNanos > idleTimeoutNanos;
+            if (!idle && usedBytes + incomingBytes <= maxBytes) {
+                // Entries are in LRU order, so nothing further along can be idle or need evicting for space.
+                break;
+            }
+            iterator.remove();
+            usedBytes -= entry.grid.heapBytes();
+            evicted.add(entry.grid);
+        }
+        return evicted;
+    }
+
+    private void requireBudget(long bytes) {
+        if (bytes > maxBytes) {
+            throw new ResponseStatusException(HttpStatus.CONTENT_TOO_LARGE,
+                    "Grid needs " + bytes + " bytes but the registry budget is " + maxBytes);
+        }
+    }
+
+    private static FlatGrid toFlatGrid(int[][] grid) {
+        if (!GridPaths.isValidGrid(grid)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Grid must have at least one row and one column");
+        }
+        return FlatGrid.of(grid);
+    }
+
+    private static ResponseStatusException notFound(String id) {
+        return new ResponseStatusException(HttpStatus.NOT_FOUND, "Unknown grid " + id);
+    }
+
+    private static final class Entry {
+        private final RegisteredGrid grid;
+        private long lastAccessNanos;
+
+        private Entry(RegisteredGrid grid) {
+            this.grid = grid;
+            this.lastAccessNanos = System.nanoTime();
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.kanav.routeoptimizer.service;
+
+import com.kanav.routeoptimizer.algorithm.HierarchicalPathFinder;
+import com.kanav.routeoptimizer.dto.HierarchicalPathResponse;
+import com.kanav.routeoptimizer.model.FlatGrid;
+import com.kanav.routeoptimizer.model.Node;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Keeps one HPA* cluster graph per grid content hash. The first query on a grid builds it (in
+ * parallel on the search pool); concurrent queries wait for that build instead of starting their own.
+ */
+@Service
+public class HierarchicalPathService {
+    private final Executor searchExecutor;
+    private final int clusterSize;
+    private final int maxGraphs;
+    private final LinkedHashMap<Long, CompletableFuture<HierarchicalPathFinder>> graphs =
+            new LinkedHashMap<>(16, 0.75f, true);
+
+    public HierarchicalPathService(@Qualifier("searchExecutor") Executor searchExecutor,
+                                   @Value("${routr.hpa.cluster-size:32}") int clusterSize,
+                                   @Value("${routr.hpa.max-graphs:16}") int maxGraphs) {
+        this.searchExecutor = searchExecutor;
+        this.clusterSize = clusterSize;
+        this.maxGraphs = maxGraphs;
+    }
+
+    public HierarchicalPathResponse findPath(FlatGrid grid, int startRow, int startCol, int endRow, int endCol) {
+        // The cluster graph is built from every cell, which would pull a whole tile file through the cache.
+        if (grid.isTiled()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "HPA* does not run on tiled grids");
+        }
+        HierarchicalPathFinder finder = finderFor(grid);
+        HierarchicalPathFinder.HierarchicalResult result =
+                finder.findPath(new Node(startRow, startCol), new Node(endRow, endCol));
+        boolean found = !result.getPath().isEmpty();
+        return new HierarchicalPathResponse(
+                result.getPath(),
+                Math.max(result.getPath().size() - 1, 0),
+                found ? result.getTotalCost() : null,
+                result.getAbstractNodesVisited(),
+                result.getRefinedNodesVisited(),
+                result.getExecutionTimeMs(),
+                finder.getClusterSize(),
+                finder.getAbstractNodes(),
+                finder.getAbstractEdges(),
+                finder.getPreprocessingMs()
+        );
+    }
+
+    @EventListener
+    public void onGridChanged(GridChangedEvent event) {
+        if (event.getPrevious() == null) {
+            return;
+        }
+        long previousHash = event.getPrevious().getGrid().contentHash();
+        if (event.getCurrent() == null || event.getCurrent().getGrid().contentHash() != previousHash) {
+            synchronized (this) {
+                graphs.remove(previousHash);
+            }
+        }
+    }
+
+    public synchronized int size() {
+        return graphs.size();
+    }
+
+    private HierarchicalPathFinder finderFor(FlatGrid grid) {
+        long hash = grid.contentHash();
+        CompletableFuture<HierarchicalPathFinder> pending;
+        boolean owner = false;
+        synchronized (this) {
+            pending = graphs.get(hash);
+            if (pending == null) {
+                pending = new CompletableFuture<>();
+                graphs.put(hash, pending);
+                owner = true;
+                Iterator<Map.Entry<Long, CompletableFuture<HierarchicalPathFinder>>> iterator = graphs.entrySet().iterator();
+                while (graphs.size() > maxGraphs && iterator.hasNext()) {
+                    iterator.next();
+                    iterator.remove();
+                }
+            }
+        }
+        if (owner) {
+            try {
+                pending.complete(HierarchicalPathFinder.build(grid, clusterSize, searchExecutor));
+            } catch (RuntimeException e) {
+                synchronized (this) {
+                    graphs.remove(hash, pending);
+                }
+                pending.completeExceptionally(e);
+            }
+        }
+        return Futures.await(pending);
+    }
+}
@@ -0,0 +1,145 @@
+package com.kanav.routeoptimizer.service;
+
+import com.kanav.routeoptimizer.algorithm.Landmarks;
+import com.kanav.routeoptimizer.model.FlatGrid;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * ALT landmark tables for registered grids, keyed by content hash. Tables are built on the search
+ * pool as soon as a grid is registered and rebuilt from scratch whenever it changes, since any
+ * cell change can invalidate the stored costs. A* with the LANDMARKS heuristic uses them once ready.
+ * Registered grids with the same contents share one table, which is only dropped when the last of
+ * them goes.
+ */
+@Service
+public class LandmarkIndex {
+    private final Executor searchExecutor;
+    private final boolean enabled;
+    private final int count;
+    private final long maxBytes;
+    // Access-ordered, so iteration starts at the least recently used grid.
+    private final LinkedHashMap<Long, Entry> tables = new LinkedHashMap<>(16, 0.75f, true);
+    private long usedBytes;
+
+    public LandmarkIndex(@Qualifier("searchExecutor") Executor searchExecutor,
+                         @Value("${routr.landmarks.enabled:true}") boolean enabled,
+                         @Value("${routr.landmarks.count:8}") int count,
+                         @Value("${routr.landmarks.max-bytes:536870912}") long maxBytes) {
+        this.searchExecutor = searchExecutor;
+        this.enabled = enabled;
+        this.count = count;
+        this.maxBytes = maxBytes;
+    }
+
+    // An index that never builds anything, for services built outside the application context.
+    public static LandmarkIndex disabled() {
+        return new LandmarkIndex(Runnable::run, false, 0, 0);
+    }
+
+    // The finished tables for this grid, or null while they are being built or if there are none.
+    public Landmarks ready(FlatGrid grid) {
+        if (!enabled) {
+            return null;
+        }
+        Entry entry;
+        synchronized (this) {
+            entry = tables.get(grid.contentHash());
+        }
+        if (entry == null || !entry.landmarks.isDone() || entry.landmarks.isCompletedExceptionally()) {
+            return null;
+        }
+        return entry.landmarks.join();
+    }
+
+    public synchronized boolean isBuilding(FlatGrid grid) {
+        Entry entry = tables.get(grid.contentHash());
+        return entry != null && !entry.landmarks.isDone();
+    }
+
+    @EventListener
+    public void onGridChanged(GridChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        Long previousHash = event.getPrevious() == null ? null : event.getPrevious().getGrid().contentHash();
+        FlatGrid current = event.getCurrent() == null ? null : event.getCurrent().getGrid();
+        if (current != null && previousHash != null && current.contentHash() == previousHash) {
+            return;
+        }
+        CompletableFuture<Landmarks> pending = new CompletableFuture<>();
+        synchronized (this) {
+            if (previousHash != null) {
+                release(previousHash);
+            }
+            // Building tables for a tiled grid would read every tile, which is what tiling exists to avoid.
+            if (current == null || current.isTiled() || count <= 0) {
+                return;
+            }
+            Entry existing = tables.get(current.contentHash());
+            if (existing != null) {
+                existing.references++;
+                return;
+            }
+            long bytes = Landmarks.sizeBytes(current, count);
+            if (bytes > maxBytes) {
+                return;
+            }
+            evict(bytes);
+            tables.put(current.contentHash(), new Entry(pending, bytes));
+            usedBytes += bytes;
+        }
+        // Started outside the lock: a saturated pool runs the build on this thread, and ready() must not wait for it.
+        Landmarks.build(current, count, searchExecutor).whenComplete((landmarks, error) -> {
+            if (error != null) {
+                pending.completeExceptionally(error);
+            } else {
+                pending.complete(landmarks);
+            }
+        });
+    }
+
+    public synchronized int size() {
+        return tables.size();
+    }
+
+    public synchronized long usedBytes() {
+        return usedBytes;
+    }
+
+    // Drops one grid's claim on a table, and the table itself once no registered grid has these contents.
+    private void release(long hash) {
+        Entry entry = tables.get(hash);
+        if (entry != null && --entry.references == 0) {
+            tables.remove(hash);
+            usedBytes -= entry.bytes;
+        }
+    }
+
+    private void evict(long incomingBytes) {
+        Iterator<Map.Entry<Long, Entry>> iterator = tables.entrySet().iterator();
+        while (usedBytes + incomingBytes > maxBytes && iterator.hasNext()) {
+            usedBytes -= iterator.next().getValue().bytes;
+            iterator.remove();
+        }
+    }
+
+    private static final class Entry {
+        private final CompletableFuture<Landmarks> landmarks;
+        private final long bytes;
+        private int references = 1;
+
+        private Entry(CompletableFuture<Landmarks> landmarks, long bytes) {
+            this.landmarks = landmarks;
+            this.bytes = bytes;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.kanav.routeoptimizer.service;
+
+import com.kanav.routeoptimizer.algorithm.ExpansionSink;
+import com.kanav.routeoptimizer.model.FlatGrid;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+// Buffers expansions and writes them as {"type":"expanded","cells":[row,col,...]} lines, one per batch.
+class NdjsonExpansionSink implements ExpansionSink {
+    private static final byte[] FRAME_START = "{\"type\":\"expanded\",\"cells\":[".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] FRAME_END = "]}\n".getBytes(StandardCharsets.US_ASCII);
+
+    private final FlatGrid grid;
+    private final OutputStream out;
+    private final int[] batch;
+    private final StringBuilder text = new StringBuilder();
+    private int size;
+
+    NdjsonExpansionSink(FlatGrid grid, OutputStream out, int batchSize) {
+        this.grid = grid;
+        this.out = out;
+        this.batch = new int[Math.max(batchSize, 1)];
+    }
+
+    @Override
+    public void expanded(int index) {
+        batch[size++] = index;
+        if (size == batch.length) {
+            flush();
+        }
+    }
+
+    void flush() {
+        if (size == 0) {
+            return;
+        }
+        text.setLength(0);
+        for (int i = 0; i < size; i++) {
+            if (i > 0) {
+                text.append(',');
+            }
+            text.append(grid.rowOf(batch[i])).append(',').append(grid.colOf(batch[i]));
+        }
+        size = 0;
+        try {
+            out.write(FRAME_START);
+            out.write(text.toString().getBytes(StandardCharsets.US_ASCII));
+            out.write(FRAME_END);
+            out.flush();
+        } catch (IOException e) {
+            // Usually the client went away; abandoning the search is the right outcome.
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.kanav.routeoptimizer.service;
+
+import com.kanav.routeoptimizer.dto.SearchOptions;
+import com.kanav.routeoptimizer.model.AStarHeuristic;
+import com.kanav.routeoptimizer.model.Algorithm;
+import com.kanav.routeoptimizer.model.SearchEngine;
+import com.kanav.routeoptimizer.model.VisitedMode;
+
+import java.util.Objects;
+
+public final class PathCacheKey {
+    private final long gridHash;
+    private final int startRow;
+    private final int startCol;
+    private final int endRow;
+    private final int endCol;
+    private final Algorithm algorithm;
+    private final SearchEngine engine;
+    private final AStarHeuristic heuristic;
+    private final Double heuristicWeight;
+    private final VisitedMode visited;
+    private final Integer visitedLimit;
+    private final Integer visitedSampleRate;
+
+    public PathCacheKey(long gridHash, int startRow, int startCol, int endRow, int endCol,
+                        Algorithm algorithm, SearchOptions options) {
+        this.gridHash = gridHash;
+        this.startRow = startRow;
+        this.startCol = startCol;
+        this.endRow = endRow;
+        this.endCol = endCol;
+        this.algorithm = algorithm;
+        SearchEngine requested = options == null ? null : options.getEngine();
+        this.engine = requested == null ? SearchEngine.STANDARD : requested;
+        // Heuristic settings only change A* results; ignoring them elsewhere keeps hit rates up.
+        boolean aStar = algorithm == Algorithm.ASTAR && options != null;
+        this.heuristic = aStar ? options.getHeuristic() : null;
+        this.heuristicWeight = aStar && options.getHeuristic() == AStarHeuristic.WEIGHTED
+                ? options.getHeuristicWeight() : null;
+        // Path format is applied after the cache, but visited shaping changes what the search records.
+        this.visited = options == null ? VisitedMode.ALL : options.visitedMode();
+        boolean shaped = visited == VisitedMode.FIRST || visited == VisitedMode.SAMPLE;
+        this.visitedLimit = shaped ? options.getVisitedLimit() : null;
+        this.visitedSampleRate = visited == VisitedMode.SAMPLE ? options.getVisitedSampleRate() : null;
+    }
+
+    public long getGridHash() {
+        return gridHash;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof PathCacheKey)) {
+            return false;
+        }
+        PathCacheKey key = (PathCacheKey) other;
+        return gridHash == key.gridHash
+                && startRow == key.startRow
+                && startCol == key.startCol
+                && endRow == key.endRow
+                && endCol == key.endCol
+                && algorithm == key.algorithm
+                && engine == key.engine
+                && heuristic == key.heuristic
+                && Objects.equals(heuristicWeight, key.heuristicWeight)
+                && visited == key.visited
+                && Objects.equals(visitedLimit, key.visitedLimit)
+                && Objects.equals(visitedSampleRate, key.visitedSampleRate);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = Long.hashCode(gridHash);
+        result = 31 * result + startRow;
+        result = 31 * result + startCol;
+        result = 31 * result + endRow;
+        result = 31 * result + endCol;
+        result = 31 * result + algorithm.hashCode();
+        result = 31 * result + engine.hashCode();
+        result = 31 * result + Objects.hashCode(heuristic);
+        result = 31 * result + Objects.hashCode(heuristicWeight);
+        result = 31 * result + visited.hashCode();
+        result = 31 * result + Objects.hashCode(visitedLimit);
+        return 31 * result + Objects.hashCode(visitedSampleRate);
+    }
+}
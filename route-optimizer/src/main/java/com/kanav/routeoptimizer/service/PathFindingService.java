@@ -1,18 +1,78 @@
 package com.kanav.routeoptimizer.service;
 
+import com.kanav.routeoptimizer.algorithm.AStarPathFinder;
 import com.kanav.routeoptimizer.algorithm.BFSPathFinder;
+import com.kanav.routeoptimizer.algorithm.BidirectionalBFSPathFinder;
+import com.kanav.routeoptimizer.algorithm.BidirectionalDijkstraPathFinder;
+import com.kanav.routeoptimizer.algorithm.BudgetedSink;
+import com.kanav.routeoptimizer.algorithm.BucketDijkstraPathFinder;
 import com.kanav.routeoptimizer.algorithm.DijkstraPathFinder;
+import com.kanav.routeoptimizer.algorithm.ExpansionSink;
+import com.kanav.routeoptimizer.algorithm.GridPaths;
+import com.kanav.routeoptimizer.algorithm.IndexedBFSPathFinder;
+import com.kanav.routeoptimizer.algorithm.IndexedDijkstraPathFinder;
+import com.kanav.routeoptimizer.algorithm.JumpPointSearchPathFinder;
+import com.kanav.routeoptimizer.algorithm.SampledVisitOrder;
+import com.kanav.routeoptimizer.algorithm.SearchAbortedException;
+import com.kanav.routeoptimizer.algorithm.SearchResult;
+import com.kanav.routeoptimizer.algorithm.VisitOrder;
 import com.kanav.routeoptimizer.dto.AlgorithmResult;
 import com.kanav.routeoptimizer.dto.ComparisonResponse;
+import com.kanav.routeoptimizer.dto.SearchOptions;
+import com.kanav.routeoptimizer.model.AStarHeuristic;
+import com.kanav.routeoptimizer.model.Algorithm;
+import com.kanav.routeoptimizer.model.FlatGrid;
 import com.kanav.routeoptimizer.model.Node;
+import com.kanav.routeoptimizer.model.PathFormat;
+import com.kanav.routeoptimizer.model.SearchEngine;
+import com.kanav.routeoptimizer.model.VisitedMode;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 @Service
 public class PathFindingService {
+    public static final List<Algorithm> DEFAULT_COMPARISON = List.of(
+            Algorithm.BFS,
+            Algorithm.DIJKSTRA,
+            Algorithm.BIDIRECTIONAL_BFS,
+            Algorithm.BIDIRECTIONAL_DIJKSTRA
+    );
+
+    public static final int DEFAULT_VISITED_LIMIT = 1000;
+    public static final int DEFAULT_SAMPLE_RATE = 10;
+
     private final BFSPathFinder pathFinder = new BFSPathFinder();
     private final DijkstraPathFinder dijkstraPathFinder = new DijkstraPathFinder();
+    private final PathResultCache resultCache;
+    private final Executor searchExecutor;
+    private final SearchMetrics metrics;
+    private final SearchLimits limits;
+    private final ComponentIndex components;
+    private final LandmarkIndex landmarks;
+
+    public PathFindingService(PathResultCache resultCache,
+                              @Qualifier("searchExecutor") Executor searchExecutor,
+                              SearchMetrics metrics,
+                              SearchLimits limits,
+                              ComponentIndex components,
+                              LandmarkIndex landmarks) {
+        this.resultCache = resultCache;
+        this.searchExecutor = searchExecutor;
+        this.metrics = metrics;
+        this.limits = limits;
+        this.components = components;
+        this.landmarks = landmarks;
+    }
 
     public List<Node> findShortestPath(int[][] grid,
                                        int startRow,
@@ -29,22 +89,16 @@ public class PathFindingService {
                                                      int startCol,
                                                      int endRow,
                                                      int endCol) {
-        Node start = new Node(startRow, startCol);
-        Node end = new Node(endRow, endCol);
-        BFSPathFinder.BFSResult bfsResult = BFSPathFinder.findPathWithStats(grid, start, end);
-        int pathLength = Math.max(bfsResult.getPath().size() - 1, 0);
-        long executionTimeMs = normalizeExecutionTime(
-                bfsResult.getExecutionTimeMs(),
-                bfsResult.getNodesVisited()
-        );
-        return new AlgorithmResult(
-                bfsResult.getPath(),
-                bfsResult.getVisited(),
-                pathLength,
-                bfsResult.getNodesVisited(),
-                executionTimeMs,
-                null
-        );
+        return findShortestPathWithStats(grid, startRow, startCol, endRow, endCol, SearchEngine.STANDARD);
+    }
+
+    public AlgorithmResult findShortestPathWithStats(int[][] grid,
+                                                     int startRow,
+                                                     int startCol,
+                                                     int endRow,
+                                                     int endCol,
+                                                     SearchEngine engine) {
+        return findPath(grid, startRow, startCol, endRow, endCol, Algorithm.BFS, engineOnly(engine));
     }
 
     public List<Node> findShortestPathDijkstra(int[][] grid,
@@ -62,23 +116,61 @@ public class PathFindingService {
                                                              int startCol,
                                                              int endRow,
                                                              int endCol) {
-        Node start = new Node(startRow, startCol);
-        Node end = new Node(endRow, endCol);
-        DijkstraPathFinder.DijkstraResult dijkstraResult =
-                DijkstraPathFinder.findPathWithStats(grid, start, end);
-        int pathLength = Math.max(dijkstraResult.getPath().size() - 1, 0);
-        long executionTimeMs = normalizeExecutionTime(
-                dijkstraResult.getExecutionTimeMs(),
-                dijkstraResult.getNodesVisited()
-        );
-        return new AlgorithmResult(
-                dijkstraResult.getPath(),
-                dijkstraResult.getVisited(),
-                pathLength,
-                dijkstraResult.getNodesVisited(),
-                executionTimeMs,
-                dijkstraResult.getTotalCost()
-        );
+        return findShortestPathDijkstraWithStats(grid, startRow, startCol, endRow, endCol, SearchEngine.STANDARD);
+    }
+
+    public AlgorithmResult findShortestPathDijkstraWithStats(int[][] grid,
+                                                             int startRow,
+                                                             int startCol,
+                                                             int endRow,
+                                                             int endCol,
+                                                             SearchEngine engine) {
+        return findPath(grid, startRow, startCol, endRow, endCol, Algorithm.DIJKSTRA, engineOnly(engine));
+    }
+
+    public AlgorithmResult findShortestPathAStarWithStats(int[][] grid,
+                                                          int startRow,
+                                                          int startCol,
+                                                          int endRow,
+                                                          int endCol,
+                                                          AStarHeuristic heuristic,
+                                                          Double heuristicWeight) {
+        return findPath(grid, startRow, startCol, endRow, endCol, Algorithm.ASTAR,
+                new SearchOptions(null, heuristic, heuristicWeight));
+    }
+
+    public AlgorithmResult findShortestPathJumpPointWithStats(int[][] grid,
+                                                              int startRow,
+                                                              int startCol,
+                                                              int endRow,
+                                                              int endCol) {
+        return findPath(grid, startRow, startCol, endRow, endCol, Algorithm.JPS, null);
+    }
+
+    public AlgorithmResult findShortestPathBidirectionalBfsWithStats(int[][] grid,
+                                                                     int startRow,
+                                                                     int startCol,
+                                                                     int endRow,
+                                                                     int endCol) {
+        return findPath(grid, startRow, startCol, endRow, endCol, Algorithm.BIDIRECTIONAL_BFS, null);
+    }
+
+    public AlgorithmResult findShortestPathBidirectionalDijkstraWithStats(int[][] grid,
+                                                                          int startRow,
+                                                                          int startCol,
+                                                                          int endRow,
+                                                                          int endCol) {
+        return findPath(grid, startRow, startCol, endRow, endCol, Algorithm.BIDIRECTIONAL_DIJKSTRA, null);
+    }
+
+    public AlgorithmResult findPath(int[][] grid,
+                                    int startRow,
+                                    int startCol,
+                                    int endRow,
+                                    int endCol,
+                                    Algorithm algorithm,
+                                    SearchOptions options) {
+        return findPath(grid, gridHash(grid), startRow, startCol, endRow, endCol, algorithm, options);
     }
 
     public ComparisonResponse compareAlgorithms(int[][] grid,
@@ -86,35 +178,365 @@ public class PathFindingService {
                                                 int startCol,
                                                 int endRow,
                                                 int endCol) {
+        return compareAlgorithms(grid, startRow, startCol, endRow, endCol, SearchEngine.STANDARD);
+    }
+
+    public ComparisonResponse compareAlgorithms(int[][] grid,
+                                                int startRow,
+                                                int startCol,
+                                                int endRow,
+                                                int endCol,
+                                                SearchEngine engine) {
+        return compareAlgorithms(grid, startRow, startCol, endRow, endCol, DEFAULT_COMPARISON, engineOnly(engine));
+    }
+
+    public ComparisonResponse compareAlgorithms(int[][] grid,
+                                                int startRow,
+                                                int startCol,
+                                                int endRow,
+                                                int endCol,
+                                                List<Algorithm> algorithms,
+                                                SearchOptions options) {
+        Long gridHash = gridHash(grid);
+        return compare(algorithms,
+                algorithm -> findPath(grid, gridHash, startRow, startCol, endRow, endCol, algorithm, options));
+    }
+
+    public AlgorithmResult findPath(FlatGrid grid,
+                                    int startRow,
+                                    int startCol,
+                                    int endRow,
+                                    int endCol,
+                                    Algorithm algorithm,
+                                    SearchOptions options) {
         Node start = new Node(startRow, startCol);
         Node end = new Node(endRow, endCol);
+        String engineTag = engineTag(algorithm, options == null ? null : options.getEngine(), true);
+        return cached(grid.contentHash(), startRow, startCol, endRow, endCol, algorithm, flatGridOptions(options),
+                () -> metrics.record(algorithm, engineTag, grid.size(),
+                        () -> components.disconnected(grid, start, end, algorithm)
+                                ? unreachable()
+                                : run(grid, start, end, algorithm, options, visitSink(options))));
+    }
 
-        BFSPathFinder.BFSResult bfsResult = BFSPathFinder.findPathWithStats(grid, start, end);
-        DijkstraPathFinder.DijkstraResult dijkstraResult =
-                DijkstraPathFinder.findPathWithStats(grid, start, end);
+    public ComparisonResponse compareAlgorithms(FlatGrid grid,
+                                                int startRow,
+                                                int startCol,
+                                                int endRow,
+                                                int endCol,
+                                                List<Algorithm> algorithms,
+                                                SearchOptions options) {
+        return compare(algorithms,
+                algorithm -> findPath(grid, startRow, startCol, endRow, endCol, algorithm, options));
+    }
 
-        AlgorithmResult bfs = new AlgorithmResult(
+    // Each algorithm runs on its own executor thread and times itself, so the per-algorithm
+    // executionTimeMs stays meaningful while the request only waits for the slowest one.
+    private ComparisonResponse compare(List<Algorithm> algorithms, Function<Algorithm, AlgorithmResult> search) {
+        List<Algorithm> selected = algorithms == null || algorithms.isEmpty()
+                ? DEFAULT_COMPARISON
+                : new ArrayList<>(new LinkedHashSet<>(algorithms));
+        Map<Algorithm, CompletableFuture<AlgorithmResult>> futures = new LinkedHashMap<>();
+        for (Algorithm algorithm : selected) {
+            futures.put(algorithm, CompletableFuture.supplyAsync(() -> search.apply(algorithm), searchExecutor));
+        }
+        Map<String, AlgorithmResult> results = new LinkedHashMap<>();
+        for (Map.Entry<Algorithm, CompletableFuture<AlgorithmResult>> entry : futures.entrySet()) {
+            results.put(entry.getKey().name(), Futures.await(entry.getValue()));
+        }
+        return new ComparisonResponse(
+                results.get(Algorithm.BFS.name()),
+                results.get(Algorithm.DIJKSTRA.name()),
+                results
+        );
+    }
+
+    private AlgorithmResult findPath(int[][] grid,
+                                     Long gridHash,
+                                     int startRow,
+                                     int startCol,
+                                     int endRow,
+                                     int endCol,
+                                     Algorithm algorithm,
+                                     SearchOptions options) {
+        Node start = new Node(startRow, startCol);
+        Node end = new Node(endRow, endCol);
+        SearchEngine engine = options == null ? null : options.getEngine();
+        if (visitedMode(options) != VisitedMode.ALL || limits.limited(options)) {
+            // Only the indexed engines report expansions to a sink, so shaped and budgeted requests run there.
+            String engineTag = engineTag(algorithm, engine, true);
+            return cached(gridHash, startRow, startCol, endRow, endCol, algorithm, flatGridOptions(options),
+                    () -> metrics.record(algorithm, engineTag, cellCount(grid),
+                            () -> GridPaths.isValidGrid(grid)
+                                    ? run(FlatGrid.of(grid), start, end, algorithm, options, visitSink(options))
+                                    : toAlgorithmResult(SearchResult.empty(null, System.nanoTime()))));
+        }
+        String engineTag = engineTag(algorithm, engine, false);
+        Supplier<AlgorithmResult> search;
+        if (engineTag.equals("standard") || !GridPaths.isValidGrid(grid)) {
+            search = arraySearch(grid, start, end, algorithm, options);
+        } else {
+            // The indexed engines flatten the grid anyway; searching the FlatGrid lets them report queue peaks.
+            search = () -> toAlgorithmResult(search(FlatGrid.of(grid), start, end, algorithm, options, new VisitOrder()));
+        }
+        Supplier<AlgorithmResult> measured = () -> metrics.record(algorithm, engineTag, cellCount(grid), search);
+        return cached(gridHash, startRow, startCol, endRow, endCol, algorithm, options, measured);
+    }
+
+    private Supplier<AlgorithmResult> arraySearch(int[][] grid, Node start, Node end, Algorithm algorithm,
+                                                  SearchOptions options) {
+        SearchEngine engine = options == null ? null : options.getEngine();
+        switch (algorithm) {
+            case BFS:
+                return () -> computeBfs(grid, start, end, engine);
+            case DIJKSTRA:
+                return () -> computeDijkstra(grid, start, end, engine);
+            case ASTAR:
+                return () -> toAlgorithmResult(AStarPathFinder.findPathWithStats(grid, start, end,
+                        options == null ? null : options.getHeuristic(),
+                        options == null ? null : options.getHeuristicWeight()));
+            case JPS:
+                return () -> toAlgorithmResult(JumpPointSearchPathFinder.findPathWithStats(grid, start, end));
+            case BIDIRECTIONAL_BFS:
+                return () -> toAlgorithmResult(BidirectionalBFSPathFinder.findPathWithStats(grid, start, end));
+            case BIDIRECTIONAL_DIJKSTRA:
+                return () -> toAlgorithmResult(BidirectionalDijkstraPathFinder.findPathWithStats(grid, start, end));
+            default:
+                throw new IllegalArgumentException("Unsupported algorithm " + algorithm);
+        }
+    }
+
+    private AlgorithmResult computeBfs(int[][] grid, Node start, Node end, SearchEngine engine) {
+        BFSPathFinder.BFSResult bfsResult = runBfs(grid, start, end, engine);
+        int pathLength = Math.max(bfsResult.getPath().size() - 1, 0);
+        long executionTimeMs = normalizeExecutionTime(
+                bfsResult.getExecutionTimeMs(),
+                bfsResult.getNodesVisited()
+        );
+        return new AlgorithmResult(
                 bfsResult.getPath(),
                 bfsResult.getVisited(),
-                Math.max(bfsResult.getPath().size() - 1, 0),
+                pathLength,
                 bfsResult.getNodesVisited(),
-                normalizeExecutionTime(bfsResult.getExecutionTimeMs(), bfsResult.getNodesVisited()),
+                executionTimeMs,
                 null
         );
+    }
 
-        AlgorithmResult dijkstra = new AlgorithmResult(
+    private AlgorithmResult computeDijkstra(int[][] grid, Node start, Node end, SearchEngine engine) {
+        DijkstraPathFinder.DijkstraResult dijkstraResult = runDijkstra(grid, start, end, engine);
+        int pathLength = Math.max(dijkstraResult.getPath().size() - 1, 0);
+        long executionTimeMs = normalizeExecutionTime(
+                dijkstraResult.getExecutionTimeMs(),
+                dijkstraResult.getNodesVisited()
+        );
+        return new AlgorithmResult(
                 dijkstraResult.getPath(),
                 dijkstraResult.getVisited(),
-                Math.max(dijkstraResult.getPath().size() - 1, 0),
+                pathLength,
                 dijkstraResult.getNodesVisited(),
-                normalizeExecutionTime(
-                        dijkstraResult.getExecutionTimeMs(),
-                        dijkstraResult.getNodesVisited()
-                ),
+                executionTimeMs,
                 dijkstraResult.getTotalCost()
         );
+    }
+
+    /**
+     * Searches a flattened grid within the request's node budget and deadline. A search stopped by
+     * either, or by an interrupt, returns no path but keeps what it visited and the expanded cell
+     * closest to the target, so callers can still show how far it got.
+     */
+    public AlgorithmResult run(FlatGrid grid, Node start, Node end, Algorithm algorithm, SearchOptions options,
+                               ExpansionSink visits) {
+        if (!limits.limited(options)) {
+            return toAlgorithmResult(search(grid, start, end, algorithm, options, visits));
+        }
+        long startTime = System.nanoTime();
+        // Bidirectional searches expand from both ends, so distance to the target says little about progress.
+        boolean bidirectional = algorithm == Algorithm.BIDIRECTIONAL_BFS || algorithm == Algorithm.BIDIRECTIONAL_DIJKSTRA;
+        int target = bidirectional || !grid.contains(end.getRow(), end.getCol())
+                ? BudgetedSink.NO_TARGET : grid.index(end.getRow(), end.getCol());
+        BudgetedSink budget = new BudgetedSink(visits, limits.maxExpandedNodes(options),
+                limits.deadlineNanos(options, startTime), grid, target);
+        try {
+            return toAlgorithmResult(search(grid, start, end, algorithm, options, budget));
+        } catch (SearchAbortedException e) {
+            return new AlgorithmResult(
+                    new ArrayList<>(),
+                    budget.visited(grid),
+                    0,
+                    budget.getExpanded(),
+                    normalizeExecutionTime(GridPaths.elapsedMs(startTime), budget.getExpanded()),
+                    null,
+                    e.getStatus(),
+                    budget.closest(grid)
+            );
+        }
+    }
+
+    // Runs on the indexed engines without touching the result cache; expansions go to the sink as they happen.
+    public SearchResult search(FlatGrid grid, Node start, Node end, Algorithm algorithm, SearchOptions options,
+                               ExpansionSink visits) {
+        SearchEngine engine = options == null ? null : options.getEngine();
+        String engineTag = engineTag(algorithm, engine, true);
+        // A tiled grid is searched through its own view, which keeps the tiles this query reads and counts them.
+        FlatGrid view = grid.forQuery();
+        try {
+            SearchResult result = search(view, start, end, algorithm, options, engine, visits);
+            if (result.getQueuePeak() > 0) {
+                metrics.recordQueuePeak(algorithm, engineTag, result.getQueuePeak());
+            }
+            return result;
+        } finally {
+            if (view.isTiled()) {
+                metrics.recordTiles(algorithm, engineTag, view.tilesTouched(), view.tilesLoaded());
+            }
+        }
+    }
+
+    private SearchResult search(FlatGrid grid, Node start, Node end, Algorithm algorithm, SearchOptions options,
+                                SearchEngine engine, ExpansionSink sink) {
+        switch (algorithm) {
+            case BFS:
+                return SearchResult.from(IndexedBFSPathFinder.findPathWithStats(grid, start, end, sink));
+            case DIJKSTRA:
+                if (engine == SearchEngine.BUCKET) {
+                    return SearchResult.from(BucketDijkstraPathFinder.findPathWithStats(grid, start, end, sink));
+                }
+                return SearchResult.from(IndexedDijkstraPathFinder.findPathWithStats(grid, start, end, sink));
+            case ASTAR:
+                AStarHeuristic heuristic = options == null ? null : options.getHeuristic();
+                return AStarPathFinder.findPathWithStats(grid, start, end, heuristic,
+                        options == null ? null : options.getHeuristicWeight(),
+                        heuristic == AStarHeuristic.LANDMARKS ? landmarks.ready(grid) : null,
+                        sink);
+            case JPS:
+                return JumpPointSearchPathFinder.findPathWithStats(grid, start, end, sink);
+            case BIDIRECTIONAL_BFS:
+                return BidirectionalBFSPathFinder.findPathWithStats(grid, start, end, sink);
+            case BIDIRECTIONAL_DIJKSTRA:
+                return BidirectionalDijkstraPathFinder.findPathWithStats(grid, start, end, sink);
+            default:
+                throw new IllegalArgumentException("Unsupported algorithm " + algorithm);
+        }
+    }
 
-        return new ComparisonResponse(bfs, dijkstra);
+    private AlgorithmResult cached(Long gridHash,
+                                   int startRow,
+                                   int startCol,
+                                   int endRow,
+                                   int endCol,
+                                   Algorithm algorithm,
+                                   SearchOptions options,
+                                   Supplier<AlgorithmResult> search) {
+        if (gridHash == null) {
+            return shapePath(search.get(), options);
+        }
+        PathCacheKey key = new PathCacheKey(gridHash, startRow, startCol, endRow, endCol, algorithm, options);
+        return shapePath(resultCache.getOrCompute(key, search), options);
+    }
+
+    // Cached results always hold every cell; turn-point paths are derived on the way out.
+    private static AlgorithmResult shapePath(AlgorithmResult result, SearchOptions options) {
+        if (options == null || options.getPathFormat() != PathFormat.TURN_POINTS) {
+            return result;
+        }
+        return new AlgorithmResult(
+                GridPaths.turnPoints(result.getPath()),
+                result.getVisited(),
+                result.getPathLength(),
+                result.getNodesVisited(),
+                result.getExecutionTimeMs(),
+                result.getTotalCost(),
+                result.getStatus(),
+                result.getClosest()
+        );
+    }
+
+    private static VisitedMode visitedMode(SearchOptions options) {
+        return options == null ? VisitedMode.ALL : options.visitedMode();
+    }
+
+    // A null sink tells the engines to skip visited bookkeeping altogether.
+    private static ExpansionSink visitSink(SearchOptions options) {
+        switch (visitedMode(options)) {
+            case NONE:
+                return null;
+            case FIRST:
+                return new SampledVisitOrder(1, limitOr(options.getVisitedLimit(), DEFAULT_VISITED_LIMIT));
+            case SAMPLE:
+                return new SampledVisitOrder(limitOr(options.getVisitedSampleRate(), DEFAULT_SAMPLE_RATE),
+                        limitOr(options.getVisitedLimit(), Integer.MAX_VALUE));
+            default:
+                return new VisitOrder();
+        }
+    }
+
+    private static int limitOr(Integer value, int fallback) {
+        return value == null ? fallback : value;
+    }
+
+    // Names the engine that actually runs: flattened grids and the other algorithms always use the indexed ones.
+    private static String engineTag(Algorithm algorithm, SearchEngine engine, boolean flat) {
+        if (algorithm == Algorithm.DIJKSTRA && engine == SearchEngine.BUCKET) {
+            return "bucket";
+        }
+        boolean standard = !flat && engine != SearchEngine.INDEXED && engine != SearchEngine.BUCKET;
+        if (standard && (algorithm == Algorithm.BFS || algorithm == Algorithm.DIJKSTRA)) {
+            return "standard";
+        }
+        return "indexed";
+    }
+
+    private static long cellCount(int[][] grid) {
+        return GridPaths.isValidGrid(grid) ? (long) grid.length * grid[0].length : 0;
+    }
+
+    private static Long gridHash(int[][] grid) {
+        return GridPaths.isValidGrid(grid) ? FlatGrid.contentHash(grid) : null;
+    }
+
+    private static SearchOptions engineOnly(SearchEngine engine) {
+        return new SearchOptions(engine, null, null);
+    }
+
+    // Mirrors search(): flat grids run STANDARD requests on the indexed engines.
+    private static SearchOptions flatGridOptions(SearchOptions options) {
+        SearchEngine engine = options == null ? null : options.getEngine();
+        SearchEngine indexed = engine == SearchEngine.BUCKET ? SearchEngine.BUCKET : SearchEngine.INDEXED;
+        return options == null ? engineOnly(indexed) : options.withEngine(indexed);
+    }
+
+    // Answered from the component labels of a registered grid, without expanding anything.
+    private static AlgorithmResult unreachable() {
+        return new AlgorithmResult(new ArrayList<>(), new ArrayList<>(), 0, 0, 0, null);
+    }
+
+    AlgorithmResult toAlgorithmResult(SearchResult result) {
+        return new AlgorithmResult(
+                result.getPath(),
+                result.getVisited(),
+                Math.max(result.getPath().size() - 1, 0),
+                result.getNodesVisited(),
+                normalizeExecutionTime(result.getExecutionTimeMs(), result.getNodesVisited()),
+                result.getTotalCost()
+        );
+    }
+
+    private BFSPathFinder.BFSResult runBfs(int[][] grid, Node start, Node end, SearchEngine engine) {
+        if (engine == SearchEngine.INDEXED || engine == SearchEngine.BUCKET) {
+            return IndexedBFSPathFinder.findPathWithStats(grid, start, end);
+        }
+        return BFSPathFinder.findPathWithStats(grid, start, end);
+    }
+
+    private DijkstraPathFinder.DijkstraResult runDijkstra(int[][] grid, Node start, Node end, SearchEngine engine) {
+        if (engine == SearchEngine.INDEXED) {
+            return IndexedDijkstraPathFinder.findPathWithStats(grid, start, end);
+        }
+        if (engine == SearchEngine.BUCKET) {
+            return BucketDijkstraPathFinder.findPathWithStats(grid, start, end);
+        }
+        return DijkstraPathFinder.findPathWithStats(grid, start, end);
     }
 
     private long normalizeExecutionTime(long executionTimeMs, int nodesVisited) {
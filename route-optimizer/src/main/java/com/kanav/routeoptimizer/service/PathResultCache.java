@@ -0,0 +1,177 @@
+package com.kanav.routeoptimizer.service;
+
+import com.kanav.routeoptimizer.dto.AlgorithmResult;
+import com.kanav.routeoptimizer.dto.CacheStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Bounded LRU cache of search results keyed by grid content hash, endpoints and algorithm.
+ * Because keys carry the content hash rather than a grid id, a changed grid can never be
+ * served a result computed for its old contents. The byte budget is an estimate of the heap the
+ * entries retain, dominated by the {@link com.kanav.routeoptimizer.model.Node}s of their paths and
+ * visited lists.
+ */
+@Component
+public class PathResultCache {
+    private final boolean enabled;
+    private final int maxEntries;
+    // A Node is a 24-byte object plus a 4-byte list slot, with compressed references.
+    private static final long NODE_BYTES = 28;
+    private static final long ENTRY_BYTES = 256;
+
+    private final long maxBytes;
+    private final long ttlNanos;
+    private final boolean keepVisited;
+    private final LinkedHashMap<PathCacheKey, Entry> entries = new LinkedHashMap<>(256, 0.75f, true);
+    private long bytes;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    public PathResultCache(@Value("${routr.cache.enabled:true}") boolean enabled,
+                           @Value("${routr.cache.max-entries:10000}") int maxEntries,
+                           @Value("${routr.cache.max-bytes:67108864}") long maxBytes,
+                           @Value("${routr.cache.ttl:10m}") Duration ttl,
+                           @Value("${routr.cache.keep-visited:true}") boolean keepVisited) {
+        this.enabled = enabled;
+        this.maxEntries = maxEntries;
+        this.maxBytes = maxBytes;
+        this.ttlNanos = ttl.toNanos();
+        this.keepVisited = keepVisited;
+    }
+
+    public AlgorithmResult getOrCompute(PathCacheKey key, Supplier<AlgorithmResult> search) {
+        if (!enabled) {
+            return search.get();
+        }
+        AlgorithmResult cached = get(key);
+        if (cached != null) {
+            return cached;
+        }
+        AlgorithmResult result = search.get();
+        // A search cut short by its budget says nothing about the next request's budget.
+        if (result.getStatus() == null || result.getStatus().isComplete()) {
+            put(key, result);
+        }
+        return result;
+    }
+
+    public synchronized AlgorithmResult get(PathCacheKey key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            misses++;
+            return null;
+        }
+        if (System.nanoTime() - entry.storedAtNanos > ttlNanos) {
+            remove(key, entry);
+            misses++;
+            return null;
+        }
+        hits++;
+        return entry.result;
+    }
+
+    public synchronized void put(PathCacheKey key, AlgorithmResult result) {
+        AlgorithmResult stored = keepVisited ? result : withoutVisited(result);
+        long entryBytes = estimateBytes(stored);
+        if (entryBytes > maxBytes) {
+            return;
+        }
+        Entry previous = entries.remove(key);
+        if (previous != null) {
+            bytes -= previous.bytes;
+        }
+        entries.put(key, new Entry(stored, entryBytes));
+        bytes += entryBytes;
+        evictOverflow();
+    }
+
+    public synchronized void invalidateGrid(long gridHash) {
+        Iterator<Map.Entry<PathCacheKey, Entry>> iterator = entries.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<PathCacheKey, Entry> next = iterator.next();
+            if (next.getKey().getGridHash() == gridHash) {
+                bytes -= next.getValue().bytes;
+                iterator.remove();
+            }
+        }
+    }
+
+    @EventListener
+    public void onGridChanged(GridChangedEvent event) {
+        if (event.getPrevious() == null) {
+            return;
+        }
+        long previousHash = event.getPrevious().getGrid().contentHash();
+        if (event.getCurrent() == null || event.getCurrent().getGrid().contentHash() != previousHash) {
+            invalidateGrid(previousHash);
+        }
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        bytes = 0;
+    }
+
+    public synchronized CacheStats stats() {
+        return new CacheStats(hits, misses, evictions, entries.size(), bytes);
+    }
+
+    private void evictOverflow() {
+        Iterator<Map.Entry<PathCacheKey, Entry>> iterator = entries.entrySet().iterator();
+        while ((entries.size() > maxEntries || bytes > maxBytes) && iterator.hasNext()) {
+            Entry eldest = iterator.next().getValue();
+            iterator.remove();
+            bytes -= eldest.bytes;
+            evictions++;
+        }
+    }
+
+    private void remove(PathCacheKey key, Entry entry) {
+        entries.remove(key);
+        bytes -= entry.bytes;
+    }
+
+    private static long estimateBytes(AlgorithmResult result) {
+        long nodes = 0;
+        if (result.getPath() != null) {
+            nodes += result.getPath().size();
+        }
+        if (result.getVisited() != null) {
+            nodes += result.getVisited().size();
+        }
+        return ENTRY_BYTES + nodes * NODE_BYTES;
+    }
+
+    private static AlgorithmResult withoutVisited(AlgorithmResult result) {
+        return new AlgorithmResult(
+                result.getPath(),
+                new ArrayList<>(),
+                result.getPathLength(),
+                result.getNodesVisited(),
+                result.getExecutionTimeMs(),
+                result.getTotalCost()
+        );
+    }
+
+    private static final class Entry {
+        private final AlgorithmResult result;
+        private final long bytes;
+        private final long storedAtNanos;
+
+        private Entry(AlgorithmResult result, long bytes) {
+            this.result = result;
+            this.bytes = bytes;
+            this.storedAtNanos = System.nanoTime();
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package com.kanav.routeoptimizer.service;
+
+import com.kanav.routeoptimizer.algorithm.GridPaths;
+import com.kanav.routeoptimizer.algorithm.LpaStarPathFinder;
+import com.kanav.routeoptimizer.dto.CellPatch;
+import com.kanav.routeoptimizer.dto.RouteSessionResponse;
+import com.kanav.routeoptimizer.model.FlatGrid;
+import com.kanav.routeoptimizer.model.Node;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Keeps open replanning sessions, each holding its own copy of the grid and the LPA* search state,
+ * so cell patches are answered by repairing the previous search. Sessions are independent of the
+ * grid registry: patches never touch the registered grid and registry changes never reach a session.
+ */
+@Service
+public class RouteSessionService {
+    private final long maxBytes;
+    private final long idleTimeoutNanos;
+    // Access-ordered, so iteration starts at the least recently used session.
+    private final LinkedHashMap<String, Session> sessions = new LinkedHashMap<>(16, 0.75f, true);
+    private long usedBytes;
+
+    public RouteSessionService(@Value("${routr.sessions.max-bytes:268435456}") long maxBytes,
+                               @Value("${routr.sessions.idle-timeout:10m}") Duration idleTimeout) {
+        this.maxBytes = maxBytes;
+        this.idleTimeoutNanos = idleTimeout.toNanos();
+    }
+
+    public RouteSessionResponse open(int[][] grid, Node start, Node end) {
+        if (!GridPaths.isValidGrid(grid)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Grid must have at least one row and one column");
+        }
+        return open(FlatGrid.of(grid), start, end);
+    }
+
+    public RouteSessionResponse open(FlatGrid grid, Node start, Node end) {
+        // The planner copies every cell onto the heap so the session can patch its own grid.
+        if (grid.isTiled()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Route sessions are not available for tiled grids");
+        }
+        if (!grid.contains(start.getRow(), start.getCol()) || !grid.contains(end.getRow(), end.getCol())) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Start and end must be inside the grid");
+        }
+        long startTime = System.nanoTime();
+        LpaStarPathFinder planner = new LpaStarPathFinder(grid, start, end);
+        int expanded = planner.computeShortestPath();
+        Session session = new Session(UUID.randomUUID().toString(), planner, start, end);
+        store(session);
+        return response(session, 0, expanded, null, startTime);
+    }
+
+    public RouteSessionResponse get(String id) {
+        Session session = lookup(id);
+        synchronized (session.planner) {
+            return response(session, 0, 0, null, System.nanoTime());
+        }
+    }
+
+    public RouteSessionResponse patch(String id, List<CellPatch> cells, boolean compareFullSearch) {
+        Session session = lookup(id);
+        LpaStarPathFinder planner = session.planner;
+        synchronized (planner) {
+            if (cells != null) {
+                for (CellPatch cell : cells) {
+                    if (cell == null || cell.getRow() < 0 || cell.getRow() >= planner.getRows()
+                            || cell.getCol() < 0 || cell.getCol() >= planner.getCols()) {
+                        throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Patched cell is outside the grid");
+                    }
+                }
+            }
+            long startTime = System.nanoTime();
+            int changed = 0;
+            if (cells != null) {
+                for (CellPatch cell : cells) {
+                    if (planner.setCell(cell.getRow(), cell.getCol(), FlatGrid.encode(cell.getValue()))) {
+                        changed++;
+                    }
+                }
+            }
+            int expanded = planner.computeShortestPath();
+            Integer fullSearch = compareFullSearch ? fullSearchExpansions(session) : null;
+            return response(session, changed, expanded, fullSearch, startTime);
+        }
+    }
+
+    public synchronized boolean remove(String id) {
+        Session removed = sessions.remove(id);
+        if (removed == null) {
+            return false;
+        }
+        usedBytes -= removed.bytes;
+        return true;
+    }
+
+    public synchronized int size() {
+        return sessions.size();
+    }
+
+    public synchronized long usedBytes() {
+        return usedBytes;
+    }
+
+    // What the same query costs from scratch on the patched grid, for comparison with the repair.
+    private static int fullSearchExpansions(Session session) {
+        LpaStarPathFinder fresh = new LpaStarPathFinder(session.planner.snapshot(), session.start, session.end);
+        return fresh.computeShortestPath();
+    }
+
+    private static RouteSessionResponse response(Session session, int changed, int expanded,
+                                                 Integer fullSearch, long startTime) {
+        LpaStarPathFinder planner = session.planner;
+        List<Node> path = planner.path();
+        return new RouteSessionResponse(
+                session.id,
+                path,
+                Math.max(path.size() - 1, 0),
+                planner.totalCost(),
+                changed,
+                expanded,
+                planner.getTotalExpanded(),
+                fullSearch,
+                GridPaths.elapsedMs(startTime)
+        );
+    }
+
+    private synchronized Session lookup(String id) {
+        Session session = sessions.get(id);
+        if (session == null || System.nanoTime() - session.lastAccessNanos > idleTimeoutNanos) {
+            if (session != null) {
+                sessions.remove(id);
+                usedBytes -= session.bytes;
+            }
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Unknown session " + id);
+        }
+        session.lastAccessNanos = System.nanoTime();
+        return session;
+    }
+
+    private synchronized void store(Session session) {
+        if (session.bytes > maxBytes) {
+            throw new ResponseStatusException(HttpStatus.CONTENT_TOO_LARGE,
+                    "Session needs " + session.bytes + " bytes but the session budget is " + maxBytes);
+        }
+        long now = System.nanoTime();
+        Iterator<Map.Entry<String, Session>> iterator = sessions.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Session eldest = iterator.next().getValue();
+            boolean idle = now - eldest.lastAccessNanos > idleTimeoutNanos;
+            if (!idle && usedBytes + session.bytes <= maxBytes) {
+                break;
+            }
+            iterator.remove();
+            usedBytes -= eldest.bytes;
+        }
+        sessions.put(session.id, session);
+        usedBytes += session.bytes;
+    }
+
+    private static final class Session {
+        private final String id;
+        private final LpaStarPathFinder planner;
+        private final Node start;
+        private final Node end;
+        private final long bytes;
+        private long lastAccessNanos;
+
+        private Session(String id, LpaStarPathFinder planner, Node start, Node end) {
+            this.id = id;
+            this.planner = planner;
+            this.start = start;
+            this.end = end;
+            this.bytes = planner.sizeBytes();
+            this.lastAccessNanos = System.nanoTime();
+        }
+    }
+}
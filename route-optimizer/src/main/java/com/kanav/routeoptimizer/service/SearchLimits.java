@@ -0,0 +1,59 @@
+package com.kanav.routeoptimizer.service;
+
+import com.kanav.routeoptimizer.algorithm.BudgetedSink;
+import com.kanav.routeoptimizer.dto.SearchOptions;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Server-wide caps on a single search. Requests may ask for a smaller node budget or a shorter
+ * deadline, never a larger one; zero disables the respective cap.
+ */
+@Component
+public class SearchLimits {
+    private final int maxExpandedNodes;
+    private final long deadlineMs;
+
+    public SearchLimits(@Value("${routr.search.max-expanded-nodes:0}") int maxExpandedNodes,
+                        @Value("${routr.search.deadline:0ms}") Duration deadline) {
+        this.maxExpandedNodes = Math.max(maxExpandedNodes, 0);
+        this.deadlineMs = Math.max(deadline.toMillis(), 0);
+    }
+
+    public static SearchLimits none() {
+        return new SearchLimits(0, Duration.ZERO);
+    }
+
+    public boolean limited(SearchOptions options) {
+        return maxExpandedNodes(options) > 0 || deadlineMs(options) > 0;
+    }
+
+    public int maxExpandedNodes(SearchOptions options) {
+        Integer requested = options == null ? null : options.getMaxExpandedNodes();
+        return tighter(requested == null ? 0 : requested, maxExpandedNodes);
+    }
+
+    // A System.nanoTime() instant, or BudgetedSink.NO_DEADLINE.
+    public long deadlineNanos(SearchOptions options, long startNanos) {
+        long ms = deadlineMs(options);
+        return ms > 0 ? startNanos + ms * 1_000_000 : BudgetedSink.NO_DEADLINE;
+    }
+
+    private long deadlineMs(SearchOptions options) {
+        Long requested = options == null ? null : options.getDeadlineMs();
+        return tighter(requested == null ? 0 : requested, deadlineMs);
+    }
+
+    private static int tighter(int requested, int server) {
+        return (int) tighter((long) requested, server);
+    }
+
+    private static long tighter(long requested, long server) {
+        if (requested <= 0) {
+            return server;
+        }
+        return server <= 0 ? requested : Math.min(requested, server);
+    }
+}
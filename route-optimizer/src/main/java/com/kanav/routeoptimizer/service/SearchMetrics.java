@@ -0,0 +1,164 @@
+package com.kanav.routeoptimizer.service;
+
+import com.kanav.routeoptimizer.dto.AlgorithmResult;
+import com.kanav.routeoptimizer.model.Algorithm;
+import com.kanav.routeoptimizer.model.SearchStatus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Micrometer meters for the searches that actually run (cache hits are counted by the cache meters).
+ * Latency is timed in nanoseconds with a percentile histogram, and the work done is recorded as
+ * distributions of expanded nodes, open-queue peak, path length and grid size, all tagged by
+ * algorithm and engine.
+ */
+@Component
+public class SearchMetrics {
+    private final MeterRegistry registry;
+    private final Map<String, Meters> meters = new ConcurrentHashMap<>();
+    private final Timer batchTimer;
+    private final DistributionSummary batchQueries;
+    private final Timer matrixTimer;
+    private final DistributionSummary matrixCells;
+
+    public SearchMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        this.batchTimer = Timer.builder("routr.batch")
+                .description("Wall time of a batch request, from validation to the last result")
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofNanos(10_000))
+                .maximumExpectedValue(Duration.ofMinutes(2))
+                .register(registry);
+        this.batchQueries = DistributionSummary.builder("routr.batch.queries")
+                .description("Queries per batch request")
+                .publishPercentileHistogram()
+                .minimumExpectedValue(1.0)
+                .maximumExpectedValue(1e6)
+                .register(registry);
+        this.matrixTimer = Timer.builder("routr.matrix")
+                .description("Wall time of a distance matrix request, from validation to the last row")
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofNanos(10_000))
+                .maximumExpectedValue(Duration.ofMinutes(2))
+                .register(registry);
+        this.matrixCells = DistributionSummary.builder("routr.matrix.cells")
+                .description("Source and target pairs per distance matrix request")
+                .publishPercentileHistogram()
+                .minimumExpectedValue(1.0)
+                .maximumExpectedValue(1e7)
+                .register(registry);
+    }
+
+    // Meters that record nothing, for services built outside the application context.
+    public static SearchMetrics disabled() {
+        return new SearchMetrics(new CompositeMeterRegistry());
+    }
+
+    public AlgorithmResult record(Algorithm algorithm, String engine, long gridCells, Supplier<AlgorithmResult> search) {
+        long startTime = System.nanoTime();
+        AlgorithmResult result = search.get();
+        long elapsed = System.nanoTime() - startTime;
+
+        Meters searchMeters = meters(algorithm, engine);
+        searchMeters.latency.record(elapsed, TimeUnit.NANOSECONDS);
+        searchMeters.nodesExpanded.record(result.getNodesVisited());
+        searchMeters.gridCells.record(gridCells);
+        SearchStatus status = result.getStatus() == null ? SearchStatus.UNREACHABLE : result.getStatus();
+        searchMeters.outcomes.get(status).increment();
+        if (status == SearchStatus.FOUND) {
+            searchMeters.pathLength.record(result.getPathLength());
+        }
+        return result;
+    }
+
+    // Read from the finished search's result, so the engines' expansion loops carry no metrics calls.
+    public void recordQueuePeak(Algorithm algorithm, String engine, int size) {
+        meters(algorithm, engine).queuePeak.record(size);
+    }
+
+    public void recordTiles(Algorithm algorithm, String engine, int touched, int loaded) {
+        Meters searchMeters = meters(algorithm, engine);
+        searchMeters.tilesTouched.record(touched);
+        searchMeters.tilesLoaded.record(loaded);
+    }
+
+    public void recordBatch(int queries, long elapsedNanos) {
+        batchTimer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+        batchQueries.record(queries);
+    }
+
+    public void recordMatrix(int sources, int targets, long elapsedNanos) {
+        matrixTimer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+        matrixCells.record((double) sources * targets);
+    }
+
+    private Meters meters(Algorithm algorithm, String engine) {
+        return meters.computeIfAbsent(algorithm.name() + '/' + engine, key -> new Meters(registry, algorithm, engine));
+    }
+
+    private static final class Meters {
+        private final Timer latency;
+        private final DistributionSummary nodesExpanded;
+        private final DistributionSummary queuePeak;
+        private final DistributionSummary pathLength;
+        private final DistributionSummary gridCells;
+        private final DistributionSummary tilesTouched;
+        private final DistributionSummary tilesLoaded;
+        private final Map<SearchStatus, Counter> outcomes = new EnumMap<>(SearchStatus.class);
+
+        private Meters(MeterRegistry registry, Algorithm algorithm, String engine) {
+            String algorithmTag = algorithm.name().toLowerCase();
+            latency = Timer.builder("routr.search")
+                    .description("Search latency, excluding cache hits")
+                    .tags("algorithm", algorithmTag, "engine", engine)
+                    .publishPercentileHistogram()
+                    .minimumExpectedValue(Duration.ofNanos(1_000))
+                    .maximumExpectedValue(Duration.ofSeconds(60))
+                    .register(registry);
+            nodesExpanded = summary(registry, "routr.search.nodes.expanded", "Nodes expanded per search",
+                    algorithmTag, engine);
+            queuePeak = summary(registry, "routr.search.queue.peak", "Largest open-queue size per search",
+                    algorithmTag, engine);
+            pathLength = summary(registry, "routr.search.path.length", "Steps in each path found",
+                    algorithmTag, engine);
+            gridCells = summary(registry, "routr.search.grid.cells", "Cells in the searched grid",
+                    algorithmTag, engine);
+            tilesTouched = summary(registry, "routr.search.tiles.touched", "Tiles read per search of a tiled grid",
+                    algorithmTag, engine);
+            tilesLoaded = summary(registry, "routr.search.tiles.loaded",
+                    "Tiles decoded from disk per search of a tiled grid", algorithmTag, engine);
+            for (SearchStatus status : SearchStatus.values()) {
+                outcomes.put(status, outcome(registry, algorithmTag, engine, status.name().toLowerCase()));
+            }
+        }
+
+        private static DistributionSummary summary(MeterRegistry registry, String name, String description,
+                                                   String algorithm, String engine) {
+            return DistributionSummary.builder(name)
+                    .description(description)
+                    .tags("algorithm", algorithm, "engine", engine)
+                    .publishPercentileHistogram()
+                    .minimumExpectedValue(1.0)
+                    .maximumExpectedValue(1e9)
+                    .register(registry);
+        }
+
+        private static Counter outcome(MeterRegistry registry, String algorithm, String engine, String outcome) {
+            return Counter.builder("routr.search.results")
+                    .description("Searches run, by outcome")
+                    .tags("algorithm", algorithm, "engine", engine, "outcome", outcome)
+                    .register(registry);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.kanav.routeoptimizer.service;
+
+import com.kanav.routeoptimizer.dto.AlgorithmResult;
+import com.kanav.routeoptimizer.dto.SearchOptions;
+import com.kanav.routeoptimizer.dto.StreamSummary;
+import com.kanav.routeoptimizer.model.Algorithm;
+import com.kanav.routeoptimizer.model.FlatGrid;
+import com.kanav.routeoptimizer.model.Node;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Runs a search and writes its expansions as NDJSON while it is in progress, followed by a
+ * summary line with the path and stats. Nothing proportional to the number of expansions is
+ * held in memory, so the response can animate searches on arbitrarily large grids.
+ */
+@Service
+public class SearchStreamService {
+    private final PathFindingService pathFindingService;
+    private final JsonMapper jsonMapper;
+    private final int batchSize;
+
+    public SearchStreamService(PathFindingService pathFindingService,
+                               JsonMapper jsonMapper,
+                               @Value("${routr.stream.batch-size:1024}") int batchSize) {
+        this.pathFindingService = pathFindingService;
+        this.jsonMapper = jsonMapper;
+        this.batchSize = batchSize;
+    }
+
+    public void stream(FlatGrid grid, Node start, Node end, Algorithm algorithm, SearchOptions options,
+                       OutputStream out) throws IOException {
+        NdjsonExpansionSink sink = new NdjsonExpansionSink(grid, out, batchSize);
+        AlgorithmResult result = pathFindingService.run(grid, start, end, algorithm, options, sink);
+        sink.flush();
+        out.write(jsonMapper.writeValueAsBytes(StreamSummary.from(result)));
+        out.write('\n');
+        out.flush();
+    }
+}
@@ -0,0 +1,190 @@
+package com.kanav.routeoptimizer.service;
+
+import com.kanav.routeoptimizer.algorithm.DistanceMatrix;
+import com.kanav.routeoptimizer.algorithm.GridPaths;
+import com.kanav.routeoptimizer.algorithm.SearchResult;
+import com.kanav.routeoptimizer.algorithm.WaypointOrdering;
+import com.kanav.routeoptimizer.dto.DistanceMatrixResponse;
+import com.kanav.routeoptimizer.dto.GridPoint;
+import com.kanav.routeoptimizer.dto.WaypointRouteResponse;
+import com.kanav.routeoptimizer.model.Algorithm;
+import com.kanav.routeoptimizer.model.FlatGrid;
+import com.kanav.routeoptimizer.model.Node;
+import com.kanav.routeoptimizer.model.SearchStatus;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Visits a set of waypoints in a good order. The stop-to-stop costs come from one distance matrix
+ * (one Dijkstra per stop, in parallel), the order from {@link WaypointOrdering} under a time limit,
+ * and the full route from one Dijkstra per leg, again in parallel. Waypoints that cannot be reached
+ * from the start are left out and listed rather than failing the whole route.
+ */
+@Service
+public class WaypointRouteService {
+    private final DistanceMatrixService distanceMatrixService;
+    private final PathFindingService pathFindingService;
+    private final Executor searchExecutor;
+    private final int maxWaypoints;
+    private final long timeLimitMs;
+
+    public WaypointRouteService(DistanceMatrixService distanceMatrixService,
+                                PathFindingService pathFindingService,
+                                @Qualifier("searchExecutor") Executor searchExecutor,
+                                @Value("${routr.waypoints.max-stops:500}") int maxWaypoints,
+                                @Value("${routr.waypoints.time-limit:1s}") Duration timeLimit) {
+        this.distanceMatrixService = distanceMatrixService;
+        this.pathFindingService = pathFindingService;
+        this.searchExecutor = searchExecutor;
+        this.maxWaypoints = maxWaypoints;
+        this.timeLimitMs = timeLimit.toMillis();
+    }
+
+    public WaypointRouteResponse solve(int[][] grid, GridPoint start, List<GridPoint> waypoints, GridPoint end,
+                                       Long timeLimitMs, boolean includePath) {
+        if (!GridPaths.isValidGrid(grid)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Grid must have at least one row and one column");
+        }
+        return solve(FlatGrid.of(grid), start, waypoints, end, timeLimitMs, includePath);
+    }
+
+    public WaypointRouteResponse solve(FlatGrid grid, GridPoint start, List<GridPoint> waypoints, GridPoint end,
+                                       Long timeLimitMs, boolean includePath) {
+        long startTime = System.nanoTime();
+        if (start == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "A start is required");
+        }
+        List<GridPoint> stops = waypoints == null ? new ArrayList<>() : waypoints;
+        if (stops.size() > maxWaypoints) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Route has " + stops.size() + " waypoints; the limit is " + maxWaypoints);
+        }
+        // Matrix points: the start, then every waypoint, then the fixed end if there is one.
+        List<GridPoint> points = new ArrayList<>(stops.size() + 2);
+        points.add(start);
+        points.addAll(stops);
+        if (end != null) {
+            points.add(end);
+        }
+        DistanceMatrixResponse matrix = distanceMatrixService.build(grid, points, points, false, null);
+        int[] startCosts = matrix.getCosts()[0];
+        long matrixMs = GridPaths.elapsedMs(startTime);
+        for (SearchStatus status : matrix.getStatuses()) {
+            if (!status.isComplete()) {
+                return failed(status, matrixMs, startTime);
+            }
+        }
+        if (end != null && startCosts[points.size() - 1] == DistanceMatrix.UNREACHABLE) {
+            return failed(SearchStatus.UNREACHABLE, matrixMs, startTime);
+        }
+
+        // Reachability is symmetric, so stops reachable from the start are all reachable from each other.
+        List<Integer> reachable = new ArrayList<>();
+        List<Integer> unreachable = new ArrayList<>();
+        for (int w = 0; w < stops.size(); w++) {
+            (startCosts[w + 1] == DistanceMatrix.UNREACHABLE ? unreachable : reachable).add(w);
+        }
+        if (reachable.isEmpty() && end == null && startCosts[0] == DistanceMatrix.UNREACHABLE) {
+            WaypointRouteResponse response = failed(SearchStatus.UNREACHABLE, matrixMs, startTime);
+            response.setUnreachable(unreachable);
+            return response;
+        }
+
+        // Solver nodes: 0 is the start, 1..k the reachable waypoints, k+1 the end (a free dummy when open).
+        int k = reachable.size();
+        int[] matrixIndex = new int[k + 2];
+        for (int i = 0; i < k; i++) {
+            matrixIndex[i + 1] = reachable.get(i) + 1;
+        }
+        matrixIndex[k + 1] = end == null ? -1 : points.size() - 1;
+        long[][] cost = new long[k + 2][k + 2];
+        for (int from = 0; from < k + 2; from++) {
+            for (int to = 0; to < k + 2; to++) {
+                if (matrixIndex[from] >= 0 && matrixIndex[to] >= 0) {
+                    cost[from][to] = matrix.getCosts()[matrixIndex[from]][matrixIndex[to]];
+                }
+            }
+        }
+
+        long optimizationStart = System.nanoTime();
+        long limitMs = tighter(timeLimitMs == null ? 0 : timeLimitMs, this.timeLimitMs);
+        long deadline = limitMs > 0 ? optimizationStart + limitMs * 1_000_000 : WaypointOrdering.NO_DEADLINE;
+        WaypointOrdering.Result result = WaypointOrdering.solve(cost, deadline);
+        long optimizationMs = GridPaths.elapsedMs(optimizationStart);
+
+        int[] order = result.getOrder();
+        List<Integer> visitOrder = new ArrayList<>(k);
+        List<GridPoint> route = new ArrayList<>(k + 2);
+        route.add(start);
+        for (int position = 1; position <= k; position++) {
+            int waypoint = matrixIndex[order[position]] - 1;
+            visitOrder.add(waypoint);
+            route.add(stops.get(waypoint));
+        }
+        if (end != null) {
+            route.add(end);
+        }
+
+        long pathStart = System.nanoTime();
+        List<Node> path = includePath ? stitch(grid, route) : null;
+        long pathMs = includePath ? GridPaths.elapsedMs(pathStart) : 0;
+        return new WaypointRouteResponse(
+                SearchStatus.FOUND,
+                visitOrder,
+                unreachable,
+                result.getCost(),
+                result.getInitialCost(),
+                result.getImprovements(),
+                result.isTimedOut(),
+                path,
+                path == null ? 0 : Math.max(path.size() - 1, 0),
+                matrixMs,
+                optimizationMs,
+                pathMs,
+                GridPaths.elapsedMs(startTime)
+        );
+    }
+
+    // One Dijkstra per leg on the search pool; each leg after the first drops the stop it starts on.
+    private List<Node> stitch(FlatGrid grid, List<GridPoint> route) {
+        List<CompletableFuture<SearchResult>> legs = new ArrayList<>(route.size() - 1);
+        for (int i = 1; i < route.size(); i++) {
+            Node from = toNode(route.get(i - 1));
+            Node to = toNode(route.get(i));
+            legs.add(CompletableFuture.supplyAsync(
+                    () -> pathFindingService.search(grid, from, to, Algorithm.DIJKSTRA, null, null), searchExecutor));
+        }
+        List<Node> path = new ArrayList<>();
+        path.add(toNode(route.get(0)));
+        for (CompletableFuture<SearchResult> leg : legs) {
+            List<Node> legPath = Futures.await(leg).getPath();
+            path.addAll(legPath.subList(Math.min(1, legPath.size()), legPath.size()));
+        }
+        return path;
+    }
+
+    private static WaypointRouteResponse failed(SearchStatus status, long matrixMs, long startTime) {
+        return new WaypointRouteResponse(status, new ArrayList<>(), new ArrayList<>(), null, null, 0, false,
+                new ArrayList<>(), 0, matrixMs, 0, 0, GridPaths.elapsedMs(startTime));
+    }
+
+    private static Node toNode(GridPoint point) {
+        return new Node(point.getRow(), point.getCol());
+    }
+
+    private static long tighter(long requested, long server) {
+        if (requested <= 0) {
+            return server;
+        }
+        return server <= 0 ? requested : Math.min(requested, server);
+    }
+}
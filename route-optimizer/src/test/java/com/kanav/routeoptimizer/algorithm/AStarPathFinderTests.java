@@ -0,0 +1,53 @@
+package com.kanav.routeoptimizer.algorithm;
+
+import com.kanav.routeoptimizer.model.AStarHeuristic;
+import com.kanav.routeoptimizer.model.Node;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AStarPathFinderTests {
+
+	@Test
+	void admissibleVariantsMatchDijkstraCost() {
+		Random random = new Random(11);
+		for (int trial = 0; trial < 200; trial++) {
+			int rows = 1 + random.nextInt(25);
+			int cols = 1 + random.nextInt(25);
+			int[][] grid = new int[rows][cols];
+			for (int r = 0; r < rows; r++) {
+				for (int c = 0; c < cols; c++) {
+					grid[r][c] = random.nextInt(10) < 3 ? 0 : 1 + random.nextInt(3);
+				}
+			}
+			Node start = new Node(random.nextInt(rows), random.nextInt(cols));
+			Node end = new Node(random.nextInt(rows), random.nextInt(cols));
+
+			int expected = DijkstraPathFinder.findPathWithStats(grid, start, end).getTotalCost();
+			for (AStarHeuristic heuristic : new AStarHeuristic[]{AStarHeuristic.MANHATTAN, AStarHeuristic.TIE_BREAKING}) {
+				SearchResult result = AStarPathFinder.findPathWithStats(grid, start, end, heuristic, null);
+				assertEquals(expected, result.getTotalCost());
+			}
+		}
+	}
+
+	@Test
+	void expandsFewerNodesThanDijkstraOnOpenGrid() {
+		int[][] grid = new int[200][200];
+		for (int[] row : grid) {
+			Arrays.fill(row, 1);
+		}
+		Node start = new Node(0, 0);
+		Node end = new Node(199, 199);
+
+		int dijkstraVisited = DijkstraPathFinder.findPathWithStats(grid, start, end).getNodesVisited();
+		SearchResult aStar = AStarPathFinder.findPathWithStats(grid, start, end, AStarHeuristic.TIE_BREAKING, null);
+
+		assertEquals(398, aStar.getTotalCost());
+		assertTrue(aStar.getNodesVisited() * 10 < dijkstraVisited);
+	}
+}
@@ -0,0 +1,48 @@
+package com.kanav.routeoptimizer.algorithm;
+
+import com.kanav.routeoptimizer.model.Node;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class BidirectionalPathFinderTests {
+
+	@Test
+	void bidirectionalBfsMatchesBfsPathLength() {
+		Random random = new Random(5);
+		for (int trial = 0; trial < 300; trial++) {
+			int[][] grid = TestGrids.random(random, 1 + random.nextInt(30), 1 + random.nextInt(30), 3, false);
+			Node start = new Node(random.nextInt(grid.length), random.nextInt(grid[0].length));
+			Node end = new Node(random.nextInt(grid.length), random.nextInt(grid[0].length));
+
+			List<Node> expected = BFSPathFinder.findPathWithStats(grid, start, end).getPath();
+			List<Node> actual = BidirectionalBFSPathFinder.findPathWithStats(grid, start, end).getPath();
+
+			assertEquals(expected.size(), actual.size());
+			TestGrids.pathCost(grid, actual);
+		}
+	}
+
+	@Test
+	void bidirectionalDijkstraMatchesDijkstraCost() {
+		Random random = new Random(9);
+		for (int trial = 0; trial < 300; trial++) {
+			int[][] grid = TestGrids.random(random, 1 + random.nextInt(30), 1 + random.nextInt(30), 3, true);
+			Node start = new Node(random.nextInt(grid.length), random.nextInt(grid[0].length));
+			Node end = new Node(random.nextInt(grid.length), random.nextInt(grid[0].length));
+
+			int expected = DijkstraPathFinder.findPathWithStats(grid, start, end).getTotalCost();
+			SearchResult actual = BidirectionalDijkstraPathFinder.findPathWithStats(grid, start, end);
+
+			assertEquals(expected, actual.getTotalCost());
+			if (!actual.getPath().isEmpty()) {
+				assertEquals(start, actual.getPath().get(0));
+				assertEquals(end, actual.getPath().get(actual.getPath().size() - 1));
+				assertEquals(expected, TestGrids.pathCost(grid, actual.getPath()));
+			}
+		}
+	}
+}
@@ -0,0 +1,122 @@
+package com.kanav.routeoptimizer.algorithm;
+
+import com.kanav.routeoptimizer.algorithm.ConnectedComponents.Walkability;
+import com.kanav.routeoptimizer.model.FlatGrid;
+import com.kanav.routeoptimizer.model.Node;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ConnectedComponentsTests {
+
+	@Test
+	void rulesFollowEachSearchFamily() {
+		FlatGrid grid = FlatGrid.of(new int[][]{
+				{1, 1, 2, 1},
+				{0, 0, 0, 0},
+				{1, 3, 1, 4}
+		});
+		ConnectedComponents open = ConnectedComponents.build(grid, Walkability.OPEN);
+		ConnectedComponents passable = ConnectedComponents.build(grid, Walkability.PASSABLE);
+
+		assertFalse(open.connected(grid.index(0, 0), grid.index(0, 3)));
+		assertTrue(passable.connected(grid.index(0, 0), grid.index(0, 3)));
+		assertFalse(passable.connected(grid.index(0, 0), grid.index(2, 0)));
+		assertFalse(passable.connected(grid.index(2, 3), grid.index(2, 3)));
+		assertEquals(4, open.componentCount());
+		assertEquals(2, passable.componentCount());
+	}
+
+	@Test
+	void blockingSplitsAndOpeningMerges() {
+		FlatGrid grid = FlatGrid.of(new int[][]{
+				{1, 1, 1},
+				{0, 1, 0},
+				{1, 1, 1}
+		});
+		ConnectedComponents components = ConnectedComponents.build(grid, Walkability.OPEN);
+		int top = grid.index(0, 0);
+		int bottom = grid.index(2, 2);
+		assertTrue(components.connected(top, bottom));
+
+		assertTrue(components.update(grid.index(1, 1), FlatGrid.WALL));
+		assertFalse(components.connected(top, bottom));
+		assertEquals(2, components.componentCount());
+
+		assertFalse(components.update(grid.index(1, 1), FlatGrid.UNKNOWN));
+		assertTrue(components.update(grid.index(1, 0), FlatGrid.OPEN));
+		assertTrue(components.connected(top, bottom));
+		assertEquals(1, components.componentCount());
+	}
+
+	@Test
+	void incrementalLabelsMatchAFreshBuild() {
+		Random random = new Random(19);
+		for (int trial = 0; trial < 20; trial++) {
+			int rows = 3 + random.nextInt(25);
+			int cols = 3 + random.nextInt(25);
+			byte[] cells = new byte[rows * cols];
+			for (int i = 0; i < cells.length; i++) {
+				cells[i] = (byte) (random.nextInt(3) == 0 ? 0 : random.nextInt(4));
+			}
+			ConnectedComponents open = ConnectedComponents.build(new FlatGrid(rows, cols, cells), Walkability.OPEN);
+			ConnectedComponents passable = ConnectedComponents.build(new FlatGrid(rows, cols, cells), Walkability.PASSABLE);
+
+			for (int step = 0; step < 300; step++) {
+				int index = random.nextInt(cells.length);
+				cells[index] = (byte) random.nextInt(5);
+				open.update(index, cells[index]);
+				passable.update(index, cells[index]);
+				if (step % 10 == 0) {
+					FlatGrid current = new FlatGrid(rows, cols, cells.clone());
+					assertSamePartition(ConnectedComponents.build(current, Walkability.OPEN), open, cells.length);
+					assertSamePartition(ConnectedComponents.build(current, Walkability.PASSABLE), passable, cells.length);
+				}
+			}
+		}
+	}
+
+	@Test
+	void disconnectedMeansBfsFindsNoPath() {
+		Random random = new Random(7);
+		for (int trial = 0; trial < 50; trial++) {
+			int size = 4 + random.nextInt(12);
+			int[][] values = new int[size][size];
+			for (int[] row : values) {
+				for (int c = 0; c < size; c++) {
+					row[c] = random.nextInt(5) == 0 ? 0 : 1;
+				}
+			}
+			FlatGrid grid = FlatGrid.of(values);
+			ConnectedComponents components = ConnectedComponents.build(grid, Walkability.OPEN);
+			Node start = new Node(random.nextInt(size), random.nextInt(size));
+			Node end = new Node(random.nextInt(size), random.nextInt(size));
+
+			boolean connected = components.connected(grid.index(start.getRow(), start.getCol()),
+					grid.index(end.getRow(), end.getCol()));
+			boolean found = !IndexedBFSPathFinder.findPathWithStats(grid, start, end).getPath().isEmpty();
+			assertEquals(found, connected);
+		}
+	}
+
+	private static void assertSamePartition(ConnectedComponents expected, ConnectedComponents actual, int cells) {
+		assertEquals(expected.componentCount(), actual.componentCount());
+		Map<Integer, Integer> forward = new HashMap<>();
+		Map<Integer, Integer> backward = new HashMap<>();
+		for (int i = 0; i < cells; i++) {
+			int e = expected.label(i);
+			int a = actual.label(i);
+			assertEquals(e == ConnectedComponents.NO_COMPONENT, a == ConnectedComponents.NO_COMPONENT);
+			if (e != ConnectedComponents.NO_COMPONENT) {
+				assertEquals(a, forward.computeIfAbsent(e, k -> a));
+				assertEquals(e, backward.computeIfAbsent(a, k -> e));
+			}
+		}
+	}
+}
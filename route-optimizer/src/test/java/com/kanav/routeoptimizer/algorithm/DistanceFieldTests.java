@@ -0,0 +1,63 @@
+package com.kanav.routeoptimizer.algorithm;
+
+import com.kanav.routeoptimizer.model.FlatGrid;
+import com.kanav.routeoptimizer.model.Node;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class DistanceFieldTests {
+
+	@Test
+	void weightedFieldMatchesDijkstraTowardsSource() {
+		Random random = new Random(21);
+		for (int trial = 0; trial < 40; trial++) {
+			int[][] grid = TestGrids.random(random, 1 + random.nextInt(15), 1 + random.nextInt(15), 3, true);
+			FlatGrid flat = FlatGrid.of(grid);
+			Node source = new Node(random.nextInt(grid.length), random.nextInt(grid[0].length));
+			DistanceField field = DistanceField.build(flat, new int[] {flat.index(source.getRow(), source.getCol())}, true);
+
+			for (int index = 0; index < flat.size(); index++) {
+				DijkstraPathFinder.DijkstraResult expected =
+						DijkstraPathFinder.findPathWithStats(grid, flat.toNode(index), source);
+				List<Node> path = field.pathFrom(index);
+				if (expected.getPath().isEmpty()) {
+					assertEquals(DistanceField.UNREACHABLE, field.distanceAt(index));
+					assertEquals(0, path.size());
+				} else {
+					assertEquals(expected.getTotalCost(), field.distanceAt(index));
+					assertEquals(flat.toNode(index), path.get(0));
+					assertEquals(source, path.get(path.size() - 1));
+				}
+			}
+		}
+	}
+
+	@Test
+	void uniformFieldMatchesBfsFromNearestSource() {
+		Random random = new Random(22);
+		for (int trial = 0; trial < 40; trial++) {
+			int[][] grid = TestGrids.random(random, 1 + random.nextInt(15), 1 + random.nextInt(15), 3, false);
+			FlatGrid flat = FlatGrid.of(grid);
+			Node first = new Node(random.nextInt(grid.length), random.nextInt(grid[0].length));
+			Node second = new Node(random.nextInt(grid.length), random.nextInt(grid[0].length));
+			int[] sources = {flat.index(first.getRow(), first.getCol()), flat.index(second.getRow(), second.getCol())};
+			DistanceField field = DistanceField.build(flat, sources, false);
+
+			for (int index = 0; index < flat.size(); index++) {
+				int toFirst = BFSPathFinder.findPathWithStats(grid, flat.toNode(index), first).getPath().size();
+				int toSecond = BFSPathFinder.findPathWithStats(grid, flat.toNode(index), second).getPath().size();
+				int nearest = toFirst == 0 ? toSecond : toSecond == 0 ? toFirst : Math.min(toFirst, toSecond);
+				if (nearest == 0) {
+					assertEquals(DistanceField.UNREACHABLE, field.distanceAt(index));
+				} else {
+					assertEquals(nearest - 1, field.distanceAt(index));
+					assertEquals(nearest, field.pathFrom(index).size());
+				}
+			}
+		}
+	}
+}
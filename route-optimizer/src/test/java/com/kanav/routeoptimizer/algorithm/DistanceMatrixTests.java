@@ -0,0 +1,75 @@
+package com.kanav.routeoptimizer.algorithm;
+
+import com.kanav.routeoptimizer.model.FlatGrid;
+import com.kanav.routeoptimizer.model.Node;
+import com.kanav.routeoptimizer.model.SearchStatus;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DistanceMatrixTests {
+
+	@Test
+	void rowsMatchOneDijkstraPerPair() {
+		Random random = new Random(23);
+		for (int trial = 0; trial < 40; trial++) {
+			int[][] grid = TestGrids.random(random, 1 + random.nextInt(15), 1 + random.nextInt(15), 3, true);
+			FlatGrid flat = FlatGrid.of(grid);
+			int[] targets = randomCells(random, flat, 1 + random.nextInt(6));
+			for (int source : randomCells(random, flat, 3)) {
+				DistanceMatrix.Row row = DistanceMatrix.fromSource(flat, source, targets, null, true, null);
+
+				for (int t = 0; t < targets.length; t++) {
+					DijkstraPathFinder.DijkstraResult expected =
+							DijkstraPathFinder.findPathWithStats(grid, flat.toNode(source), flat.toNode(targets[t]));
+					List<Node> path = row.getPaths().get(t);
+					if (expected.getPath().isEmpty()) {
+						assertEquals(DistanceMatrix.UNREACHABLE, row.getCosts()[t]);
+						assertEquals(0, path.size());
+					} else {
+						assertEquals(expected.getTotalCost(), row.getCosts()[t]);
+						assertEquals(flat.toNode(source), path.get(0));
+						assertEquals(flat.toNode(targets[t]), path.get(path.size() - 1));
+					}
+				}
+			}
+		}
+	}
+
+	@Test
+	void stoppedRowsKeepOnlyExactCosts() {
+		Random random = new Random(24);
+		int[][] grid = TestGrids.random(random, 60, 60, 1, true);
+		grid[30][30] = 1;
+		FlatGrid flat = FlatGrid.of(grid);
+		int source = flat.index(30, 30);
+		int[] targets = randomCells(random, flat, 40);
+
+		DistanceMatrix.Row full = DistanceMatrix.fromSource(flat, source, targets, null, false, null);
+		BudgetedSink budget = new BudgetedSink(null, 400, BudgetedSink.NO_DEADLINE, flat, BudgetedSink.NO_TARGET);
+		DistanceMatrix.Row stopped = DistanceMatrix.fromSource(flat, source, targets, null, false, budget);
+
+		assertEquals(SearchStatus.BUDGET_EXCEEDED, stopped.getStatus());
+		int kept = 0;
+		for (int t = 0; t < targets.length; t++) {
+			if (stopped.getCosts()[t] != DistanceMatrix.UNREACHABLE) {
+				assertEquals(full.getCosts()[t], stopped.getCosts()[t]);
+				kept++;
+			}
+		}
+		assertTrue(full.getNodesVisited() > stopped.getNodesVisited());
+		assertTrue(kept < targets.length);
+	}
+
+	private static int[] randomCells(Random random, FlatGrid grid, int count) {
+		int[] cells = new int[count];
+		for (int i = 0; i < count; i++) {
+			cells[i] = random.nextInt(grid.size());
+		}
+		return cells;
+	}
+}
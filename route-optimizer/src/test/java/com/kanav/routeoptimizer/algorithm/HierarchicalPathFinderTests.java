@@ -0,0 +1,39 @@
+package com.kanav.routeoptimizer.algorithm;
+
+import com.kanav.routeoptimizer.model.FlatGrid;
+import com.kanav.routeoptimizer.model.Node;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HierarchicalPathFinderTests {
+
+	@Test
+	void findsValidPathsWheneverDijkstraDoes() {
+		Random random = new Random(31);
+		for (int trial = 0; trial < 60; trial++) {
+			int[][] grid = TestGrids.random(random, 1 + random.nextInt(30), 1 + random.nextInt(30), 3, true);
+			HierarchicalPathFinder finder = HierarchicalPathFinder.build(FlatGrid.of(grid), 2 + random.nextInt(6), Runnable::run);
+			for (int query = 0; query < 10; query++) {
+				Node start = new Node(random.nextInt(grid.length), random.nextInt(grid[0].length));
+				Node end = new Node(random.nextInt(grid.length), random.nextInt(grid[0].length));
+
+				DijkstraPathFinder.DijkstraResult expected = DijkstraPathFinder.findPathWithStats(grid, start, end);
+				HierarchicalPathFinder.HierarchicalResult actual = finder.findPath(start, end);
+
+				assertEquals(expected.getPath().isEmpty(), actual.getPath().isEmpty());
+				if (!actual.getPath().isEmpty()) {
+					List<Node> path = actual.getPath();
+					assertEquals(start, path.get(0));
+					assertEquals(end, path.get(path.size() - 1));
+					assertEquals(actual.getTotalCost(), TestGrids.pathCost(grid, path));
+					assertTrue(actual.getTotalCost() >= expected.getTotalCost());
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,92 @@
+package com.kanav.routeoptimizer.algorithm;
+
+import com.kanav.routeoptimizer.model.FlatGrid;
+import com.kanav.routeoptimizer.model.Node;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IndexedPathFinderEquivalenceTests {
+
+	@Test
+	void indexedBfsMatchesStandardBfs() {
+		Random random = new Random(42);
+		for (int trial = 0; trial < 200; trial++) {
+			int[][] grid = TestGrids.random(random, 1 + random.nextInt(30), 1 + random.nextInt(30), 3, false);
+			Node start = randomNode(random, grid);
+			Node end = randomNode(random, grid);
+
+			BFSPathFinder.BFSResult expected = BFSPathFinder.findPathWithStats(grid, start, end);
+			BFSPathFinder.BFSResult actual = IndexedBFSPathFinder.findPathWithStats(grid, start, end);
+
+			assertEquals(expected.getPath(), actual.getPath());
+			assertEquals(expected.getVisited(), actual.getVisited());
+			assertEquals(expected.getNodesVisited(), actual.getNodesVisited());
+		}
+	}
+
+	@Test
+	void indexedDijkstraMatchesStandardDijkstraCost() {
+		Random random = new Random(7);
+		for (int trial = 0; trial < 200; trial++) {
+			int[][] grid = TestGrids.random(random, 1 + random.nextInt(30), 1 + random.nextInt(30), 3, true);
+			Node start = randomNode(random, grid);
+			Node end = randomNode(random, grid);
+
+			DijkstraPathFinder.DijkstraResult expected = DijkstraPathFinder.findPathWithStats(grid, start, end);
+			assertSameCost(grid, start, end, expected, IndexedDijkstraPathFinder.findPathWithStats(grid, start, end));
+		}
+	}
+
+	@Test
+	void bucketDijkstraMatchesStandardDijkstraCost() {
+		Random random = new Random(13);
+		for (int trial = 0; trial < 200; trial++) {
+			int[][] grid = TestGrids.random(random, 1 + random.nextInt(30), 1 + random.nextInt(30), 3, true);
+			Node start = randomNode(random, grid);
+			Node end = randomNode(random, grid);
+
+			DijkstraPathFinder.DijkstraResult expected = DijkstraPathFinder.findPathWithStats(grid, start, end);
+			assertSameCost(grid, start, end, expected, BucketDijkstraPathFinder.findPathWithStats(grid, start, end));
+		}
+	}
+
+	@Test
+	void expansionSinkSeesTheVisitedOrder() {
+		Random random = new Random(13);
+		for (int trial = 0; trial < 100; trial++) {
+			int[][] grid = TestGrids.random(random, 1 + random.nextInt(30), 1 + random.nextInt(30), 3, true);
+			FlatGrid flat = FlatGrid.of(grid);
+			Node start = randomNode(random, grid);
+			Node end = randomNode(random, grid);
+
+			DijkstraPathFinder.DijkstraResult expected = IndexedDijkstraPathFinder.findPathWithStats(flat, start, end);
+			IntList streamed = new IntList();
+			DijkstraPathFinder.DijkstraResult untracked = IndexedDijkstraPathFinder.findPathWithStats(flat, start, end, streamed::add);
+
+			assertEquals(expected.getVisited(), GridPaths.toNodes(flat, streamed));
+			assertEquals(expected.getNodesVisited(), untracked.getNodesVisited());
+			assertEquals(expected.getPath(), untracked.getPath());
+			assertTrue(untracked.getVisited().isEmpty());
+		}
+	}
+
+	private static void assertSameCost(int[][] grid, Node start, Node end,
+									   DijkstraPathFinder.DijkstraResult expected,
+									   DijkstraPathFinder.DijkstraResult actual) {
+		assertEquals(expected.getTotalCost(), actual.getTotalCost());
+		assertEquals(expected.getPath().isEmpty(), actual.getPath().isEmpty());
+		if (!actual.getPath().isEmpty()) {
+			assertEquals(start, actual.getPath().get(0));
+			assertEquals(end, actual.getPath().get(actual.getPath().size() - 1));
+			assertEquals(actual.getTotalCost(), TestGrids.pathCost(grid, actual.getPath()));
+		}
+	}
+
+	private static Node randomNode(Random random, int[][] grid) {
+		return new Node(random.nextInt(grid.length), random.nextInt(grid[0].length));
+	}
+}
@@ -0,0 +1,56 @@
+package com.kanav.routeoptimizer.algorithm;
+
+import com.kanav.routeoptimizer.model.Node;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JumpPointSearchPathFinderTests {
+
+	@Test
+	void matchesBfsPathLengthOnUniformGrids() {
+		Random random = new Random(3);
+		for (int trial = 0; trial < 500; trial++) {
+			int rows = 1 + random.nextInt(30);
+			int cols = 1 + random.nextInt(30);
+			int wallPercent = random.nextInt(45);
+			int[][] grid = new int[rows][cols];
+			for (int r = 0; r < rows; r++) {
+				for (int c = 0; c < cols; c++) {
+					grid[r][c] = random.nextInt(100) < wallPercent ? 0 : 1;
+				}
+			}
+			Node start = new Node(random.nextInt(rows), random.nextInt(cols));
+			Node end = new Node(random.nextInt(rows), random.nextInt(cols));
+
+			List<Node> expected = BFSPathFinder.findPathWithStats(grid, start, end).getPath();
+			SearchResult result = JumpPointSearchPathFinder.findPathWithStats(grid, start, end);
+
+			assertEquals(expected.size(), result.getPath().size());
+			assertEquals(Math.max(expected.size() - 1, 0), result.getTotalCost());
+			for (int i = 1; i < result.getPath().size(); i++) {
+				Node previous = result.getPath().get(i - 1);
+				Node node = result.getPath().get(i);
+				assertEquals(1, Math.abs(previous.getRow() - node.getRow()) + Math.abs(previous.getCol() - node.getCol()));
+				assertEquals(1, grid[node.getRow()][node.getCol()]);
+			}
+		}
+	}
+
+	@Test
+	void expandsFewJumpPointsOnOpenFloor() {
+		int[][] grid = new int[300][300];
+		for (int[] row : grid) {
+			Arrays.fill(row, 1);
+		}
+		SearchResult result = JumpPointSearchPathFinder.findPathWithStats(grid, new Node(0, 0), new Node(299, 299));
+
+		assertEquals(598, result.getTotalCost());
+		assertTrue(result.getNodesVisited() < 10);
+	}
+}
@@ -0,0 +1,57 @@
+package com.kanav.routeoptimizer.algorithm;
+
+import com.kanav.routeoptimizer.model.AStarHeuristic;
+import com.kanav.routeoptimizer.model.FlatGrid;
+import com.kanav.routeoptimizer.model.Node;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LandmarksTests {
+
+	@Test
+	void lowerBoundNeverExceedsTheTrueCost() {
+		Random random = new Random(20);
+		for (int trial = 0; trial < 20; trial++) {
+			FlatGrid grid = TestGrids.randomFlat(random, 5 + random.nextInt(30), 5 + random.nextInt(30), 2, true);
+			Landmarks landmarks = Landmarks.build(grid, 1 + random.nextInt(8), Runnable::run).join();
+			int target = random.nextInt(grid.size());
+			int[] toTarget = Landmarks.costs(grid, target, true);
+			for (int cell = 0; cell < grid.size(); cell++) {
+				if (toTarget[cell] < Landmarks.UNREACHABLE && grid.isPassable(target)) {
+					assertTrue(landmarks.lowerBound(cell, target) <= toTarget[cell]);
+				}
+			}
+		}
+	}
+
+	@Test
+	void altSearchStaysOptimalAndExpandsLess() {
+		Random random = new Random(8);
+		long altExpanded = 0;
+		long manhattanExpanded = 0;
+		for (int trial = 0; trial < 30; trial++) {
+			FlatGrid grid = TestGrids.randomFlat(random, 20 + random.nextInt(40), 20 + random.nextInt(40), 2, true);
+			Landmarks landmarks = Landmarks.build(grid, 8, Runnable::run).join();
+			Node start = new Node(random.nextInt(grid.getRows()), random.nextInt(grid.getCols()));
+			Node end = new Node(random.nextInt(grid.getRows()), random.nextInt(grid.getCols()));
+
+			DijkstraPathFinder.DijkstraResult expected = IndexedDijkstraPathFinder.findPathWithStats(grid, start, end, null);
+			SearchResult alt = AStarPathFinder.findPathWithStats(grid, start, end, AStarHeuristic.LANDMARKS, null,
+					landmarks, null);
+			SearchResult manhattan = AStarPathFinder.findPathWithStats(grid, start, end, AStarHeuristic.MANHATTAN, null,
+					null);
+
+			assertEquals(expected.getPath().isEmpty(), alt.getPath().isEmpty());
+			if (!expected.getPath().isEmpty()) {
+				assertEquals(expected.getTotalCost(), alt.getTotalCost());
+				altExpanded += alt.getNodesVisited();
+				manhattanExpanded += manhattan.getNodesVisited();
+			}
+		}
+		assertTrue(altExpanded < manhattanExpanded, "ALT expanded " + altExpanded + ", Manhattan " + manhattanExpanded);
+	}
+}
@@ -0,0 +1,90 @@
+package com.kanav.routeoptimizer.algorithm;
+
+import com.kanav.routeoptimizer.model.FlatGrid;
+import com.kanav.routeoptimizer.model.Node;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LpaStarPathFinderTests {
+
+	@Test
+	void repairedPathsMatchDijkstraAfterEachPatch() {
+		Random random = new Random(41);
+		for (int trial = 0; trial < 30; trial++) {
+			int rows = 5 + random.nextInt(20);
+			int cols = 5 + random.nextInt(20);
+			FlatGrid grid = TestGrids.randomFlat(random, rows, cols, 2, true);
+			Node start = new Node(random.nextInt(rows), random.nextInt(cols));
+			Node end = new Node(random.nextInt(rows), random.nextInt(cols));
+			LpaStarPathFinder planner = new LpaStarPathFinder(grid, start, end);
+			planner.computeShortestPath();
+			assertMatchesDijkstra(planner, start, end);
+
+			for (int round = 0; round < 10; round++) {
+				int patches = 1 + random.nextInt(8);
+				for (int i = 0; i < patches; i++) {
+					planner.setCell(random.nextInt(rows), random.nextInt(cols), (byte) random.nextInt(5));
+				}
+				planner.computeShortestPath();
+				assertMatchesDijkstra(planner, start, end);
+			}
+		}
+	}
+
+	@Test
+	void smallChangeReexpandsFewerNodesThanAFreshSearch() {
+		int size = 60;
+		int[][] cells = new int[size][size];
+		for (int[] row : cells) {
+			Arrays.fill(row, 1);
+		}
+		for (int r = 0; r < size - 5; r++) {
+			cells[r][size / 2] = 0;
+		}
+		Node start = new Node(0, 0);
+		Node end = new Node(0, size - 1);
+		LpaStarPathFinder planner = new LpaStarPathFinder(FlatGrid.of(cells), start, end);
+		planner.computeShortestPath();
+
+		planner.setCell(size - 3, size / 2, FlatGrid.HEAVY_TRAFFIC);
+		int repaired = planner.computeShortestPath();
+		int fresh = new LpaStarPathFinder(planner.snapshot(), start, end).computeShortestPath();
+
+		assertMatchesDijkstra(planner, start, end);
+		assertTrue(repaired < fresh, "repair expanded " + repaired + ", fresh search " + fresh);
+	}
+
+	@Test
+	void blockingTheGoalClearsThePath() {
+		LpaStarPathFinder planner = new LpaStarPathFinder(FlatGrid.of(new int[][] {{1, 1, 1}}), new Node(0, 0), new Node(0, 2));
+		planner.computeShortestPath();
+		assertEquals(3, planner.path().size());
+
+		planner.setCell(0, 1, FlatGrid.WALL);
+		planner.computeShortestPath();
+
+		assertTrue(planner.path().isEmpty());
+		assertNull(planner.totalCost());
+	}
+
+	private static void assertMatchesDijkstra(LpaStarPathFinder planner, Node start, Node end) {
+		FlatGrid snapshot = planner.snapshot();
+		DijkstraPathFinder.DijkstraResult expected = IndexedDijkstraPathFinder.findPathWithStats(snapshot, start, end, null);
+		List<Node> path = planner.path();
+		assertEquals(expected.getPath().isEmpty(), path.isEmpty());
+		if (path.isEmpty()) {
+			return;
+		}
+		assertEquals(expected.getTotalCost(), planner.totalCost());
+		assertEquals(start, path.get(0));
+		assertEquals(end, path.get(path.size() - 1));
+		assertEquals(expected.getTotalCost(), TestGrids.pathCost(snapshot, path));
+	}
+}
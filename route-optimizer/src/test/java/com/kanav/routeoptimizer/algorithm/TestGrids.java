@@ -0,0 +1,50 @@
+package com.kanav.routeoptimizer.algorithm;
+
+import com.kanav.routeoptimizer.model.FlatGrid;
+import com.kanav.routeoptimizer.model.Node;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Random fixtures and path checks shared by the search engine tests.
+final class TestGrids {
+
+	private TestGrids() {
+	}
+
+	// Each cell is a wall with probability wallsInTen / 10; the rest are open, or open, traffic and heavy traffic alike.
+	static int[][] random(Random random, int rows, int cols, int wallsInTen, boolean weighted) {
+		int[][] grid = new int[rows][cols];
+		for (int r = 0; r < rows; r++) {
+			for (int c = 0; c < cols; c++) {
+				grid[r][c] = random.nextInt(10) < wallsInTen ? 0 : weighted ? 1 + random.nextInt(3) : 1;
+			}
+		}
+		return grid;
+	}
+
+	static FlatGrid randomFlat(Random random, int rows, int cols, int wallsInTen, boolean weighted) {
+		return FlatGrid.of(random(random, rows, cols, wallsInTen, weighted));
+	}
+
+	static int pathCost(int[][] grid, List<Node> path) {
+		return pathCost(FlatGrid.of(grid), path);
+	}
+
+	// Checks that consecutive cells are neighbours and passable, and sums the cost of entering each.
+	static int pathCost(FlatGrid grid, List<Node> path) {
+		int cost = 0;
+		for (int i = 1; i < path.size(); i++) {
+			Node previous = path.get(i - 1);
+			Node node = path.get(i);
+			assertEquals(1, Math.abs(previous.getRow() - node.getRow()) + Math.abs(previous.getCol() - node.getCol()));
+			int index = grid.index(node.getRow(), node.getCol());
+			assertTrue(grid.isPassable(index));
+			cost += FlatGrid.stepCost(grid.cell(index));
+		}
+		return cost;
+	}
+}
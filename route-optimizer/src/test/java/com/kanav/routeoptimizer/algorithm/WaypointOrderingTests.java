@@ -0,0 +1,87 @@
+package com.kanav.routeoptimizer.algorithm;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WaypointOrderingTests {
+
+	@Test
+	void ordersAreValidAndCloseToTheOptimum() {
+		Random random = new Random(24);
+		int optimal = 0;
+		int trials = 200;
+		for (int trial = 0; trial < trials; trial++) {
+			long[][] cost = asymmetricCosts(random, 3 + random.nextInt(7));
+			WaypointOrdering.Result result = WaypointOrdering.solve(cost, WaypointOrdering.NO_DEADLINE);
+
+			int[] order = result.getOrder();
+			boolean[] seen = new boolean[cost.length];
+			for (int node : order) {
+				assertTrue(!seen[node], "node visited twice");
+				seen[node] = true;
+			}
+			assertEquals(0, order[0]);
+			assertEquals(cost.length - 1, order[order.length - 1]);
+			assertEquals(WaypointOrdering.length(cost, order), result.getCost());
+			assertTrue(result.getCost() <= result.getInitialCost());
+
+			long best = bruteForce(cost, order.clone(), 1);
+			assertTrue(result.getCost() >= best);
+			if (result.getCost() == best) {
+				optimal++;
+			}
+		}
+		assertTrue(optimal >= trials * 3 / 4, "optimal in " + optimal + " of " + trials);
+	}
+
+	@Test
+	void stopsImprovingAtTheDeadline() {
+		long[][] cost = asymmetricCosts(new Random(25), 400);
+		WaypointOrdering.Result result = WaypointOrdering.solve(cost, System.nanoTime());
+
+		assertTrue(result.isTimedOut());
+		assertEquals(result.getInitialCost(), result.getCost());
+	}
+
+	// Points in the plane with a per-node entry charge, like grid costs where entering a cell costs that cell.
+	private static long[][] asymmetricCosts(Random random, int n) {
+		int[] x = new int[n];
+		int[] y = new int[n];
+		int[] entry = new int[n];
+		for (int i = 0; i < n; i++) {
+			x[i] = random.nextInt(100);
+			y[i] = random.nextInt(100);
+			entry[i] = random.nextInt(10);
+		}
+		long[][] cost = new long[n][n];
+		for (int from = 0; from < n; from++) {
+			for (int to = 0; to < n; to++) {
+				cost[from][to] = from == to ? 0 : Math.abs(x[from] - x[to]) + Math.abs(y[from] - y[to]) + entry[to];
+			}
+		}
+		return cost;
+	}
+
+	private static long bruteForce(long[][] cost, int[] order, int position) {
+		if (position >= order.length - 2) {
+			return WaypointOrdering.length(cost, order);
+		}
+		long best = Long.MAX_VALUE;
+		for (int i = position; i < order.length - 1; i++) {
+			swap(order, position, i);
+			best = Math.min(best, bruteForce(cost, order, position + 1));
+			swap(order, position, i);
+		}
+		return best;
+	}
+
+	private static void swap(int[] order, int i, int j) {
+		int swap = order[i];
+		order[i] = order[j];
+		order[j] = swap;
+	}
+}
@@ -0,0 +1,99 @@
+package com.kanav.routeoptimizer.codec;
+
+import com.kanav.routeoptimizer.dto.AlgorithmResult;
+import com.kanav.routeoptimizer.dto.PathRequest;
+import com.kanav.routeoptimizer.model.AStarHeuristic;
+import com.kanav.routeoptimizer.model.Algorithm;
+import com.kanav.routeoptimizer.model.Node;
+import com.kanav.routeoptimizer.model.PathFormat;
+import com.kanav.routeoptimizer.model.SearchEngine;
+import com.kanav.routeoptimizer.model.VisitedMode;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BinaryWireFormatTests {
+
+	@Test
+	void pathRequestRoundTripsWithPackedAndRunLengthGrids() throws IOException {
+		Random random = new Random(11);
+		for (int trial = 0; trial < 50; trial++) {
+			int rows = 1 + random.nextInt(40);
+			int cols = 1 + random.nextInt(40);
+			boolean sparse = trial % 2 == 0;
+			int[][] grid = new int[rows][cols];
+			for (int r = 0; r < rows; r++) {
+				for (int c = 0; c < cols; c++) {
+					grid[r][c] = sparse ? (random.nextInt(50) == 0 ? 0 : 1) : random.nextInt(4);
+				}
+			}
+			PathRequest request = new PathRequest(grid, null, "abc", 1, 2, 3, 4,
+					SearchEngine.BUCKET, AStarHeuristic.WEIGHTED, 2.5, VisitedMode.SAMPLE, null, 20,
+					PathFormat.TURN_POINTS, 5000, 250L, List.of(Algorithm.BFS, Algorithm.JPS));
+
+			PathRequest decoded = BinaryWireFormat.readPathRequest(input(out -> BinaryWireFormat.writePathRequest(request, out)));
+
+			assertArrayEquals(grid, decoded.getGrid());
+			assertNull(decoded.getGridId());
+			assertEquals(request, decoded);
+		}
+	}
+
+	@Test
+	void contiguousPathsUseTwoBitMoves() throws IOException {
+		List<Node> path = List.of(new Node(0, 0), new Node(1, 0), new Node(1, 1), new Node(0, 1), new Node(0, 0));
+		List<Node> visited = List.of(new Node(5, 5), new Node(2, 9), new Node(7, 0));
+		AlgorithmResult result = new AlgorithmResult(path, visited, 4, 3, 7, null);
+
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		BinaryWireFormat.writeNodes(path, new DataOutputStream(bytes));
+		// count, encoding, start row, start col, then one byte for four moves
+		assertEquals(5, bytes.size());
+
+		AlgorithmResult decoded = BinaryWireFormat.readAlgorithmResult(input(out -> BinaryWireFormat.writeAlgorithmResult(result, out)));
+		assertEquals(result, decoded);
+	}
+
+	@Test
+	void truncatedRunLengthDataIsRejected() {
+		byte[] body = {1, 0, 0, 0, 2, 0, 0, 0, 2, BinaryWireFormat.GRID_RLE, 1, 1, 3};
+		IOException error = assertThrows(IOException.class,
+				() -> BinaryWireFormat.readGridRegistration(new DataInputStream(new ByteArrayInputStream(body))));
+		assertTrue(error.getMessage().contains("covers 3 of 4"));
+	}
+
+	@Test
+	void oversizedHeadersAreRejectedBeforeAllocating() {
+		// 20000 x 20000 cells, run-length encoded as a single run of one value.
+		byte[] body = {2, 0, 0, 0x4e, 0x20, 0, 0, 0x4e, 0x20, BinaryWireFormat.GRID_RLE, 1, 1};
+		IOException error = assertThrows(IOException.class,
+				() -> BinaryWireFormat.readGridRegistration(new DataInputStream(new ByteArrayInputStream(body))));
+		assertTrue(error.getMessage().contains("exceeds the limit"));
+
+		byte[] small = {2, 0, 0, 0, 4, 0, 0, 0, 4, BinaryWireFormat.GRID_RLE, 1, 1, 16};
+		assertThrows(IOException.class,
+				() -> BinaryWireFormat.readGridRegistration(new DataInputStream(new ByteArrayInputStream(small)), 15));
+	}
+
+	private static DataInputStream input(Writer writer) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		writer.write(new DataOutputStream(bytes));
+		return new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+	}
+
+	private interface Writer {
+		void write(DataOutputStream out) throws IOException;
+	}
+}
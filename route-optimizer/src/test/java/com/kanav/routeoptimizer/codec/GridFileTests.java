@@ -0,0 +1,75 @@
+package com.kanav.routeoptimizer.codec;
+
+import com.kanav.routeoptimizer.algorithm.AStarPathFinder;
+import com.kanav.routeoptimizer.algorithm.DijkstraPathFinder;
+import com.kanav.routeoptimizer.algorithm.IndexedDijkstraPathFinder;
+import com.kanav.routeoptimizer.algorithm.SearchResult;
+import com.kanav.routeoptimizer.model.FlatGrid;
+import com.kanav.routeoptimizer.model.Node;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GridFileTests {
+
+	@TempDir
+	Path directory;
+
+	@Test
+	void mappedGridSearchesLikeTheHeapGrid() throws IOException {
+		Random random = new Random(21);
+		int rows = 60;
+		int cols = 45;
+		byte[] cells = new byte[rows * cols];
+		for (int i = 0; i < cells.length; i++) {
+			cells[i] = (byte) random.nextInt(5);
+		}
+		FlatGrid heap = new FlatGrid(rows, cols, cells);
+		Path file = directory.resolve("campus" + GridFile.EXTENSION);
+		GridFile.write(heap, file);
+
+		FlatGrid mapped = GridFile.map(file);
+
+		assertTrue(mapped.isOffHeap());
+		assertEquals(GridFile.sizeBytes(heap), Files.size(file));
+		assertEquals(heap.contentHash(), mapped.contentHash());
+		for (int trial = 0; trial < 30; trial++) {
+			Node start = new Node(random.nextInt(rows), random.nextInt(cols));
+			Node end = new Node(random.nextInt(rows), random.nextInt(cols));
+			DijkstraPathFinder.DijkstraResult expected = IndexedDijkstraPathFinder.findPathWithStats(heap, start, end, null);
+			DijkstraPathFinder.DijkstraResult actual = IndexedDijkstraPathFinder.findPathWithStats(mapped, start, end, null);
+			SearchResult astar = AStarPathFinder.findPathWithStats(mapped, start, end, null, null, null);
+			assertEquals(expected.getPath(), actual.getPath());
+			assertEquals(expected.getTotalCost(), actual.getTotalCost());
+			assertEquals(expected.getTotalCost(), astar.getTotalCost());
+		}
+	}
+
+	@Test
+	void rejectsFilesThatAreNotGrids() throws IOException {
+		Path oversized = directory.resolve("oversized" + GridFile.EXTENSION);
+		GridFile.write(new FlatGrid(4, 4, new byte[16]), oversized);
+		Files.write(oversized, new byte[]{1}, StandardOpenOption.APPEND);
+
+		Path invalid = directory.resolve("invalid" + GridFile.EXTENSION);
+		GridFile.write(new FlatGrid(4, 4, new byte[16]), invalid);
+		byte[] bytes = Files.readAllBytes(invalid);
+		bytes[bytes.length - 3] = 9;
+		Files.write(invalid, bytes);
+
+		Path empty = Files.write(directory.resolve("empty" + GridFile.EXTENSION), new byte[0]);
+
+		assertThrows(IOException.class, () -> GridFile.map(oversized));
+		assertThrows(IOException.class, () -> GridFile.map(invalid));
+		assertThrows(IOException.class, () -> GridFile.map(empty));
+	}
+}
@@ -0,0 +1,108 @@
+package com.kanav.routeoptimizer.codec;
+
+import com.kanav.routeoptimizer.algorithm.AStarPathFinder;
+import com.kanav.routeoptimizer.algorithm.DijkstraPathFinder;
+import com.kanav.routeoptimizer.algorithm.IndexedBFSPathFinder;
+import com.kanav.routeoptimizer.algorithm.IndexedDijkstraPathFinder;
+import com.kanav.routeoptimizer.model.FlatGrid;
+import com.kanav.routeoptimizer.model.Node;
+import com.kanav.routeoptimizer.model.TileCache;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TileFileTests {
+
+	@TempDir
+	Path directory;
+
+	@Test
+	void tiledGridReadsAndSearchesLikeTheFlatGrid() throws IOException {
+		Random random = new Random(22);
+		FlatGrid flat = campus(random, 150, 110);
+		Path file = directory.resolve("campus" + TileFile.EXTENSION);
+		TileFile.write(flat, 4, file);
+
+		FlatGrid tiled = TileFile.open(file, new TileCache(1 << 20));
+
+		assertTrue(tiled.isTiled());
+		assertTrue(tiled.getTileSet().uniformTiles() > 0);
+		assertEquals(flat.contentHash(), tiled.contentHash());
+		assertEquals(flat.minStepCost(), tiled.minStepCost());
+		for (int i = 0; i < flat.size(); i++) {
+			assertEquals(flat.cell(i), tiled.cell(i));
+		}
+		for (int trial = 0; trial < 30; trial++) {
+			Node start = new Node(random.nextInt(flat.getRows()), random.nextInt(flat.getCols()));
+			Node end = new Node(random.nextInt(flat.getRows()), random.nextInt(flat.getCols()));
+			DijkstraPathFinder.DijkstraResult expected = IndexedDijkstraPathFinder.findPathWithStats(flat, start, end, null);
+			assertEquals(expected.getPath(),
+					IndexedDijkstraPathFinder.findPathWithStats(tiled.forQuery(), start, end, null).getPath());
+			assertEquals(expected.getTotalCost(),
+					AStarPathFinder.findPathWithStats(tiled.forQuery(), start, end, null, null, null).getTotalCost());
+			assertEquals(IndexedBFSPathFinder.findPathWithStats(flat, start, end, null).getPath(),
+					IndexedBFSPathFinder.findPathWithStats(tiled.forQuery(), start, end, null).getPath());
+		}
+	}
+
+	@Test
+	void localQueriesOnlyReadNearbyTilesThroughABoundedCache() throws IOException {
+		FlatGrid flat = campus(new Random(3), 256, 256);
+		Path file = directory.resolve("large" + TileFile.EXTENSION);
+		TileFile.write(flat, 4, file);
+		TileCache cache = new TileCache(4 * 256);
+		FlatGrid tiled = TileFile.open(file, cache);
+
+		FlatGrid view = tiled.forQuery();
+		AStarPathFinder.findPathWithStats(view, new Node(40, 40), new Node(40, 60), null, null, null);
+
+		int tiles = tiled.getTileSet().tileCount();
+		assertTrue(view.tilesTouched() > 0 && view.tilesTouched() < tiles / 10, "touched " + view.tilesTouched());
+		assertTrue(view.tilesLoaded() <= view.tilesTouched());
+		assertTrue(cache.usedBytes() <= 4 * 256);
+
+		FlatGrid again = tiled.forQuery();
+		for (int i = 0; i < again.size(); i++) {
+			assertEquals(flat.cell(i), again.cell(i));
+		}
+		assertEquals(tiles, again.tilesTouched());
+		assertTrue(cache.usedBytes() <= 4 * 256);
+	}
+
+	@Test
+	void convertWritesATiledCopyOfAGridFileAndRejectsBadArguments() throws IOException {
+		FlatGrid flat = campus(new Random(4), 40, 30);
+		Path grid = directory.resolve("campus" + GridFile.EXTENSION);
+		Path tiles = directory.resolve("campus" + TileFile.EXTENSION);
+		GridFile.write(flat, grid);
+
+		TileFile.convert(grid, tiles, 16);
+		FlatGrid tiled = TileFile.open(tiles, new TileCache(1 << 20));
+		assertEquals(flat.contentHash(), tiled.contentHash());
+		assertEquals(4, tiled.getTileSet().getShift());
+
+		assertThrows(IllegalArgumentException.class, () -> TileFile.convert(grid, tiles, 24));
+		assertThrows(IllegalArgumentException.class, () -> TileFile.main(new String[]{grid.toString()}));
+	}
+
+	// Mostly open ground with walled blocks and a few traffic cells, so many tiles are uniform.
+	private static FlatGrid campus(Random random, int rows, int cols) {
+		byte[] cells = new byte[rows * cols];
+		for (int r = 0; r < rows; r++) {
+			for (int c = 0; c < cols; c++) {
+				boolean building = (r / 20) % 3 == 1 && (c / 20) % 3 == 1;
+				int roll = random.nextInt(60);
+				cells[r * cols + c] = building ? FlatGrid.WALL
+						: roll == 0 ? FlatGrid.TRAFFIC : roll == 1 && r > 100 ? FlatGrid.WALL : FlatGrid.OPEN;
+			}
+		}
+		return new FlatGrid(rows, cols, cells);
+	}
+}
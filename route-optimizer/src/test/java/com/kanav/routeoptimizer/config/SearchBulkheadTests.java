@@ -0,0 +1,90 @@
+package com.kanav.routeoptimizer.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SearchBulkheadTests {
+
+	@Test
+	void requestsBeyondTheLimitAreRejectedUntilAPermitFrees() throws Exception {
+		SearchBulkhead bulkhead = new SearchBulkhead(2, Duration.ZERO);
+		CountDownLatch running = new CountDownLatch(2);
+		CountDownLatch finish = new CountDownLatch(1);
+		AtomicInteger served = new AtomicInteger();
+
+		CompletableFuture<?>[] holders = new CompletableFuture<?>[2];
+		for (int i = 0; i < holders.length; i++) {
+			holders[i] = CompletableFuture.runAsync(() -> filter(bulkhead, () -> {
+				served.incrementAndGet();
+				running.countDown();
+				await(finish);
+			}));
+		}
+		assertTrue(running.await(5, TimeUnit.SECONDS));
+		assertEquals(2, bulkhead.active());
+
+		MockHttpServletResponse rejected = filter(bulkhead, served::incrementAndGet);
+
+		assertEquals(HttpStatus.TOO_MANY_REQUESTS.value(), rejected.getStatus());
+		assertEquals("1", rejected.getHeader(HttpHeaders.RETRY_AFTER));
+		assertEquals(1, bulkhead.rejected());
+		assertEquals(2, served.get());
+
+		finish.countDown();
+		CompletableFuture.allOf(holders).get(5, TimeUnit.SECONDS);
+		assertEquals(0, bulkhead.active());
+		assertEquals(HttpStatus.OK.value(), filter(bulkhead, served::incrementAndGet).getStatus());
+		assertEquals(3, served.get());
+	}
+
+	@Test
+	void acquireTimeoutWaitsForAPermitBeforeRejecting() throws Exception {
+		SearchBulkhead bulkhead = new SearchBulkhead(1, Duration.ofMillis(50));
+		CountDownLatch running = new CountDownLatch(1);
+		CountDownLatch finish = new CountDownLatch(1);
+		CompletableFuture<?> holder = CompletableFuture.runAsync(() -> filter(bulkhead, () -> {
+			running.countDown();
+			await(finish);
+		}));
+		assertTrue(running.await(5, TimeUnit.SECONDS));
+
+		long start = System.nanoTime();
+		MockHttpServletResponse rejected = filter(bulkhead, () -> { });
+
+		assertEquals(HttpStatus.TOO_MANY_REQUESTS.value(), rejected.getStatus());
+		assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(50));
+		finish.countDown();
+		holder.get(5, TimeUnit.SECONDS);
+	}
+
+	private static MockHttpServletResponse filter(SearchBulkhead bulkhead, Runnable handler) {
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		try {
+			bulkhead.doFilter(new MockHttpServletRequest("POST", "/api/path/dijkstra"), response,
+					(request, ignored) -> handler.run());
+		} catch (Exception e) {
+			throw new IllegalStateException(e);
+		}
+		return response;
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			assertTrue(latch.await(5, TimeUnit.SECONDS));
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
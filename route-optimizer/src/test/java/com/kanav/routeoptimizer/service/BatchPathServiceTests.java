@@ -0,0 +1,112 @@
+package com.kanav.routeoptimizer.service;
+
+import com.kanav.routeoptimizer.dto.AlgorithmResult;
+import com.kanav.routeoptimizer.dto.BatchQuery;
+import com.kanav.routeoptimizer.dto.BatchResponse;
+import com.kanav.routeoptimizer.model.Algorithm;
+import com.kanav.routeoptimizer.model.Node;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class BatchPathServiceTests {
+
+	private static final int[][] GRID = {
+			{1, 1, 1, 1},
+			{1, 0, 0, 1},
+			{1, 1, 1, 1},
+			{1, 3, 1, 1}
+	};
+
+	private final PathFindingService pathFindingService = new PathFindingService(
+			new PathResultCache(false, 0, 0, Duration.ZERO, true), Runnable::run,
+			SearchMetrics.disabled(), SearchLimits.none(), ComponentIndex.disabled(), LandmarkIndex.disabled());
+
+	@Test
+	void resultsFollowQueryOrderWhateverOrderTheyFinishIn() {
+		List<BatchQuery> queries = new ArrayList<>();
+		for (int row = 0; row < 4; row++) {
+			for (int col = 0; col < 4; col++) {
+				if (GRID[row][col] != 0 && row + col > 0) {
+					queries.add(new BatchQuery(0, 0, row, col, row % 2 == 0 ? Algorithm.BFS : null));
+				}
+			}
+		}
+		Collections.reverse(queries);
+		// Earlier queries sleep longer, so they finish last.
+		AtomicInteger submitted = new AtomicInteger();
+		ExecutorService pool = Executors.newFixedThreadPool(queries.size());
+		try {
+			BatchPathService batch = new BatchPathService(pathFindingService, task -> {
+				int delay = (queries.size() - submitted.getAndIncrement()) * 5;
+				pool.execute(() -> {
+					try {
+						Thread.sleep(delay);
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+					}
+					task.run();
+				});
+			}, 100, SearchMetrics.disabled());
+
+			BatchResponse response = batch.findPaths(GRID, queries, false, null);
+
+			assertEquals(queries.size(), response.getResults().size());
+			for (int i = 0; i < queries.size(); i++) {
+				BatchQuery query = queries.get(i);
+				AlgorithmResult result = response.getResults().get(i);
+				List<Node> path = result.getPath();
+				assertEquals(new Node(query.getEndRow(), query.getEndCol()), path.get(path.size() - 1));
+				Algorithm algorithm = query.getAlgorithm() == null ? Algorithm.DIJKSTRA : query.getAlgorithm();
+				assertEquals(algorithm == Algorithm.DIJKSTRA, result.getTotalCost() != null);
+			}
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+
+	@Test
+	void pathOnlyBatchesReturnPathsWithoutSearchDetail() {
+		BatchPathService batch = new BatchPathService(pathFindingService, Runnable::run, 10, SearchMetrics.disabled());
+
+		BatchResponse response = batch.findPaths(GRID,
+				List.of(new BatchQuery(0, 0, 3, 0, Algorithm.DIJKSTRA), new BatchQuery(0, 0, 3, 3, Algorithm.BFS)),
+				true, null);
+
+		assertNull(response.getResults());
+		assertEquals(2, response.getPaths().size());
+		assertEquals(3, response.getPaths().get(0).getPathLength());
+		assertEquals(3, response.getPaths().get(0).getTotalCost());
+		assertEquals(6, response.getPaths().get(1).getPathLength());
+	}
+
+	@Test
+	void batchesOverTheQueryLimitAreRejectedBeforeAnySearch() {
+		AtomicInteger submitted = new AtomicInteger();
+		BatchPathService batch = new BatchPathService(pathFindingService, task -> {
+			submitted.incrementAndGet();
+			task.run();
+		}, 2, SearchMetrics.disabled());
+		List<BatchQuery> queries = List.of(
+				new BatchQuery(0, 0, 0, 1, null), new BatchQuery(0, 0, 0, 2, null), new BatchQuery(0, 0, 0, 3, null));
+
+		ResponseStatusException error = assertThrows(ResponseStatusException.class,
+				() -> batch.findPaths(GRID, queries, false, null));
+
+		assertEquals(HttpStatus.BAD_REQUEST, error.getStatusCode());
+		assertEquals(0, submitted.get());
+		assertEquals(2, batch.findPaths(GRID, queries.subList(0, 2), false, null).getResults().size());
+	}
+}
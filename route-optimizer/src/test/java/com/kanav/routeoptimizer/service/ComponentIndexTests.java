@@ -0,0 +1,46 @@
+package com.kanav.routeoptimizer.service;
+
+import com.kanav.routeoptimizer.dto.CellPatch;
+import com.kanav.routeoptimizer.model.Algorithm;
+import com.kanav.routeoptimizer.model.Node;
+import com.kanav.routeoptimizer.model.RegisteredGrid;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ComponentIndexTests {
+
+	@Test
+	void gridsWithTheSameContentsKeepTheirLabelsWhenATwinIsPatchedOrRemoved() {
+		ComponentIndex components = new ComponentIndex(Runnable::run, true, 1 << 20);
+		GridRegistry registry = new GridRegistry(event -> components.onGridChanged((GridChangedEvent) event),
+				1 << 20, Duration.ofHours(1));
+		int[][] walled = new int[5][5];
+		for (int[] row : walled) {
+			Arrays.fill(row, 1);
+		}
+		for (int row = 0; row < 5; row++) {
+			walled[row][2] = 0;
+		}
+		RegisteredGrid first = registry.register(walled);
+		RegisteredGrid second = registry.register(walled);
+		Node start = new Node(0, 0);
+		Node end = new Node(0, 4);
+		assertEquals(1, components.size());
+
+		// Opening the wall in one grid must not relabel the other, which still has it.
+		RegisteredGrid opened = registry.patch(first.getId(), List.of(new CellPatch(2, 2, 1)));
+		assertFalse(components.disconnected(opened.getGrid(), start, end, Algorithm.BFS));
+		assertTrue(components.disconnected(second.getGrid(), start, end, Algorithm.BFS));
+
+		registry.remove(first.getId());
+		assertTrue(components.disconnected(second.getGrid(), start, end, Algorithm.BFS));
+		assertEquals(1, components.size());
+	}
+}
@@ -0,0 +1,91 @@
+package com.kanav.routeoptimizer.service;
+
+import com.kanav.routeoptimizer.codec.TileFile;
+import com.kanav.routeoptimizer.dto.DistanceFieldResponse;
+import com.kanav.routeoptimizer.dto.GridPoint;
+import com.kanav.routeoptimizer.dto.PathResponse;
+import com.kanav.routeoptimizer.model.Algorithm;
+import com.kanav.routeoptimizer.model.FlatGrid;
+import com.kanav.routeoptimizer.model.TileCache;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class DistanceFieldServiceTests {
+
+	private static final int[][] GRID = {
+			{1, 1, 1, 1},
+			{1, 0, 0, 1},
+			{1, 2, 1, 1}
+	};
+
+	@TempDir
+	Path directory;
+
+	private final DistanceFieldService service = new DistanceFieldService(1 << 20);
+
+	@Test
+	void everySourceSetGetsItsOwnFieldAndRepeatsReuseIt() {
+		DistanceFieldResponse corner = service.build(GRID, List.of(new GridPoint(0, 0)), null, false);
+		DistanceFieldResponse both = service.build(GRID, List.of(new GridPoint(2, 3), new GridPoint(0, 0)), null, false);
+		DistanceFieldResponse bfs = service.build(GRID, List.of(new GridPoint(0, 0)), Algorithm.BFS, false);
+		DistanceFieldResponse again = service.build(GRID,
+				List.of(new GridPoint(0, 0), new GridPoint(2, 3), new GridPoint(0, 0)), null, false);
+
+		assertNotEquals(corner.getFieldId(), both.getFieldId());
+		assertNotEquals(corner.getFieldId(), bfs.getFieldId());
+		assertEquals(both.getFieldId(), again.getFieldId());
+		assertEquals(3, service.size());
+
+		service.remove(both.getFieldId());
+		DistanceFieldResponse rebuilt = service.build(GRID, List.of(new GridPoint(0, 0), new GridPoint(2, 3)), null, false);
+		assertNotEquals(both.getFieldId(), rebuilt.getFieldId());
+		assertEquals(3, service.size());
+	}
+
+	@Test
+	void pathLengthCountsStepsNotCells() {
+		DistanceFieldResponse field = service.build(GRID, List.of(new GridPoint(0, 0)), Algorithm.DIJKSTRA, false);
+
+		PathResponse path = service.pathFrom(field.getFieldId(), 2, 1);
+		PathResponse source = service.pathFrom(field.getFieldId(), 0, 0);
+
+		assertEquals(4, path.getPath().size());
+		assertEquals(3, path.getPathLength());
+		assertEquals(3, path.getTotalCost());
+		assertEquals(0, source.getPathLength());
+	}
+
+	@Test
+	void fieldsLargerThanTheBudgetAreRejectedRatherThanGivenAnIdThatIsNotStored() {
+		DistanceFieldService small = new DistanceFieldService(12 * 8 - 1);
+
+		ResponseStatusException error = assertThrows(ResponseStatusException.class,
+				() -> small.build(GRID, List.of(new GridPoint(0, 0)), null, false));
+
+		assertEquals(HttpStatus.CONTENT_TOO_LARGE, error.getStatusCode());
+		assertEquals(0, small.size());
+		assertEquals(0, small.usedBytes());
+	}
+
+	@Test
+	void tiledGridsAreRejectedInsteadOfReadInFull() throws IOException {
+		Path file = directory.resolve("grid" + TileFile.EXTENSION);
+		TileFile.write(FlatGrid.of(GRID), 1, file);
+		FlatGrid tiled = TileFile.open(file, new TileCache(1 << 16));
+
+		ResponseStatusException error = assertThrows(ResponseStatusException.class,
+				() -> service.build(tiled, List.of(new GridPoint(0, 0)), null, false));
+		assertEquals(HttpStatus.BAD_REQUEST, error.getStatusCode());
+		assertEquals(0, service.size());
+	}
+}
@@ -0,0 +1,175 @@
+package com.kanav.routeoptimizer.service;
+
+import com.kanav.routeoptimizer.dto.CellPatch;
+import com.kanav.routeoptimizer.model.Algorithm;
+import com.kanav.routeoptimizer.model.FlatGrid;
+import com.kanav.routeoptimizer.model.Node;
+import com.kanav.routeoptimizer.model.RegisteredGrid;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GridRegistryTests {
+
+	@Test
+	void evictsLeastRecentlyUsedGridWhenOverBudget() {
+		GridRegistry registry = new GridRegistry(event -> { }, 200, Duration.ofHours(1));
+		RegisteredGrid first = registry.register(openGrid(10, 10));
+		RegisteredGrid second = registry.register(openGrid(10, 10));
+		registry.get(first.getId());
+
+		registry.register(openGrid(10, 10));
+
+		assertEquals(2, registry.size());
+		assertEquals(200, registry.usedBytes());
+		assertEquals(first.getVersion(), registry.get(first.getId()).getVersion());
+		assertThrows(ResponseStatusException.class, () -> registry.get(second.getId()));
+	}
+
+	@Test
+	void replacingContentsChangesVersion() {
+		GridRegistry registry = new GridRegistry(event -> { }, 1_000, Duration.ofHours(1));
+		RegisteredGrid original = registry.register(openGrid(5, 5));
+		int[][] changed = openGrid(5, 5);
+		changed[2][2] = 0;
+
+		RegisteredGrid replaced = registry.replace(original.getId(), changed);
+
+		assertEquals(original.getId(), replaced.getId());
+		assertNotEquals(original.getVersion(), replaced.getVersion());
+		assertThrows(ResponseStatusException.class, () -> registry.get(original.getId(), original.getVersion()));
+	}
+
+	@Test
+	void patchesKeepComponentLabelsCurrent() {
+		ComponentIndex components = new ComponentIndex(Runnable::run, true, 1_000_000);
+		GridRegistry registry = new GridRegistry(event -> components.onGridChanged((GridChangedEvent) event),
+				1_000, Duration.ofHours(1));
+		int[][] walled = openGrid(5, 5);
+		for (int row = 0; row < 4; row++) {
+			walled[row][2] = 0;
+		}
+		RegisteredGrid grid = registry.register(walled);
+		Node start = new Node(0, 0);
+		Node end = new Node(0, 4);
+		assertFalse(components.disconnected(grid.getGrid(), start, end, Algorithm.BFS));
+
+		RegisteredGrid blocked = registry.patch(grid.getId(), List.of(new CellPatch(4, 2, 0)));
+		assertTrue(components.disconnected(blocked.getGrid(), start, end, Algorithm.BFS));
+		assertTrue(components.disconnected(blocked.getGrid(), start, end, Algorithm.DIJKSTRA));
+
+		RegisteredGrid traffic = registry.patch(grid.getId(), List.of(new CellPatch(2, 2, 2)));
+		assertTrue(components.disconnected(traffic.getGrid(), start, end, Algorithm.BFS));
+		assertFalse(components.disconnected(traffic.getGrid(), start, end, Algorithm.ASTAR));
+		assertEquals(1, components.size());
+	}
+
+	@Test
+	void concurrentPatchesAllLandAndAPatchAfterRemovalIsNotFound() throws Exception {
+		int threads = 8;
+		int rows = 50;
+		AtomicInteger reportedCells = new AtomicInteger();
+		GridRegistry registry = new GridRegistry(event -> {
+			int[] changed = ((GridChangedEvent) event).getChangedCells();
+			if (changed != null) {
+				reportedCells.addAndGet(changed.length);
+			}
+		}, 1_000_000, Duration.ofHours(1));
+		RegisteredGrid grid = registry.register(openGrid(rows, threads));
+		CyclicBarrier start = new CyclicBarrier(threads);
+		ExecutorService pool = Executors.newFixedThreadPool(threads);
+		try {
+			List<Future<?>> patches = new ArrayList<>();
+			for (int t = 0; t < threads; t++) {
+				int col = t;
+				patches.add(pool.submit(() -> {
+					start.await();
+					for (int row = 0; row < rows; row++) {
+						registry.patch(grid.getId(), List.of(new CellPatch(row, col, 0)));
+					}
+					return null;
+				}));
+			}
+			for (Future<?> patch : patches) {
+				patch.get();
+			}
+		} finally {
+			pool.shutdownNow();
+		}
+
+		FlatGrid patched = registry.get(grid.getId()).getGrid();
+		for (int i = 0; i < patched.size(); i++) {
+			assertEquals(FlatGrid.WALL, patched.cell(i));
+		}
+		assertEquals(rows * threads, reportedCells.get());
+
+		registry.remove(grid.getId());
+		ResponseStatusException error = assertThrows(ResponseStatusException.class,
+				() -> registry.patch(grid.getId(), List.of(new CellPatch(0, 0, 1))));
+		assertEquals(HttpStatus.NOT_FOUND, error.getStatusCode());
+		assertEquals(0, registry.size());
+	}
+
+	@Test
+	void offHeapGridsStayOutsideTheHeapBudget() {
+		GridRegistry registry = new GridRegistry(event -> { }, 200, Duration.ofHours(1));
+		ByteBuffer cells = ByteBuffer.allocateDirect(400);
+		for (int i = 0; i < 400; i++) {
+			cells.put(i, FlatGrid.OPEN);
+		}
+		RegisteredGrid mapped = registry.load("campus", new FlatGrid(20, 20, cells));
+		registry.register(openGrid(10, 10));
+		registry.register(openGrid(10, 10));
+		registry.register(openGrid(10, 10));
+
+		assertEquals(200, registry.usedBytes());
+		assertEquals(mapped.getVersion(), registry.get("campus").getVersion());
+
+		ResponseStatusException tooLarge = assertThrows(ResponseStatusException.class,
+				() -> registry.patch("campus", List.of(new CellPatch(3, 3, 0))));
+		assertEquals(HttpStatus.CONTENT_TOO_LARGE, tooLarge.getStatusCode());
+		assertEquals(mapped.getVersion(), registry.get("campus").getVersion());
+	}
+
+	@Test
+	void patchingAnOffHeapGridCopiesItOntoTheHeapBudget() {
+		GridRegistry registry = new GridRegistry(event -> { }, 1_000, Duration.ofHours(1));
+		ByteBuffer cells = ByteBuffer.allocateDirect(400);
+		for (int i = 0; i < 400; i++) {
+			cells.put(i, FlatGrid.OPEN);
+		}
+		RegisteredGrid mapped = registry.load("campus", new FlatGrid(20, 20, cells));
+
+		RegisteredGrid patched = registry.patch("campus", List.of(new CellPatch(3, 3, 0)));
+
+		assertFalse(patched.getGrid().isOffHeap());
+		assertEquals(400, registry.usedBytes());
+		assertEquals(FlatGrid.WALL, patched.getGrid().cell(patched.getGrid().index(3, 3)));
+		assertEquals(FlatGrid.OPEN, mapped.getGrid().cell(mapped.getGrid().index(3, 3)));
+	}
+
+	private static int[][] openGrid(int rows, int cols) {
+		int[][] grid = new int[rows][cols];
+		for (int[] row : grid) {
+			Arrays.fill(row, 1);
+		}
+		return grid;
+	}
+}
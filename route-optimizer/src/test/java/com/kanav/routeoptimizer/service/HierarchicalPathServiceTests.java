@@ -0,0 +1,44 @@
+package com.kanav.routeoptimizer.service;
+
+import com.kanav.routeoptimizer.codec.TileFile;
+import com.kanav.routeoptimizer.dto.HierarchicalPathResponse;
+import com.kanav.routeoptimizer.model.FlatGrid;
+import com.kanav.routeoptimizer.model.TileCache;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class HierarchicalPathServiceTests {
+
+	private static final int[][] GRID = {
+			{1, 1, 1, 1},
+			{1, 0, 0, 1},
+			{1, 1, 1, 1}
+	};
+
+	@TempDir
+	Path directory;
+
+	private final HierarchicalPathService service = new HierarchicalPathService(Runnable::run, 2, 4);
+
+	@Test
+	void tiledGridsAreRejectedInsteadOfBuildingAGraphOverEveryTile() throws IOException {
+		Path file = directory.resolve("grid" + TileFile.EXTENSION);
+		TileFile.write(FlatGrid.of(GRID), 1, file);
+		FlatGrid tiled = TileFile.open(file, new TileCache(1 << 16));
+
+		ResponseStatusException error = assertThrows(ResponseStatusException.class,
+				() -> service.findPath(tiled, 0, 0, 2, 3));
+		assertEquals(HttpStatus.BAD_REQUEST, error.getStatusCode());
+
+		HierarchicalPathResponse flat = service.findPath(FlatGrid.of(GRID), 0, 0, 2, 3);
+		assertEquals(5, flat.getPathLength());
+	}
+}
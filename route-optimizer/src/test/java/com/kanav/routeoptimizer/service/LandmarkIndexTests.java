@@ -0,0 +1,77 @@
+package com.kanav.routeoptimizer.service;
+
+import com.kanav.routeoptimizer.model.FlatGrid;
+import com.kanav.routeoptimizer.model.RegisteredGrid;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LandmarkIndexTests {
+
+	@Test
+	void gridsWithTheSameContentsShareTablesUntilTheLastOneGoes() {
+		LandmarkIndex landmarks = new LandmarkIndex(Runnable::run, true, 4, 1 << 20);
+		GridRegistry registry = new GridRegistry(event -> landmarks.onGridChanged((GridChangedEvent) event),
+				1 << 20, Duration.ofHours(1));
+		RegisteredGrid first = registry.register(openGrid(8, 8));
+		RegisteredGrid second = registry.register(openGrid(8, 8));
+		assertEquals(1, landmarks.size());
+
+		registry.remove(first.getId());
+		assertNotNull(landmarks.ready(second.getGrid()));
+
+		registry.replace(second.getId(), openGrid(9, 9));
+		assertNull(landmarks.ready(first.getGrid()));
+		assertEquals(1, landmarks.size());
+	}
+
+	@Test
+	void buildsStartedOnTheRegisteringThreadDoNotBlockLookups() throws Exception {
+		CountDownLatch building = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		// Runs tasks on the calling thread, as a saturated pool with CallerRunsPolicy does, and holds the first.
+		Executor callerRuns = task -> {
+			if (building.getCount() > 0) {
+				building.countDown();
+				try {
+					release.await(10, TimeUnit.SECONDS);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}
+			task.run();
+		};
+		LandmarkIndex landmarks = new LandmarkIndex(callerRuns, true, 4, 1 << 20);
+		FlatGrid grid = FlatGrid.of(openGrid(8, 8));
+		RegisteredGrid registered = new RegisteredGrid("campus", grid, 0L);
+
+		CompletableFuture<Void> registering = CompletableFuture.runAsync(
+				() -> landmarks.onGridChanged(new GridChangedEvent("campus", null, registered)));
+		assertTrue(building.await(10, TimeUnit.SECONDS));
+
+		assertNull(CompletableFuture.supplyAsync(() -> landmarks.ready(grid)).get(5, TimeUnit.SECONDS));
+		assertTrue(CompletableFuture.supplyAsync(() -> landmarks.isBuilding(grid)).get(5, TimeUnit.SECONDS));
+
+		release.countDown();
+		registering.get(10, TimeUnit.SECONDS);
+		assertNotNull(landmarks.ready(grid));
+	}
+
+	private static int[][] openGrid(int rows, int cols) {
+		int[][] grid = new int[rows][cols];
+		for (int[] row : grid) {
+			Arrays.fill(row, 1);
+		}
+		return grid;
+	}
+}
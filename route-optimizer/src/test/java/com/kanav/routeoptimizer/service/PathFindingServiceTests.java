@@ -0,0 +1,231 @@
+package com.kanav.routeoptimizer.service;
+
+import com.kanav.routeoptimizer.algorithm.ExpansionSink;
+import com.kanav.routeoptimizer.dto.AlgorithmResult;
+import com.kanav.routeoptimizer.dto.ComparisonResponse;
+import com.kanav.routeoptimizer.dto.SearchOptions;
+import com.kanav.routeoptimizer.model.Algorithm;
+import com.kanav.routeoptimizer.model.FlatGrid;
+import com.kanav.routeoptimizer.model.Node;
+import com.kanav.routeoptimizer.model.PathFormat;
+import com.kanav.routeoptimizer.model.RegisteredGrid;
+import com.kanav.routeoptimizer.model.SearchStatus;
+import com.kanav.routeoptimizer.model.VisitedMode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PathFindingServiceTests {
+
+	private static final int[][] GRID = {
+			{1, 1, 1, 1},
+			{0, 0, 0, 1},
+			{1, 1, 1, 1},
+			{1, 0, 0, 0}
+	};
+
+	private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+	private final PathFindingService service = new PathFindingService(
+			new PathResultCache(true, 100, 10_000, Duration.ofMinutes(1), true), Runnable::run,
+			new SearchMetrics(registry), SearchLimits.none(), ComponentIndex.disabled(),
+			LandmarkIndex.disabled());
+
+	@Test
+	void visitedTrackingCanBeSkippedOrTrimmed() {
+		AlgorithmResult full = search(Algorithm.DIJKSTRA, options(VisitedMode.ALL, null, null, null));
+		AlgorithmResult none = search(Algorithm.DIJKSTRA, options(VisitedMode.NONE, null, null, null));
+		AlgorithmResult first = search(Algorithm.DIJKSTRA, options(VisitedMode.FIRST, 3, null, null));
+		AlgorithmResult sampled = search(Algorithm.DIJKSTRA, options(VisitedMode.SAMPLE, null, 2, null));
+
+		assertTrue(none.getVisited().isEmpty());
+		assertEquals(full.getNodesVisited(), none.getNodesVisited());
+		assertEquals(full.getTotalCost(), none.getTotalCost());
+		assertEquals(full.getVisited().subList(0, 3), first.getVisited());
+		assertEquals(full.getVisited().get(2), sampled.getVisited().get(1));
+		assertEquals((full.getNodesVisited() + 1) / 2, sampled.getVisited().size());
+	}
+
+	@Test
+	void turnPointPathsKeepEndpointsAndCorners() {
+		AlgorithmResult result = search(Algorithm.BFS, options(VisitedMode.NONE, null, null, PathFormat.TURN_POINTS));
+
+		assertEquals(List.of(new Node(0, 0), new Node(0, 3), new Node(2, 3), new Node(2, 0), new Node(3, 0)),
+				result.getPath());
+		assertEquals(9, result.getPathLength());
+	}
+
+	@Test
+	void metricsRecordSearchesButNotCacheHits() {
+		SearchOptions options = options(VisitedMode.NONE, null, null, null);
+		AlgorithmResult result = search(Algorithm.DIJKSTRA, options);
+		search(Algorithm.DIJKSTRA, options);
+
+		assertEquals(1, registry.get("routr.search").tags("algorithm", "dijkstra", "engine", "indexed").timer().count());
+		assertEquals(result.getNodesVisited(),
+				registry.get("routr.search.nodes.expanded").summary().totalAmount());
+		assertEquals(16, registry.get("routr.search.grid.cells").summary().totalAmount());
+		assertEquals(result.getPathLength(), registry.get("routr.search.path.length").summary().totalAmount());
+		assertTrue(registry.get("routr.search.queue.peak").summary().max() >= 1);
+		assertEquals(1, registry.get("routr.search.results").tag("outcome", "found").counter().count());
+	}
+
+	@Test
+	void exhaustedBudgetReturnsPartialResultThatIsNotCached() {
+		SearchOptions budgeted = options(VisitedMode.ALL, null, null, null);
+		budgeted.setMaxExpandedNodes(4);
+
+		AlgorithmResult partial = search(Algorithm.DIJKSTRA, budgeted);
+		AlgorithmResult full = search(Algorithm.DIJKSTRA, options(VisitedMode.ALL, null, null, null));
+
+		assertEquals(SearchStatus.BUDGET_EXCEEDED, partial.getStatus());
+		assertTrue(partial.getPath().isEmpty());
+		assertEquals(4, partial.getNodesVisited());
+		assertEquals(full.getVisited().subList(0, 4), partial.getVisited());
+		assertNotNull(partial.getClosest());
+		assertEquals(SearchStatus.FOUND, full.getStatus());
+		assertEquals(1, registry.get("routr.search.results").tag("outcome", "budget_exceeded").counter().count());
+	}
+
+	@Test
+	void serverLimitCapsLargerRequestedBudgets() {
+		PathFindingService capped = new PathFindingService(
+				new PathResultCache(false, 0, 0, Duration.ZERO, true), Runnable::run,
+				SearchMetrics.disabled(), new SearchLimits(3, Duration.ZERO), ComponentIndex.disabled(),
+				LandmarkIndex.disabled());
+		SearchOptions options = options(VisitedMode.NONE, null, null, null);
+		options.setMaxExpandedNodes(100);
+
+		AlgorithmResult result = capped.findPath(GRID, 0, 0, 3, 0, Algorithm.BFS, options);
+
+		assertEquals(SearchStatus.BUDGET_EXCEEDED, result.getStatus());
+		assertEquals(3, result.getNodesVisited());
+	}
+
+	@Test
+	void serverLimitsApplyToSearchesWithoutOptions() {
+		PathFindingService limited = new PathFindingService(
+				new PathResultCache(false, 0, 0, Duration.ZERO, true), Runnable::run,
+				SearchMetrics.disabled(), new SearchLimits(1000, Duration.ZERO), ComponentIndex.disabled(),
+				LandmarkIndex.disabled());
+		PathFindingService tight = new PathFindingService(
+				new PathResultCache(false, 0, 0, Duration.ZERO, true), Runnable::run,
+				SearchMetrics.disabled(), new SearchLimits(3, Duration.ZERO), ComponentIndex.disabled(),
+				LandmarkIndex.disabled());
+
+		for (AlgorithmResult result : List.of(
+				limited.findShortestPathJumpPointWithStats(GRID, 0, 0, 3, 0),
+				limited.findShortestPathBidirectionalBfsWithStats(GRID, 0, 0, 3, 0),
+				limited.findShortestPathBidirectionalDijkstraWithStats(GRID, 0, 0, 3, 0))) {
+			assertEquals(SearchStatus.FOUND, result.getStatus());
+			assertEquals(9, result.getPathLength());
+		}
+		AlgorithmResult stopped = tight.findPath(GRID, 0, 0, 3, 0, Algorithm.DIJKSTRA, null);
+		assertEquals(SearchStatus.BUDGET_EXCEEDED, stopped.getStatus());
+		assertEquals(3, stopped.getNodesVisited());
+	}
+
+	@Test
+	void jumpPointSearchIsNotCutOffByTrafficBetweenOpenRegions() {
+		FlatGrid grid = FlatGrid.of(new int[][]{{1, 2, 1}});
+		ComponentIndex components = new ComponentIndex(Runnable::run, true, 1 << 20);
+		components.onGridChanged(new GridChangedEvent("g", null, new RegisteredGrid("g", grid, 0)));
+		PathFindingService indexed = new PathFindingService(
+				new PathResultCache(false, 0, 0, Duration.ZERO, true), Runnable::run, SearchMetrics.disabled(),
+				SearchLimits.none(), components, LandmarkIndex.disabled());
+
+		AlgorithmResult jps = indexed.findPath(grid, 0, 0, 0, 2, Algorithm.JPS, null);
+		AlgorithmResult bfs = indexed.findPath(grid, 0, 0, 0, 2, Algorithm.BFS, null);
+
+		assertEquals(SearchStatus.FOUND, jps.getStatus());
+		assertEquals(6, jps.getTotalCost());
+		assertEquals(2, jps.getPathLength());
+		// BFS only walks open cells, so the labels still answer it without a search.
+		assertTrue(bfs.getPath().isEmpty());
+		assertEquals(0, bfs.getNodesVisited());
+	}
+
+	@Test
+	void passedDeadlineStopsTheSearchAtTheNextClockCheck() {
+		int[][] open = new int[40][40];
+		for (int[] row : open) {
+			Arrays.fill(row, 1);
+		}
+		SearchOptions options = options(VisitedMode.NONE, null, null, null);
+		options.setDeadlineMs(1L);
+		// The first expansion outlasts the deadline; the sink only reads the clock every 1024 expansions.
+		ExpansionSink slowStart = new ExpansionSink() {
+			@Override
+			public void expanded(int index) {
+				if (index == 0) {
+					try {
+						Thread.sleep(5);
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+					}
+				}
+			}
+		};
+
+		AlgorithmResult result = service.run(FlatGrid.of(open), new Node(0, 0), new Node(39, 39), Algorithm.BFS,
+				options, slowStart);
+
+		assertEquals(SearchStatus.DEADLINE_EXCEEDED, result.getStatus());
+		assertEquals(1024, result.getNodesVisited());
+		assertTrue(result.getPath().isEmpty());
+		assertNotNull(result.getClosest());
+	}
+
+	@Test
+	void compareRunsEveryAlgorithmAtOnceAndKeepsRequestOrder() {
+		List<Algorithm> algorithms = List.of(Algorithm.DIJKSTRA, Algorithm.BFS, Algorithm.ASTAR, Algorithm.BFS);
+		// Each task waits until all three are running, so a sequential compare would time out here.
+		CyclicBarrier allStarted = new CyclicBarrier(3);
+		ExecutorService pool = Executors.newFixedThreadPool(3);
+		try {
+			PathFindingService concurrent = new PathFindingService(
+					new PathResultCache(false, 0, 0, Duration.ZERO, true), task -> pool.execute(() -> {
+						try {
+							allStarted.await(5, TimeUnit.SECONDS);
+						} catch (Exception e) {
+							throw new IllegalStateException(e);
+						}
+						task.run();
+					}), SearchMetrics.disabled(), SearchLimits.none(), ComponentIndex.disabled(),
+					LandmarkIndex.disabled());
+
+			ComparisonResponse response = concurrent.compareAlgorithms(GRID, 0, 0, 3, 0, algorithms, null);
+
+			assertEquals(List.of("DIJKSTRA", "BFS", "ASTAR"), List.copyOf(response.getResults().keySet()));
+			for (Algorithm algorithm : List.of(Algorithm.DIJKSTRA, Algorithm.BFS, Algorithm.ASTAR)) {
+				AlgorithmResult expected = search(algorithm, null);
+				AlgorithmResult actual = response.getResults().get(algorithm.name());
+				assertEquals(expected.getPath(), actual.getPath());
+				assertEquals(expected.getNodesVisited(), actual.getNodesVisited());
+			}
+			assertEquals(response.getResults().get("BFS"), response.getBfsResult());
+			assertEquals(response.getResults().get("DIJKSTRA"), response.getDijkstraResult());
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+
+	private AlgorithmResult search(Algorithm algorithm, SearchOptions options) {
+		return service.findPath(GRID, 0, 0, 3, 0, algorithm, options);
+	}
+
+	private static SearchOptions options(VisitedMode visited, Integer limit, Integer rate, PathFormat format) {
+		return new SearchOptions(null, null, null, visited, limit, rate, format, null, null);
+	}
+}
@@ -0,0 +1,85 @@
+package com.kanav.routeoptimizer.service;
+
+import com.kanav.routeoptimizer.dto.AlgorithmResult;
+import com.kanav.routeoptimizer.model.Algorithm;
+import com.kanav.routeoptimizer.model.FlatGrid;
+import com.kanav.routeoptimizer.model.Node;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PathResultCacheTests {
+
+	@Test
+	void countsHitsAndMissesAndEvictsLeastRecentlyUsed() {
+		PathResultCache cache = new PathResultCache(true, 2, 1_000, Duration.ofMinutes(1), true);
+		AlgorithmResult first = result(3);
+		cache.getOrCompute(key(1), () -> first);
+		cache.getOrCompute(key(2), () -> result(3));
+		assertSame(first, cache.getOrCompute(key(1), () -> result(3)));
+
+		cache.getOrCompute(key(3), () -> result(3));
+
+		assertNull(cache.get(key(2)));
+		assertEquals(1, cache.stats().getHits());
+		assertEquals(4, cache.stats().getMisses());
+		assertEquals(1, cache.stats().getEvictions());
+	}
+
+	@Test
+	void respectsByteBudgetAndCanDropVisited() {
+		PathResultCache cache = new PathResultCache(true, 100, 700, Duration.ofMinutes(1), false);
+		cache.put(key(1), result(4));
+		cache.put(key(2), result(4));
+
+		assertTrue(cache.stats().getBytes() <= 700);
+		assertEquals(1, cache.stats().getSize());
+		assertTrue(cache.get(key(2)).getVisited().isEmpty());
+	}
+
+	@Test
+	void entriesLargerThanTheBudgetAreNotStored() {
+		PathResultCache cache = new PathResultCache(true, 100, 1_000, Duration.ofMinutes(1), true);
+		cache.put(key(1), result(40));
+
+		assertNull(cache.get(key(1)));
+		assertEquals(0, cache.stats().getBytes());
+	}
+
+	@Test
+	void expiresEntriesAfterTtl() {
+		PathResultCache cache = new PathResultCache(true, 100, 1_000, Duration.ZERO, true);
+		cache.put(key(1), result(1));
+
+		assertNull(cache.get(key(1)));
+	}
+
+	@Test
+	void contentHashTracksGridContents() {
+		int[][] grid = {{1, 1}, {2, 0}};
+		int[][] changed = {{1, 1}, {3, 0}};
+
+		assertEquals(FlatGrid.of(grid).contentHash(), FlatGrid.contentHash(grid));
+		assertNotEquals(FlatGrid.contentHash(grid), FlatGrid.contentHash(changed));
+	}
+
+	private static PathCacheKey key(int endCol) {
+		return new PathCacheKey(42L, 0, 0, 0, endCol, Algorithm.BFS, null);
+	}
+
+	private static AlgorithmResult result(int nodes) {
+		List<Node> path = new ArrayList<>();
+		for (int i = 0; i < nodes; i++) {
+			path.add(new Node(0, i));
+		}
+		return new AlgorithmResult(path, new ArrayList<>(path), nodes - 1, nodes, 1, null);
+	}
+}
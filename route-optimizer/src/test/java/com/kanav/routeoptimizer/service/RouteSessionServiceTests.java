@@ -0,0 +1,47 @@
+package com.kanav.routeoptimizer.service;
+
+import com.kanav.routeoptimizer.codec.TileFile;
+import com.kanav.routeoptimizer.dto.RouteSessionResponse;
+import com.kanav.routeoptimizer.model.FlatGrid;
+import com.kanav.routeoptimizer.model.Node;
+import com.kanav.routeoptimizer.model.TileCache;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class RouteSessionServiceTests {
+
+	private static final int[][] GRID = {
+			{1, 1, 1, 1},
+			{1, 0, 0, 1},
+			{1, 1, 1, 1}
+	};
+
+	@TempDir
+	Path directory;
+
+	private final RouteSessionService service = new RouteSessionService(1 << 20, Duration.ofMinutes(5));
+
+	@Test
+	void tiledGridsAreRejectedInsteadOfCopiedOntoTheHeap() throws IOException {
+		Path file = directory.resolve("grid" + TileFile.EXTENSION);
+		TileFile.write(FlatGrid.of(GRID), 1, file);
+		FlatGrid tiled = TileFile.open(file, new TileCache(1 << 16));
+
+		ResponseStatusException error = assertThrows(ResponseStatusException.class,
+				() -> service.open(tiled, new Node(0, 0), new Node(2, 3)));
+		assertEquals(HttpStatus.BAD_REQUEST, error.getStatusCode());
+		assertEquals(0, service.size());
+
+		RouteSessionResponse flat = service.open(FlatGrid.of(GRID), new Node(0, 0), new Node(2, 3));
+		assertEquals(5, flat.getPathLength());
+	}
+}
@@ -0,0 +1,91 @@
+package com.kanav.routeoptimizer.service;
+
+import com.kanav.routeoptimizer.dto.SearchOptions;
+import com.kanav.routeoptimizer.model.Algorithm;
+import com.kanav.routeoptimizer.model.FlatGrid;
+import com.kanav.routeoptimizer.model.Node;
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SearchStreamServiceTests {
+
+	private static final int[][] GRID = {
+			{1, 1, 1, 1, 1},
+			{1, 0, 0, 0, 1},
+			{1, 1, 1, 0, 1},
+			{0, 0, 1, 0, 1},
+			{1, 1, 1, 1, 1}
+	};
+
+	private final JsonMapper jsonMapper = JsonMapper.builder().build();
+
+	private final SearchStreamService service = new SearchStreamService(new PathFindingService(
+			new PathResultCache(false, 0, 0, Duration.ZERO, true), Runnable::run, SearchMetrics.disabled(),
+			SearchLimits.none(), ComponentIndex.disabled(), LandmarkIndex.disabled()), jsonMapper, 4);
+
+	@Test
+	void expansionsArriveInBatchesBeforeTheSummary() throws IOException {
+		List<JsonNode> lines = stream(Algorithm.BFS, null);
+
+		JsonNode summary = lines.get(lines.size() - 1);
+		List<JsonNode> batches = lines.subList(0, lines.size() - 1);
+		List<Node> expanded = new ArrayList<>();
+		for (int i = 0; i < batches.size(); i++) {
+			JsonNode batch = batches.get(i);
+			assertEquals("expanded", batch.get("type").asString());
+			JsonNode cells = batch.get("cells");
+			// Every batch but the last is full: four cells as row, col pairs.
+			assertTrue(i == batches.size() - 1 ? cells.size() <= 8 : cells.size() == 8);
+			for (int c = 0; c < cells.size(); c += 2) {
+				expanded.add(new Node(cells.get(c).asInt(), cells.get(c + 1).asInt()));
+			}
+		}
+		assertEquals(new Node(0, 0), expanded.get(0));
+
+		assertEquals("summary", summary.get("type").asString());
+		assertEquals("FOUND", summary.get("status").asString());
+		assertEquals(expanded.size(), summary.get("nodesVisited").asInt());
+		assertEquals(8, summary.get("pathLength").asInt());
+		assertEquals(9, summary.get("path").size());
+		JsonNode last = summary.get("path").get(8);
+		assertEquals(4, last.get("row").asInt());
+		assertEquals(4, last.get("col").asInt());
+	}
+
+	@Test
+	void stoppedSearchesStillEndWithASummary() throws IOException {
+		SearchOptions options = new SearchOptions();
+		options.setMaxExpandedNodes(5);
+
+		List<JsonNode> lines = stream(Algorithm.DIJKSTRA, options);
+
+		JsonNode summary = lines.get(lines.size() - 1);
+		assertEquals("BUDGET_EXCEEDED", summary.get("status").asString());
+		assertEquals(5, summary.get("nodesVisited").asInt());
+		assertEquals(0, summary.get("path").size());
+		assertFalse(summary.get("closest").isNull());
+		assertEquals(2, lines.size() - 1);
+	}
+
+	private List<JsonNode> stream(Algorithm algorithm, SearchOptions options) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		service.stream(FlatGrid.of(GRID), new Node(0, 0), new Node(4, 4), algorithm, options, out);
+		List<JsonNode> lines = new ArrayList<>();
+		for (String line : out.toString(StandardCharsets.UTF_8).split("\n")) {
+			lines.add(jsonMapper.readTree(line));
+		}
+		return lines;
+	}
+}
@@ -0,0 +1,107 @@
+package com.kanav.routeoptimizer.service;
+
+import com.kanav.routeoptimizer.algorithm.DijkstraPathFinder;
+import com.kanav.routeoptimizer.dto.GridPoint;
+import com.kanav.routeoptimizer.dto.WaypointRouteResponse;
+import com.kanav.routeoptimizer.model.FlatGrid;
+import com.kanav.routeoptimizer.model.Node;
+import com.kanav.routeoptimizer.model.SearchStatus;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WaypointRouteServiceTests {
+
+	private final PathFindingService pathFindingService = new PathFindingService(
+			new PathResultCache(false, 0, 0, Duration.ZERO, true), Runnable::run,
+			SearchMetrics.disabled(), SearchLimits.none(), ComponentIndex.disabled(),
+			LandmarkIndex.disabled());
+	private final WaypointRouteService service = new WaypointRouteService(
+			new DistanceMatrixService(Runnable::run, ComponentIndex.disabled(), SearchLimits.none(),
+					SearchMetrics.disabled(), 1_000_000),
+			pathFindingService, Runnable::run, 500, Duration.ofSeconds(1));
+
+	@Test
+	void stitchedRouteVisitsEveryReachableWaypointAtTheReportedCost() {
+		Random random = new Random(24);
+		int[][] grid = new int[30][30];
+		for (int r = 0; r < 30; r++) {
+			for (int c = 0; c < 30; c++) {
+				grid[r][c] = random.nextInt(10) == 0 ? 0 : 1 + random.nextInt(3);
+			}
+		}
+		// A walled-off pocket in the corner holds the last waypoint.
+		grid[27][28] = 0;
+		grid[28][27] = 0;
+		grid[27][29] = 0;
+		grid[29][27] = 0;
+		grid[28][28] = 0;
+		grid[28][29] = 1;
+		grid[29][28] = 1;
+		grid[29][29] = 1;
+		grid[0][0] = 1;
+		List<GridPoint> waypoints = new ArrayList<>();
+		while (waypoints.size() < 15) {
+			int row = random.nextInt(27);
+			int col = random.nextInt(27);
+			if (grid[row][col] != 0) {
+				waypoints.add(new GridPoint(row, col));
+			}
+		}
+		waypoints.add(new GridPoint(29, 29));
+
+		WaypointRouteResponse response = service.solve(grid, new GridPoint(0, 0), waypoints, null, null, true);
+
+		assertEquals(SearchStatus.FOUND, response.getStatus());
+		assertEquals(List.of(15), response.getUnreachable());
+		assertEquals(15, response.getOrder().size());
+		assertTrue(response.getTotalCost() <= response.getNearestNeighbourCost());
+
+		List<Node> path = response.getPath();
+		assertEquals(new Node(0, 0), path.get(0));
+		long cost = 0;
+		int next = 0;
+		for (int i = 1; i < path.size(); i++) {
+			Node previous = path.get(i - 1);
+			Node node = path.get(i);
+			assertEquals(1, Math.abs(previous.getRow() - node.getRow()) + Math.abs(previous.getCol() - node.getCol()));
+			cost += FlatGrid.stepCost((byte) grid[node.getRow()][node.getCol()]);
+		}
+		for (Node node : path) {
+			while (next < response.getOrder().size() && node.equals(toNode(waypoints.get(response.getOrder().get(next))))) {
+				next++;
+			}
+		}
+		assertEquals(response.getOrder().size(), next);
+		assertEquals(response.getTotalCost(), cost);
+	}
+
+	@Test
+	void fixedEndIsVisitedLast() {
+		int[][] grid = new int[10][10];
+		for (int[] row : grid) {
+			Arrays.fill(row, 1);
+		}
+		List<GridPoint> waypoints = List.of(new GridPoint(0, 9), new GridPoint(9, 0), new GridPoint(5, 5));
+
+		WaypointRouteResponse response = service.solve(grid, new GridPoint(0, 0), waypoints, new GridPoint(9, 9), null, true);
+
+		List<Node> path = response.getPath();
+		assertEquals(new Node(9, 9), path.get(path.size() - 1));
+		long direct = DijkstraPathFinder.findPathWithStats(grid, new Node(0, 0), new Node(9, 9)).getTotalCost();
+		assertTrue(response.getTotalCost() >= direct);
+		assertEquals(path.size() - 1, response.getTotalCost());
+		assertEquals(path.size() - 1, response.getPathLength());
+	}
+
+	private static Node toNode(GridPoint point) {
+		return new Node(point.getRow(), point.getCol());
+	}
+}